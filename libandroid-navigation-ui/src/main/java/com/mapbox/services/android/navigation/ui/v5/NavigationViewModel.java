@@ -8,7 +8,10 @@ import android.content.SharedPreferences;
 import android.location.Location;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
+import android.os.Handler;
+import android.os.Looper;
 import android.preference.PreferenceManager;
+import android.support.annotation.NonNull;
 import android.text.TextUtils;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
@@ -16,9 +19,11 @@ import com.mapbox.geojson.Point;
 import com.mapbox.mapboxsdk.Mapbox;
 import com.mapbox.services.android.navigation.ui.v5.feedback.FeedbackItem;
 import com.mapbox.services.android.navigation.ui.v5.instruction.BannerInstructionModel;
+import com.mapbox.services.android.navigation.ui.v5.instruction.InstructionLoader;
 import com.mapbox.services.android.navigation.ui.v5.instruction.InstructionModel;
 import com.mapbox.services.android.navigation.ui.v5.summary.SummaryModel;
 import com.mapbox.services.android.navigation.ui.v5.voice.InstructionPlayer;
+import com.mapbox.services.android.navigation.ui.v5.voice.InstructionScheduler;
 import com.mapbox.services.android.navigation.ui.v5.voice.NavigationInstructionPlayer;
 import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
@@ -31,14 +36,20 @@ import com.mapbox.services.android.navigation.v5.navigation.NavigationEventListe
 import com.mapbox.services.android.navigation.v5.navigation.metrics.FeedbackEvent;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.route.RerouteListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.BackgroundThreadFactory;
 import com.mapbox.services.android.telemetry.location.LocationEngine;
 
 import java.text.DecimalFormat;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import timber.log.Timber;
 
 public class NavigationViewModel extends AndroidViewModel implements ProgressChangeListener,
-  OffRouteListener, MilestoneEventListener, NavigationEventListener, FasterRouteListener {
+  OffRouteListener, MilestoneEventListener, NavigationEventListener, FasterRouteListener, RerouteListener {
 
   public final MutableLiveData<InstructionModel> instructionModel = new MutableLiveData<>();
   public final MutableLiveData<BannerInstructionModel> bannerInstructionModel = new MutableLiveData<>();
@@ -48,6 +59,7 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
   final MutableLiveData<FeedbackItem> selectedFeedbackItem = new MutableLiveData<>();
   final MutableLiveData<Location> navigationLocation = new MutableLiveData<>();
   final MutableLiveData<DirectionsRoute> fasterRoute = new MutableLiveData<>();
+  final MutableLiveData<DirectionsRoute> reroutedRoute = new MutableLiveData<>();
   final MutableLiveData<Point> newOrigin = new MutableLiveData<>();
   final MutableLiveData<Boolean> isRunning = new MutableLiveData<>();
   final MutableLiveData<Boolean> shouldRecordScreenshot = new MutableLiveData<>();
@@ -57,6 +69,8 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
   private ConnectivityManager connectivityManager;
   private SharedPreferences preferences;
   private DecimalFormat decimalFormat;
+  private ExecutorService modelExecutor;
+  private ProgressModelUpdater progressModelUpdater;
   private int unitType;
   private String feedbackId;
   private String screenshot;
@@ -67,11 +81,13 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
     initVoiceInstructions(application);
     initConnectivityManager(application);
     initDecimalFormat();
+    initProgressModelUpdater();
   }
 
   public void onDestroy() {
     endNavigation();
     deactivateInstructionPlayer();
+    shutdownProgressModelUpdater();
   }
 
   /**
@@ -86,9 +102,9 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
    */
   @Override
   public void onProgressChange(Location location, RouteProgress routeProgress) {
-    instructionModel.setValue(new InstructionModel(routeProgress, decimalFormat, unitType));
-    summaryModel.setValue(new SummaryModel(routeProgress, decimalFormat, unitType));
+    progressModelUpdater.update(routeProgress, unitType);
     navigationLocation.setValue(location);
+    instructionPlayer.onDistanceTraveled(routeProgress.distanceTraveled());
   }
 
   /**
@@ -108,6 +124,9 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
       Point newOrigin = Point.fromLngLat(location.getLongitude(), location.getLatitude());
       this.newOrigin.setValue(newOrigin);
       isOffRoute.setValue(true);
+      // The views are cleared while rerouting, the models of the new route have to be shown again
+      progressModelUpdater.reset();
+      instructionPlayer.onOffRoute();
     }
   }
 
@@ -124,10 +143,14 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
    */
   @Override
   public void onMilestoneEvent(RouteProgress routeProgress, String instruction, Milestone milestone) {
+    // Outdated once the maneuver of the current step has been passed
+    double deadline = routeProgress.distanceTraveled()
+      + routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
     if (instructionPlayer.isPollyPlayer() && milestone instanceof VoiceInstructionMilestone) {
-      instructionPlayer.play(((VoiceInstructionMilestone) milestone).getSsmlAnnouncement());
+      instructionPlayer.play(((VoiceInstructionMilestone) milestone).getSsmlAnnouncement(),
+        InstructionScheduler.PRIORITY_ROUTINE, deadline);
     } else {
-      instructionPlayer.play(instruction);
+      instructionPlayer.play(instruction, InstructionScheduler.PRIORITY_ROUTINE, deadline);
     }
     updateBannerInstruction(routeProgress, milestone);
   }
@@ -158,6 +181,33 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
     fasterRoute.setValue(directionsRoute);
   }
 
+  /**
+   * Listener that will be fired when navigation has moved onto a new route by itself after
+   * an off-route event, without a new route being requested.
+   *
+   * @param directionsRoute the route navigation continues on
+   * @since 0.10.0
+   */
+  @Override
+  public void userRerouted(DirectionsRoute directionsRoute) {
+    prefetchRouteResources(directionsRoute);
+    progressModelUpdater.reset();
+    instructionPlayer.onNewRoute();
+    isOffRoute.setValue(false);
+    reroutedRoute.setValue(directionsRoute);
+  }
+
+  /**
+   * The number of times the instruction or summary views haven't been bound again since navigation
+   * started, as a progress update would have shown them the same way.
+   *
+   * @return number of skipped view bindings in the current navigation session
+   * @since 0.10.0
+   */
+  public long skippedViewBindingCount() {
+    return progressModelUpdater.skippedModelCount();
+  }
+
   public void setMuted(boolean isMuted) {
     instructionPlayer.setMuted(isMuted);
   }
@@ -223,7 +273,12 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
     this.unitType = options.unitType();
   }
 
+  /**
+   * Starts navigation on the route, which is also called with the route of a reroute or a faster
+   * route, so the instructions waiting for the previous route are dropped.
+   */
   void updateRoute(DirectionsRoute route) {
+    instructionPlayer.onNewRoute();
     startNavigation(route);
     isOffRoute.setValue(false);
   }
@@ -244,6 +299,7 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
    */
   private void initNavigation(Context context, MapboxNavigationOptions options) {
     navigation = new MapboxNavigation(context, Mapbox.getAccessToken(), options);
+    progressModelUpdater.resetSkippedModelCount();
     addNavigationListeners();
   }
 
@@ -270,6 +326,37 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
     decimalFormat = new DecimalFormat(NavigationConstants.DECIMAL_FORMAT);
   }
 
+  /**
+   * The models of each progress update are created on a background thread and only set on the
+   * views if they're shown differently than the previous ones.
+   */
+  private void initProgressModelUpdater() {
+    modelExecutor = BackgroundThreadFactory.newSingleThreadExecutor("NavigationViewModels");
+    final Handler mainHandler = new Handler(Looper.getMainLooper());
+    Executor mainExecutor = new Executor() {
+      @Override
+      public void execute(@NonNull Runnable runnable) {
+        mainHandler.post(runnable);
+      }
+    };
+    progressModelUpdater = new ProgressModelUpdater(modelExecutor, mainExecutor, new ProgressModelUpdater.Callback() {
+      @Override
+      public void onInstructionModel(InstructionModel model) {
+        instructionModel.setValue(model);
+      }
+
+      @Override
+      public void onSummaryModel(SummaryModel model) {
+        summaryModel.setValue(model);
+      }
+    });
+  }
+
+  private void shutdownProgressModelUpdater() {
+    modelExecutor.shutdown();
+    Timber.d("Skipped %d view bindings of unchanged models", progressModelUpdater.skippedModelCount());
+  }
+
   /**
    * Adds this class as a listener for progress,
    * milestones, and off route events.
@@ -281,22 +368,31 @@ public class NavigationViewModel extends AndroidViewModel implements ProgressCha
       navigation.addMilestoneEventListener(this);
       navigation.addNavigationEventListener(this);
       navigation.addFasterRouteListener(this);
+      navigation.addRerouteListener(this);
     }
   }
 
   /**
    * Starts navigation and sets isRunning to true.
    * <p>
+   * The voice instructions and shield images of the route are fetched in the background first.
+   * <p>
    * This will notify any observer of isRunning that navigation has begun.
    *
    * @param route that is being navigated
    */
   private void startNavigation(DirectionsRoute route) {
     if (route != null) {
+      prefetchRouteResources(route);
       navigation.startNavigation(route);
     }
   }
 
+  private void prefetchRouteResources(DirectionsRoute route) {
+    instructionPlayer.prefetchInstructions(route);
+    InstructionLoader.getInstance().prefetchImageCache(route);
+  }
+
   /**
    * Destroys {@link MapboxNavigation} if not null
    */
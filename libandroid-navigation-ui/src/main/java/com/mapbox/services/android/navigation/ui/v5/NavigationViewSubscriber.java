@@ -118,6 +118,20 @@ class NavigationViewSubscriber {
       }
     });
 
+    navigationViewModel.reroutedRoute.observe(owner, new Observer<DirectionsRoute>() {
+      @Override
+      public void onChanged(@Nullable DirectionsRoute directionsRoute) {
+        if (directionsRoute != null) {
+          // Navigation has already started on this route
+          locationViewModel.updateRoute(directionsRoute);
+          navigationPresenter.onRouteUpdate(directionsRoute);
+          navigationViewEventDispatcher.onRerouteAlong(directionsRoute);
+          // To prevent from firing on rotation
+          navigationViewModel.reroutedRoute.setValue(null);
+        }
+      }
+    });
+
     navigationViewModel.newOrigin.observe(owner, new Observer<Point>() {
       @Override
       public void onChanged(@Nullable Point newOrigin) {
@@ -0,0 +1,126 @@
+package com.mapbox.services.android.navigation.ui.v5;
+
+import com.mapbox.services.android.navigation.ui.v5.instruction.InstructionModel;
+import com.mapbox.services.android.navigation.ui.v5.summary.SummaryModel;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the {@link InstructionModel} and {@link SummaryModel} of each progress update on the
+ * given executor, and only passes on the models which are shown differently than the previous ones.
+ * The skipped models are counted, each is a binding of the views which has been avoided.
+ * <p>
+ * The models are passed on with the main executor, unless {@link #reset()} has been called since
+ * their progress update.
+ */
+class ProgressModelUpdater {
+
+  private final Executor executor;
+  private final Executor mainExecutor;
+  private final Callback callback;
+  // Only used on the executor, as DecimalFormat isn't thread safe
+  private final DecimalFormat decimalFormat = new DecimalFormat(NavigationConstants.DECIMAL_FORMAT);
+  private final AtomicLong skippedModelCount = new AtomicLong();
+  // Only used on the main thread
+  private int updateGeneration;
+  // Only used on the executor
+  private int modelGeneration;
+  private InstructionModel lastInstructionModel;
+  private SummaryModel lastSummaryModel;
+
+  /**
+   * @param executor     the models are created on
+   * @param mainExecutor the callback is run on, the thread {@link #update(RouteProgress, int)} and
+   *                     {@link #reset()} are called on
+   * @param callback     passed the changed models
+   */
+  ProgressModelUpdater(Executor executor, Executor mainExecutor, Callback callback) {
+    this.executor = executor;
+    this.mainExecutor = mainExecutor;
+    this.callback = callback;
+  }
+
+  void update(final RouteProgress routeProgress, final int unitType) {
+    final int generation = updateGeneration;
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        updateModels(generation, routeProgress, unitType);
+      }
+    });
+  }
+
+  /**
+   * The models of earlier progress updates which haven't been passed on yet are dropped, and the
+   * next models are passed on even if they're shown the same way, for instance once the views
+   * have been cleared during a reroute.
+   */
+  void reset() {
+    updateGeneration++;
+  }
+
+  /**
+   * @return number of models which haven't been passed on as they're shown like the previous ones
+   */
+  long skippedModelCount() {
+    return skippedModelCount.get();
+  }
+
+  void resetSkippedModelCount() {
+    skippedModelCount.set(0);
+  }
+
+  private void updateModels(int generation, RouteProgress routeProgress, int unitType) {
+    if (generation != modelGeneration) {
+      modelGeneration = generation;
+      lastInstructionModel = null;
+      lastSummaryModel = null;
+    }
+    InstructionModel instructionModel = new InstructionModel(routeProgress, decimalFormat, unitType);
+    if (instructionModel.equals(lastInstructionModel)) {
+      skippedModelCount.incrementAndGet();
+      instructionModel = null;
+    } else {
+      lastInstructionModel = instructionModel;
+    }
+    SummaryModel summaryModel = new SummaryModel(routeProgress, decimalFormat, unitType);
+    if (summaryModel.equals(lastSummaryModel)) {
+      skippedModelCount.incrementAndGet();
+      summaryModel = null;
+    } else {
+      lastSummaryModel = summaryModel;
+    }
+    if (instructionModel != null || summaryModel != null) {
+      passOn(generation, instructionModel, summaryModel);
+    }
+  }
+
+  private void passOn(final int generation, final InstructionModel instructionModel,
+                      final SummaryModel summaryModel) {
+    mainExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (generation != updateGeneration) {
+          return;
+        }
+        if (instructionModel != null) {
+          callback.onInstructionModel(instructionModel);
+        }
+        if (summaryModel != null) {
+          callback.onSummaryModel(summaryModel);
+        }
+      }
+    });
+  }
+
+  interface Callback {
+
+    void onInstructionModel(InstructionModel instructionModel);
+
+    void onSummaryModel(SummaryModel summaryModel);
+  }
+}
@@ -1,14 +1,17 @@
 package com.mapbox.services.android.navigation.ui.v5.instruction;
 
-import android.content.Context;
-
 class BannerShieldInfo {
   private String url;
   private String text;
   private int startIndex;
 
-  BannerShieldInfo(Context context, String url, int startIndex, String text) {
-    this.url = new UrlDensityMap(context).get(url);
+  /**
+   * @param url        of the shield image for the display density, see {@link UrlDensityMap}
+   * @param startIndex of the shield in the instruction
+   * @param text       shown if the image can't be loaded
+   */
+  BannerShieldInfo(String url, int startIndex, String text) {
+    this.url = url;
     this.startIndex = startIndex;
     this.text = text;
   }
@@ -0,0 +1,72 @@
+package com.mapbox.services.android.navigation.ui.v5.instruction;
+
+import android.support.annotation.Nullable;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.api.directions.v5.models.BannerText;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of the composed text of banners, with their shield images in place,
+ * so a banner shown again is set without composing it or loading its shields again.
+ * <p>
+ * The composed text depends on the banner content, the size of the text and its shields, the width
+ * it's ellipsized to and the display density the shields are loaded for, which together are the key.
+ * Only banners whose shields all finished loading are cached.
+ */
+class BannerSpanCache {
+
+  private final Map<Key, CharSequence> composedBanners;
+
+  BannerSpanCache(final int maxSize) {
+    composedBanners = new LinkedHashMap<Key, CharSequence>(maxSize, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, CharSequence> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  static Key keyOf(BannerText bannerText, int lineHeight, int width, int densityDpi) {
+    return new AutoValue_BannerSpanCache_Key(bannerText, lineHeight, width, densityDpi);
+  }
+
+  /**
+   * @param key of the banner
+   * @return the composed banner, marked as the most recently used, or null if it isn't cached
+   */
+  @Nullable
+  CharSequence get(Key key) {
+    return composedBanners.get(key);
+  }
+
+  /**
+   * @param key      of the banner
+   * @param composed immutable text of the banner
+   */
+  void put(Key key, CharSequence composed) {
+    composedBanners.put(key, composed);
+  }
+
+  int size() {
+    return composedBanners.size();
+  }
+
+  void clear() {
+    composedBanners.clear();
+  }
+
+  @AutoValue
+  abstract static class Key {
+
+    abstract BannerText bannerText();
+
+    abstract int lineHeight();
+
+    abstract int width();
+
+    abstract int densityDpi();
+  }
+}
@@ -0,0 +1,94 @@
+package com.mapbox.services.android.navigation.ui.v5.instruction;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.PointF;
+import android.util.LruCache;
+
+/**
+ * Size capped cache of the maneuver and turn lane glyphs drawn by the style kits, rasterized once
+ * per glyph, size and colors and shared by all views, so a view only draws a bitmap instead of the
+ * vector paths on every draw or bind.
+ * <p>
+ * The glyphs are rasterized unflipped, the views mirror them with their scale.
+ * Only to be used from the main thread.
+ *
+ * @since 0.10.0
+ */
+public class GlyphCache {
+
+  private static final int MAX_CACHE_BYTES = 4 * 1024 * 1024;
+  private static final char KEY_SEPARATOR = '|';
+  private static GlyphCache instance;
+
+  private final LruCache<String, Bitmap> glyphs;
+
+  GlyphCache(int maxBytes) {
+    glyphs = new LruCache<String, Bitmap>(maxBytes) {
+      @Override
+      protected int sizeOf(String key, Bitmap bitmap) {
+        return bitmap.getRowBytes() * bitmap.getHeight();
+      }
+    };
+  }
+
+  public static synchronized GlyphCache getInstance() {
+    if (instance == null) {
+      instance = new GlyphCache(MAX_CACHE_BYTES);
+    }
+    return instance;
+  }
+
+  /**
+   * @param glyph          name of the glyph, including anything else it's drawn with like an angle
+   * @param size           the glyph is drawn in
+   * @param primaryColor   the glyph is drawn with
+   * @param secondaryColor the glyph is drawn with
+   * @return key of the glyph in the cache
+   */
+  public static String keyOf(String glyph, PointF size, int primaryColor, int secondaryColor) {
+    return new StringBuilder(glyph)
+      .append(KEY_SEPARATOR).append((int) size.x)
+      .append(KEY_SEPARATOR).append((int) size.y)
+      .append(KEY_SEPARATOR).append(primaryColor)
+      .append(KEY_SEPARATOR).append(secondaryColor)
+      .toString();
+  }
+
+  /**
+   * Returns the cached glyph, or rasterizes it with the painter and caches it.
+   *
+   * @param key     of the glyph, see {@link #keyOf(String, PointF, int, int)}
+   * @param size    the glyph is drawn in
+   * @param painter drawing the glyph if it isn't cached yet
+   * @return the glyph, or null if the size is empty
+   */
+  public Bitmap obtain(String key, PointF size, Painter painter) {
+    Bitmap glyph = glyphs.get(key);
+    if (glyph != null) {
+      return glyph;
+    }
+    int width = (int) size.x;
+    int height = (int) size.y;
+    if (width <= 0 || height <= 0) {
+      return null;
+    }
+    // Bitmaps evicted from the cache aren't recycled, as they may still be shown by a view
+    glyph = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    painter.paint(new Canvas(glyph), size);
+    glyphs.put(key, glyph);
+    return glyph;
+  }
+
+  public void clear() {
+    glyphs.evictAll();
+  }
+
+  /**
+   * Draws a glyph which isn't cached yet.
+   */
+  public interface Painter {
+
+    void paint(Canvas canvas, PointF size);
+  }
+}
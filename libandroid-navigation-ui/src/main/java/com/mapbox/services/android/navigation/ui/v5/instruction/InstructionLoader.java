@@ -3,6 +3,7 @@ package com.mapbox.services.android.navigation.ui.v5.instruction;
 import android.content.Context;
 import android.text.Spannable;
 import android.text.SpannableString;
+import android.text.SpannedString;
 import android.text.TextUtils;
 import android.text.style.ImageSpan;
 import android.widget.TextView;
@@ -10,11 +11,21 @@ import android.widget.TextView;
 import com.mapbox.api.directions.v5.models.BannerComponents;
 import com.mapbox.api.directions.v5.models.BannerInstructions;
 import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationHttpClient;
+import com.squareup.picasso.Callback;
+import com.squareup.picasso.LruCache;
 import com.squareup.picasso.Picasso;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import okhttp3.OkHttpClient;
 
 /**
  * Utility class that can be used to load a given {@link BannerText} into the provided
@@ -25,6 +36,15 @@ import java.util.List;
  * <p>
  * If a shield URL is found, {@link Picasso} is used to load the image.  Then, once the image is loaded,
  * a new {@link ImageSpan} is created and set to the appropriate position of the {@link Spannable}/
+ * <p>
+ * The shields of a whole route can be fetched ahead of time with
+ * {@link #prefetchImageCache(DirectionsRoute)}. They're downloaded in the background with a low
+ * priority into the shared disk cache and decoded into a size capped memory cache, keyed by their
+ * density specific URL, so a banner with a shield is usually shown without a network request.
+ * <p>
+ * Once all shields of a banner are loaded, the composed text is kept in a {@link BannerSpanCache},
+ * so showing the same banner again, for instance after an orientation change or on the next
+ * progress update, only sets the cached text, if it isn't shown already.
  */
 public class InstructionLoader {
 
@@ -33,8 +53,15 @@ public class InstructionLoader {
   private Picasso picassoImageLoader;
   private List<InstructionTarget> targets;
   private UrlDensityMap urlDensityMap;
+  private final Set<String> prefetchedUrls = new HashSet<>();
+  private final StringBuilder instructionStringBuilder = new StringBuilder();
+  private final BannerSpanCache bannerSpanCache = new BannerSpanCache(BANNER_SPAN_CACHE_SIZE);
+  private final Map<TextView, BannerSpanCache.Key> pendingBanners = new WeakHashMap<>();
   private static final String IMAGE_SPACE_PLACEHOLDER = "  ";
   private static final String SINGLE_SPACE = " ";
+  private static final int SHIELD_MEMORY_CACHE_BYTES = 4 * 1024 * 1024;
+  private static final Object PREFETCH_TAG = new Object();
+  private static final int BANNER_SPAN_CACHE_SIZE = 32;
 
   private InstructionLoader() {
   }
@@ -55,15 +82,18 @@ public class InstructionLoader {
   /**
    * Must be called before loading images.
    * <p>
-   * Initializes a new {@link Picasso} instance as well as the
-   * {@link ArrayList} of {@link InstructionTarget}.
+   * Initializes a new {@link Picasso} instance, downloading with the shared
+   * {@link NavigationHttpClient} and keeping the decoded shields in a size capped memory cache,
+   * as well as the {@link ArrayList} of {@link InstructionTarget}.
    *
    * @param context to init Picasso
    */
   public void initialize(Context context) {
     if (!isInitialized) {
+      OkHttpClient httpClient = NavigationHttpClient.getInstance(context).okHttpClient();
       Picasso.Builder builder = new Picasso.Builder(context)
-        .loggingEnabled(true);
+        .downloader(new OkHttp3Downloader(httpClient))
+        .memoryCache(new LruCache(SHIELD_MEMORY_CACHE_BYTES));
       picassoImageLoader = builder.build();
 
       this.urlDensityMap = new UrlDensityMap(context);
@@ -90,25 +120,42 @@ public class InstructionLoader {
 
     checkIsInitialized();
 
-    List<BannerInstructions> bannerInstructionList = new ArrayList<>(step.bannerInstructions());
-    for (BannerInstructions instructions : bannerInstructionList) {
-      if (hasComponents(instructions.primary())) {
-        fetchImageBaseUrls(instructions.primary());
-      }
-      if (hasComponents(instructions.secondary())) {
-        fetchImageBaseUrls(instructions.secondary());
-      }
-    }
+    prefetchImageBaseUrls(ShieldUrlCollector.collect(step));
+  }
+
+  /**
+   * Will pre-fetch the images of every {@link BannerInstructions} along the given route, each
+   * distinct image once.
+   * <p>
+   * Should be called when navigation starts, so the images can be displayed
+   * without delay in the {@link InstructionView} for the whole route.
+   *
+   * @param route providing the image Urls
+   * @since 0.10.0
+   */
+  public void prefetchImageCache(DirectionsRoute route) {
+    checkIsInitialized();
+
+    prefetchImageBaseUrls(ShieldUrlCollector.collect(route));
   }
 
   public void shutdown() {
     targets.clear();
+    pendingBanners.clear();
+    prefetchedUrls.clear();
+    bannerSpanCache.clear();
+    if (isInitialized) {
+      picassoImageLoader.cancelTag(PREFETCH_TAG);
+    }
   }
 
   /**
    * Takes the given components from the {@link BannerText} and creates
    * a new {@link Spannable} with text / {@link ImageSpan}s which is loaded
    * into the given {@link TextView}.
+   * <p>
+   * A banner which has already been composed for a text view of the same size is set from the
+   * cache, and a banner whose shields are still loading for the text view isn't loaded again.
    *
    * @param textView   target for the banner text
    * @param bannerText with components to be extracted
@@ -119,26 +166,45 @@ public class InstructionLoader {
     checkIsInitialized();
 
     if (hasComponents(bannerText)) {
-      StringBuilder instructionStringBuilder = new StringBuilder();
-      List<BannerShieldInfo> shieldUrls = new ArrayList<>();
+      BannerSpanCache.Key key = BannerSpanCache.keyOf(bannerText, textView.getLineHeight(),
+        availableWidth(textView), urlDensityMap.getDisplayDensity());
+      CharSequence composed = bannerSpanCache.get(key);
+      if (composed != null) {
+        pendingBanners.remove(textView);
+        setComposedText(textView, composed);
+        return;
+      }
+      if (key.equals(pendingBanners.get(textView))) {
+        return;
+      }
+
+      // The builder is reused, the text view and spannable both keep a copy of its content
+      instructionStringBuilder.setLength(0);
+      List<BannerShieldInfo> shieldUrls = null;
 
       for (BannerComponents components : bannerText.components()) {
         if (hasBaseUrl(components)) {
-          addShieldInfo(textView, instructionStringBuilder, shieldUrls, components);
+          if (shieldUrls == null) {
+            shieldUrls = new ArrayList<>(bannerText.components().size());
+          }
+          addShieldInfo(instructionStringBuilder, shieldUrls, components);
         } else {
-          String text = components.text();
-          boolean emptyText = TextUtils.isEmpty(instructionStringBuilder.toString());
-          String instructionText = emptyText ? text : SINGLE_SPACE.concat(text);
-          instructionStringBuilder.append(instructionText);
+          if (instructionStringBuilder.length() > 0) {
+            instructionStringBuilder.append(SINGLE_SPACE);
+          }
+          instructionStringBuilder.append(components.text());
         }
       }
 
       // If there are shield Urls, fetch the corresponding images
-      if (!shieldUrls.isEmpty()) {
-        createTargets(textView, instructionStringBuilder, shieldUrls);
-        loadTargets();
+      if (shieldUrls != null) {
+        pendingBanners.put(textView, key);
+        loadTargets(createTargets(textView, key, instructionStringBuilder, shieldUrls));
       } else {
-        textView.setText(instructionStringBuilder);
+        pendingBanners.remove(textView);
+        composed = instructionStringBuilder.toString();
+        bannerSpanCache.put(key, composed);
+        textView.setText(composed);
       }
     }
   }
@@ -148,16 +214,31 @@ public class InstructionLoader {
   }
 
   /**
-   * Takes a given {@link BannerText} and fetches a valid
-   * imageBaseUrl if one is found.
+   * Fetches the images of the given base URLs which haven't been fetched yet, with a low priority
+   * so they don't hold back the images of the banner shown.
    *
-   * @param bannerText to provide the base URL
+   * @param imageBaseUrls to fetch the image for the display density of
    */
-  private void fetchImageBaseUrls(BannerText bannerText) {
-    for (BannerComponents components : bannerText.components()) {
-      if (hasBaseUrl(components)) {
-        picassoImageLoader.load(urlDensityMap.get(components.imageBaseUrl())).fetch();
+  private void prefetchImageBaseUrls(Set<String> imageBaseUrls) {
+    for (String imageBaseUrl : imageBaseUrls) {
+      final String url = urlDensityMap.get(imageBaseUrl);
+      if (!prefetchedUrls.add(url)) {
+        continue;
       }
+      picassoImageLoader.load(url)
+        .priority(Picasso.Priority.LOW)
+        .tag(PREFETCH_TAG)
+        .fetch(new Callback() {
+          @Override
+          public void onSuccess() {
+          }
+
+          @Override
+          public void onError() {
+            // Allow the image to be fetched again by a later prefetch
+            prefetchedUrls.remove(url);
+          }
+        });
     }
   }
 
@@ -165,40 +246,108 @@ public class InstructionLoader {
     return !TextUtils.isEmpty(components.imageBaseUrl());
   }
 
-  private static void addShieldInfo(TextView textView, StringBuilder instructionStringBuilder,
-                                    List<BannerShieldInfo> shieldUrls, BannerComponents components) {
-    boolean instructionBuilderEmpty = TextUtils.isEmpty(instructionStringBuilder.toString());
+  private void addShieldInfo(StringBuilder instructionStringBuilder,
+                             List<BannerShieldInfo> shieldUrls, BannerComponents components) {
+    boolean instructionBuilderEmpty = instructionStringBuilder.length() == 0;
     int instructionLength = instructionStringBuilder.length();
     int startIndex = instructionBuilderEmpty ? instructionLength : instructionLength + 1;
-    shieldUrls.add(new BannerShieldInfo(textView.getContext(), components.imageBaseUrl(),
+    shieldUrls.add(new BannerShieldInfo(urlDensityMap.get(components.imageBaseUrl()),
       startIndex, components.text()));
     instructionStringBuilder.append(IMAGE_SPACE_PLACEHOLDER);
   }
 
-  private void createTargets(TextView textView, StringBuilder instructionStringBuilder,
-                             List<BannerShieldInfo> shields) {
+  private List<InstructionTarget> createTargets(TextView textView, BannerSpanCache.Key key,
+                                                StringBuilder instructionStringBuilder,
+                                                List<BannerShieldInfo> shields) {
     Spannable instructionSpannable = new SpannableString(instructionStringBuilder);
-    for (final BannerShieldInfo shield : shields) {
-      targets.add(new InstructionTarget(textView, instructionSpannable, shields, shield,
-        new InstructionTarget.InstructionLoadedCallback() {
-          @Override
-          public void onInstructionLoaded(InstructionTarget target) {
-            targets.remove(target);
-          }
-        }));
+    BannerComposition composition = new BannerComposition(textView, key, instructionSpannable, shields.size());
+    List<InstructionTarget> createdTargets = new ArrayList<>(shields.size());
+    for (BannerShieldInfo shield : shields) {
+      createdTargets.add(new InstructionTarget(textView, instructionSpannable, shield, composition));
     }
+    // Picasso only keeps weak references to the targets
+    targets.addAll(createdTargets);
+    return createdTargets;
   }
 
-  private void loadTargets() {
-    for (InstructionTarget target : new ArrayList<>(targets)) {
+  /**
+   * Loads only the targets just created, those of previous banners are still being loaded.
+   * A shield in the memory cache is set right away.
+   */
+  private void loadTargets(List<InstructionTarget> createdTargets) {
+    for (InstructionTarget target : createdTargets) {
       picassoImageLoader.load(target.getShield().getUrl())
+        .priority(Picasso.Priority.HIGH)
         .into(target);
     }
   }
 
+  /**
+   * The text view keeps a {@link SpannedString} as it is, so the text shown is the cached instance
+   * and the same banner isn't set and laid out again.
+   */
+  private static void setComposedText(TextView textView, CharSequence composed) {
+    if (textView.getText() != composed) {
+      textView.setText(composed);
+    }
+  }
+
+  private static int availableWidth(TextView textView) {
+    return textView.getWidth() - textView.getPaddingRight() - textView.getPaddingLeft();
+  }
+
+  private static CharSequence truncateImageSpan(Spannable instructionSpannable, TextView textView) {
+    return TextUtils.ellipsize(instructionSpannable, textView.getPaint(), availableWidth(textView),
+      TextUtils.TruncateAt.END);
+  }
+
   private void checkIsInitialized() {
     if (!isInitialized) {
       throw new RuntimeException("InstructionLoader must be initialized prior to loading image URLs");
     }
   }
+
+  /**
+   * Sets the banner once all its shields finished loading, unless a later banner has been loaded
+   * into the text view in the meantime. Only banners with all shields in place are cached.
+   */
+  private class BannerComposition implements InstructionTarget.InstructionLoadedCallback {
+
+    private final TextView textView;
+    private final BannerSpanCache.Key key;
+    private final Spannable instructionSpannable;
+    private int remainingShields;
+    private String failedShieldText;
+
+    BannerComposition(TextView textView, BannerSpanCache.Key key, Spannable instructionSpannable,
+                      int shieldCount) {
+      this.textView = textView;
+      this.key = key;
+      this.instructionSpannable = instructionSpannable;
+      this.remainingShields = shieldCount;
+    }
+
+    @Override
+    public void onInstructionLoaded(InstructionTarget target, boolean isLoaded) {
+      targets.remove(target);
+      if (!isLoaded && failedShieldText == null) {
+        failedShieldText = target.getShield().getText();
+      }
+      if (--remainingShields > 0 || !key.equals(pendingBanners.get(textView))) {
+        return;
+      }
+      pendingBanners.remove(textView);
+      if (failedShieldText != null) {
+        // Set the backup text
+        textView.setText(failedShieldText);
+        return;
+      }
+      // Make sure cut-off images aren't displayed at the end of the spannable
+      CharSequence composed = new SpannedString(truncateImageSpan(instructionSpannable, textView));
+      if (key.width() > 0) {
+        bannerSpanCache.put(key, composed);
+      }
+      textView.setText(composed);
+    }
+  }
 }
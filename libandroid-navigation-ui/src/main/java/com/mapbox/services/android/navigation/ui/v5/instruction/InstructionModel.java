@@ -8,6 +8,13 @@ import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import java.text.DecimalFormat;
 import java.util.List;
 
+/**
+ * What the {@link InstructionView} shows for a {@link RouteProgress}.
+ * <p>
+ * Two models are equal if they're shown the same way: the same banners, step resources, step of the
+ * same route and unit type. The progress they've been created with isn't compared, so a progress
+ * update which doesn't change anything visible can be skipped.
+ */
 public class InstructionModel {
 
   private BannerText primaryBannerText;
@@ -48,6 +55,38 @@ public class InstructionModel {
     return unitType;
   }
 
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    InstructionModel other = (InstructionModel) obj;
+    return unitType == other.unitType
+      && progress.directionsRoute() == other.progress.directionsRoute()
+      && progress.legIndex() == other.progress.legIndex()
+      && progress.currentLegProgress().stepIndex() == other.progress.currentLegProgress().stepIndex()
+      && areEqual(primaryBannerText, other.primaryBannerText)
+      && areEqual(secondaryBannerText, other.secondaryBannerText)
+      && areEqual(thenBannerText, other.thenBannerText)
+      && stepResources.equals(other.stepResources);
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = unitType;
+    hashCode = 31 * hashCode + progress.legIndex();
+    hashCode = 31 * hashCode + progress.currentLegProgress().stepIndex();
+    hashCode = 31 * hashCode + stepResources.hashCode();
+    return hashCode;
+  }
+
+  private static boolean areEqual(BannerText bannerText, BannerText otherBannerText) {
+    return bannerText == null ? otherBannerText == null : bannerText.equals(otherBannerText);
+  }
+
   private void buildInstructionModel(RouteProgress progress, DecimalFormat decimalFormat, int unitType) {
     stepResources = new InstructionStepResources(progress, decimalFormat, unitType);
     extractStepInstructions(progress);
@@ -1,6 +1,6 @@
 package com.mapbox.services.android.navigation.ui.v5.instruction;
 
-import android.text.SpannableStringBuilder;
+import android.text.TextUtils;
 
 import com.mapbox.api.directions.v5.models.IntersectionLanes;
 import com.mapbox.api.directions.v5.models.LegStep;
@@ -11,9 +11,15 @@ import com.mapbox.services.android.navigation.v5.utils.DistanceUtils;
 import java.text.DecimalFormat;
 import java.util.List;
 
+/**
+ * The step resources shown by the {@link InstructionView}. Two resources are equal if they're shown
+ * the same way, so an update which doesn't change anything visible can be skipped.
+ */
 class InstructionStepResources {
 
-  private SpannableStringBuilder stepDistanceRemaining;
+  private CharSequence stepDistanceRemaining;
+  // Only compared, the first row of the instruction list shows the distance to the maneuver after the upcoming one
+  private CharSequence followOnDistanceRemaining;
   private String maneuverViewModifier;
   private String maneuverViewType;
   private String thenStepManeuverModifier;
@@ -26,7 +32,7 @@ class InstructionStepResources {
     extractStepResources(progress);
   }
 
-  SpannableStringBuilder getStepDistanceRemaining() {
+  CharSequence getStepDistanceRemaining() {
     return stepDistanceRemaining;
   }
 
@@ -54,6 +60,34 @@ class InstructionStepResources {
     return turnLanes;
   }
 
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    InstructionStepResources other = (InstructionStepResources) obj;
+    return shouldShowThenStep == other.shouldShowThenStep
+      && TextUtils.equals(stepDistanceRemaining, other.stepDistanceRemaining)
+      && TextUtils.equals(followOnDistanceRemaining, other.followOnDistanceRemaining)
+      && TextUtils.equals(maneuverViewType, other.maneuverViewType)
+      && TextUtils.equals(maneuverViewModifier, other.maneuverViewModifier)
+      && TextUtils.equals(thenStepManeuverType, other.thenStepManeuverType)
+      && TextUtils.equals(thenStepManeuverModifier, other.thenStepManeuverModifier)
+      && (turnLanes == null ? other.turnLanes == null : turnLanes.equals(other.turnLanes));
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = shouldShowThenStep ? 1 : 0;
+    hashCode = 31 * hashCode + (stepDistanceRemaining == null ? 0 : stepDistanceRemaining.toString().hashCode());
+    hashCode = 31 * hashCode + (maneuverViewType == null ? 0 : maneuverViewType.hashCode());
+    hashCode = 31 * hashCode + (maneuverViewModifier == null ? 0 : maneuverViewModifier.hashCode());
+    return hashCode;
+  }
+
   private void extractStepResources(RouteProgress progress) {
     LegStep currentStep = progress.currentLegProgress().currentStep();
     LegStep upcomingStep = progress.currentLegProgress().upComingStep();
@@ -80,8 +114,13 @@ class InstructionStepResources {
   }
 
   private void formatStepDistance(RouteProgress progress, DecimalFormat decimalFormat, int unitType) {
-    stepDistanceRemaining = DistanceUtils.distanceFormatter(progress.currentLegProgress()
-      .currentStepProgress().distanceRemaining(), decimalFormat, true, unitType);
+    double distanceRemaining = progress.currentLegProgress().currentStepProgress().distanceRemaining();
+    stepDistanceRemaining = DistanceUtils.formattedDistance(distanceRemaining, decimalFormat, true, unitType);
+    LegStep upcomingStep = progress.currentLegProgress().upComingStep();
+    if (upcomingStep != null) {
+      followOnDistanceRemaining = DistanceUtils.formattedDistance(distanceRemaining + upcomingStep.distance(),
+        decimalFormat, true, unitType);
+    }
   }
 
   private void intersectionTurnLanes(LegStep step) {
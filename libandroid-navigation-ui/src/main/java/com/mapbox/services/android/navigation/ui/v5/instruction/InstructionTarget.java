@@ -5,31 +5,25 @@ import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.text.Spannable;
 import android.text.Spanned;
-import android.text.TextUtils;
 import android.text.style.ImageSpan;
 import android.widget.TextView;
 
 import com.squareup.picasso.Picasso;
 import com.squareup.picasso.Target;
 
-import java.util.List;
-
 import timber.log.Timber;
 
 public class InstructionTarget implements Target {
 
   private TextView textView;
   private Spannable instructionSpannable;
-  private List<BannerShieldInfo> shields;
   private BannerShieldInfo shield;
   private InstructionLoadedCallback instructionLoadedCallback;
 
-  InstructionTarget(TextView textView, Spannable instructionSpannable,
-                    List<BannerShieldInfo> shields, BannerShieldInfo shield,
+  InstructionTarget(TextView textView, Spannable instructionSpannable, BannerShieldInfo shield,
                     InstructionLoadedCallback instructionLoadedCallback) {
     this.textView = textView;
     this.instructionSpannable = instructionSpannable;
-    this.shields = shields;
     this.shield = shield;
     this.instructionLoadedCallback = instructionLoadedCallback;
   }
@@ -52,20 +46,12 @@ public class InstructionTarget implements Target {
     instructionSpannable.setSpan(new ImageSpan(drawable),
       shield.getStartIndex(), shield.getEndIndex(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
 
-    // Check if last in array, if so, set the text with the spannable
-    if (shields.indexOf(shield) == shields.size() - 1) {
-      // Make sure cut-off images aren't displayed at the end of the spannable
-      CharSequence truncatedSequence = truncateImageSpan(instructionSpannable, textView);
-      textView.setText(truncatedSequence);
-    }
-    sendInstructionLoadedCallback();
+    sendInstructionLoadedCallback(true);
   }
 
   @Override
   public void onBitmapFailed(Drawable errorDrawable) {
-    // Set the backup text
-    textView.setText(shield.getText());
-    sendInstructionLoadedCallback();
+    sendInstructionLoadedCallback(false);
     Timber.e("Shield bitmap failed to load.");
   }
 
@@ -75,17 +61,17 @@ public class InstructionTarget implements Target {
   }
 
   interface InstructionLoadedCallback {
-    void onInstructionLoaded(InstructionTarget target);
+
+    /**
+     * @param target   which finished loading
+     * @param isLoaded true if its shield has been set, false if it couldn't be loaded
+     */
+    void onInstructionLoaded(InstructionTarget target, boolean isLoaded);
   }
 
-  private void sendInstructionLoadedCallback() {
+  private void sendInstructionLoadedCallback(boolean isLoaded) {
     if (instructionLoadedCallback != null) {
-      instructionLoadedCallback.onInstructionLoaded(this);
+      instructionLoadedCallback.onInstructionLoaded(this, isLoaded);
     }
   }
-
-  private static CharSequence truncateImageSpan(Spannable instructionSpannable, TextView textView) {
-    int availableSpace = textView.getWidth() - textView.getPaddingRight() - textView.getPaddingLeft();
-    return TextUtils.ellipsize(instructionSpannable, textView.getPaint(), availableSpace, TextUtils.TruncateAt.END);
-  }
 }
@@ -34,6 +34,7 @@ import android.widget.RelativeLayout;
 import android.widget.TextView;
 
 import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.services.android.navigation.ui.v5.NavigationViewModel;
 import com.mapbox.services.android.navigation.ui.v5.R;
 import com.mapbox.services.android.navigation.ui.v5.ThemeSwitcher;
@@ -95,6 +96,7 @@ public class InstructionView extends RelativeLayout implements FeedbackBottomShe
   private AnimationSet fadeInSlowOut;
   private DecimalFormat decimalFormat;
   private LegStep currentStep;
+  private RouteLeg currentLeg;
   private NavigationViewModel navigationViewModel;
   private boolean isRerouting;
 
@@ -205,6 +207,7 @@ public class InstructionView extends RelativeLayout implements FeedbackBottomShe
   }
 
   private void updateViews(InstructionModel model) {
+    prewarmManeuverGlyphs(model.getProgress());
     updateManeuverView(model);
     updateDistanceText(model);
     updateInstructionList(model);
@@ -217,6 +220,20 @@ public class InstructionView extends RelativeLayout implements FeedbackBottomShe
     }
   }
 
+  /**
+   * Rasterizes the maneuver arrows of a new leg ahead of time, so they're only drawn
+   * from the {@link GlyphCache} once shown.
+   *
+   * @param routeProgress providing the current leg
+   */
+  private void prewarmManeuverGlyphs(RouteProgress routeProgress) {
+    RouteLeg leg = routeProgress.currentLeg();
+    if (leg != currentLeg) {
+      currentLeg = leg;
+      upcomingManeuverView.prewarmGlyphs(leg == null ? null : leg.steps());
+    }
+  }
+
   /**
    * Shows {@link FeedbackBottomSheet} and adds a listener so
    * the proper feedback information is collected or the user dismisses the UI.
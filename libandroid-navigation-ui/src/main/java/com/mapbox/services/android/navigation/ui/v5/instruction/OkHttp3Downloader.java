@@ -0,0 +1,68 @@
+package com.mapbox.services.android.navigation.ui.v5.instruction;
+
+import android.net.Uri;
+
+import com.squareup.picasso.Downloader;
+import com.squareup.picasso.NetworkPolicy;
+
+import java.io.IOException;
+
+import okhttp3.CacheControl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+
+/**
+ * {@link Downloader} which loads the shield images of {@link InstructionLoader} with the shared
+ * {@link com.mapbox.services.android.navigation.v5.navigation.NavigationHttpClient}, so shields are
+ * fetched over the same connections and stored in the same disk cache as the other requests.
+ */
+class OkHttp3Downloader implements Downloader {
+
+  private final OkHttpClient client;
+
+  OkHttp3Downloader(OkHttpClient client) {
+    this.client = client;
+  }
+
+  @Override
+  public Response load(Uri uri, int networkPolicy) throws IOException {
+    Request.Builder requestBuilder = new Request.Builder().url(uri.toString());
+    CacheControl cacheControl = buildCacheControl(networkPolicy);
+    if (cacheControl != null) {
+      requestBuilder.cacheControl(cacheControl);
+    }
+    okhttp3.Response response = client.newCall(requestBuilder.build()).execute();
+    ResponseBody body = response.body();
+    int responseCode = response.code();
+    if (responseCode >= 300 || body == null) {
+      if (body != null) {
+        body.close();
+      }
+      throw new ResponseException(responseCode + " " + response.message(), networkPolicy, responseCode);
+    }
+    boolean fromCache = response.cacheResponse() != null;
+    return new Response(body.byteStream(), fromCache, body.contentLength());
+  }
+
+  @Override
+  public void shutdown() {
+    // No-op - the client and its cache are shared with the rest of the SDK
+  }
+
+  private static CacheControl buildCacheControl(int networkPolicy) {
+    if (networkPolicy == 0) {
+      return null;
+    } else if (NetworkPolicy.isOfflineOnly(networkPolicy)) {
+      return CacheControl.FORCE_CACHE;
+    }
+    CacheControl.Builder builder = new CacheControl.Builder();
+    if (!NetworkPolicy.shouldReadFromDiskCache(networkPolicy)) {
+      builder.noCache();
+    }
+    if (!NetworkPolicy.shouldWriteToDiskCache(networkPolicy)) {
+      builder.noStore();
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,74 @@
+package com.mapbox.services.android.navigation.ui.v5.instruction;
+
+import android.text.TextUtils;
+
+import com.mapbox.api.directions.v5.models.BannerComponents;
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Collects the distinct shield image base URLs of the banner instructions of a route, in the order
+ * they're shown along the route, so each shield is only fetched once however often it appears.
+ */
+class ShieldUrlCollector {
+
+  private ShieldUrlCollector() {
+  }
+
+  /**
+   * @param route with the banner instructions of every step
+   * @return the distinct image base URLs, in route order
+   */
+  static Set<String> collect(DirectionsRoute route) {
+    Set<String> baseUrls = new LinkedHashSet<>();
+    if (route == null || route.legs() == null) {
+      return baseUrls;
+    }
+    for (RouteLeg leg : route.legs()) {
+      if (leg.steps() == null) {
+        continue;
+      }
+      for (LegStep step : leg.steps()) {
+        addBaseUrls(step, baseUrls);
+      }
+    }
+    return baseUrls;
+  }
+
+  /**
+   * @param step with banner instructions
+   * @return the distinct image base URLs of the step
+   */
+  static Set<String> collect(LegStep step) {
+    Set<String> baseUrls = new LinkedHashSet<>();
+    addBaseUrls(step, baseUrls);
+    return baseUrls;
+  }
+
+  private static void addBaseUrls(LegStep step, Set<String> baseUrls) {
+    if (step == null || step.bannerInstructions() == null) {
+      return;
+    }
+    for (BannerInstructions instructions : step.bannerInstructions()) {
+      addBaseUrls(instructions.primary(), baseUrls);
+      addBaseUrls(instructions.secondary(), baseUrls);
+    }
+  }
+
+  private static void addBaseUrls(BannerText bannerText, Set<String> baseUrls) {
+    if (bannerText == null || bannerText.components() == null) {
+      return;
+    }
+    for (BannerComponents components : bannerText.components()) {
+      if (!TextUtils.isEmpty(components.imageBaseUrl())) {
+        baseUrls.add(components.imageBaseUrl());
+      }
+    }
+  }
+}
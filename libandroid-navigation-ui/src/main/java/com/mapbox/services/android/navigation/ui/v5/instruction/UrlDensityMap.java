@@ -24,6 +24,10 @@ class UrlDensityMap extends SparseArray<String> {
     put(DisplayMetrics.DENSITY_XXXHIGH, FOUR_X + DOT_PNG);
   }
 
+  int getDisplayDensity() {
+    return displayDensity;
+  }
+
   public String get(String url) {
     return url + super.get(displayDensity);
   }
@@ -1,16 +1,22 @@
 package com.mapbox.services.android.navigation.ui.v5.instruction.maneuver;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.PointF;
+import android.support.annotation.Nullable;
 import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.view.View;
 
+import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.services.android.navigation.ui.v5.R;
 import com.mapbox.services.android.navigation.ui.v5.ThemeSwitcher;
+import com.mapbox.services.android.navigation.ui.v5.instruction.GlyphCache;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
 
+import java.util.List;
+
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.ManeuverModifier;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.ManeuverType;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_LEFT;
@@ -27,14 +33,30 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationCon
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_ROUNDABOUT;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_ROUNDABOUT_TURN;
 
-
 /**
  * A view that draws a maneuver arrow indicating the upcoming maneuver.
+ * <p>
+ * The arrow is rasterized once per maneuver, size and colors into the shared {@link GlyphCache},
+ * the view only draws the cached bitmap.
  *
  * @since 0.6.0
  */
 public class ManeuverView extends View {
 
+  private static final String GLYPH_MERGE = "maneuver_merge";
+  private static final String GLYPH_OFF_RAMP = "maneuver_off_ramp";
+  private static final String GLYPH_FORK = "maneuver_fork";
+  private static final String GLYPH_ROUNDABOUT = "maneuver_roundabout";
+  private static final String GLYPH_ARRIVE = "maneuver_arrive";
+  private static final String GLYPH_ARRIVE_RIGHT = "maneuver_arrive_right";
+  private static final String GLYPH_ARROW_STRAIGHT = "maneuver_arrow_straight";
+  private static final String GLYPH_ARROW_SLIGHT_RIGHT = "maneuver_arrow_slight_right";
+  private static final String GLYPH_ARROW_RIGHT = "maneuver_arrow_right";
+  private static final String GLYPH_ARROW_SHARP_RIGHT = "maneuver_arrow_sharp_right";
+  private static final String GLYPH_ARROW_180_RIGHT = "maneuver_arrow_180_right";
+  private static final float DEFAULT_ROUNDABOUT_ANGLE = 90f;
+  private static final float ROUNDABOUT_ANGLE_BUCKET = 15f;
+
   @ManeuverType
   String maneuverType = "";
   @ManeuverModifier
@@ -43,8 +65,9 @@ public class ManeuverView extends View {
   private int primaryColor;
   private int secondaryColor;
 
-  private float roundaboutAngle;
+  private float roundaboutAngle = DEFAULT_ROUNDABOUT_ANGLE;
   private PointF size;
+  private Bitmap glyph;
 
   public ManeuverView(Context context) {
     super(context);
@@ -61,7 +84,6 @@ public class ManeuverView extends View {
   @Override
   protected void onFinishInflate() {
     super.onFinishInflate();
-    setLayerType(LAYER_TYPE_SOFTWARE, null);
     initManeuverColor();
   }
 
@@ -75,21 +97,41 @@ public class ManeuverView extends View {
   public void setManeuverType(String maneuverType) {
     if (!TextUtils.equals(this.maneuverType, maneuverType)) {
       this.maneuverType = maneuverType;
-      invalidate();
+      invalidateGlyph();
     }
   }
 
   public void setManeuverModifier(String maneuverModifier) {
     if (!TextUtils.equals(this.maneuverModifier, maneuverModifier)) {
       this.maneuverModifier = maneuverModifier;
-      invalidate();
+      invalidateGlyph();
     }
   }
 
   public void setRoundaboutAngle(float roundaboutAngle) {
     if (isRoundabout() && this.roundaboutAngle != roundaboutAngle) {
       this.roundaboutAngle = roundaboutAngle;
-      invalidate();
+      invalidateGlyph();
+    }
+  }
+
+  /**
+   * Rasterizes the arrows of the maneuvers of the given steps ahead of time, in the size and colors
+   * of this view, so they don't have to be drawn once the maneuver is shown.
+   * <p>
+   * Does nothing before the view has been measured.
+   *
+   * @param steps with the maneuvers to show
+   * @since 0.10.0
+   */
+  public void prewarmGlyphs(List<LegStep> steps) {
+    if (size == null || steps == null) {
+      return;
+    }
+    for (LegStep step : steps) {
+      if (step.maneuver() != null && step.maneuver().type() != null) {
+        obtainGlyph(step.maneuver().type(), step.maneuver().modifier());
+      }
     }
   }
 
@@ -114,100 +156,152 @@ public class ManeuverView extends View {
       return;
     }
 
-    boolean flip = false;
+    if (glyph == null) {
+      glyph = obtainGlyph(maneuverType, maneuverModifier);
+      setScaleX(shouldFlip(maneuverType, maneuverModifier) ? -1 : 1);
+    }
+    if (glyph != null) {
+      canvas.drawBitmap(glyph, 0, 0, null);
+    }
+  }
 
-    switch (maneuverType) {
-      case NavigationConstants.STEP_MANEUVER_TYPE_MERGE:
+  private void invalidateGlyph() {
+    glyph = null;
+    invalidate();
+  }
+
+  @Nullable
+  private Bitmap obtainGlyph(String type, String modifier) {
+    final String glyphName = glyphOf(type, modifier);
+    final float angle = Math.round(roundaboutAngle / ROUNDABOUT_ANGLE_BUCKET) * ROUNDABOUT_ANGLE_BUCKET;
+    String key = GlyphCache.keyOf(GLYPH_ROUNDABOUT.equals(glyphName) ? glyphName + angle : glyphName,
+      size, primaryColor, secondaryColor);
+    return GlyphCache.getInstance().obtain(key, size, new GlyphCache.Painter() {
+      @Override
+      public void paint(Canvas canvas, PointF size) {
+        drawGlyph(canvas, glyphName, size, angle);
+      }
+    });
+  }
+
+  private void drawGlyph(Canvas canvas, String glyphName, PointF size, float angle) {
+    switch (glyphName) {
+      case GLYPH_MERGE:
         ManeuversStyleKit.drawMerge(canvas, primaryColor, secondaryColor, size);
-        flip = shouldFlip(maneuverModifier);
         break;
-
-      case STEP_MANEUVER_TYPE_OFF_RAMP:
+      case GLYPH_OFF_RAMP:
         ManeuversStyleKit.drawOffRamp(canvas, primaryColor, secondaryColor, size);
-        flip = shouldFlip(maneuverModifier);
         break;
-
-      case STEP_MANEUVER_TYPE_FORK:
+      case GLYPH_FORK:
         ManeuversStyleKit.drawFork(canvas, primaryColor, secondaryColor, size);
-        flip = shouldFlip(maneuverModifier);
         break;
+      case GLYPH_ROUNDABOUT:
+        ManeuversStyleKit.drawRoundabout(canvas, primaryColor, secondaryColor, size, angle);
+        break;
+      case GLYPH_ARRIVE_RIGHT:
+        ManeuversStyleKit.drawArriveRight(canvas, primaryColor, size);
+        break;
+      case GLYPH_ARRIVE:
+        ManeuversStyleKit.drawArrive(canvas, primaryColor, size);
+        break;
+      case GLYPH_ARROW_SLIGHT_RIGHT:
+        ManeuversStyleKit.drawArrowSlightRight(canvas, primaryColor, size);
+        break;
+      case GLYPH_ARROW_RIGHT:
+        ManeuversStyleKit.drawArrowRight(canvas, primaryColor, size);
+        break;
+      case GLYPH_ARROW_SHARP_RIGHT:
+        ManeuversStyleKit.drawArrowSharpRight(canvas, primaryColor, size);
+        break;
+      case GLYPH_ARROW_180_RIGHT:
+        ManeuversStyleKit.drawArrow180Right(canvas, primaryColor, size);
+        break;
+      default:
+        ManeuversStyleKit.drawArrowStraight(canvas, primaryColor, size);
+    }
+  }
+
+  private static String glyphOf(String type, String modifier) {
+    switch (type) {
+      case NavigationConstants.STEP_MANEUVER_TYPE_MERGE:
+        return GLYPH_MERGE;
+
+      case STEP_MANEUVER_TYPE_OFF_RAMP:
+        return GLYPH_OFF_RAMP;
+
+      case STEP_MANEUVER_TYPE_FORK:
+        return GLYPH_FORK;
 
       case STEP_MANEUVER_TYPE_ROUNDABOUT:
       case STEP_MANEUVER_TYPE_ROUNDABOUT_TURN:
       case STEP_MANEUVER_TYPE_ROTARY:
-        ManeuversStyleKit.drawRoundabout(canvas, primaryColor, secondaryColor, size, 90f);
-        break;
+        return GLYPH_ROUNDABOUT;
 
       case STEP_MANEUVER_TYPE_ARRIVE:
-        if (maneuverModifier != null) {
-          switch (maneuverModifier) {
-            case STEP_MANEUVER_MODIFIER_RIGHT:
-              ManeuversStyleKit.drawArriveRight(canvas, primaryColor, size);
-              flip = false;
-              break;
-
-            case STEP_MANEUVER_MODIFIER_LEFT:
-              ManeuversStyleKit.drawArriveRight(canvas, primaryColor, size);
-              flip = true;
-              break;
-
-            default:
-              ManeuversStyleKit.drawArrive(canvas, primaryColor, size);
-          }
-        } else {
-          ManeuversStyleKit.drawArrive(canvas, primaryColor, size);
+        if (STEP_MANEUVER_MODIFIER_RIGHT.equals(modifier) || STEP_MANEUVER_MODIFIER_LEFT.equals(modifier)) {
+          return GLYPH_ARRIVE_RIGHT;
         }
-        break;
+        return GLYPH_ARRIVE;
+
+      default:
+        if (modifier == null) {
+          return GLYPH_ARROW_STRAIGHT;
+        }
+        switch (modifier) {
+          case STEP_MANEUVER_MODIFIER_SLIGHT_RIGHT:
+          case STEP_MANEUVER_MODIFIER_SLIGHT_LEFT:
+            return GLYPH_ARROW_SLIGHT_RIGHT;
+
+          case STEP_MANEUVER_MODIFIER_RIGHT:
+          case STEP_MANEUVER_MODIFIER_LEFT:
+            return GLYPH_ARROW_RIGHT;
+
+          case STEP_MANEUVER_MODIFIER_SHARP_RIGHT:
+          case STEP_MANEUVER_MODIFIER_SHARP_LEFT:
+            return GLYPH_ARROW_SHARP_RIGHT;
+
+          case STEP_MANEUVER_MODIFIER_UTURN:
+            return GLYPH_ARROW_180_RIGHT;
+
+          default:
+            return GLYPH_ARROW_STRAIGHT;
+        }
+    }
+  }
+
+  private static boolean shouldFlip(String type, String modifier) {
+    if (modifier == null) {
+      return false;
+    }
+    switch (type) {
+      case NavigationConstants.STEP_MANEUVER_TYPE_MERGE:
+      case STEP_MANEUVER_TYPE_OFF_RAMP:
+      case STEP_MANEUVER_TYPE_FORK:
+        return shouldFlip(modifier);
+
+      case STEP_MANEUVER_TYPE_ROUNDABOUT:
+      case STEP_MANEUVER_TYPE_ROUNDABOUT_TURN:
+      case STEP_MANEUVER_TYPE_ROTARY:
+        return false;
+
+      case STEP_MANEUVER_TYPE_ARRIVE:
+        return STEP_MANEUVER_MODIFIER_LEFT.equals(modifier);
 
       default:
-        if (maneuverModifier != null) {
-          switch (maneuverModifier) {
-            case STEP_MANEUVER_MODIFIER_SLIGHT_RIGHT:
-              ManeuversStyleKit.drawArrowSlightRight(canvas, primaryColor, size);
-              flip = false;
-              break;
-
-            case STEP_MANEUVER_MODIFIER_RIGHT:
-              ManeuversStyleKit.drawArrowRight(canvas, primaryColor, size);
-              flip = false;
-              break;
-
-            case STEP_MANEUVER_MODIFIER_SHARP_RIGHT:
-              ManeuversStyleKit.drawArrowSharpRight(canvas, primaryColor, size);
-              flip = false;
-              break;
-
-            case STEP_MANEUVER_MODIFIER_SLIGHT_LEFT:
-              ManeuversStyleKit.drawArrowSlightRight(canvas, primaryColor, size);
-              flip = true;
-              break;
-
-            case STEP_MANEUVER_MODIFIER_LEFT:
-              ManeuversStyleKit.drawArrowRight(canvas, primaryColor, size);
-              flip = true;
-              break;
-
-            case STEP_MANEUVER_MODIFIER_SHARP_LEFT:
-              ManeuversStyleKit.drawArrowSharpRight(canvas, primaryColor, size);
-              flip = true;
-              break;
-
-            case STEP_MANEUVER_MODIFIER_UTURN:
-              ManeuversStyleKit.drawArrow180Right(canvas, primaryColor, size);
-              flip = true;
-              break;
-
-            default:
-              ManeuversStyleKit.drawArrowStraight(canvas, primaryColor, size);
-          }
-        } else {
-          ManeuversStyleKit.drawArrowStraight(canvas, primaryColor, size);
+        switch (modifier) {
+          case STEP_MANEUVER_MODIFIER_SLIGHT_LEFT:
+          case STEP_MANEUVER_MODIFIER_LEFT:
+          case STEP_MANEUVER_MODIFIER_SHARP_LEFT:
+          case STEP_MANEUVER_MODIFIER_UTURN:
+            return true;
+
+          default:
+            return false;
         }
     }
-    setScaleX(flip ? -1 : 1);
   }
 
-  private boolean shouldFlip(String modifier) {
+  private static boolean shouldFlip(String modifier) {
     return modifier.contains(STEP_MANEUVER_MODIFIER_SLIGHT_LEFT)
       || modifier.contains(STEP_MANEUVER_MODIFIER_LEFT)
       || modifier.contains(STEP_MANEUVER_MODIFIER_SHARP_LEFT);
@@ -1,6 +1,7 @@
 package com.mapbox.services.android.navigation.ui.v5.instruction.turnlane;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.PointF;
 import android.support.annotation.NonNull;
@@ -11,6 +12,7 @@ import android.view.View;
 import com.mapbox.api.directions.v5.models.IntersectionLanes;
 import com.mapbox.services.android.navigation.ui.v5.R;
 import com.mapbox.services.android.navigation.ui.v5.ThemeSwitcher;
+import com.mapbox.services.android.navigation.ui.v5.instruction.GlyphCache;
 import com.mapbox.core.utils.TextUtils;
 
 import static com.mapbox.services.android.navigation.ui.v5.instruction.turnlane.TurnLaneViewData.DRAW_LANE_RIGHT;
@@ -21,11 +23,18 @@ import static com.mapbox.services.android.navigation.ui.v5.instruction.turnlane.
 import static com.mapbox.services.android.navigation.ui.v5.instruction.turnlane.TurnLaneViewData.DRAW_LANE_STRAIGHT_RIGHT;
 import static com.mapbox.services.android.navigation.ui.v5.instruction.turnlane.TurnLaneViewData.DRAW_LANE_UTURN;
 
+/**
+ * A view that draws the indications of a lane. The lane is rasterized once per indication, size and
+ * colors into the shared {@link GlyphCache}, the view only draws the cached bitmap.
+ */
 public class TurnLaneView extends View {
 
+  private static final String GLYPH_PREFIX = "lane_";
+
   private TurnLaneViewData drawData;
   private PointF size;
   private boolean isValid;
+  private Bitmap glyph;
 
   private int primaryColor;
   private int secondaryColor;
@@ -45,7 +54,6 @@ public class TurnLaneView extends View {
   @Override
   protected void onFinishInflate() {
     super.onFinishInflate();
-    setLayerType(LAYER_TYPE_SOFTWARE, null);
     initManeuverColor();
   }
 
@@ -70,7 +78,53 @@ public class TurnLaneView extends View {
       return;
     }
 
-    switch (drawData.getDrawMethod()) {
+    if (glyph == null) {
+      glyph = obtainGlyph(drawData.getDrawMethod());
+    }
+    if (glyph != null) {
+      canvas.drawBitmap(glyph, 0, 0, null);
+    }
+  }
+
+  public void updateLaneView(@NonNull IntersectionLanes lane, @NonNull String maneuverModifier) {
+    StringBuilder builder = new StringBuilder();
+    for (String indication : lane.indications()) {
+      builder.append(indication);
+    }
+    TurnLaneViewData drawData = new TurnLaneViewData(builder.toString(), maneuverModifier);
+    if (isNewLane(drawData)) {
+      glyph = null;
+      invalidate();
+    }
+    this.drawData = drawData;
+    this.isValid = lane.valid();
+
+    // Set alpha based on validity
+    setAlpha(!isValid ? 0.4f : 1.0f);
+
+    // Flip if needed
+    setScaleX(drawData.shouldBeFlipped() ? -1 : 1);
+  }
+
+  private boolean isNewLane(TurnLaneViewData drawData) {
+    if (this.drawData == null || this.drawData.getDrawMethod() == null) {
+      return true;
+    }
+    return !this.drawData.getDrawMethod().equals(drawData.getDrawMethod());
+  }
+
+  private Bitmap obtainGlyph(final String drawMethod) {
+    String key = GlyphCache.keyOf(GLYPH_PREFIX + drawMethod, size, primaryColor, secondaryColor);
+    return GlyphCache.getInstance().obtain(key, size, new GlyphCache.Painter() {
+      @Override
+      public void paint(Canvas canvas, PointF size) {
+        drawLane(canvas, drawMethod, size);
+      }
+    });
+  }
+
+  private void drawLane(Canvas canvas, String drawMethod, PointF size) {
+    switch (drawMethod) {
       case DRAW_LANE_STRAIGHT:
         LanesStyleKit.drawLaneStraight(canvas, primaryColor, size);
         break;
@@ -96,22 +150,6 @@ public class TurnLaneView extends View {
         LanesStyleKit.drawLaneStraight(canvas, primaryColor, size);
         break;
     }
-
-    // Set alpha based on validity
-    setAlpha(!isValid ? 0.4f : 1.0f);
-
-    // Flip if needed
-    setScaleX(drawData.shouldBeFlipped() ? -1 : 1);
-  }
-
-  public void updateLaneView(@NonNull IntersectionLanes lane, @NonNull String maneuverModifier) {
-    StringBuilder builder = new StringBuilder();
-    for (String indication : lane.indications()) {
-      builder.append(indication);
-    }
-    this.drawData = new TurnLaneViewData(builder.toString(), maneuverModifier);
-    this.isValid = lane.valid();
-    invalidate();
   }
 
   private void initManeuverColor() {
@@ -5,6 +5,9 @@ import android.content.res.TypedArray;
 import android.graphics.Bitmap;
 import android.graphics.drawable.Drawable;
 import android.location.Location;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.support.annotation.ColorInt;
 import android.support.annotation.DrawableRes;
 import android.support.annotation.NonNull;
@@ -14,28 +17,28 @@ import android.support.annotation.StyleRes;
 import android.support.v4.content.ContextCompat;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
-import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.maps.MapView;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
 import com.mapbox.mapboxsdk.style.functions.Function;
 import com.mapbox.mapboxsdk.style.functions.stops.Stop;
 import com.mapbox.mapboxsdk.style.functions.stops.Stops;
+import com.mapbox.mapboxsdk.style.layers.Filter;
 import com.mapbox.mapboxsdk.style.layers.Layer;
 import com.mapbox.mapboxsdk.style.layers.LineLayer;
 import com.mapbox.mapboxsdk.style.layers.Property;
 import com.mapbox.mapboxsdk.style.layers.PropertyFactory;
 import com.mapbox.mapboxsdk.style.layers.SymbolLayer;
-import com.mapbox.core.constants.Constants;
 import com.mapbox.services.android.navigation.ui.v5.R;
 import com.mapbox.services.android.navigation.ui.v5.utils.MapImageUtils;
 import com.mapbox.services.android.navigation.ui.v5.utils.MapUtils;
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation;
+import com.mapbox.services.android.navigation.v5.route.RerouteListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.BackgroundThreadFactory;
 import com.mapbox.services.commons.geojson.Feature;
 import com.mapbox.services.commons.geojson.FeatureCollection;
-import com.mapbox.services.commons.geojson.LineString;
 import com.mapbox.services.commons.geojson.Point;
 import com.mapbox.services.commons.models.Position;
 import com.mapbox.turf.TurfConstants;
@@ -45,10 +48,23 @@ import com.mapbox.turf.TurfMisc;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+
+import timber.log.Timber;
 
 import static com.mapbox.mapboxsdk.style.functions.stops.Stop.stop;
 import static com.mapbox.mapboxsdk.style.functions.stops.Stops.categorical;
 import static com.mapbox.mapboxsdk.style.functions.stops.Stops.exponential;
+import static com.mapbox.services.android.navigation.ui.v5.route.RouteFeatureBuilder.CHUNK_KEY;
+import static com.mapbox.services.android.navigation.ui.v5.route.RouteFeatureBuilder.CONGESTION_KEY;
+import static com.mapbox.services.android.navigation.ui.v5.route.RouteFeatureBuilder.HEAVY_CONGESTION;
+import static com.mapbox.services.android.navigation.ui.v5.route.RouteFeatureBuilder.ID_FORMAT;
+import static com.mapbox.services.android.navigation.ui.v5.route.RouteFeatureBuilder.INDEX_KEY;
+import static com.mapbox.services.android.navigation.ui.v5.route.RouteFeatureBuilder.MODERATE_CONGESTION;
+import static com.mapbox.services.android.navigation.ui.v5.route.RouteFeatureBuilder.SEVERE_CONGESTION;
+import static com.mapbox.services.android.navigation.ui.v5.route.RouteFeatureBuilder.SOURCE_KEY;
+import static com.mapbox.services.android.navigation.ui.v5.route.RouteFeatureBuilder.WAYPOINT_KEY;
+import static com.mapbox.services.android.navigation.ui.v5.route.RouteFeatureBuilder.WAYPOINT_SOURCE_ID;
 
 /**
  * Provide a route using {@link NavigationMapRoute#addRoutes(List)} and a route will be drawn using
@@ -63,24 +79,29 @@ import static com.mapbox.mapboxsdk.style.functions.stops.Stops.exponential;
  * applications {@code style.xml} file, you extend {@code <style name="NavigationMapRoute">} and
  * change some or all the options currently offered. If no style files provided in the constructor,
  * the default style will be used.
+ * <p>
+ * The route features are built on a background thread, the route is drawn once they're ready.
+ * The traveled part of the route can be hidden during a navigation session, see
+ * {@link NavigationMapRoute#showVanishingRouteLine(boolean)}.
  *
  * @since 0.4.0
  */
 public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMapChangedListener,
   MapboxMap.OnMapClickListener {
 
-  private static final String CONGESTION_KEY = "congestion";
-  private static final String SOURCE_KEY = "source";
-  private static final String INDEX_KEY = "index";
-
   private static final int ROUTE_CLICK_PADDING = 250;
-  private static final String GENERIC_ROUTE_SOURCE_ID = "mapbox-navigation-route-source";
   private static final String GENERIC_ROUTE_LAYER_ID = "mapbox-navigation-route-layer";
-  private static final String WAYPOINT_SOURCE_ID = "mapbox-navigation-waypoint-source";
   private static final String WAYPOINT_LAYER_ID = "mapbox-navigation-waypoint-layer";
-  private static final String ID_FORMAT = "%s-%d";
   private static final String GENERIC_ROUTE_SHIELD_LAYER_ID
     = "mapbox-navigation-route-shield-layer";
+  private static final String PROGRESS_SOURCE_ID = "mapbox-navigation-route-progress-source";
+  private static final String PROGRESS_LAYER_ID = "mapbox-navigation-route-progress-layer";
+  private static final String PROGRESS_SHIELD_LAYER_ID = "mapbox-navigation-route-progress-shield-layer";
+  private static final long VANISHING_UPDATE_INTERVAL = 1000;
+  private static final int NO_CHUNK = -1;
+  private static final String BUILD_THREAD_NAME = "NavigationMapRouteBuild";
+  // Shared by all instances, its thread stops while there's nothing to build
+  private static ExecutorService buildExecutor;
 
   @StyleRes
   private int styleRes;
@@ -117,6 +138,12 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
   private String belowLayer;
   private boolean alternativesVisible;
   private OnRouteSelectionChangeListener onRouteSelectionChangeListener;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private int buildGeneration;
+  private boolean isBuildingRoutes;
+  private boolean vanishingRouteLineEnabled;
+  private long lastVanishingUpdateTime;
+  private int vanishedChunk = NO_CHUNK;
 
   /**
    * Construct an instance of {@link NavigationMapRoute}.
@@ -243,15 +270,7 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
   public void addRoutes(@NonNull @Size(min = 1) List<DirectionsRoute> directionsRoutes) {
     this.directionsRoutes = directionsRoutes;
     primaryRouteIndex = 0;
-    if (!layerIds.isEmpty()) {
-      for (String id : layerIds) {
-        mapboxMap.removeLayer(id);
-      }
-    }
-    featureCollections.clear();
-    generateFeatureCollectionList(directionsRoutes);
-    drawRoutes();
-    addDirectionWaypoints();
+    buildFeatureCollections(directionsRoutes);
   }
 
   /**
@@ -282,6 +301,26 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
     toggleAlternativeVisibility(alternativesVisible);
   }
 
+  /**
+   * Toggle whether or not the traveled part of the primary route is hidden during a navigation
+   * session. The route is updated with the progress of the {@link MapboxNavigation} passed in the
+   * constructor, at most once a second.
+   * <p>
+   * The traveled chunks of the route are hidden with a layer filter and only the chunk being
+   * traveled is drawn from a separate small source, so the route geometry isn't uploaded again on
+   * each progress update.
+   *
+   * @param vanishingRouteLineEnabled true if the traveled part of the route should be hidden, else
+   *                                  false
+   * @since 0.10.0
+   */
+  public void showVanishingRouteLine(boolean vanishingRouteLineEnabled) {
+    this.vanishingRouteLineEnabled = vanishingRouteLineEnabled;
+    if (!vanishingRouteLineEnabled) {
+      resetVanishingRouteLine();
+    }
+  }
+
   //
   // Private methods
   //
@@ -310,6 +349,8 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
    * Takes the directions route list and draws each line on the map.
    */
   private void drawRoutes() {
+    // The new route layers aren't filtered yet
+    vanishedChunk = NO_CHUNK;
     // Add all the sources, the list is traversed backwards to ensure the primary route always gets
     // drawn on top of the others since it initially has a index of zero.
     for (int i = featureCollections.size() - 1; i >= 0; i--) {
@@ -330,34 +371,50 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
 
       // Add the route shield first followed by the route to ensure the shield is always on the
       // bottom.
-      addRouteShieldLayer(layerIds.get(layerIds.size() - 2), sourceId, index);
-      addRouteLayer(layerIds.get(layerIds.size() - 1), sourceId, index);
+      addRouteShieldLayer(layerIds.get(layerIds.size() - 2), sourceId, index, belowLayer);
+      addRouteLayer(layerIds.get(layerIds.size() - 1), sourceId, index, belowLayer);
     }
   }
 
-  private void generateFeatureCollectionList(List<DirectionsRoute> directionsRoutes) {
-    // Each route contains traffic information and should be recreated considering this traffic
-    // information.
-    for (int i = 0; i < directionsRoutes.size(); i++) {
-      featureCollections.add(addTrafficToSource(directionsRoutes.get(i), i));
-    }
-
-    // Add the waypoint geometries to represent them as an icon
-    featureCollections.add(
-      waypointFeatureCollection(directionsRoutes.get(primaryRouteIndex))
-    );
-  }
-
   /**
-   * The routes also display an icon for each waypoint in the route, we use symbol layers for this.
+   * Builds the features of the routes on the background thread and draws them on the main thread,
+   * unless other routes have been added or the route has been removed in the meantime. The previous
+   * routes stay on the map until then, so the route line doesn't disappear during a reroute.
    */
-  private static FeatureCollection waypointFeatureCollection(DirectionsRoute route) {
-    final List<Feature> waypointFeatures = new ArrayList<>();
-    for (RouteLeg leg : route.legs()) {
-      waypointFeatures.add(getPointFromLineString(leg, 0));
-      waypointFeatures.add(getPointFromLineString(leg, leg.steps().size() - 1));
-    }
-    return FeatureCollection.fromFeatures(waypointFeatures);
+  private void buildFeatureCollections(List<DirectionsRoute> directionsRoutes) {
+    final int generation = ++buildGeneration;
+    isBuildingRoutes = true;
+    final List<DirectionsRoute> routes = new ArrayList<>(directionsRoutes);
+    final int routeIndex = primaryRouteIndex;
+    obtainBuildExecutor().execute(new Runnable() {
+      @Override
+      public void run() {
+        long startTime = SystemClock.elapsedRealtime();
+        final List<FeatureCollection> builtCollections =
+          RouteFeatureBuilder.buildFeatureCollections(routes, routeIndex);
+        Timber.d("Built %d route features in %d ms", RouteFeatureBuilder.countFeatures(builtCollections),
+          SystemClock.elapsedRealtime() - startTime);
+        mainHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            if (generation == buildGeneration) {
+              drawFeatureCollections(builtCollections);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  private void drawFeatureCollections(List<FeatureCollection> builtCollections) {
+    isBuildingRoutes = false;
+    removeRouteLayers();
+    featureCollections.clear();
+    featureCollections.addAll(builtCollections);
+    drawRoutes();
+    addDirectionWaypoints();
+    // The visibility may have been toggled before the layers were added
+    toggleAlternativeVisibility(alternativesVisible);
   }
 
   private void addDirectionWaypoints() {
@@ -379,11 +436,11 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
       layer.setProperties(
         PropertyFactory.lineColor(
           Function.property(CONGESTION_KEY, categorical(
-            stop("moderate", PropertyFactory.lineColor(
+            stop(MODERATE_CONGESTION, PropertyFactory.lineColor(
               index == primaryRouteIndex ? routeModerateColor : alternativeRouteModerateColor)),
-            stop("heavy", PropertyFactory.lineColor(
+            stop(HEAVY_CONGESTION, PropertyFactory.lineColor(
               index == primaryRouteIndex ? routeSevereColor : alternativeRouteSevereColor)),
-            stop("severe", PropertyFactory.lineColor(
+            stop(SEVERE_CONGESTION, PropertyFactory.lineColor(
               index == primaryRouteIndex ? routeSevereColor : alternativeRouteSevereColor))
           )).withDefaultValue(PropertyFactory.lineColor(
             index == primaryRouteIndex ? routeDefaultColor : alternativeRouteDefaultColor)))
@@ -412,7 +469,7 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
   /**
    * Add the route layer to the map either using the custom style values or the default.
    */
-  private void addRouteLayer(String layerId, String sourceId, int index) {
+  private void addRouteLayer(String layerId, String sourceId, int index, String idBelowLayer) {
     float scale = index == primaryRouteIndex ? routeScale : alternativeRouteScale;
     Layer routeLayer = new LineLayer(layerId, sourceId).withProperties(
       PropertyFactory.lineCap(Property.LINE_CAP_ROUND),
@@ -429,22 +486,22 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
       ),
       PropertyFactory.lineColor(
         Function.property(CONGESTION_KEY, categorical(
-          stop("moderate", PropertyFactory.lineColor(
+          stop(MODERATE_CONGESTION, PropertyFactory.lineColor(
             index == primaryRouteIndex ? routeModerateColor : alternativeRouteModerateColor)),
-          stop("heavy", PropertyFactory.lineColor(
+          stop(HEAVY_CONGESTION, PropertyFactory.lineColor(
             index == primaryRouteIndex ? routeSevereColor : alternativeRouteSevereColor)),
-          stop("severe", PropertyFactory.lineColor(
+          stop(SEVERE_CONGESTION, PropertyFactory.lineColor(
             index == primaryRouteIndex ? routeSevereColor : alternativeRouteSevereColor))
         )).withDefaultValue(PropertyFactory.lineColor(
           index == primaryRouteIndex ? routeDefaultColor : alternativeRouteDefaultColor)))
     );
-    MapUtils.addLayerToMap(mapboxMap, routeLayer, belowLayer);
+    MapUtils.addLayerToMap(mapboxMap, routeLayer, idBelowLayer);
   }
 
   /**
    * Add the route shield layer to the map either using the custom style values or the default.
    */
-  private void addRouteShieldLayer(String layerId, String sourceId, int index) {
+  private void addRouteShieldLayer(String layerId, String sourceId, int index, String idBelowLayer) {
     float scale = index == primaryRouteIndex ? routeScale : alternativeRouteScale;
     Layer routeLayer = new LineLayer(layerId, sourceId).withProperties(
       PropertyFactory.lineCap(Property.LINE_CAP_ROUND),
@@ -461,7 +518,7 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
       PropertyFactory.lineColor(
         index == primaryRouteIndex ? routeShieldColor : alternativeRouteShieldColor)
     );
-    MapUtils.addLayerToMap(mapboxMap, routeLayer, belowLayer);
+    MapUtils.addLayerToMap(mapboxMap, routeLayer, idBelowLayer);
   }
 
   /**
@@ -542,7 +599,7 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
 
       waypointLayer = new SymbolLayer(WAYPOINT_LAYER_ID, WAYPOINT_SOURCE_ID).withProperties(
         PropertyFactory.iconImage(Function.property(
-          "waypoint",
+          WAYPOINT_KEY,
           categorical(
             stop("origin", PropertyFactory.iconImage("originMarker")),
             stop("destination", PropertyFactory.iconImage("destinationMarker"))
@@ -564,19 +621,6 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
     }
   }
 
-  private static Feature getPointFromLineString(RouteLeg leg, int stepIndex) {
-    Feature feature = Feature.fromGeometry(Point.fromCoordinates(
-      new double[] {
-        leg.steps().get(stepIndex).maneuver().location().longitude(),
-        leg.steps().get(stepIndex).maneuver().location().latitude()
-      }));
-    feature.addStringProperty(SOURCE_KEY, WAYPOINT_SOURCE_ID);
-    feature.addStringProperty("waypoint",
-      stepIndex == 0 ? "origin" : "destination"
-    );
-    return feature;
-  }
-
   /**
    * Adds the necessary listeners
    */
@@ -584,6 +628,7 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
     mapboxMap.setOnMapClickListener(this);
     if (navigation != null) {
       navigation.addProgressChangeListener(this);
+      navigation.addRerouteListener(rerouteListener);
     }
     mapView.addOnMapChangedListener(this);
   }
@@ -594,14 +639,24 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
    * @since 0.4.0
    */
   public void removeRoute() {
+    // Routes still being built aren't drawn anymore
+    buildGeneration++;
+    isBuildingRoutes = false;
+    removeRouteLayers();
+  }
+
+  private void removeRouteLayers() {
+    removeProgressLayers();
     for (String layerId : layerIds) {
       mapboxMap.removeLayer(layerId);
     }
+    layerIds.clear();
   }
 
   @Override
   public void onMapClick(@NonNull LatLng point) {
-    if (directionsRoutes == null || directionsRoutes.isEmpty() || !alternativesVisible) {
+    // The drawn features don't belong to the routes yet while these are being built
+    if (directionsRoutes == null || directionsRoutes.isEmpty() || !alternativesVisible || isBuildingRoutes) {
       return;
     }
     // determine which feature collections are alternative routes
@@ -626,6 +681,9 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
         }
       }
     }
+    if (vanishingRouteLineEnabled) {
+      resetVanishingRouteLine();
+    }
     updateRoute();
     if (onRouteSelectionChangeListener != null) {
       onRouteSelectionChangeListener.onNewPrimaryRouteSelected(
@@ -633,11 +691,18 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
     }
   }
 
+  /**
+   * The chunks of the route line without congestion are in order, the congested parts are drawn on
+   * top of them.
+   */
   @SuppressWarnings("unchecked")
   private static List<com.mapbox.geojson.Point> calculateLinePoints(
     FeatureCollection featureCollection) {
     List<com.mapbox.geojson.Point> linePoints = new ArrayList<>();
     for (Feature feature : featureCollection.getFeatures()) {
+      if (feature.getStringProperty(CONGESTION_KEY) != null) {
+        continue;
+      }
       List<Position> positions = (List<Position>) feature.getGeometry().getCoordinates();
       for (Position pos : positions) {
         linePoints.add(com.mapbox.geojson
@@ -670,8 +735,11 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
    */
   @Override
   public void onMapChanged(int change) {
-    if (change == MapView.DID_FINISH_LOADING_STYLE) {
+    // The routes are drawn once their features are built
+    if (change == MapView.DID_FINISH_LOADING_STYLE && !featureCollections.isEmpty()) {
       placeRouteBelow();
+      // The layers went away with the previous style
+      layerIds.clear();
       drawRoutes();
       addDirectionWaypoints();
       showAlternativeRoutes(alternativesVisible);
@@ -691,51 +759,84 @@ public class NavigationMapRoute implements ProgressChangeListener, MapView.OnMap
   public void onProgressChange(Location location, RouteProgress routeProgress) {
     // Check if the route's the same as the route currently drawn
     if (!routeProgress.directionsRoute().equals(directionsRoutes.get(primaryRouteIndex))) {
-      directionsRoutes.clear();
-      directionsRoutes.add(routeProgress.directionsRoute());
-      drawRoutes();
-      addDirectionWaypoints();
+      addRoute(routeProgress.directionsRoute());
+    }
+    if (vanishingRouteLineEnabled) {
+      updateVanishingRouteLine(routeProgress.fractionTraveled());
     }
   }
 
   /**
-   * If the {@link DirectionsRoute} request contains congestion information via annotations, breakup
-   * the source into pieces so data-driven styling can be used to change the route colors
-   * accordingly.
+   * Hides the traveled chunks of the primary route with a layer filter, which only changes when the
+   * next chunk is reached, and draws the remaining part of the chunk being traveled. The remaining
+   * part is drawn below the waypoints, so it doesn't cover the origin and destination icons.
    */
-  private static FeatureCollection addTrafficToSource(DirectionsRoute route, int index) {
-    final List<Feature> features = new ArrayList<>();
-    LineString originalGeometry = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
-    Feature feat = Feature.fromGeometry(originalGeometry);
-    feat.addStringProperty(SOURCE_KEY, String.format(Locale.US, ID_FORMAT, GENERIC_ROUTE_SOURCE_ID,
-      index));
-    feat.addNumberProperty(INDEX_KEY, index);
-    features.add(feat);
-
-    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
-    for (RouteLeg leg : route.legs()) {
-      if (leg.annotation() != null && leg.annotation().congestion() != null) {
-        for (int i = 0; i < leg.annotation().congestion().size(); i++) {
-          // See https://github.com/mapbox/mapbox-navigation-android/issues/353
-          if (leg.annotation().congestion().size() + 1 <= lineString.getCoordinates().size()) {
-            double[] startCoord = lineString.getCoordinates().get(i).getCoordinates();
-            double[] endCoord = lineString.getCoordinates().get(i + 1).getCoordinates();
-
-            LineString congestionLineString = LineString.fromCoordinates(new double[][] {startCoord,
-              endCoord});
-            Feature feature = Feature.fromGeometry(congestionLineString);
-            feature.addStringProperty(CONGESTION_KEY, leg.annotation().congestion().get(i));
-            feature.addStringProperty(SOURCE_KEY, String.format(Locale.US, ID_FORMAT,
-              GENERIC_ROUTE_SOURCE_ID, index));
-            feature.addNumberProperty(INDEX_KEY, index);
-            features.add(feature);
-          }
-        }
-      } else {
-        Feature feature = Feature.fromGeometry(lineString);
-        features.add(feature);
+  private void updateVanishingRouteLine(double fractionTraveled) {
+    long currentTime = SystemClock.elapsedRealtime();
+    if (featureCollections.isEmpty() || isBuildingRoutes
+      || currentTime - lastVanishingUpdateTime < VANISHING_UPDATE_INTERVAL) {
+      return;
+    }
+    lastVanishingUpdateTime = currentTime;
+    FeatureCollection routeFeatures = featureCollections.get(primaryRouteIndex);
+    double traveledDistance = RouteFeatureBuilder.calculateTraveledDistance(routeFeatures, fractionTraveled);
+    int chunk = RouteFeatureBuilder.findChunk(routeFeatures, traveledDistance);
+    if (chunk != vanishedChunk) {
+      vanishedChunk = chunk;
+      filterRouteLayers(primaryRouteIndex, Filter.gt(CHUNK_KEY, chunk));
+    }
+    MapUtils.updateMapSourceFromFeatureCollection(mapboxMap,
+      RouteFeatureBuilder.trimChunk(routeFeatures, chunk, traveledDistance), PROGRESS_SOURCE_ID);
+    if (mapboxMap.getLayer(PROGRESS_LAYER_ID) == null) {
+      String progressBelowLayer = mapboxMap.getLayer(WAYPOINT_LAYER_ID) == null ? belowLayer : WAYPOINT_LAYER_ID;
+      addRouteShieldLayer(PROGRESS_SHIELD_LAYER_ID, PROGRESS_SOURCE_ID, primaryRouteIndex, progressBelowLayer);
+      addRouteLayer(PROGRESS_LAYER_ID, PROGRESS_SOURCE_ID, primaryRouteIndex, progressBelowLayer);
+    }
+  }
+
+  private void resetVanishingRouteLine() {
+    removeProgressLayers();
+    // The last collection holds the waypoints
+    for (int i = 0; i < featureCollections.size() - 1; i++) {
+      filterRouteLayers(i, Filter.gt(CHUNK_KEY, NO_CHUNK));
+    }
+  }
+
+  private void removeProgressLayers() {
+    vanishedChunk = NO_CHUNK;
+    lastVanishingUpdateTime = 0;
+    mapboxMap.removeLayer(PROGRESS_LAYER_ID);
+    mapboxMap.removeLayer(PROGRESS_SHIELD_LAYER_ID);
+  }
+
+  private void filterRouteLayers(int index, Filter.Statement filter) {
+    String[] routeLayerIds = {
+      String.format(Locale.US, ID_FORMAT, GENERIC_ROUTE_SHIELD_LAYER_ID, index),
+      String.format(Locale.US, ID_FORMAT, GENERIC_ROUTE_LAYER_ID, index)
+    };
+    for (String layerId : routeLayerIds) {
+      Layer layer = mapboxMap.getLayer(layerId);
+      if (layer instanceof LineLayer) {
+        ((LineLayer) layer).setFilter(filter);
       }
     }
-    return FeatureCollection.fromFeatures(features);
   }
-}
\ No newline at end of file
+
+  /**
+   * Draws the route navigation has moved onto after an off-route event, without waiting for the
+   * next progress update.
+   */
+  private final RerouteListener rerouteListener = new RerouteListener() {
+    @Override
+    public void userRerouted(DirectionsRoute directionsRoute) {
+      addRoute(directionsRoute);
+    }
+  };
+
+  private static synchronized ExecutorService obtainBuildExecutor() {
+    if (buildExecutor == null) {
+      buildExecutor = BackgroundThreadFactory.newSingleThreadExecutor(BUILD_THREAD_NAME);
+    }
+    return buildExecutor;
+  }
+}
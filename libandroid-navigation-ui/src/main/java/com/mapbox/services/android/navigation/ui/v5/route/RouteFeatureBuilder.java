@@ -0,0 +1,312 @@
+package com.mapbox.services.android.navigation.ui.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.geojson.Point;
+import com.mapbox.services.commons.models.Position;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the features drawn by the {@link NavigationMapRoute}, without touching the map so it can
+ * run on a background thread.
+ * <p>
+ * Each route is drawn as a line of its whole geometry in the default color, with a line on top for
+ * each run of consecutive annotation segments with the same congested level. Segments without
+ * congestion aren't added, as they're drawn in the default color anyway.
+ * <p>
+ * The lines are split into a bounded number of chunks along the route, so the traveled part can be
+ * hidden with a layer filter and only the chunk being traveled needs to be trimmed, see
+ * {@link #trimChunk(FeatureCollection, int, double)}.
+ */
+class RouteFeatureBuilder {
+
+  static final String CONGESTION_KEY = "congestion";
+  static final String SOURCE_KEY = "source";
+  static final String INDEX_KEY = "index";
+  static final String WAYPOINT_KEY = "waypoint";
+  static final String CHUNK_KEY = "chunk";
+  static final String START_DISTANCE_KEY = "start-distance";
+  static final String ROUTE_DISTANCE_KEY = "route-distance";
+  static final String MODERATE_CONGESTION = "moderate";
+  static final String HEAVY_CONGESTION = "heavy";
+  static final String SEVERE_CONGESTION = "severe";
+  static final String GENERIC_ROUTE_SOURCE_ID = "mapbox-navigation-route-source";
+  static final String WAYPOINT_SOURCE_ID = "mapbox-navigation-waypoint-source";
+  static final String ID_FORMAT = "%s-%d";
+  private static final int MAX_CHUNK_COUNT = 100;
+  private static final double MIN_CHUNK_DISTANCE = 50;
+
+  private RouteFeatureBuilder() {
+    // Only static methods
+  }
+
+  /**
+   * @param directionsRoutes  to build the lines of
+   * @param primaryRouteIndex of the route the waypoints are built of
+   * @return a collection of the line features of each route, followed by the waypoint collection
+   */
+  static List<FeatureCollection> buildFeatureCollections(List<DirectionsRoute> directionsRoutes,
+                                                         int primaryRouteIndex) {
+    List<FeatureCollection> featureCollections = new ArrayList<>(directionsRoutes.size() + 1);
+    for (int i = 0; i < directionsRoutes.size(); i++) {
+      featureCollections.add(buildRouteFeatureCollection(directionsRoutes.get(i), i));
+    }
+    featureCollections.add(buildWaypointFeatureCollection(directionsRoutes.get(primaryRouteIndex)));
+    return featureCollections;
+  }
+
+  static int countFeatures(List<FeatureCollection> featureCollections) {
+    int featureCount = 0;
+    for (FeatureCollection featureCollection : featureCollections) {
+      featureCount += featureCollection.getFeatures().size();
+    }
+    return featureCount;
+  }
+
+  /**
+   * If the {@link DirectionsRoute} request contains congestion information via annotations, the
+   * congested parts are added as separate lines so data-driven styling can be used to change the
+   * route colors accordingly.
+   * <p>
+   * The first feature holds the source id, the route index and the distance of the whole geometry.
+   */
+  static FeatureCollection buildRouteFeatureCollection(DirectionsRoute route, int index) {
+    List<Feature> features = new ArrayList<>();
+    List<Position> coordinates = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6).getCoordinates();
+    double[] distances = calculateDistances(coordinates);
+    int[] chunkEnds = calculateChunkEnds(distances);
+    addLineFeatures(features, coordinates, distances, chunkEnds, 0, coordinates.size() - 1, null);
+    Feature routeFeature = features.get(0);
+    routeFeature.addStringProperty(SOURCE_KEY, String.format(Locale.US, ID_FORMAT, GENERIC_ROUTE_SOURCE_ID, index));
+    routeFeature.addNumberProperty(INDEX_KEY, index);
+    routeFeature.addNumberProperty(ROUTE_DISTANCE_KEY, distances[distances.length - 1]);
+    addCongestionFeatures(features, coordinates, distances, chunkEnds, route.legs());
+    return FeatureCollection.fromFeatures(features);
+  }
+
+  /**
+   * @param coordinates of the route geometry
+   * @return distance along the route to each coordinate, in meters
+   */
+  static double[] calculateDistances(List<Position> coordinates) {
+    double[] distances = new double[coordinates.size()];
+    for (int i = 1; i < coordinates.size(); i++) {
+      distances[i] = distances[i - 1] + distanceBetween(coordinates.get(i - 1), coordinates.get(i));
+    }
+    return distances;
+  }
+
+  /**
+   * @param distances along the route to each coordinate
+   * @return index of the last coordinate of each chunk, the last one is the end of the route
+   */
+  static int[] calculateChunkEnds(double[] distances) {
+    int lastIndex = distances.length - 1;
+    double chunkDistance = Math.max(distances[lastIndex] / MAX_CHUNK_COUNT, MIN_CHUNK_DISTANCE);
+    List<Integer> chunkEnds = new ArrayList<>();
+    double nextChunkDistance = chunkDistance;
+    for (int i = 1; i < lastIndex; i++) {
+      if (distances[i] >= nextChunkDistance) {
+        chunkEnds.add(i);
+        nextChunkDistance = distances[i] + chunkDistance;
+      }
+    }
+    chunkEnds.add(lastIndex);
+    int[] ends = new int[chunkEnds.size()];
+    for (int i = 0; i < ends.length; i++) {
+      ends[i] = chunkEnds.get(i);
+    }
+    return ends;
+  }
+
+  static void addCongestionFeatures(List<Feature> features, List<Position> coordinates, double[] distances,
+                                    int[] chunkEnds, List<RouteLeg> legs) {
+    // The legs share the coordinate of the waypoint between them
+    int legOffset = 0;
+    for (RouteLeg leg : legs) {
+      if (leg.annotation() == null || leg.annotation().congestion() == null) {
+        // The coordinates of the following legs can't be matched to their annotations anymore
+        return;
+      }
+      List<String> congestion = leg.annotation().congestion();
+      // See https://github.com/mapbox/mapbox-navigation-android/issues/353
+      if (legOffset + congestion.size() + 1 > coordinates.size()) {
+        return;
+      }
+      int runStart = 0;
+      for (int i = 1; i <= congestion.size(); i++) {
+        if (i == congestion.size() || !isSameLevel(congestion.get(runStart), congestion.get(i))) {
+          if (isCongested(congestion.get(runStart))) {
+            addLineFeatures(features, coordinates, distances, chunkEnds, legOffset + runStart, legOffset + i,
+              congestion.get(runStart));
+          }
+          runStart = i;
+        }
+      }
+      legOffset += congestion.size();
+    }
+  }
+
+  /**
+   * The routes also display an icon for each waypoint in the route, we use symbol layers for this.
+   */
+  static FeatureCollection buildWaypointFeatureCollection(DirectionsRoute route) {
+    List<Feature> waypointFeatures = new ArrayList<>();
+    for (RouteLeg leg : route.legs()) {
+      waypointFeatures.add(buildWaypointFeature(leg, 0));
+      waypointFeatures.add(buildWaypointFeature(leg, leg.steps().size() - 1));
+    }
+    return FeatureCollection.fromFeatures(waypointFeatures);
+  }
+
+  /**
+   * Maps the fraction traveled onto the length of the geometry the lines are built of. The distance
+   * of the route reported by the Directions API differs from the length measured along its decoded
+   * geometry, so using it to cut the lines would make the cut drift away from the location.
+   *
+   * @param routeFeatures    of the route, see {@link #buildRouteFeatureCollection(DirectionsRoute, int)}
+   * @param fractionTraveled of the route, between 0 and 1
+   * @return distance traveled along the geometry, in meters
+   */
+  static double calculateTraveledDistance(FeatureCollection routeFeatures, double fractionTraveled) {
+    double routeDistance = routeFeatures.getFeatures().get(0).getNumberProperty(ROUTE_DISTANCE_KEY).doubleValue();
+    return Math.max(0, Math.min(1, fractionTraveled)) * routeDistance;
+  }
+
+  /**
+   * Finds the chunk of the route being traveled.
+   *
+   * @param routeFeatures     of the route, see {@link #buildRouteFeatureCollection(DirectionsRoute, int)}
+   * @param traveledDistance along the geometry, in meters
+   * @return index of the chunk
+   */
+  static int findChunk(FeatureCollection routeFeatures, double traveledDistance) {
+    int chunk = 0;
+    for (Feature feature : routeFeatures.getFeatures()) {
+      if (feature.getStringProperty(CONGESTION_KEY) == null) {
+        if (feature.getNumberProperty(START_DISTANCE_KEY).doubleValue() > traveledDistance) {
+          break;
+        }
+        chunk = feature.getNumberProperty(CHUNK_KEY).intValue();
+      }
+    }
+    return chunk;
+  }
+
+  /**
+   * Trims the lines of a chunk, so they start where the traveled distance ends.
+   *
+   * @param routeFeatures    of the route, see {@link #buildRouteFeatureCollection(DirectionsRoute, int)}
+   * @param chunk            index of the chunk being traveled
+   * @param traveledDistance along the geometry, in meters
+   * @return the remaining lines of the chunk
+   */
+  @SuppressWarnings("unchecked")
+  static FeatureCollection trimChunk(FeatureCollection routeFeatures, int chunk, double traveledDistance) {
+    List<Feature> trimmedFeatures = new ArrayList<>();
+    for (Feature feature : routeFeatures.getFeatures()) {
+      if (feature.getNumberProperty(CHUNK_KEY).intValue() != chunk) {
+        continue;
+      }
+      List<Position> coordinates = (List<Position>) feature.getGeometry().getCoordinates();
+      double distance = feature.getNumberProperty(START_DISTANCE_KEY).doubleValue();
+      if (distance >= traveledDistance) {
+        trimmedFeatures.add(feature);
+        continue;
+      }
+      for (int i = 1; i < coordinates.size(); i++) {
+        double segmentDistance = distanceBetween(coordinates.get(i - 1), coordinates.get(i));
+        if (distance + segmentDistance > traveledDistance) {
+          trimmedFeatures.add(buildTrimmedFeature(feature, coordinates, i, (traveledDistance - distance)
+            / segmentDistance));
+          break;
+        }
+        distance += segmentDistance;
+      }
+    }
+    return FeatureCollection.fromFeatures(trimmedFeatures);
+  }
+
+  /**
+   * Adds the line between the coordinates, split at the ends of the chunks it spans.
+   */
+  private static void addLineFeatures(List<Feature> features, List<Position> coordinates, double[] distances,
+                                      int[] chunkEnds, int startIndex, int endIndex, String congestion) {
+    int pieceStart = startIndex;
+    for (int chunk = 0; chunk < chunkEnds.length && pieceStart < endIndex; chunk++) {
+      if (chunkEnds[chunk] <= pieceStart) {
+        continue;
+      }
+      int pieceEnd = Math.min(chunkEnds[chunk], endIndex);
+      double[][] pieceCoordinates = new double[pieceEnd - pieceStart + 1][];
+      for (int i = pieceStart; i <= pieceEnd; i++) {
+        pieceCoordinates[i - pieceStart] = coordinates.get(i).getCoordinates();
+      }
+      Feature feature = Feature.fromGeometry(LineString.fromCoordinates(pieceCoordinates));
+      feature.addNumberProperty(CHUNK_KEY, chunk);
+      feature.addNumberProperty(START_DISTANCE_KEY, distances[pieceStart]);
+      if (congestion != null) {
+        feature.addStringProperty(CONGESTION_KEY, congestion);
+      }
+      features.add(feature);
+      pieceStart = pieceEnd;
+    }
+  }
+
+  private static Feature buildTrimmedFeature(Feature feature, List<Position> coordinates, int firstIndex,
+                                             double segmentFraction) {
+    Position segmentStart = coordinates.get(firstIndex - 1);
+    Position segmentEnd = coordinates.get(firstIndex);
+    double[][] trimmedCoordinates = new double[coordinates.size() - firstIndex + 1][];
+    trimmedCoordinates[0] = new double[] {
+      segmentStart.getLongitude() + (segmentEnd.getLongitude() - segmentStart.getLongitude()) * segmentFraction,
+      segmentStart.getLatitude() + (segmentEnd.getLatitude() - segmentStart.getLatitude()) * segmentFraction
+    };
+    for (int i = firstIndex; i < coordinates.size(); i++) {
+      trimmedCoordinates[i - firstIndex + 1] = coordinates.get(i).getCoordinates();
+    }
+    Feature trimmedFeature = Feature.fromGeometry(LineString.fromCoordinates(trimmedCoordinates));
+    String congestion = feature.getStringProperty(CONGESTION_KEY);
+    if (congestion != null) {
+      trimmedFeature.addStringProperty(CONGESTION_KEY, congestion);
+    }
+    return trimmedFeature;
+  }
+
+  private static double distanceBetween(Position position, Position otherPosition) {
+    return TurfMeasurement.distance(
+      com.mapbox.geojson.Point.fromLngLat(position.getLongitude(), position.getLatitude()),
+      com.mapbox.geojson.Point.fromLngLat(otherPosition.getLongitude(), otherPosition.getLatitude()),
+      TurfConstants.UNIT_METERS);
+  }
+
+  private static Feature buildWaypointFeature(RouteLeg leg, int stepIndex) {
+    Feature feature = Feature.fromGeometry(Point.fromCoordinates(
+      new double[] {
+        leg.steps().get(stepIndex).maneuver().location().longitude(),
+        leg.steps().get(stepIndex).maneuver().location().latitude()
+      }));
+    feature.addStringProperty(SOURCE_KEY, WAYPOINT_SOURCE_ID);
+    feature.addStringProperty(WAYPOINT_KEY, stepIndex == 0 ? "origin" : "destination");
+    return feature;
+  }
+
+  private static boolean isSameLevel(String congestion, String otherCongestion) {
+    return congestion == null ? otherCongestion == null : congestion.equals(otherCongestion);
+  }
+
+  private static boolean isCongested(String congestion) {
+    return MODERATE_CONGESTION.equals(congestion)
+      || HEAVY_CONGESTION.equals(congestion)
+      || SEVERE_CONGESTION.equals(congestion);
+  }
+}
@@ -1,39 +1,66 @@
 package com.mapbox.services.android.navigation.ui.v5.summary;
 
-import android.text.SpannableStringBuilder;
+import android.text.TextUtils;
 
 import com.mapbox.services.android.navigation.v5.navigation.NavigationUnitType;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 
 import java.text.DecimalFormat;
 
-import static com.mapbox.services.android.navigation.v5.utils.DistanceUtils.distanceFormatter;
+import static com.mapbox.services.android.navigation.v5.utils.DistanceUtils.formattedDistance;
 import static com.mapbox.services.android.navigation.v5.utils.time.TimeUtils.formatArrivalTime;
-import static com.mapbox.services.android.navigation.v5.utils.time.TimeUtils.formatTimeRemaining;
+import static com.mapbox.services.android.navigation.v5.utils.time.TimeUtils.formattedTimeRemaining;
 
+/**
+ * What the {@link SummaryBottomSheet} shows for a {@link RouteProgress}. Two models are equal if
+ * they're shown the same way, so a progress update which doesn't change anything visible can be
+ * skipped.
+ */
 public class SummaryModel {
 
-  private SpannableStringBuilder distanceRemaining;
-  private SpannableStringBuilder timeRemaining;
+  private CharSequence distanceRemaining;
+  private CharSequence timeRemaining;
   private String arrivalTime;
 
   public SummaryModel(RouteProgress progress, DecimalFormat decimalFormat,
                       @NavigationUnitType.UnitType int unitType) {
-    distanceRemaining = distanceFormatter(progress.distanceRemaining(),
+    distanceRemaining = formattedDistance(progress.distanceRemaining(),
       decimalFormat, false, unitType);
-    timeRemaining = formatTimeRemaining(progress.durationRemaining());
+    timeRemaining = formattedTimeRemaining(progress.durationRemaining());
     arrivalTime = formatArrivalTime(progress.durationRemaining());
   }
 
-  SpannableStringBuilder getDistanceRemaining() {
+  CharSequence getDistanceRemaining() {
     return distanceRemaining;
   }
 
-  SpannableStringBuilder getTimeRemaining() {
+  CharSequence getTimeRemaining() {
     return timeRemaining;
   }
 
   String getArrivalTime() {
     return arrivalTime;
   }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    SummaryModel other = (SummaryModel) obj;
+    return TextUtils.equals(distanceRemaining, other.distanceRemaining)
+      && TextUtils.equals(timeRemaining, other.timeRemaining)
+      && TextUtils.equals(arrivalTime, other.arrivalTime);
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = distanceRemaining == null ? 0 : distanceRemaining.toString().hashCode();
+    hashCode = 31 * hashCode + (timeRemaining == null ? 0 : timeRemaining.toString().hashCode());
+    hashCode = 31 * hashCode + (arrivalTime == null ? 0 : arrivalTime.hashCode());
+    return hashCode;
+  }
 }
@@ -1,39 +1,66 @@
 package com.mapbox.services.android.navigation.ui.v5.summary.list;
 
 import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.constraint.ConstraintLayout;
+import android.support.v7.util.DiffUtil;
 import android.support.v7.widget.RecyclerView;
-import android.text.SpannableStringBuilder;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.services.android.navigation.ui.v5.R;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationUnitType;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.BackgroundThreadFactory;
 import com.mapbox.services.android.navigation.v5.utils.DistanceUtils;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
+/**
+ * Lists the steps of the current leg after the current step.
+ * <p>
+ * Each row has a stable id derived from the route, the leg and the step index. When the route, leg
+ * or step changes, the new rows are compared to the shown ones on a background thread and only the
+ * differences are applied, so advancing a step removes just the completed row. The distance of the
+ * first row is measured from the current location and updated with a payload, only when the
+ * displayed distance changes.
+ */
 public class InstructionListAdapter extends RecyclerView.Adapter<InstructionViewHolder> {
 
-  private List<LegStep> stepList;
+  private static final Object PAYLOAD_DISTANCE = new Object();
+  private static final String DIFF_THREAD_NAME = "InstructionListDiff";
+  // Shared by all adapters, its thread stops while there's nothing to diff
+  private static ExecutorService diffExecutor;
+
+  private final List<InstructionListItem> items = new ArrayList<>();
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private List<LegStep> legSteps = Collections.emptyList();
   private DecimalFormat decimalFormat;
 
-  private RouteLeg currentLeg;
-  private LegStep currentStep;
-  private LegStep currentUpcomingStep;
+  private DirectionsRoute currentRoute;
+  private long routeGeneration;
+  private int currentLegIndex = -1;
+  private int currentStepIndex = -1;
+  private double stepDistanceRemaining;
+  private CharSequence firstRowDistance;
+  private int updateGeneration;
+  private boolean isUpdating;
   private int unitType;
 
   public InstructionListAdapter() {
-    stepList = new ArrayList<>();
     decimalFormat = new DecimalFormat(NavigationConstants.DECIMAL_FORMAT);
+    setHasStableIds(true);
   }
 
   @Override
@@ -45,25 +72,35 @@ public class InstructionListAdapter extends RecyclerView.Adapter<InstructionView
 
   @Override
   public void onBindViewHolder(InstructionViewHolder holder, int position) {
-    if (stepList.get(position) != null) {
-      LegStep step = stepList.get(position);
-      if (hasBannerInstructions(step)) {
-        updatePrimaryText(holder, step.bannerInstructions().get(0).primary());
-        updateSecondaryText(holder, step.bannerInstructions().get(0).secondary());
-      } else {
-        holder.stepPrimaryText.setText(step.maneuver().instruction());
-        updateSecondaryText(holder, null);
-      }
-      updateManeuverView(holder, step);
-      SpannableStringBuilder distanceText = DistanceUtils
-        .distanceFormatter(step.distance(), decimalFormat, true, unitType);
-      holder.stepDistanceText.setText(distanceText);
+    LegStep step = items.get(position).step();
+    if (hasBannerInstructions(step)) {
+      updatePrimaryText(holder, step.bannerInstructions().get(0).primary());
+      updateSecondaryText(holder, step.bannerInstructions().get(0).secondary());
+    } else {
+      holder.stepPrimaryText.setText(step.maneuver().instruction());
+      updateSecondaryText(holder, null);
+    }
+    updateManeuverView(holder, position);
+    holder.stepDistanceText.setText(distanceText(position));
+  }
+
+  @Override
+  public void onBindViewHolder(InstructionViewHolder holder, int position, List<Object> payloads) {
+    if (payloads.isEmpty() || payloads.contains(null)) {
+      onBindViewHolder(holder, position);
+    } else {
+      holder.stepDistanceText.setText(distanceText(position));
     }
   }
 
   @Override
   public int getItemCount() {
-    return stepList.size();
+    return items.size();
+  }
+
+  @Override
+  public long getItemId(int position) {
+    return items.get(position).id();
   }
 
   @Override
@@ -73,17 +110,123 @@ public class InstructionListAdapter extends RecyclerView.Adapter<InstructionView
   }
 
   public void updateSteps(RouteProgress routeProgress, @NavigationUnitType.UnitType int unitType) {
-    this.unitType = unitType;
-    addLegSteps(routeProgress);
-    updateStepList(routeProgress);
+    if (this.unitType != unitType) {
+      this.unitType = unitType;
+      firstRowDistance = null;
+      notifyItemRangeChanged(0, items.size(), PAYLOAD_DISTANCE);
+    }
+    stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
+    boolean isNewRoute = isNewRoute(routeProgress);
+    boolean isNewLeg = isNewLeg(routeProgress);
+    boolean isNewStep = isNewStep(routeProgress);
+    if (isNewRoute || isNewLeg || isNewStep) {
+      RouteLeg leg = routeProgress.currentLeg();
+      List<LegStep> steps = leg == null || leg.steps() == null ? Collections.<LegStep>emptyList() : leg.steps();
+      updateItems(steps, buildItems(steps));
+    } else if (!isUpdating) {
+      updateFirstRowDistance();
+    }
   }
 
   public void clear() {
-    // Clear remaining stepList
-    stepList.clear();
+    // Clear remaining steps and drop the updates being computed
+    updateGeneration++;
+    isUpdating = false;
+    currentRoute = null;
+    firstRowDistance = null;
+    items.clear();
     notifyDataSetChanged();
   }
 
+  private boolean isNewRoute(RouteProgress routeProgress) {
+    if (currentRoute == routeProgress.directionsRoute()) {
+      return false;
+    }
+    currentRoute = routeProgress.directionsRoute();
+    routeGeneration++;
+    return true;
+  }
+
+  private boolean isNewLeg(RouteProgress routeProgress) {
+    boolean isNewLeg = currentLegIndex != routeProgress.legIndex();
+    currentLegIndex = routeProgress.legIndex();
+    return isNewLeg;
+  }
+
+  private boolean isNewStep(RouteProgress routeProgress) {
+    int stepIndex = routeProgress.currentLegProgress().stepIndex();
+    boolean isNewStep = currentStepIndex != stepIndex;
+    currentStepIndex = stepIndex;
+    return isNewStep;
+  }
+
+  private List<InstructionListItem> buildItems(List<LegStep> steps) {
+    List<InstructionListItem> newItems = new ArrayList<>(Math.max(0, steps.size() - currentStepIndex - 1));
+    for (int stepIndex = currentStepIndex + 1; stepIndex < steps.size(); stepIndex++) {
+      newItems.add(InstructionListItem.create(routeGeneration, currentLegIndex, stepIndex, steps.get(stepIndex)));
+    }
+    return newItems;
+  }
+
+  /**
+   * Compares the new rows to the shown ones on the background thread and applies the differences
+   * on the main thread, unless a later update has been started in the meantime.
+   */
+  private void updateItems(final List<LegStep> steps, final List<InstructionListItem> newItems) {
+    final int generation = ++updateGeneration;
+    isUpdating = true;
+    final List<InstructionListItem> oldItems = new ArrayList<>(items);
+    obtainDiffExecutor().execute(new Runnable() {
+      @Override
+      public void run() {
+        final DiffUtil.DiffResult result = DiffUtil.calculateDiff(
+          new InstructionListDiffCallback(oldItems, newItems), false);
+        mainHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            if (generation == updateGeneration) {
+              applyItems(steps, newItems, result);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  private void applyItems(List<LegStep> steps, List<InstructionListItem> newItems, DiffUtil.DiffResult result) {
+    isUpdating = false;
+    legSteps = steps;
+    items.clear();
+    items.addAll(newItems);
+    result.dispatchUpdatesTo(this);
+    // The first row may have been bound with the distance of the whole step
+    firstRowDistance = null;
+    updateFirstRowDistance();
+  }
+
+  private void updateFirstRowDistance() {
+    if (items.isEmpty()) {
+      return;
+    }
+    CharSequence distance = formatDistance(stepDistanceRemaining + items.get(0).step().distance());
+    // Formatted distances are cached, the same instance is returned while the shown value is the same
+    if (distance != firstRowDistance) {
+      firstRowDistance = distance;
+      notifyItemChanged(0, PAYLOAD_DISTANCE);
+    }
+  }
+
+  private CharSequence distanceText(int position) {
+    if (position == 0 && firstRowDistance != null) {
+      return firstRowDistance;
+    }
+    return formatDistance(items.get(position).step().distance());
+  }
+
+  private CharSequence formatDistance(double distance) {
+    return DistanceUtils.formattedDistance(distance, decimalFormat, true, unitType);
+  }
+
   private boolean hasBannerInstructions(LegStep step) {
     return step.bannerInstructions() != null && !step.bannerInstructions().isEmpty();
   }
@@ -120,62 +263,21 @@ public class InstructionListAdapter extends RecyclerView.Adapter<InstructionView
     }
   }
 
-  private void updateManeuverView(InstructionViewHolder holder, LegStep step) {
-    LegStep maneuverStep = step;
+  private void updateManeuverView(InstructionViewHolder holder, int position) {
+    LegStep maneuverStep = items.get(position).step();
     // Get the upcoming LegStep for the ManeuverView if there is one
-    int upcomingStepIndex = stepList.indexOf(step) + 1;
-    if (upcomingStepIndex < stepList.size()) {
-      maneuverStep = stepList.get(upcomingStepIndex);
+    int upcomingStepIndex = items.get(position).stepIndex() + 1;
+    if (upcomingStepIndex < legSteps.size()) {
+      maneuverStep = legSteps.get(upcomingStepIndex);
     }
     holder.maneuverView.setManeuverModifier(maneuverStep.maneuver().modifier());
     holder.maneuverView.setManeuverType(maneuverStep.maneuver().type());
   }
 
-  private void addLegSteps(RouteProgress routeProgress) {
-    if ((newLeg(routeProgress) || rerouteTriggered(routeProgress)) && hasLegSteps(routeProgress)) {
-      List<LegStep> steps = routeProgress.directionsRoute().legs().get(0).steps();
-      stepList.clear();
-      stepList.addAll(steps);
-      notifyDataSetChanged();
-    }
-  }
-
-  private void updateStepList(RouteProgress routeProgress) {
-    if (newStep(routeProgress)) {
-      removeCurrentStep();
+  private static synchronized ExecutorService obtainDiffExecutor() {
+    if (diffExecutor == null) {
+      diffExecutor = BackgroundThreadFactory.newSingleThreadExecutor(DIFF_THREAD_NAME);
     }
-  }
-
-  private void removeCurrentStep() {
-    int currentStepPosition = stepList.indexOf(currentStep);
-    if (currentStepPosition >= 0) {
-      stepList.remove(currentStepPosition);
-      notifyItemRemoved(currentStepPosition);
-    }
-  }
-
-  private boolean hasLegSteps(RouteProgress routeProgress) {
-    return routeProgress.directionsRoute() != null
-      && routeProgress.directionsRoute().legs() != null
-      && routeProgress.directionsRoute().legs().size() > 0;
-  }
-
-  private boolean newLeg(RouteProgress routeProgress) {
-    boolean newLeg = currentLeg == null || !currentLeg.equals(routeProgress.currentLeg());
-    currentLeg = routeProgress.currentLeg();
-    return newLeg;
-  }
-
-  private boolean rerouteTriggered(RouteProgress routeProgress) {
-    return stepList.size() == 0
-      && !routeProgress.currentLegProgress().currentStep().maneuver().type()
-      .equals(NavigationConstants.STEP_MANEUVER_TYPE_ARRIVE);
-  }
-
-  private boolean newStep(RouteProgress routeProgress) {
-    boolean newStep = currentStep == null || !currentStep.equals(routeProgress.currentLegProgress().currentStep());
-    currentStep = routeProgress.currentLegProgress().currentStep();
-    currentUpcomingStep = routeProgress.currentLegProgress().upComingStep();
-    return newStep;
+    return diffExecutor;
   }
 }
@@ -0,0 +1,40 @@
+package com.mapbox.services.android.navigation.ui.v5.summary.list;
+
+import android.support.v7.util.DiffUtil;
+
+import java.util.List;
+
+/**
+ * Compares the rows of the {@link InstructionListAdapter} by their ids. A step doesn't change as
+ * long as its id is the same, so rows with the same id have the same content.
+ */
+class InstructionListDiffCallback extends DiffUtil.Callback {
+
+  private final List<InstructionListItem> oldItems;
+  private final List<InstructionListItem> newItems;
+
+  InstructionListDiffCallback(List<InstructionListItem> oldItems, List<InstructionListItem> newItems) {
+    this.oldItems = oldItems;
+    this.newItems = newItems;
+  }
+
+  @Override
+  public int getOldListSize() {
+    return oldItems.size();
+  }
+
+  @Override
+  public int getNewListSize() {
+    return newItems.size();
+  }
+
+  @Override
+  public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+    return oldItems.get(oldItemPosition).id() == newItems.get(newItemPosition).id();
+  }
+
+  @Override
+  public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+    return areItemsTheSame(oldItemPosition, newItemPosition);
+  }
+}
@@ -0,0 +1,26 @@
+package com.mapbox.services.android.navigation.ui.v5.summary.list;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.api.directions.v5.models.LegStep;
+
+/**
+ * A row of the {@link InstructionListAdapter}, with an id which stays the same for the step as long
+ * as the route is navigated.
+ */
+@AutoValue
+abstract class InstructionListItem {
+
+  /**
+   * @return id derived from the route, the leg and the index of the step in the leg
+   */
+  abstract long id();
+
+  abstract int stepIndex();
+
+  abstract LegStep step();
+
+  static InstructionListItem create(long routeGeneration, int legIndex, int stepIndex, LegStep step) {
+    long id = (routeGeneration << 32) | ((long) legIndex << 16) | stepIndex;
+    return new AutoValue_InstructionListItem(id, stepIndex, step);
+  }
+}
@@ -0,0 +1,70 @@
+package com.mapbox.services.android.navigation.ui.v5.voice;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Snapshot of the queue of an {@link InstructionScheduler}, to find announcements played late or
+ * not at all.
+ *
+ * @since 0.10.0
+ */
+@AutoValue
+public abstract class AnnouncementMetrics {
+
+  /**
+   * @return number of announcements waiting to be played
+   * @since 0.10.0
+   */
+  public abstract int queueDepth();
+
+  /**
+   * @return largest number of announcements which have been waiting at the same time
+   * @since 0.10.0
+   */
+  public abstract int maxQueueDepth();
+
+  /**
+   * @return number of announcements which started playing
+   * @since 0.10.0
+   */
+  public abstract long playedCount();
+
+  /**
+   * @return number of announcements dropped because their deadline passed before they could play
+   * @since 0.10.0
+   */
+  public abstract long expiredCount();
+
+  /**
+   * @return number of announcements stopped while playing by an announcement of higher priority
+   * @since 0.10.0
+   */
+  public abstract long preemptedCount();
+
+  /**
+   * @return total time from scheduling to the start of playback of the played announcements, in
+   * milliseconds
+   * @since 0.10.0
+   */
+  public abstract long totalLatencyMillis();
+
+  /**
+   * @return longest time from scheduling to the start of playback, in milliseconds
+   * @since 0.10.0
+   */
+  public abstract long maxLatencyMillis();
+
+  /**
+   * @return average time from scheduling to the start of playback, in milliseconds
+   * @since 0.10.0
+   */
+  public long averageLatencyMillis() {
+    return playedCount() == 0 ? 0 : totalLatencyMillis() / playedCount();
+  }
+
+  static AnnouncementMetrics create(int queueDepth, int maxQueueDepth, long playedCount, long expiredCount,
+                                    long preemptedCount, long totalLatencyMillis, long maxLatencyMillis) {
+    return new AutoValue_AnnouncementMetrics(queueDepth, maxQueueDepth, playedCount, expiredCount,
+      preemptedCount, totalLatencyMillis, maxLatencyMillis);
+  }
+}
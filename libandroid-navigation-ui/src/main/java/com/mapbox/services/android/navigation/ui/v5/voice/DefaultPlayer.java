@@ -1,6 +1,8 @@
 package com.mapbox.services.android.navigation.ui.v5.voice;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.speech.tts.TextToSpeech;
 import android.speech.tts.UtteranceProgressListener;
 import android.text.TextUtils;
@@ -12,14 +14,25 @@ import java.util.Locale;
  * Default player used to play voice instructions when
  * {@link com.mapbox.services.android.navigation.ui.v5.NavigationView} is launched without an AWS Cognito Pool ID.
  * <p>
- * This instruction player uses {@link TextToSpeech} to play voice instructions.
+ * This instruction player uses {@link TextToSpeech} to play voice instructions, one at a time as
+ * chosen by its {@link InstructionScheduler}.
  *
  * @since 0.6.0
  */
-public class DefaultPlayer implements InstructionPlayer, TextToSpeech.OnInitListener {
+public class DefaultPlayer implements ScheduledInstructionPlayer, TextToSpeech.OnInitListener {
 
-  private static final String DEFAULT_UTTERANCE_ID = "default_id";
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final InstructionScheduler scheduler = new InstructionScheduler(new InstructionScheduler.Playback() {
+    @Override
+    public void play(InstructionScheduler.Announcement announcement) {
+      speak(announcement);
+    }
 
+    @Override
+    public void stop(InstructionScheduler.Announcement announcement) {
+      textToSpeech.stop();
+    }
+  });
   private InstructionListener instructionListener;
   private TextToSpeech textToSpeech;
   private boolean isMuted;
@@ -45,6 +58,7 @@ public class DefaultPlayer implements InstructionPlayer, TextToSpeech.OnInitList
         if (instructionListener != null) {
           instructionListener.onDone();
         }
+        onUtteranceFinished(utteranceId);
       }
 
       @Override
@@ -52,6 +66,7 @@ public class DefaultPlayer implements InstructionPlayer, TextToSpeech.OnInitList
         if (instructionListener != null) {
           instructionListener.onError();
         }
+        onUtteranceFinished(utteranceId);
       }
     });
   }
@@ -61,13 +76,32 @@ public class DefaultPlayer implements InstructionPlayer, TextToSpeech.OnInitList
    */
   @Override
   public void play(String instruction) {
+    play(instruction, InstructionScheduler.PRIORITY_ROUTINE, InstructionScheduler.NO_DEADLINE);
+  }
+
+  @Override
+  public void play(String instruction, @InstructionScheduler.Priority int priority,
+                   double deadlineDistanceTraveled) {
     if (!isMuted && !TextUtils.isEmpty(instruction)) {
-      HashMap<String, String> params = new HashMap<>(1);
-      params.put(TextToSpeech.Engine.KEY_PARAM_UTTERANCE_ID, DEFAULT_UTTERANCE_ID);
-      textToSpeech.speak(instruction, TextToSpeech.QUEUE_ADD, params);
+      scheduler.schedule(instruction, priority, deadlineDistanceTraveled, true);
     }
   }
 
+  @Override
+  public void onDistanceTraveled(double distanceTraveled) {
+    scheduler.onDistanceTraveled(distanceTraveled);
+  }
+
+  @Override
+  public void onNewRoute() {
+    scheduler.onNewRoute();
+  }
+
+  @Override
+  public AnnouncementMetrics getAnnouncementMetrics() {
+    return scheduler.metrics();
+  }
+
   /**
    * @return true if muted, false if not
    */
@@ -94,6 +128,7 @@ public class DefaultPlayer implements InstructionPlayer, TextToSpeech.OnInitList
 
   @Override
   public void onDestroy() {
+    scheduler.clear();
     if (textToSpeech != null) {
       textToSpeech.stop();
       textToSpeech.shutdown();
@@ -114,11 +149,32 @@ public class DefaultPlayer implements InstructionPlayer, TextToSpeech.OnInitList
 
   /**
    * Called when setting muted mid-instruction.
-   * Mutes TTS only if currently speaking.
+   * Stops the instruction speaking and drops the waiting ones.
    */
   private void muteTts() {
-    if (textToSpeech.isSpeaking()) {
-      textToSpeech.stop();
+    scheduler.clear();
+  }
+
+  private void speak(InstructionScheduler.Announcement announcement) {
+    HashMap<String, String> params = new HashMap<>(1);
+    params.put(TextToSpeech.Engine.KEY_PARAM_UTTERANCE_ID, String.valueOf(announcement.id()));
+    if (textToSpeech.speak(announcement.text(), TextToSpeech.QUEUE_FLUSH, params) == TextToSpeech.ERROR) {
+      scheduler.onPlaybackFinished(announcement);
     }
   }
+
+  /**
+   * Progress is reported on a thread of the speech engine, the scheduler is used on the main thread.
+   */
+  private void onUtteranceFinished(final String utteranceId) {
+    mainHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        InstructionScheduler.Announcement current = scheduler.current();
+        if (current != null && String.valueOf(current.id()).equals(utteranceId)) {
+          scheduler.onPlaybackFinished(current);
+        }
+      }
+    });
+  }
 }
@@ -0,0 +1,266 @@
+package com.mapbox.services.android.navigation.ui.v5.voice;
+
+import android.os.SystemClock;
+import android.support.annotation.IntDef;
+import android.support.annotation.Nullable;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Decides which announcement an {@link InstructionPlayer} plays next, one at a time.
+ * <p>
+ * Announcements are played by priority and in the order they were scheduled within a priority. An
+ * announcement of a higher priority stops the one playing. Each announcement can have a deadline,
+ * the distance traveled along the route after which it's outdated: it's dropped instead of being
+ * played late. An announcement which still has to be loaded holds back the ones after it, so they
+ * aren't played out of order.
+ * <p>
+ * Only to be used from the main thread.
+ *
+ * @since 0.10.0
+ */
+public class InstructionScheduler {
+
+  @Retention(RetentionPolicy.SOURCE)
+  @IntDef( {PRIORITY_ROUTINE, PRIORITY_REROUTE})
+  public @interface Priority {
+  }
+
+  /**
+   * Announcements of the maneuvers along the route.
+   */
+  public static final int PRIORITY_ROUTINE = 0;
+  /**
+   * Announcement that the route is being recalculated, stops the routine announcements.
+   */
+  public static final int PRIORITY_REROUTE = 1;
+  /**
+   * Deadline of an announcement which never expires.
+   */
+  public static final double NO_DEADLINE = Double.POSITIVE_INFINITY;
+
+  private final Playback playback;
+  private final List<Announcement> queue = new ArrayList<>();
+  private Announcement current;
+  private double distanceTraveled;
+  private long nextId;
+
+  private int maxQueueDepth;
+  private long playedCount;
+  private long expiredCount;
+  private long preemptedCount;
+  private long totalLatencyMillis;
+  private long maxLatencyMillis;
+
+  public InstructionScheduler(Playback playback) {
+    this.playback = playback;
+  }
+
+  /**
+   * @param text                     of the announcement
+   * @param priority                 of the announcement
+   * @param deadlineDistanceTraveled distance traveled along the route in meters after which the
+   *                                 announcement isn't played anymore, or {@link #NO_DEADLINE}
+   * @param isReady                  false if the announcement is loaded first, then
+   *                                 {@link #onReady(Announcement, String)} has to be called
+   * @return the scheduled announcement
+   */
+  public Announcement schedule(String text, @Priority int priority, double deadlineDistanceTraveled,
+                               boolean isReady) {
+    Announcement announcement = new Announcement(nextId++, text, priority, deadlineDistanceTraveled,
+      SystemClock.elapsedRealtime());
+    announcement.isReady = isReady;
+    int index = queue.size();
+    while (index > 0 && queue.get(index - 1).priority < priority) {
+      index--;
+    }
+    queue.add(index, announcement);
+    maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+    if (current != null && priority > current.priority) {
+      preemptedCount++;
+      stopCurrent();
+    }
+    playNext();
+    return announcement;
+  }
+
+  /**
+   * @param announcement which has been loaded
+   * @param source       the announcement is played from, for instance the path of its audio file
+   */
+  public void onReady(Announcement announcement, @Nullable String source) {
+    if (queue.contains(announcement)) {
+      announcement.source = source;
+      announcement.isReady = true;
+      playNext();
+    }
+  }
+
+  /**
+   * @param announcement which couldn't be loaded and is dropped
+   */
+  public void onFailed(Announcement announcement) {
+    if (queue.remove(announcement)) {
+      playNext();
+    }
+  }
+
+  /**
+   * @param announcement which finished or stopped playing
+   */
+  public void onPlaybackFinished(Announcement announcement) {
+    if (announcement == current) {
+      current = null;
+      playNext();
+    }
+  }
+
+  /**
+   * Drops the announcements whose deadline has been passed.
+   *
+   * @param distanceTraveled along the route in meters
+   */
+  public void onDistanceTraveled(double distanceTraveled) {
+    this.distanceTraveled = distanceTraveled;
+    expire();
+  }
+
+  /**
+   * Drops the waiting announcements with a deadline, as it's a distance traveled along the previous
+   * route, and starts measuring the distance traveled along the new route. The announcement playing
+   * and the waiting ones without deadline, such as a rerouting cue, are kept.
+   */
+  public void onNewRoute() {
+    distanceTraveled = 0;
+    Iterator<Announcement> iterator = queue.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().deadlineDistanceTraveled != NO_DEADLINE) {
+        iterator.remove();
+        expiredCount++;
+      }
+    }
+    playNext();
+  }
+
+  /**
+   * Stops the announcement playing and drops the ones waiting.
+   */
+  public void clear() {
+    queue.clear();
+    stopCurrent();
+  }
+
+  /**
+   * @return the announcement playing, or null if none is
+   */
+  @Nullable
+  public Announcement current() {
+    return current;
+  }
+
+  public AnnouncementMetrics metrics() {
+    return AnnouncementMetrics.create(queue.size(), maxQueueDepth, playedCount, expiredCount, preemptedCount,
+      totalLatencyMillis, maxLatencyMillis);
+  }
+
+  private void stopCurrent() {
+    if (current != null) {
+      Announcement stopped = current;
+      current = null;
+      playback.stop(stopped);
+    }
+  }
+
+  private void playNext() {
+    if (current != null) {
+      return;
+    }
+    expire();
+    if (queue.isEmpty() || !queue.get(0).isReady) {
+      return;
+    }
+    current = queue.remove(0);
+    long latencyMillis = SystemClock.elapsedRealtime() - current.scheduledMillis;
+    playedCount++;
+    totalLatencyMillis += latencyMillis;
+    maxLatencyMillis = Math.max(maxLatencyMillis, latencyMillis);
+    playback.play(current);
+  }
+
+  private void expire() {
+    Iterator<Announcement> iterator = queue.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().deadlineDistanceTraveled < distanceTraveled) {
+        iterator.remove();
+        expiredCount++;
+      }
+    }
+  }
+
+  /**
+   * Plays the announcements chosen by the scheduler.
+   */
+  public interface Playback {
+
+    /**
+     * Starts playing the announcement. {@link #onPlaybackFinished(Announcement)} has to be called
+     * once it's done, or couldn't be played.
+     */
+    void play(Announcement announcement);
+
+    /**
+     * Stops the announcement playing, it doesn't need to be reported as finished.
+     */
+    void stop(Announcement announcement);
+  }
+
+  /**
+   * An announcement scheduled to be played.
+   */
+  public static final class Announcement {
+
+    private final long id;
+    private final String text;
+    private final int priority;
+    private final double deadlineDistanceTraveled;
+    private final long scheduledMillis;
+    private boolean isReady;
+    private String source;
+
+    Announcement(long id, String text, int priority, double deadlineDistanceTraveled, long scheduledMillis) {
+      this.id = id;
+      this.text = text;
+      this.priority = priority;
+      this.deadlineDistanceTraveled = deadlineDistanceTraveled;
+      this.scheduledMillis = scheduledMillis;
+    }
+
+    /**
+     * @return identifier of the announcement, unique within its scheduler
+     */
+    public long id() {
+      return id;
+    }
+
+    public String text() {
+      return text;
+    }
+
+    @Priority
+    public int priority() {
+      return priority;
+    }
+
+    /**
+     * @return what the announcement is played from, as given to {@link #onReady(Announcement, String)}
+     */
+    @Nullable
+    public String source() {
+      return source;
+    }
+  }
+}
@@ -8,14 +8,15 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
 
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.services.android.navigation.ui.v5.voice.polly.PollyPlayer;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
 
-public class NavigationInstructionPlayer implements InstructionPlayer, InstructionListener {
+public class NavigationInstructionPlayer implements ScheduledInstructionPlayer, InstructionListener {
 
   private AudioManager instructionAudioManager;
   private AudioFocusRequest instructionFocusRequest;
-  private InstructionPlayer instructionPlayer;
+  private ScheduledInstructionPlayer instructionPlayer;
   private InstructionListener instructionListener;
   private boolean isPollyPlayer;
 
@@ -43,6 +44,27 @@ public class NavigationInstructionPlayer implements InstructionPlayer, Instructi
     instructionPlayer.play(instruction);
   }
 
+  @Override
+  public void play(String instruction, @InstructionScheduler.Priority int priority,
+                   double deadlineDistanceTraveled) {
+    instructionPlayer.play(instruction, priority, deadlineDistanceTraveled);
+  }
+
+  @Override
+  public void onDistanceTraveled(double distanceTraveled) {
+    instructionPlayer.onDistanceTraveled(distanceTraveled);
+  }
+
+  @Override
+  public void onNewRoute() {
+    instructionPlayer.onNewRoute();
+  }
+
+  @Override
+  public AnnouncementMetrics getAnnouncementMetrics() {
+    return instructionPlayer.getAnnouncementMetrics();
+  }
+
   @Override
   public boolean isMuted() {
     return instructionPlayer.isMuted();
@@ -56,7 +78,8 @@ public class NavigationInstructionPlayer implements InstructionPlayer, Instructi
   @Override
   public void onOffRoute() {
     instructionPlayer.onOffRoute();
-    play(NavigationConstants.NAVIGATION_VIEW_REROUTING);
+    play(NavigationConstants.NAVIGATION_VIEW_REROUTING, InstructionScheduler.PRIORITY_REROUTE,
+      InstructionScheduler.NO_DEADLINE);
   }
 
   @Override
@@ -100,6 +123,19 @@ public class NavigationInstructionPlayer implements InstructionPlayer, Instructi
     return isPollyPlayer;
   }
 
+  /**
+   * Synthesizes the announcements of the route ahead of time if instructions are played by
+   * {@link PollyPlayer}, so they don't need a network request when due.
+   *
+   * @param route to be navigated
+   * @since 0.10.0
+   */
+  public void prefetchInstructions(DirectionsRoute route) {
+    if (isPollyPlayer) {
+      ((PollyPlayer) instructionPlayer).prefetch(route);
+    }
+  }
+
   private void initAudioManager(Context context) {
     instructionAudioManager = (AudioManager) context.getSystemService(Context.AUDIO_SERVICE);
   }
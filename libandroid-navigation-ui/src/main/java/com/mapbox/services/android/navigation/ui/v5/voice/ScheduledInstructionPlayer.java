@@ -0,0 +1,45 @@
+package com.mapbox.services.android.navigation.ui.v5.voice;
+
+/**
+ * An {@link InstructionPlayer} which plays its instructions through an {@link InstructionScheduler},
+ * so instructions can be given a priority and a deadline after which they aren't played anymore.
+ *
+ * @since 0.10.0
+ */
+public interface ScheduledInstructionPlayer extends InstructionPlayer {
+
+  /**
+   * Will play the given instruction once the instructions of the same or a higher priority
+   * scheduled before are done, unless its deadline has passed by then. An instruction of a higher
+   * priority stops the instruction playing.
+   *
+   * @param instruction              voice instruction to be synthesized and played
+   * @param priority                 of the instruction
+   * @param deadlineDistanceTraveled distance traveled along the route in meters after which the
+   *                                 instruction is outdated, or {@link InstructionScheduler#NO_DEADLINE}
+   * @since 0.10.0
+   */
+  void play(String instruction, @InstructionScheduler.Priority int priority, double deadlineDistanceTraveled);
+
+  /**
+   * Drops the waiting instructions whose deadline has been passed.
+   *
+   * @param distanceTraveled along the route in meters
+   * @since 0.10.0
+   */
+  void onDistanceTraveled(double distanceTraveled);
+
+  /**
+   * Drops the waiting instructions of the previous route once navigation continues on a new one,
+   * their deadlines don't apply to the distance traveled along the new route.
+   *
+   * @since 0.10.0
+   */
+  void onNewRoute();
+
+  /**
+   * @return the current state of the instruction queue
+   * @since 0.10.0
+   */
+  AnnouncementMetrics getAnnouncementMetrics();
+}
@@ -3,18 +3,28 @@ package com.mapbox.services.android.navigation.ui.v5.voice.polly;
 import android.content.Context;
 import android.media.AudioManager;
 import android.media.MediaPlayer;
-import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.TextUtils;
 
 import com.amazonaws.auth.CognitoCachingCredentialsProvider;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.polly.AmazonPollyPresigningClient;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.api.directions.v5.models.VoiceInstructions;
+import com.mapbox.services.android.navigation.ui.v5.voice.AnnouncementMetrics;
 import com.mapbox.services.android.navigation.ui.v5.voice.InstructionListener;
-import com.mapbox.services.android.navigation.ui.v5.voice.InstructionPlayer;
+import com.mapbox.services.android.navigation.ui.v5.voice.InstructionScheduler;
+import com.mapbox.services.android.navigation.ui.v5.voice.ScheduledInstructionPlayer;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationHttpClient;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import timber.log.Timber;
 
@@ -23,15 +33,25 @@ import timber.log.Timber;
  * Will retrieve synthesized speech mp3s from Amazon's AWS Polly Service
  * (Requires a valid AWS Cognito Pool ID)
  * </p><p>
- * Will queue each instruction and play them
- * sequentially up until the queue is empty.
+ * The speech is kept in a size capped cache on disk and the announcements of a route can be
+ * synthesized ahead of time with {@link #prefetch(DirectionsRoute)}, so they're played from a local
+ * file when due. An announcement which couldn't be synthesized is streamed instead.
+ * </p><p>
+ * Will queue each instruction and play them one at a time as chosen by its
+ * {@link InstructionScheduler}, reusing a single {@link MediaPlayer}.
  * </p>
  */
-public class PollyPlayer implements InstructionPlayer {
+public class PollyPlayer implements ScheduledInstructionPlayer {
+
+  private static final String SPEECH_DIRECTORY = "voice_instructions";
+  private static final long MAX_SPEECH_CACHE_BYTES = 20 * 1024 * 1024;
+  private static final int SYNTHESIS_THREADS = 2;
 
-  private AmazonPollyPresigningClient pollyClient;
+  private SpeechLoader speechLoader;
+  private InstructionScheduler scheduler;
   private MediaPlayer pollyMediaPlayer;
-  private List<String> instructionUrls = new ArrayList<>();
+  private InstructionScheduler.Announcement playingAnnouncement;
+  private boolean isStarted;
   private InstructionListener instructionListener;
   private boolean isMuted;
 
@@ -42,7 +62,30 @@ public class PollyPlayer implements InstructionPlayer {
    * @param awsPoolId to initialize {@link CognitoCachingCredentialsProvider}
    */
   public PollyPlayer(Context context, String awsPoolId) {
-    initPollyClient(context, awsPoolId);
+    this(new PollySynthesizer(initPollyClient(context, awsPoolId),
+        NavigationHttpClient.getInstance(context).okHttpClient()),
+      new SpeechCache(new File(context.getCacheDir(), SPEECH_DIRECTORY), MAX_SPEECH_CACHE_BYTES));
+  }
+
+  PollyPlayer(SpeechSynthesizer synthesizer, SpeechCache speechCache) {
+    final Handler mainHandler = new Handler(Looper.getMainLooper());
+    speechLoader = new SpeechLoader(synthesizer, speechCache, SYNTHESIS_THREADS, new Executor() {
+      @Override
+      public void execute(Runnable runnable) {
+        mainHandler.post(runnable);
+      }
+    });
+    scheduler = new InstructionScheduler(new InstructionScheduler.Playback() {
+      @Override
+      public void play(InstructionScheduler.Announcement announcement) {
+        playInstruction(announcement);
+      }
+
+      @Override
+      public void stop(InstructionScheduler.Announcement announcement) {
+        stopInstruction();
+      }
+    });
   }
 
   /**
@@ -50,11 +93,44 @@ public class PollyPlayer implements InstructionPlayer {
    */
   @Override
   public void play(String instruction) {
+    play(instruction, InstructionScheduler.PRIORITY_ROUTINE, InstructionScheduler.NO_DEADLINE);
+  }
+
+  @Override
+  public void play(String instruction, @InstructionScheduler.Priority int priority,
+                   double deadlineDistanceTraveled) {
     if (!isMuted && !TextUtils.isEmpty(instruction)) {
-      executeInstructionTask(instruction);
+      loadInstruction(scheduler.schedule(instruction, priority, deadlineDistanceTraveled, false));
     }
   }
 
+  @Override
+  public void onDistanceTraveled(double distanceTraveled) {
+    scheduler.onDistanceTraveled(distanceTraveled);
+  }
+
+  @Override
+  public void onNewRoute() {
+    scheduler.onNewRoute();
+  }
+
+  @Override
+  public AnnouncementMetrics getAnnouncementMetrics() {
+    return scheduler.metrics();
+  }
+
+  /**
+   * Synthesizes the SSML announcements of every step of the route in the background, so they can
+   * be played from the cache without a network request when due. The announcements are synthesized
+   * in the order of the steps, the size of the cache on disk is the only bound on how many are kept.
+   *
+   * @param route to synthesize the announcements of
+   * @since 0.10.0
+   */
+  public void prefetch(DirectionsRoute route) {
+    speechLoader.prefetch(collectAnnouncements(route));
+  }
+
   @Override
   public boolean isMuted() {
     return isMuted;
@@ -63,18 +139,24 @@ public class PollyPlayer implements InstructionPlayer {
   @Override
   public void setMuted(boolean isMuted) {
     this.isMuted = isMuted;
-    mutePolly(isMuted);
+    if (isMuted) {
+      scheduler.clear();
+    }
   }
 
   @Override
   public void onOffRoute() {
-    pauseInstruction();
-    clearInstructionUrls();
+    scheduler.clear();
   }
 
   @Override
   public void onDestroy() {
-    stopPollyMediaPlayerPlaying();
+    scheduler.clear();
+    if (pollyMediaPlayer != null) {
+      pollyMediaPlayer.release();
+      pollyMediaPlayer = null;
+    }
+    speechLoader.shutdown();
   }
 
   @Override
@@ -82,44 +164,50 @@ public class PollyPlayer implements InstructionPlayer {
     this.instructionListener = instructionListener;
   }
 
-  private void initPollyClient(Context context, String awsPoolId) {
+  private static AmazonPollyPresigningClient initPollyClient(Context context, String awsPoolId) {
     CognitoCachingCredentialsProvider credentialsProvider = new CognitoCachingCredentialsProvider(
       context,
       awsPoolId,
       Regions.US_EAST_1
     );
-    pollyClient = new AmazonPollyPresigningClient(credentialsProvider);
+    return new AmazonPollyPresigningClient(credentialsProvider);
   }
 
-  private void mutePolly(boolean isMuted) {
-    if (isMuted) {
-      stopPollyMediaPlayerPlaying();
-      clearInstructionUrls();
+  /**
+   * @param route to collect the announcements of, may be null
+   * @return the SSML announcements of every step of every leg, in the order they're played
+   */
+  static List<String> collectAnnouncements(DirectionsRoute route) {
+    List<String> announcements = new ArrayList<>();
+    if (route != null && route.legs() != null) {
+      for (RouteLeg leg : route.legs()) {
+        addAnnouncements(leg, announcements);
+      }
     }
+    return announcements;
   }
 
-  private void stopPollyMediaPlayerPlaying() {
-    try {
-      if (pollyMediaPlayer != null && pollyMediaPlayer.isPlaying()) {
-        pollyMediaPlayer.stop();
-        pollyMediaPlayer.release();
-        instructionListener.onDone();
+  private static void addAnnouncements(RouteLeg leg, List<String> announcements) {
+    if (leg.steps() == null) {
+      return;
+    }
+    for (LegStep step : leg.steps()) {
+      if (step.voiceInstructions() == null) {
+        continue;
+      }
+      for (VoiceInstructions voiceInstructions : step.voiceInstructions()) {
+        if (!TextUtils.isEmpty(voiceInstructions.ssmlAnnouncement())) {
+          announcements.add(voiceInstructions.ssmlAnnouncement());
+        }
       }
-    } catch (IllegalStateException exception) {
-      Timber.e(exception.getMessage());
     }
   }
 
-  private void executeInstructionTask(String instruction) {
-    new InstructionTask(pollyClient, new InstructionTask.TaskListener() {
+  private void loadInstruction(final InstructionScheduler.Announcement announcement) {
+    speechLoader.load(announcement.text(), new SpeechLoader.Callback() {
       @Override
-      public void onFinished(String instructionUrl) {
-        if (instructionUrls.size() == 0) {
-          instructionUrls.add(instructionUrl);
-          playInstruction(instructionUrls.get(0));
-        } else {
-          instructionUrls.add(instructionUrl);
-        }
+      public void onLoaded(String source) {
+        scheduler.onReady(announcement, source);
       }
 
       @Override
@@ -127,72 +215,92 @@ public class PollyPlayer implements InstructionPlayer {
         if (instructionListener != null) {
           instructionListener.onError();
         }
+        scheduler.onFailed(announcement);
       }
-    }).executeOnExecutor(AsyncTask.SERIAL_EXECUTOR, instruction);
+    });
   }
 
-  private void playInstruction(String instruction) {
-    if (!TextUtils.isEmpty(instruction)) {
-      pollyMediaPlayer = new MediaPlayer();
-      setDataSource(instruction);
-      pollyMediaPlayer.prepareAsync();
-      setListeners();
+  private void playInstruction(InstructionScheduler.Announcement announcement) {
+    playingAnnouncement = announcement;
+    isStarted = false;
+    MediaPlayer mediaPlayer = obtainMediaPlayer();
+    try {
+      mediaPlayer.reset();
+      mediaPlayer.setDataSource(announcement.source());
+      mediaPlayer.prepareAsync();
+    } catch (IOException | IllegalStateException exception) {
+      Timber.e("Unable to set data source for the media pollyMediaPlayer! %s", exception.getMessage());
+      onInstructionFinished();
     }
   }
 
-  private void pauseInstruction() {
-    try {
-      if (pollyMediaPlayer != null && pollyMediaPlayer.isPlaying()) {
-        pollyMediaPlayer.stop();
+  private void stopInstruction() {
+    playingAnnouncement = null;
+    if (pollyMediaPlayer != null) {
+      pollyMediaPlayer.reset();
+    }
+    if (isStarted) {
+      isStarted = false;
+      if (instructionListener != null) {
+        instructionListener.onDone();
       }
-    } catch (IllegalStateException exception) {
-      Timber.e(exception.getMessage());
     }
   }
 
-  private void setDataSource(String instruction) {
-    try {
-      pollyMediaPlayer.setDataSource(instruction);
-    } catch (IOException ioException) {
-      Timber.e("Unable to set data source for the media pollyMediaPlayer! %s",
-        ioException.getMessage());
+  /**
+   * The media player is created once and reset between instructions, instead of creating and
+   * releasing a player for every instruction.
+   */
+  private MediaPlayer obtainMediaPlayer() {
+    if (pollyMediaPlayer == null) {
+      pollyMediaPlayer = new MediaPlayer();
+      setListeners(pollyMediaPlayer);
     }
+    return pollyMediaPlayer;
   }
 
-  private void setListeners() {
-    pollyMediaPlayer.setOnPreparedListener(new MediaPlayer.OnPreparedListener() {
+  private void setListeners(MediaPlayer mediaPlayer) {
+    mediaPlayer.setOnPreparedListener(new MediaPlayer.OnPreparedListener() {
       @Override
       public void onPrepared(MediaPlayer mp) {
+        if (playingAnnouncement == null) {
+          return;
+        }
+        isStarted = true;
         if (instructionListener != null) {
           instructionListener.onStart();
         }
         mp.start();
       }
     });
-    pollyMediaPlayer.setOnCompletionListener(new MediaPlayer.OnCompletionListener() {
+    mediaPlayer.setOnCompletionListener(new MediaPlayer.OnCompletionListener() {
       @Override
       public void onCompletion(MediaPlayer mp) {
-        mp.release();
         if (instructionListener != null) {
           instructionListener.onDone();
         }
         onInstructionFinished();
       }
     });
-  }
-
-  private void onInstructionFinished() {
-    if (instructionUrls.size() > 0) {
-      instructionUrls.remove(0);
-      if (instructionUrls.size() > 0) {
-        playInstruction(instructionUrls.get(0));
+    mediaPlayer.setOnErrorListener(new MediaPlayer.OnErrorListener() {
+      @Override
+      public boolean onError(MediaPlayer mp, int what, int extra) {
+        Timber.e("Unable to play the instruction: %d %d", what, extra);
+        if (isStarted && instructionListener != null) {
+          instructionListener.onDone();
+        }
+        onInstructionFinished();
+        return true;
       }
-    }
+    });
   }
 
-  private void clearInstructionUrls() {
-    if (instructionUrls.size() > 0) {
-      instructionUrls.clear();
+  private void onInstructionFinished() {
+    InstructionScheduler.Announcement finished = playingAnnouncement;
+    playingAnnouncement = null;
+    isStarted = false;
+    if (finished != null) {
+      scheduler.onPlaybackFinished(finished);
     }
   }
 }
@@ -0,0 +1,89 @@
+package com.mapbox.services.android.navigation.ui.v5.voice.polly;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.polly.AmazonPollyPresigningClient;
+import com.amazonaws.services.polly.model.OutputFormat;
+import com.amazonaws.services.polly.model.SynthesizeSpeechPresignRequest;
+import com.amazonaws.services.polly.model.TextType;
+import com.amazonaws.services.polly.model.VoiceId;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Retrieves the presigned URL of the synthesized speech from AWS Polly and downloads it with the
+ * shared HTTP client, so the speech requests reuse the same connections.
+ */
+class PollySynthesizer implements SpeechSynthesizer {
+
+  private static final VoiceId VOICE = VoiceId.Joanna;
+  private static final int BUFFER_SIZE = 8192;
+
+  private final AmazonPollyPresigningClient client;
+  private final OkHttpClient httpClient;
+
+  PollySynthesizer(AmazonPollyPresigningClient client, OkHttpClient httpClient) {
+    this.client = client;
+    this.httpClient = httpClient;
+  }
+
+  @Override
+  public String voice() {
+    return VOICE.toString();
+  }
+
+  @Override
+  public void synthesize(String ssmlAnnouncement, File output) throws IOException {
+    Request request = new Request.Builder().url(retrieveSpeechUrl(ssmlAnnouncement)).build();
+    Response response = httpClient.newCall(request).execute();
+    try {
+      ResponseBody body = response.body();
+      if (!response.isSuccessful() || body == null) {
+        throw new IOException("Unable to download the synthesized instruction: " + response.code());
+      }
+      writeToFile(body.byteStream(), output);
+    } finally {
+      response.close();
+    }
+  }
+
+  @Override
+  public String streamUrl(String ssmlAnnouncement) throws IOException {
+    return retrieveSpeechUrl(ssmlAnnouncement);
+  }
+
+  private String retrieveSpeechUrl(String ssmlAnnouncement) throws IOException {
+    SynthesizeSpeechPresignRequest synthesizeSpeechPresignRequest =
+      new SynthesizeSpeechPresignRequest()
+        .withText(ssmlAnnouncement)
+        .withTextType(TextType.Ssml)
+        .withVoiceId(VOICE)
+        .withOutputFormat(OutputFormat.Mp3);
+    try {
+      return client.getPresignedSynthesizeSpeechUrl(synthesizeSpeechPresignRequest).toString();
+    } catch (AmazonClientException exception) {
+      throw new IOException("Unable to presign the instruction request: " + exception.getMessage());
+    }
+  }
+
+  private static void writeToFile(InputStream inputStream, File file) throws IOException {
+    OutputStream outputStream = new FileOutputStream(file);
+    try {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        outputStream.write(buffer, 0, read);
+      }
+    } finally {
+      outputStream.close();
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package com.mapbox.services.android.navigation.ui.v5.voice.polly;
+
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Size capped least recently used cache of synthesized speech on disk. Each announcement is stored
+ * in a file named after the hash of its text, voice and locale, so the cache survives restarts and
+ * the same announcement of a later route is played without synthesizing it again.
+ * <p>
+ * Speech is written to a temporary file first and only moved into the cache once complete, so a
+ * partially written file is never played.
+ */
+class SpeechCache {
+
+  private static final String SPEECH_FILE_SUFFIX = ".mp3";
+  private static final String TEMP_FILE_PREFIX = "speech";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final File directory;
+  private final long maxBytes;
+  private final LinkedHashMap<String, Long> fileSizes = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  SpeechCache(File directory, long maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+    loadExistingFiles();
+  }
+
+  /**
+   * @param text   of the announcement
+   * @param voice  it's synthesized with
+   * @param locale of the announcement
+   * @return key of the announcement in the cache
+   */
+  static String keyOf(String text, String voice, Locale locale) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      digest.update(voice.getBytes("UTF-8"));
+      digest.update((byte) 0);
+      digest.update(locale.toString().getBytes("UTF-8"));
+      digest.update((byte) 0);
+      byte[] hash = digest.digest(text.getBytes("UTF-8"));
+      char[] hex = new char[hash.length * 2];
+      for (int i = 0; i < hash.length; i++) {
+        hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+        hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+      }
+      return new String(hex);
+    } catch (NoSuchAlgorithmException | UnsupportedEncodingException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Only looks up the cache in memory, so it can be called on the main thread. The use is recorded
+   * on disk by {@link #touch(String)}.
+   *
+   * @param key of the announcement
+   * @return the cached speech, marked as the most recently used, or null if it isn't cached
+   */
+  @Nullable
+  synchronized File get(String key) {
+    if (fileSizes.get(key) == null) {
+      return null;
+    }
+    return fileOf(key);
+  }
+
+  /**
+   * Records the use of the speech on its file, so the least recently used speech is still known
+   * after a restart. Accesses the disk, so it's called on a background thread.
+   *
+   * @param key of the announcement
+   * @return false if the speech isn't cached or its file has been deleted in the meantime
+   */
+  synchronized boolean touch(String key) {
+    if (fileSizes.get(key) == null) {
+      return false;
+    }
+    File file = fileOf(key);
+    if (!file.exists()) {
+      totalBytes -= fileSizes.remove(key);
+      return false;
+    }
+    file.setLastModified(System.currentTimeMillis());
+    return true;
+  }
+
+  synchronized boolean contains(String key) {
+    return fileSizes.containsKey(key);
+  }
+
+  /**
+   * @return a new temporary file in the cache directory for the speech to be written to
+   * @throws IOException if the file couldn't be created
+   */
+  File createTempFile() throws IOException {
+    return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX, directory);
+  }
+
+  /**
+   * Moves the completely written speech into the cache and evicts the least recently used speech
+   * until the cache fits into its size again.
+   *
+   * @param key      of the announcement
+   * @param tempFile the speech has been written to
+   * @return the cached speech
+   * @throws IOException if the file couldn't be moved into the cache
+   */
+  synchronized File put(String key, File tempFile) throws IOException {
+    File file = fileOf(key);
+    if (!tempFile.renameTo(file)) {
+      tempFile.delete();
+      throw new IOException("Unable to move the synthesized speech into the cache: " + file);
+    }
+    Long previousSize = fileSizes.put(key, file.length());
+    totalBytes += file.length() - (previousSize == null ? 0 : previousSize);
+    evict(key);
+    return file;
+  }
+
+  synchronized long size() {
+    return totalBytes;
+  }
+
+  private void evict(String keptKey) {
+    Iterator<Map.Entry<String, Long>> iterator = fileSizes.entrySet().iterator();
+    while (totalBytes > maxBytes && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      if (eldest.getKey().equals(keptKey)) {
+        continue;
+      }
+      fileOf(eldest.getKey()).delete();
+      totalBytes -= eldest.getValue();
+      iterator.remove();
+    }
+  }
+
+  private File fileOf(String key) {
+    return new File(directory, key + SPEECH_FILE_SUFFIX);
+  }
+
+  private void loadExistingFiles() {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      return;
+    }
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    // Oldest first, so the access order of the map matches the last use of the files
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(File first, File second) {
+        long difference = first.lastModified() - second.lastModified();
+        return difference < 0 ? -1 : (difference == 0 ? 0 : 1);
+      }
+    });
+    for (File file : files) {
+      String name = file.getName();
+      if (name.endsWith(TEMP_FILE_SUFFIX)) {
+        file.delete();
+      } else if (name.endsWith(SPEECH_FILE_SUFFIX)) {
+        fileSizes.put(name.substring(0, name.length() - SPEECH_FILE_SUFFIX.length()), file.length());
+        totalBytes += file.length();
+      }
+    }
+    evict(null);
+  }
+}
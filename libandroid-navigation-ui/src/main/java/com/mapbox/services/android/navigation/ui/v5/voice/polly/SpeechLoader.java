@@ -0,0 +1,214 @@
+package com.mapbox.services.android.navigation.ui.v5.voice.polly;
+
+import com.mapbox.services.android.navigation.v5.utils.BackgroundThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import timber.log.Timber;
+
+/**
+ * Synthesizes announcements into the {@link SpeechCache} on a bounded number of background threads.
+ * <p>
+ * Announcements of a route are prefetched at the end of the queue. An announcement which has to be
+ * played is loaded from the cache right away if available, and otherwise moved to the front of the
+ * queue, or joins its synthesis if that's already running. Each announcement is only synthesized
+ * once at a time, however often it's requested. If the synthesis fails, an announcement which has
+ * to be played is streamed instead.
+ * <p>
+ * Only the cache lookup runs on the calling thread, recording the use of cached speech on disk is
+ * queued on the background threads like the syntheses.
+ */
+class SpeechLoader {
+
+  private final SpeechSynthesizer synthesizer;
+  private final SpeechCache cache;
+  private final Executor callbackExecutor;
+  private final LinkedBlockingDeque<Runnable> queue = new LinkedBlockingDeque<>();
+  private final ThreadPoolExecutor executor;
+  private final Map<String, SynthesisTask> tasks = new HashMap<>();
+
+  /**
+   * @param synthesizer      turning the announcements into speech
+   * @param cache            the speech is stored in
+   * @param threads          maximum number of announcements synthesized at the same time
+   * @param callbackExecutor the callbacks of {@link #load(String, Callback)} are run on
+   */
+  SpeechLoader(SpeechSynthesizer synthesizer, SpeechCache cache, int threads, Executor callbackExecutor) {
+    this.synthesizer = synthesizer;
+    this.cache = cache;
+    this.callbackExecutor = callbackExecutor;
+    executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue,
+      new BackgroundThreadFactory("SpeechLoader"));
+    // Tasks are put into the queue directly, so the threads have to wait on it from the start
+    executor.prestartAllCoreThreads();
+  }
+
+  /**
+   * Queues the announcements which aren't cached yet. Prefetches of a previous call which haven't
+   * started and aren't waited for are dropped, as they most likely belong to a previous route.
+   *
+   * @param announcements to synthesize in the background
+   */
+  synchronized void prefetch(List<String> announcements) {
+    if (executor.isShutdown()) {
+      return;
+    }
+    dropQueuedPrefetches();
+    for (String announcement : announcements) {
+      String key = keyOf(announcement);
+      if (!tasks.containsKey(key) && !cache.contains(key)) {
+        SynthesisTask task = new SynthesisTask(key, announcement);
+        tasks.put(key, task);
+        queue.offerLast(task);
+      }
+    }
+  }
+
+  /**
+   * @param announcement to load
+   * @param callback     called with the source of the speech once available
+   */
+  void load(String announcement, Callback callback) {
+    final String key = keyOf(announcement);
+    File speech = cache.get(key);
+    synchronized (this) {
+      if (executor.isShutdown()) {
+        return;
+      }
+      if (speech != null) {
+        deliver(callback, speech.getAbsolutePath());
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            cache.touch(key);
+          }
+        });
+        return;
+      }
+      SynthesisTask task = tasks.get(key);
+      if (task == null) {
+        task = new SynthesisTask(key, announcement);
+        tasks.put(key, task);
+        queue.offerFirst(task);
+      } else if (queue.remove(task)) {
+        queue.offerFirst(task);
+      }
+      task.callbacks.add(callback);
+    }
+  }
+
+  synchronized void shutdown() {
+    tasks.clear();
+    executor.shutdownNow();
+  }
+
+  private String keyOf(String announcement) {
+    return SpeechCache.keyOf(announcement, synthesizer.voice(), Locale.getDefault());
+  }
+
+  private void dropQueuedPrefetches() {
+    Iterator<Runnable> iterator = queue.iterator();
+    while (iterator.hasNext()) {
+      Runnable queuedTask = iterator.next();
+      if (!(queuedTask instanceof SynthesisTask)) {
+        continue;
+      }
+      SynthesisTask task = (SynthesisTask) queuedTask;
+      if (task.callbacks.isEmpty()) {
+        iterator.remove();
+        tasks.remove(task.key);
+      }
+    }
+  }
+
+  private void deliver(final Callback callback, final String source) {
+    callbackExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (source == null) {
+          callback.onError();
+        } else {
+          callback.onLoaded(source);
+        }
+      }
+    });
+  }
+
+  private File synthesize(String key, String announcement) {
+    File speech = cache.get(key);
+    if (speech != null && cache.touch(key)) {
+      return speech;
+    }
+    File tempFile = null;
+    try {
+      tempFile = cache.createTempFile();
+      synthesizer.synthesize(announcement, tempFile);
+      return cache.put(key, tempFile);
+    } catch (IOException exception) {
+      Timber.e("Unable to synthesize the instruction: %s", exception.getMessage());
+      if (tempFile != null) {
+        tempFile.delete();
+      }
+      return null;
+    }
+  }
+
+  private String streamUrl(String announcement) {
+    try {
+      return synthesizer.streamUrl(announcement);
+    } catch (IOException exception) {
+      Timber.e("Unable to stream the instruction: %s", exception.getMessage());
+      return null;
+    }
+  }
+
+  interface Callback {
+
+    /**
+     * @param source of the speech, the path of the cached file or the URL to stream it from
+     */
+    void onLoaded(String source);
+
+    void onError();
+  }
+
+  private class SynthesisTask implements Runnable {
+
+    private final String key;
+    private final String announcement;
+    private final List<Callback> callbacks = new ArrayList<>();
+
+    SynthesisTask(String key, String announcement) {
+      this.key = key;
+      this.announcement = announcement;
+    }
+
+    @Override
+    public void run() {
+      File speech = synthesize(key, announcement);
+      List<Callback> waitingCallbacks;
+      synchronized (SpeechLoader.this) {
+        tasks.remove(key);
+        waitingCallbacks = new ArrayList<>(callbacks);
+      }
+      if (waitingCallbacks.isEmpty()) {
+        return;
+      }
+      String source = speech == null ? streamUrl(announcement) : speech.getAbsolutePath();
+      for (Callback callback : waitingCallbacks) {
+        deliver(callback, source);
+      }
+    }
+  }
+}
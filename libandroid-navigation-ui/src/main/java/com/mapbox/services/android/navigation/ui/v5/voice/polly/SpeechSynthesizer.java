@@ -0,0 +1,35 @@
+package com.mapbox.services.android.navigation.ui.v5.voice.polly;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Turns an SSML announcement into an audio file, so the source of the speech can be replaced, for
+ * instance by a local synthesizer in tests.
+ */
+interface SpeechSynthesizer {
+
+  /**
+   * @return identifier of the voice, part of the key under which the synthesized speech is cached
+   */
+  String voice();
+
+  /**
+   * Synthesizes the announcement, blocking until the audio has been written.
+   *
+   * @param ssmlAnnouncement to synthesize
+   * @param output           file the audio is written to
+   * @throws IOException if the speech couldn't be synthesized or written
+   */
+  void synthesize(String ssmlAnnouncement, File output) throws IOException;
+
+  /**
+   * Used when the speech couldn't be synthesized into a file, so the announcement can still be
+   * played while streaming it.
+   *
+   * @param ssmlAnnouncement to stream
+   * @return URL the speech can be streamed from
+   * @throws IOException if no URL could be retrieved
+   */
+  String streamUrl(String ssmlAnnouncement) throws IOException;
+}
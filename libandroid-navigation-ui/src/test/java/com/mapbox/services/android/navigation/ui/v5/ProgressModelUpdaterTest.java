@@ -0,0 +1,163 @@
+package com.mapbox.services.android.navigation.ui.v5;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepManeuver;
+import com.mapbox.services.android.navigation.ui.v5.instruction.InstructionModel;
+import com.mapbox.services.android.navigation.ui.v5.summary.SummaryModel;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationUnitType;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.mapbox.services.android.navigation.BuildConfig.class, manifest = Config.DEFAULT_MANIFEST_NAME)
+public class ProgressModelUpdaterTest {
+
+  private static final int UNIT_TYPE = NavigationUnitType.TYPE_METRIC;
+
+  private final DirectionsRoute route = mock(DirectionsRoute.class);
+  private final List<Runnable> mainQueue = new ArrayList<>();
+  private RecordingCallback callback;
+  private ProgressModelUpdater updater;
+
+  @Before
+  public void setUp() throws Exception {
+    callback = new RecordingCallback();
+    updater = new ProgressModelUpdater(new Executor() {
+      @Override
+      public void execute(Runnable runnable) {
+        runnable.run();
+      }
+    }, new Executor() {
+      @Override
+      public void execute(Runnable runnable) {
+        mainQueue.add(runnable);
+      }
+    }, callback);
+  }
+
+  @Test
+  public void update_firstProgressPassesOnBothModels() throws Exception {
+    updater.update(buildRouteProgress(2, 500, 1200), UNIT_TYPE);
+    runMainQueue();
+
+    assertEquals(1, callback.instructionModels.size());
+    assertEquals(1, callback.summaryModels.size());
+    assertEquals(0, updater.skippedModelCount());
+  }
+
+  @Test
+  public void update_progressShownTheSameWayIsSkippedAndCounted() throws Exception {
+    updater.update(buildRouteProgress(2, 500, 1200), UNIT_TYPE);
+    updater.update(buildRouteProgress(2, 500.2, 1200.4), UNIT_TYPE);
+    runMainQueue();
+
+    assertEquals(1, callback.instructionModels.size());
+    assertEquals(1, callback.summaryModels.size());
+    assertEquals(2, updater.skippedModelCount());
+  }
+
+  @Test
+  public void update_newStepPassesOnInstructionModelOnly() throws Exception {
+    updater.update(buildRouteProgress(2, 500, 1200), UNIT_TYPE);
+    updater.update(buildRouteProgress(3, 500, 1200), UNIT_TYPE);
+    runMainQueue();
+
+    assertEquals(2, callback.instructionModels.size());
+    assertEquals(1, callback.summaryModels.size());
+    assertEquals(1, updater.skippedModelCount());
+  }
+
+  @Test
+  public void reset_passesOnNextModelsEvenIfShownTheSameWay() throws Exception {
+    updater.update(buildRouteProgress(2, 500, 1200), UNIT_TYPE);
+    runMainQueue();
+    updater.reset();
+    updater.update(buildRouteProgress(2, 500, 1200), UNIT_TYPE);
+    runMainQueue();
+
+    assertEquals(2, callback.instructionModels.size());
+    assertEquals(2, callback.summaryModels.size());
+    assertEquals(0, updater.skippedModelCount());
+  }
+
+  @Test
+  public void reset_dropsModelsOfEarlierProgressNotYetPassedOn() throws Exception {
+    updater.update(buildRouteProgress(2, 500, 1200), UNIT_TYPE);
+    updater.reset();
+    updater.update(buildRouteProgress(3, 400, 1100), UNIT_TYPE);
+    runMainQueue();
+
+    assertEquals(1, callback.instructionModels.size());
+    assertEquals(1, callback.summaryModels.size());
+  }
+
+  @Test
+  public void resetSkippedModelCount_startsCountingAgain() throws Exception {
+    updater.update(buildRouteProgress(2, 500, 1200), UNIT_TYPE);
+    updater.update(buildRouteProgress(2, 500, 1200), UNIT_TYPE);
+
+    updater.resetSkippedModelCount();
+
+    assertEquals(0, updater.skippedModelCount());
+  }
+
+  private void runMainQueue() {
+    for (Runnable runnable : mainQueue) {
+      runnable.run();
+    }
+    mainQueue.clear();
+  }
+
+  private RouteProgress buildRouteProgress(int stepIndex, double distanceRemaining, double durationRemaining) {
+    StepManeuver maneuver = mock(StepManeuver.class);
+    when(maneuver.type()).thenReturn("turn");
+    when(maneuver.modifier()).thenReturn("left");
+    LegStep currentStep = mock(LegStep.class);
+    when(currentStep.maneuver()).thenReturn(maneuver);
+    RouteStepProgress stepProgress = mock(RouteStepProgress.class);
+    when(stepProgress.distanceRemaining()).thenReturn(distanceRemaining);
+    when(stepProgress.durationRemaining()).thenReturn(durationRemaining);
+    RouteLegProgress legProgress = mock(RouteLegProgress.class);
+    when(legProgress.stepIndex()).thenReturn(stepIndex);
+    when(legProgress.currentStep()).thenReturn(currentStep);
+    when(legProgress.currentStepProgress()).thenReturn(stepProgress);
+    RouteProgress routeProgress = mock(RouteProgress.class);
+    when(routeProgress.directionsRoute()).thenReturn(route);
+    when(routeProgress.currentLegProgress()).thenReturn(legProgress);
+    when(routeProgress.distanceRemaining()).thenReturn(distanceRemaining);
+    when(routeProgress.durationRemaining()).thenReturn(durationRemaining);
+    return routeProgress;
+  }
+
+  private static class RecordingCallback implements ProgressModelUpdater.Callback {
+
+    private final List<InstructionModel> instructionModels = new ArrayList<>();
+    private final List<SummaryModel> summaryModels = new ArrayList<>();
+
+    @Override
+    public void onInstructionModel(InstructionModel instructionModel) {
+      instructionModels.add(instructionModel);
+    }
+
+    @Override
+    public void onSummaryModel(SummaryModel summaryModel) {
+      summaryModels.add(summaryModel);
+    }
+  }
+}
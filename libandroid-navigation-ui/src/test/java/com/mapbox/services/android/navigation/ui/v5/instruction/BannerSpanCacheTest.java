@@ -0,0 +1,53 @@
+package com.mapbox.services.android.navigation.ui.v5.instruction;
+
+import com.mapbox.api.directions.v5.models.BannerText;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class BannerSpanCacheTest {
+
+  private final BannerText bannerText = mock(BannerText.class);
+
+  @Test
+  public void get_returnsComposedBannerOfEqualKey() throws Exception {
+    BannerSpanCache cache = new BannerSpanCache(2);
+    CharSequence composed = "I-95 North";
+    cache.put(BannerSpanCache.keyOf(bannerText, 40, 600, 480), composed);
+
+    CharSequence cached = cache.get(BannerSpanCache.keyOf(bannerText, 40, 600, 480));
+
+    assertSame(composed, cached);
+  }
+
+  @Test
+  public void get_returnsNullForOtherTextSizeOrWidth() throws Exception {
+    BannerSpanCache cache = new BannerSpanCache(2);
+    cache.put(BannerSpanCache.keyOf(bannerText, 40, 600, 480), "I-95 North");
+
+    assertNull(cache.get(BannerSpanCache.keyOf(bannerText, 50, 600, 480)));
+    assertNull(cache.get(BannerSpanCache.keyOf(bannerText, 40, 300, 480)));
+    assertNull(cache.get(BannerSpanCache.keyOf(bannerText, 40, 600, 320)));
+  }
+
+  @Test
+  public void put_evictsLeastRecentlyUsedBanner() throws Exception {
+    BannerSpanCache cache = new BannerSpanCache(2);
+    BannerSpanCache.Key first = BannerSpanCache.keyOf(bannerText, 40, 100, 480);
+    BannerSpanCache.Key second = BannerSpanCache.keyOf(bannerText, 40, 200, 480);
+    BannerSpanCache.Key third = BannerSpanCache.keyOf(bannerText, 40, 300, 480);
+    cache.put(first, "first");
+    cache.put(second, "second");
+    cache.get(first);
+
+    cache.put(third, "third");
+
+    assertEquals(2, cache.size());
+    assertNull(cache.get(second));
+    assertEquals("first", cache.get(first));
+  }
+}
@@ -0,0 +1,79 @@
+package com.mapbox.services.android.navigation.ui.v5.instruction;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.PointF;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.mapbox.services.android.navigation.BuildConfig.class, manifest = Config.DEFAULT_MANIFEST_NAME)
+public class GlyphCacheTest {
+
+  private final PointF size = new PointF(64, 48);
+
+  @Test
+  public void obtain_rasterizesGlyphOnlyOnce() throws Exception {
+    GlyphCache cache = new GlyphCache(1024 * 1024);
+    CountingPainter painter = new CountingPainter();
+    String key = GlyphCache.keyOf("maneuver_arrow_right", size, 0xFFFFFFFF, 0xFF000000);
+
+    Bitmap first = cache.obtain(key, size, painter);
+    Bitmap second = cache.obtain(key, size, painter);
+
+    assertSame(first, second);
+    assertEquals(1, painter.paintCount);
+    assertEquals(64, first.getWidth());
+    assertEquals(48, first.getHeight());
+  }
+
+  @Test
+  public void obtain_rasterizesGlyphAgainForOtherColor() throws Exception {
+    GlyphCache cache = new GlyphCache(1024 * 1024);
+    CountingPainter painter = new CountingPainter();
+
+    Bitmap white = cache.obtain(GlyphCache.keyOf("lane_straight", size, 0xFFFFFFFF, 0), size, painter);
+    Bitmap black = cache.obtain(GlyphCache.keyOf("lane_straight", size, 0xFF000000, 0), size, painter);
+
+    assertNotSame(white, black);
+    assertEquals(2, painter.paintCount);
+  }
+
+  @Test
+  public void obtain_returnsNullForEmptySize() throws Exception {
+    GlyphCache cache = new GlyphCache(1024 * 1024);
+    PointF emptySize = new PointF(0, 0);
+
+    Bitmap glyph = cache.obtain(GlyphCache.keyOf("lane_straight", emptySize, 0, 0), emptySize,
+      new CountingPainter());
+
+    assertNull(glyph);
+  }
+
+  @Test
+  public void keyOf_differsBySize() throws Exception {
+    String small = GlyphCache.keyOf("maneuver_fork", new PointF(32, 32), 0, 0);
+    String large = GlyphCache.keyOf("maneuver_fork", new PointF(64, 64), 0, 0);
+
+    assertNotEquals(small, large);
+  }
+
+  private static class CountingPainter implements GlyphCache.Painter {
+
+    private int paintCount;
+
+    @Override
+    public void paint(Canvas canvas, PointF size) {
+      paintCount++;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.mapbox.services.android.navigation.ui.v5.instruction;
+
+import com.mapbox.api.directions.v5.models.BannerComponents;
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.mapbox.services.android.navigation.BuildConfig.class, manifest = Config.DEFAULT_MANIFEST_NAME)
+public class ShieldUrlCollectorTest {
+
+  private static final String I_95 = "https://s3.amazonaws.com/mapbox/shields/v3/i-95";
+  private static final String US_1 = "https://s3.amazonaws.com/mapbox/shields/v3/us-1";
+
+  @Test
+  public void collect_returnsDistinctUrlsOfWholeRouteInOrder() throws Exception {
+    LegStep first = buildStep(buildText(I_95, null), buildText(US_1));
+    LegStep second = buildStep(buildText(US_1, I_95), null);
+    DirectionsRoute route = buildRoute(buildLeg(first), buildLeg(second));
+
+    Set<String> urls = ShieldUrlCollector.collect(route);
+
+    assertEquals(Arrays.asList(I_95, US_1), new ArrayList<>(urls));
+  }
+
+  @Test
+  public void collect_skipsComponentsWithoutImage() throws Exception {
+    LegStep step = buildStep(buildText(null, ""), null);
+
+    Set<String> urls = ShieldUrlCollector.collect(step);
+
+    assertTrue(urls.isEmpty());
+  }
+
+  @Test
+  public void collect_returnsEmptySetForMissingRoute() throws Exception {
+    assertTrue(ShieldUrlCollector.collect((DirectionsRoute) null).isEmpty());
+  }
+
+  private static DirectionsRoute buildRoute(RouteLeg... legs) {
+    DirectionsRoute route = mock(DirectionsRoute.class);
+    when(route.legs()).thenReturn(Arrays.asList(legs));
+    return route;
+  }
+
+  private static RouteLeg buildLeg(LegStep step) {
+    RouteLeg leg = mock(RouteLeg.class);
+    when(leg.steps()).thenReturn(Collections.singletonList(step));
+    return leg;
+  }
+
+  private static LegStep buildStep(BannerText primary, BannerText secondary) {
+    BannerInstructions instructions = mock(BannerInstructions.class);
+    when(instructions.primary()).thenReturn(primary);
+    when(instructions.secondary()).thenReturn(secondary);
+    LegStep step = mock(LegStep.class);
+    when(step.bannerInstructions()).thenReturn(Collections.singletonList(instructions));
+    return step;
+  }
+
+  private static BannerText buildText(String... imageBaseUrls) {
+    List<BannerComponents> components = new ArrayList<>();
+    for (String imageBaseUrl : imageBaseUrls) {
+      BannerComponents component = mock(BannerComponents.class);
+      when(component.imageBaseUrl()).thenReturn(imageBaseUrl);
+      components.add(component);
+    }
+    BannerText text = mock(BannerText.class);
+    when(text.components()).thenReturn(components);
+    return text;
+  }
+}
@@ -0,0 +1,155 @@
+package com.mapbox.services.android.navigation.ui.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.commons.geojson.Feature;
+import com.mapbox.services.commons.geojson.FeatureCollection;
+import com.mapbox.services.commons.geojson.LineString;
+import com.mapbox.services.commons.models.Position;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RouteFeatureBuilderTest {
+
+  @Test
+  public void addCongestionFeatures_mergesSegmentsWithSameLevel() throws Exception {
+    List<Feature> features = new ArrayList<>();
+    RouteLeg leg = buildLeg("low", "moderate", "moderate", "heavy", "low");
+
+    addCongestionFeatures(features, buildCoordinates(6), Arrays.asList(leg));
+
+    assertEquals(2, features.size());
+    assertEquals("moderate", features.get(0).getStringProperty(RouteFeatureBuilder.CONGESTION_KEY));
+    assertEquals(3, coordinatesOf(features.get(0)).size());
+    assertEquals(1d, coordinatesOf(features.get(0)).get(0).getLongitude(), 0d);
+    assertEquals("heavy", features.get(1).getStringProperty(RouteFeatureBuilder.CONGESTION_KEY));
+    assertEquals(2, coordinatesOf(features.get(1)).size());
+  }
+
+  @Test
+  public void addCongestionFeatures_continuesCoordinatesOfNextLeg() throws Exception {
+    List<Feature> features = new ArrayList<>();
+    RouteLeg firstLeg = buildLeg("low", "low");
+    RouteLeg secondLeg = buildLeg("severe", "low");
+
+    addCongestionFeatures(features, buildCoordinates(5), Arrays.asList(firstLeg, secondLeg));
+
+    assertEquals(1, features.size());
+    assertEquals(2d, coordinatesOf(features.get(0)).get(0).getLongitude(), 0d);
+    assertEquals(3d, coordinatesOf(features.get(0)).get(1).getLongitude(), 0d);
+  }
+
+  @Test
+  public void addCongestionFeatures_ignoresAnnotationsNotMatchingGeometry() throws Exception {
+    List<Feature> features = new ArrayList<>();
+    RouteLeg leg = buildLeg("heavy", "heavy", "heavy");
+
+    addCongestionFeatures(features, buildCoordinates(3), Arrays.asList(leg));
+
+    assertEquals(0, features.size());
+  }
+
+  @Test
+  public void calculateChunkEnds_splitsRouteIntoBoundedChunks() throws Exception {
+    double[] distances = RouteFeatureBuilder.calculateDistances(buildCoordinates(101));
+
+    int[] chunkEnds = RouteFeatureBuilder.calculateChunkEnds(distances);
+
+    assertTrue(chunkEnds.length <= 100);
+    assertEquals(100, chunkEnds[chunkEnds.length - 1]);
+  }
+
+  @Test
+  public void addCongestionFeatures_splitsRunsAtChunkEnds() throws Exception {
+    List<Feature> features = new ArrayList<>();
+    List<Position> coordinates = buildCoordinates(5);
+    RouteLeg leg = buildLeg("heavy", "heavy", "heavy", "heavy");
+
+    RouteFeatureBuilder.addCongestionFeatures(features, coordinates,
+      RouteFeatureBuilder.calculateDistances(coordinates), new int[] {2, 4}, Arrays.asList(leg));
+
+    assertEquals(2, features.size());
+    assertEquals(0, features.get(0).getNumberProperty(RouteFeatureBuilder.CHUNK_KEY).intValue());
+    assertEquals(1, features.get(1).getNumberProperty(RouteFeatureBuilder.CHUNK_KEY).intValue());
+    assertEquals(2d, coordinatesOf(features.get(1)).get(0).getLongitude(), 0d);
+  }
+
+  @Test
+  public void trimChunk_startsRemainingLinesAtTraveledDistance() throws Exception {
+    List<Position> coordinates = buildCoordinates(5);
+    double[] distances = RouteFeatureBuilder.calculateDistances(coordinates);
+    List<Feature> features = new ArrayList<>();
+    addCongestionFeatures(features, coordinates, Arrays.asList(buildLeg("low", "low", "low", "severe")));
+    FeatureCollection routeFeatures = FeatureCollection.fromFeatures(features);
+    double traveledDistance = (distances[3] + distances[4]) / 2;
+
+    FeatureCollection remainingFeatures = RouteFeatureBuilder.trimChunk(routeFeatures, 0, traveledDistance);
+
+    assertEquals(1, remainingFeatures.getFeatures().size());
+    List<Position> remainingCoordinates = coordinatesOf(remainingFeatures.getFeatures().get(0));
+    assertEquals(2, remainingCoordinates.size());
+    assertEquals(3.5d, remainingCoordinates.get(0).getLongitude(), 0.01d);
+    assertEquals(4d, remainingCoordinates.get(1).getLongitude(), 0d);
+  }
+
+  @Test
+  public void calculateTraveledDistance_usesLengthOfGeometryInsteadOfRouteDistance() throws Exception {
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      points.add(Point.fromLngLat(i, 0));
+    }
+    double geometryDistance = RouteFeatureBuilder.calculateDistances(buildCoordinates(5))[4];
+    DirectionsRoute route = mock(DirectionsRoute.class);
+    when(route.geometry()).thenReturn(PolylineUtils.encode(points, Constants.PRECISION_6));
+    when(route.distance()).thenReturn(geometryDistance * 1.2);
+    when(route.legs()).thenReturn(Arrays.asList(mock(RouteLeg.class)));
+    FeatureCollection routeFeatures = RouteFeatureBuilder.buildRouteFeatureCollection(route, 0);
+
+    double traveledDistance = RouteFeatureBuilder.calculateTraveledDistance(routeFeatures, 0.5);
+    int chunk = RouteFeatureBuilder.findChunk(routeFeatures, traveledDistance);
+    FeatureCollection remainingFeatures = RouteFeatureBuilder.trimChunk(routeFeatures, chunk, traveledDistance);
+
+    assertEquals(geometryDistance / 2, traveledDistance, 1d);
+    List<Position> remainingCoordinates = coordinatesOf(remainingFeatures.getFeatures().get(0));
+    assertEquals(2d, remainingCoordinates.get(0).getLongitude(), 0.01d);
+  }
+
+  private static void addCongestionFeatures(List<Feature> features, List<Position> coordinates, List<RouteLeg> legs) {
+    int[] chunkEnds = {coordinates.size() - 1};
+    RouteFeatureBuilder.addCongestionFeatures(features, coordinates,
+      RouteFeatureBuilder.calculateDistances(coordinates), chunkEnds, legs);
+  }
+
+  private static RouteLeg buildLeg(String... congestion) {
+    LegAnnotation annotation = mock(LegAnnotation.class);
+    when(annotation.congestion()).thenReturn(Arrays.asList(congestion));
+    RouteLeg leg = mock(RouteLeg.class);
+    when(leg.annotation()).thenReturn(annotation);
+    return leg;
+  }
+
+  private static List<Position> buildCoordinates(int count) {
+    List<Position> coordinates = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      coordinates.add(Position.fromCoordinates(i, 0));
+    }
+    return coordinates;
+  }
+
+  private static List<Position> coordinatesOf(Feature feature) {
+    return ((LineString) feature.getGeometry()).getCoordinates();
+  }
+}
@@ -0,0 +1,90 @@
+package com.mapbox.services.android.navigation.ui.v5.summary.list;
+
+import android.support.v7.util.DiffUtil;
+import android.support.v7.util.ListUpdateCallback;
+
+import com.mapbox.api.directions.v5.models.LegStep;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.mock;
+
+public class InstructionListDiffCallbackTest {
+
+  @Test
+  public void create_idsDifferByRouteLegAndStep() throws Exception {
+    LegStep step = mock(LegStep.class);
+
+    long id = InstructionListItem.create(1, 0, 3, step).id();
+
+    assertEquals(id, InstructionListItem.create(1, 0, 3, step).id());
+    assertNotEquals(id, InstructionListItem.create(2, 0, 3, step).id());
+    assertNotEquals(id, InstructionListItem.create(1, 1, 3, step).id());
+    assertNotEquals(id, InstructionListItem.create(1, 0, 4, step).id());
+  }
+
+  @Test
+  public void calculateDiff_advancingStepOnlyRemovesFirstRow() throws Exception {
+    List<InstructionListItem> oldItems = buildItems(1, 1, 5);
+    List<InstructionListItem> newItems = buildItems(1, 2, 5);
+    RecordingCallback callback = new RecordingCallback();
+
+    DiffUtil.calculateDiff(new InstructionListDiffCallback(oldItems, newItems), false)
+      .dispatchUpdatesTo(callback);
+
+    assertEquals(1, callback.updates.size());
+    assertEquals("removed 0 1", callback.updates.get(0));
+  }
+
+  @Test
+  public void calculateDiff_newRouteReplacesAllRows() throws Exception {
+    List<InstructionListItem> oldItems = buildItems(1, 1, 3);
+    List<InstructionListItem> newItems = buildItems(2, 1, 3);
+    RecordingCallback callback = new RecordingCallback();
+
+    DiffUtil.calculateDiff(new InstructionListDiffCallback(oldItems, newItems), false)
+      .dispatchUpdatesTo(callback);
+
+    assertEquals(2, callback.updates.size());
+    assertEquals(0, callback.changedCount);
+  }
+
+  private static List<InstructionListItem> buildItems(long routeGeneration, int firstStepIndex, int stepCount) {
+    List<InstructionListItem> items = new ArrayList<>();
+    for (int stepIndex = firstStepIndex; stepIndex < stepCount; stepIndex++) {
+      items.add(InstructionListItem.create(routeGeneration, 0, stepIndex, mock(LegStep.class)));
+    }
+    return items;
+  }
+
+  private static class RecordingCallback implements ListUpdateCallback {
+
+    private final List<String> updates = new ArrayList<>();
+    private int changedCount;
+
+    @Override
+    public void onInserted(int position, int count) {
+      updates.add("inserted " + position + " " + count);
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+      updates.add("removed " + position + " " + count);
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+      updates.add("moved " + fromPosition + " " + toPosition);
+    }
+
+    @Override
+    public void onChanged(int position, int count, Object payload) {
+      changedCount++;
+    }
+  }
+}
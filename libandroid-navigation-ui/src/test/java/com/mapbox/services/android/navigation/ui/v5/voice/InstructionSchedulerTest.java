@@ -0,0 +1,121 @@
+package com.mapbox.services.android.navigation.ui.v5.voice;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mapbox.services.android.navigation.ui.v5.voice.InstructionScheduler.NO_DEADLINE;
+import static com.mapbox.services.android.navigation.ui.v5.voice.InstructionScheduler.PRIORITY_REROUTE;
+import static com.mapbox.services.android.navigation.ui.v5.voice.InstructionScheduler.PRIORITY_ROUTINE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.mapbox.services.android.navigation.BuildConfig.class, manifest = Config.DEFAULT_MANIFEST_NAME)
+public class InstructionSchedulerTest {
+
+  private final List<String> played = new ArrayList<>();
+  private final List<String> stopped = new ArrayList<>();
+  private InstructionScheduler scheduler;
+
+  @Before
+  public void setUp() throws Exception {
+    scheduler = new InstructionScheduler(new InstructionScheduler.Playback() {
+      @Override
+      public void play(InstructionScheduler.Announcement announcement) {
+        played.add(announcement.text());
+      }
+
+      @Override
+      public void stop(InstructionScheduler.Announcement announcement) {
+        stopped.add(announcement.text());
+      }
+    });
+  }
+
+  @Test
+  public void schedule_playsOneAnnouncementAtATime() throws Exception {
+    scheduler.schedule("first", PRIORITY_ROUTINE, NO_DEADLINE, true);
+    scheduler.schedule("second", PRIORITY_ROUTINE, NO_DEADLINE, true);
+
+    assertEquals(1, played.size());
+    assertEquals(1, scheduler.metrics().queueDepth());
+
+    scheduler.onPlaybackFinished(scheduler.current());
+
+    assertEquals("second", played.get(1));
+    assertEquals(2, scheduler.metrics().maxQueueDepth());
+  }
+
+  @Test
+  public void schedule_higherPriorityPreemptsAndPlaysFirst() throws Exception {
+    scheduler.schedule("routine", PRIORITY_ROUTINE, NO_DEADLINE, true);
+    scheduler.schedule("waiting", PRIORITY_ROUTINE, NO_DEADLINE, true);
+
+    scheduler.schedule("reroute", PRIORITY_REROUTE, NO_DEADLINE, true);
+
+    assertEquals("routine", stopped.get(0));
+    assertEquals("reroute", played.get(1));
+    assertEquals(1, scheduler.metrics().preemptedCount());
+  }
+
+  @Test
+  public void onNewRoute_dropsWaitingAnnouncementsOfPreviousRoute() throws Exception {
+    scheduler.schedule("playing", PRIORITY_ROUTINE, NO_DEADLINE, true);
+    scheduler.onDistanceTraveled(1000);
+    scheduler.schedule("previous route", PRIORITY_ROUTINE, 1200, true);
+    scheduler.schedule("rerouting", PRIORITY_ROUTINE, NO_DEADLINE, true);
+
+    scheduler.onNewRoute();
+    scheduler.schedule("new route", PRIORITY_ROUTINE, 100, true);
+    scheduler.onPlaybackFinished(scheduler.current());
+    scheduler.onPlaybackFinished(scheduler.current());
+
+    assertEquals("rerouting", played.get(1));
+    assertEquals("new route", played.get(2));
+    assertEquals(1, scheduler.metrics().expiredCount());
+  }
+
+  @Test
+  public void onDistanceTraveled_dropsAnnouncementsPastTheirDeadline() throws Exception {
+    scheduler.schedule("playing", PRIORITY_ROUTINE, NO_DEADLINE, true);
+    scheduler.schedule("late", PRIORITY_ROUTINE, 100, true);
+    scheduler.schedule("in time", PRIORITY_ROUTINE, 500, true);
+
+    scheduler.onDistanceTraveled(200);
+    scheduler.onPlaybackFinished(scheduler.current());
+
+    assertEquals("in time", played.get(1));
+    assertEquals(1, scheduler.metrics().expiredCount());
+  }
+
+  @Test
+  public void onReady_keepsOrderOfAnnouncementsBeingLoaded() throws Exception {
+    InstructionScheduler.Announcement first = scheduler.schedule("first", PRIORITY_ROUTINE, NO_DEADLINE, false);
+    InstructionScheduler.Announcement second = scheduler.schedule("second", PRIORITY_ROUTINE, NO_DEADLINE, false);
+
+    scheduler.onReady(second, "second.mp3");
+    assertEquals(0, played.size());
+
+    scheduler.onReady(first, "first.mp3");
+    assertEquals("first", played.get(0));
+    assertEquals("first.mp3", scheduler.current().source());
+  }
+
+  @Test
+  public void clear_stopsAndDropsAllAnnouncements() throws Exception {
+    scheduler.schedule("playing", PRIORITY_ROUTINE, NO_DEADLINE, true);
+    scheduler.schedule("waiting", PRIORITY_ROUTINE, NO_DEADLINE, true);
+
+    scheduler.clear();
+
+    assertEquals("playing", stopped.get(0));
+    assertNull(scheduler.current());
+    assertEquals(0, scheduler.metrics().queueDepth());
+  }
+}
@@ -0,0 +1,42 @@
+package com.mapbox.services.android.navigation.ui.v5.voice.polly;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes the announcement itself as speech, standing in for Polly. Fails to synthesize while
+ * {@link #failing} is set.
+ */
+class FakeSynthesizer implements SpeechSynthesizer {
+
+  final List<String> synthesized = Collections.synchronizedList(new ArrayList<String>());
+  volatile boolean failing;
+
+  @Override
+  public String voice() {
+    return "fake";
+  }
+
+  @Override
+  public void synthesize(String ssmlAnnouncement, File output) throws IOException {
+    if (failing) {
+      throw new IOException("Synthesis failed");
+    }
+    synthesized.add(ssmlAnnouncement);
+    FileOutputStream outputStream = new FileOutputStream(output);
+    try {
+      outputStream.write(ssmlAnnouncement.getBytes("UTF-8"));
+    } finally {
+      outputStream.close();
+    }
+  }
+
+  @Override
+  public String streamUrl(String ssmlAnnouncement) {
+    return "https://speech/" + ssmlAnnouncement;
+  }
+}
@@ -0,0 +1,66 @@
+package com.mapbox.services.android.navigation.ui.v5.voice.polly;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.api.directions.v5.models.VoiceInstructions;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.mapbox.services.android.navigation.BuildConfig.class, manifest = Config.DEFAULT_MANIFEST_NAME)
+public class PollyPlayerTest {
+
+  @Test
+  public void collectAnnouncements_returnsAnnouncementsOfEveryStepOfEveryLeg() throws Exception {
+    DirectionsRoute route = buildRoute(
+      buildLeg(buildStep("first", ""), buildStep("second")),
+      buildLeg(buildStep(), buildStep("third", "fourth"))
+    );
+
+    List<String> announcements = PollyPlayer.collectAnnouncements(route);
+
+    assertEquals(Arrays.asList("first", "second", "third", "fourth"), announcements);
+  }
+
+  @Test
+  public void collectAnnouncements_returnsNoAnnouncementsForMissingRoute() throws Exception {
+    assertTrue(PollyPlayer.collectAnnouncements(null).isEmpty());
+  }
+
+  private static DirectionsRoute buildRoute(RouteLeg... legs) {
+    DirectionsRoute route = mock(DirectionsRoute.class);
+    when(route.legs()).thenReturn(Arrays.asList(legs));
+    return route;
+  }
+
+  private static RouteLeg buildLeg(LegStep... steps) {
+    RouteLeg leg = mock(RouteLeg.class);
+    when(leg.steps()).thenReturn(Arrays.asList(steps));
+    return leg;
+  }
+
+  private static LegStep buildStep(String... announcements) {
+    List<VoiceInstructions> voiceInstructions = new ArrayList<>();
+    for (String announcement : announcements) {
+      VoiceInstructions instructions = mock(VoiceInstructions.class);
+      when(instructions.ssmlAnnouncement()).thenReturn(announcement);
+      voiceInstructions.add(instructions);
+    }
+    LegStep step = mock(LegStep.class);
+    when(step.voiceInstructions()).thenReturn(voiceInstructions);
+    return step;
+  }
+}
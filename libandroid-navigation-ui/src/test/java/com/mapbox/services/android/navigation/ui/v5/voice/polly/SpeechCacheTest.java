@@ -0,0 +1,107 @@
+package com.mapbox.services.android.navigation.ui.v5.voice.polly;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SpeechCacheTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void keyOf_differsByTextVoiceAndLocale() throws Exception {
+    String key = SpeechCache.keyOf("Turn left", "Joanna", Locale.US);
+
+    assertEquals(key, SpeechCache.keyOf("Turn left", "Joanna", Locale.US));
+    assertNotEquals(key, SpeechCache.keyOf("Turn right", "Joanna", Locale.US));
+    assertNotEquals(key, SpeechCache.keyOf("Turn left", "Matthew", Locale.US));
+    assertNotEquals(key, SpeechCache.keyOf("Turn left", "Joanna", Locale.UK));
+  }
+
+  @Test
+  public void put_makesSpeechAvailable() throws Exception {
+    SpeechCache cache = new SpeechCache(folder.getRoot(), 100);
+
+    File speech = cache.put("first", writeTempFile(cache, 10));
+
+    assertEquals(speech, cache.get("first"));
+    assertEquals(10, cache.size());
+    assertNull(cache.get("second"));
+  }
+
+  @Test
+  public void put_evictsLeastRecentlyUsedSpeech() throws Exception {
+    SpeechCache cache = new SpeechCache(folder.getRoot(), 25);
+    cache.put("first", writeTempFile(cache, 10));
+    cache.put("second", writeTempFile(cache, 10));
+    cache.get("first");
+
+    cache.put("third", writeTempFile(cache, 10));
+
+    assertNotNull(cache.get("first"));
+    assertNull(cache.get("second"));
+    assertNotNull(cache.get("third"));
+    assertEquals(20, cache.size());
+  }
+
+  @Test
+  public void touch_recordsUseOnFile() throws Exception {
+    SpeechCache cache = new SpeechCache(folder.getRoot(), 100);
+    File speech = cache.put("first", writeTempFile(cache, 10));
+    speech.setLastModified(0);
+
+    assertTrue(cache.touch("first"));
+
+    assertTrue(speech.lastModified() > 0);
+    assertFalse(cache.touch("second"));
+  }
+
+  @Test
+  public void touch_dropsSpeechWhoseFileWasDeleted() throws Exception {
+    SpeechCache cache = new SpeechCache(folder.getRoot(), 100);
+    File speech = cache.put("first", writeTempFile(cache, 10));
+    speech.delete();
+
+    assertFalse(cache.touch("first"));
+
+    assertNull(cache.get("first"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void constructor_loadsExistingSpeechAndDropsTempFiles() throws Exception {
+    SpeechCache cache = new SpeechCache(folder.getRoot(), 100);
+    cache.put("first", writeTempFile(cache, 10));
+    File tempFile = writeTempFile(cache, 5);
+
+    SpeechCache reopenedCache = new SpeechCache(folder.getRoot(), 100);
+
+    assertTrue(reopenedCache.contains("first"));
+    assertEquals(10, reopenedCache.size());
+    assertFalse(tempFile.exists());
+  }
+
+  private static File writeTempFile(SpeechCache cache, int length) throws IOException {
+    File file = cache.createTempFile();
+    FileOutputStream outputStream = new FileOutputStream(file);
+    try {
+      outputStream.write(new byte[length]);
+    } finally {
+      outputStream.close();
+    }
+    return file;
+  }
+}
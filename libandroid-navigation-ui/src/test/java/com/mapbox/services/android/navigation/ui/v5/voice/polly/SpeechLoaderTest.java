@@ -0,0 +1,101 @@
+package com.mapbox.services.android.navigation.ui.v5.voice.polly;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SpeechLoaderTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private FakeSynthesizer synthesizer;
+  private SpeechCache cache;
+  private SpeechLoader loader;
+
+  @Before
+  public void setUp() throws Exception {
+    synthesizer = new FakeSynthesizer();
+    cache = new SpeechCache(folder.getRoot(), 1024);
+    loader = new SpeechLoader(synthesizer, cache, 2, new Executor() {
+      @Override
+      public void execute(Runnable runnable) {
+        runnable.run();
+      }
+    });
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    loader.shutdown();
+  }
+
+  @Test
+  public void load_synthesizesAnnouncementIntoCache() throws Exception {
+    File speech = new File(loadAndWait("Turn left"));
+
+    assertEquals(9, speech.length());
+    assertEquals(Collections.singletonList("Turn left"), synthesizer.synthesized);
+  }
+
+  @Test
+  public void load_playsCachedAnnouncementWithoutSynthesizing() throws Exception {
+    loadAndWait("Turn left");
+
+    loadAndWait("Turn left");
+
+    assertEquals(1, synthesizer.synthesized.size());
+  }
+
+  @Test
+  public void prefetch_synthesizesEachAnnouncementOnce() throws Exception {
+    loader.prefetch(Arrays.asList("Turn left", "Turn right", "Turn left"));
+
+    loadAndWait("Turn right");
+    loadAndWait("Turn left");
+
+    assertEquals(2, synthesizer.synthesized.size());
+    assertTrue(synthesizer.synthesized.containsAll(Arrays.asList("Turn left", "Turn right")));
+  }
+
+  @Test
+  public void load_streamsAnnouncementWhichCouldNotBeSynthesized() throws Exception {
+    synthesizer.failing = true;
+
+    String source = loadAndWait("Turn left");
+
+    assertEquals("https://speech/Turn left", source);
+    assertEquals(0, cache.size());
+  }
+
+  private String loadAndWait(String announcement) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final String[] loadedSource = new String[1];
+    loader.load(announcement, new SpeechLoader.Callback() {
+      @Override
+      public void onLoaded(String source) {
+        loadedSource[0] = source;
+        latch.countDown();
+      }
+
+      @Override
+      public void onError() {
+        latch.countDown();
+      }
+    });
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    return loadedSource[0];
+  }
+}
@@ -0,0 +1,271 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity history of the most recent location updates, stored as parallel primitive arrays
+ * instead of {@link Location} objects. Adding a fix only copies its values into the arrays, and
+ * the history can be walked by index through the accessors without allocating.
+ * <p>
+ * Fixes are kept in the order of their time, so ranges of time can be found with a binary search.
+ * A fix older than the newest one, for instance after a mock route restarted, clears the history
+ * before being added.
+ * <p>
+ * Index {@code 0} is the oldest fix and {@code size() - 1} the newest. Not thread safe, a history
+ * should only be used from the thread adding the fixes.
+ *
+ * @since 0.10.0
+ */
+public class LocationHistory {
+
+  private final int capacity;
+  private final long[] times;
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final double[] altitudes;
+  private final float[] speeds;
+  private final float[] bearings;
+  private final float[] accuracies;
+  private final String[] providers;
+  private int head;
+  private int size;
+
+  /**
+   * Creates an empty history which keeps the given number of fixes, dropping the oldest one once
+   * it is full.
+   *
+   * @param capacity maximum number of fixes kept
+   * @since 0.10.0
+   */
+  public LocationHistory(@IntRange(from = 1) int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity of a location history must be at least 1.");
+    }
+    this.capacity = capacity;
+    times = new long[capacity];
+    latitudes = new double[capacity];
+    longitudes = new double[capacity];
+    altitudes = new double[capacity];
+    speeds = new float[capacity];
+    bearings = new float[capacity];
+    accuracies = new float[capacity];
+    providers = new String[capacity];
+  }
+
+  /**
+   * Copies the values of the location into the history, the location itself isn't kept.
+   *
+   * @param location to add
+   * @since 0.10.0
+   */
+  public void add(@NonNull Location location) {
+    add(location.getProvider(), location.getTime(), location.getLatitude(), location.getLongitude(),
+      location.getAltitude(), location.getSpeed(), location.getBearing(), location.getAccuracy());
+  }
+
+  /**
+   * Adds a fix from its values.
+   *
+   * @param provider  of the fix, may be null
+   * @param time      of the fix in milliseconds since the epoch
+   * @param latitude  in degrees
+   * @param longitude in degrees
+   * @param altitude  in meters
+   * @param speed     in meters per second
+   * @param bearing   in degrees
+   * @param accuracy  in meters
+   * @since 0.10.0
+   */
+  public void add(String provider, long time, double latitude, double longitude, double altitude,
+                  float speed, float bearing, float accuracy) {
+    if (size > 0 && time < timeAt(size - 1)) {
+      clear();
+    }
+    int slot;
+    if (size < capacity) {
+      slot = slotOf(size);
+      size++;
+    } else {
+      slot = head;
+      head = (head + 1) % capacity;
+    }
+    providers[slot] = provider;
+    times[slot] = time;
+    latitudes[slot] = latitude;
+    longitudes[slot] = longitude;
+    altitudes[slot] = altitude;
+    speeds[slot] = speed;
+    bearings[slot] = bearing;
+    accuracies[slot] = accuracy;
+  }
+
+  /**
+   * Removes all fixes.
+   *
+   * @since 0.10.0
+   */
+  public void clear() {
+    for (int i = 0; i < capacity; i++) {
+      providers[i] = null;
+    }
+    head = 0;
+    size = 0;
+  }
+
+  /**
+   * @return number of fixes in the history
+   * @since 0.10.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return maximum number of fixes kept
+   * @since 0.10.0
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  // Values of the fix at the given index, without creating a location
+
+  public String providerAt(int index) {
+    return providers[checkedSlotOf(index)];
+  }
+
+  public long timeAt(int index) {
+    return times[checkedSlotOf(index)];
+  }
+
+  public double latitudeAt(int index) {
+    return latitudes[checkedSlotOf(index)];
+  }
+
+  public double longitudeAt(int index) {
+    return longitudes[checkedSlotOf(index)];
+  }
+
+  public double altitudeAt(int index) {
+    return altitudes[checkedSlotOf(index)];
+  }
+
+  public float speedAt(int index) {
+    return speeds[checkedSlotOf(index)];
+  }
+
+  public float bearingAt(int index) {
+    return bearings[checkedSlotOf(index)];
+  }
+
+  public float accuracyAt(int index) {
+    return accuracies[checkedSlotOf(index)];
+  }
+
+  /**
+   * Finds the first fix which isn't older than the given time.
+   *
+   * @param time in milliseconds since the epoch
+   * @return index of the first fix at or after the time, {@link #size()} if all fixes are older
+   * @since 0.10.0
+   */
+  public int indexAtOrAfter(long time) {
+    return search(time, false);
+  }
+
+  /**
+   * Finds the first fix which is newer than the given time.
+   *
+   * @param time in milliseconds since the epoch
+   * @return index of the first fix after the time, {@link #size()} if no fix is newer
+   * @since 0.10.0
+   */
+  public int indexAfter(long time) {
+    return search(time, true);
+  }
+
+  /**
+   * Creates locations for the fixes older than the given time, oldest first.
+   *
+   * @param time in milliseconds since the epoch
+   * @return new list of locations
+   * @since 0.10.0
+   */
+  @NonNull
+  public List<Location> locationsBefore(long time) {
+    return toLocations(0, indexAtOrAfter(time));
+  }
+
+  /**
+   * Creates locations for the fixes newer than the given time, oldest first.
+   *
+   * @param time in milliseconds since the epoch
+   * @return new list of locations
+   * @since 0.10.0
+   */
+  @NonNull
+  public List<Location> locationsAfter(long time) {
+    return toLocations(indexAfter(time), size);
+  }
+
+  /**
+   * Creates a location from the values of a fix.
+   *
+   * @param index of the fix
+   * @return new location
+   * @since 0.10.0
+   */
+  @NonNull
+  public Location toLocation(int index) {
+    int slot = checkedSlotOf(index);
+    Location location = new Location(providers[slot]);
+    location.setTime(times[slot]);
+    location.setLatitude(latitudes[slot]);
+    location.setLongitude(longitudes[slot]);
+    location.setAltitude(altitudes[slot]);
+    location.setSpeed(speeds[slot]);
+    location.setBearing(bearings[slot]);
+    location.setAccuracy(accuracies[slot]);
+    return location;
+  }
+
+  private List<Location> toLocations(int fromIndex, int toIndex) {
+    List<Location> locations = new ArrayList<>(Math.max(0, toIndex - fromIndex));
+    for (int i = fromIndex; i < toIndex; i++) {
+      locations.add(toLocation(i));
+    }
+    return locations;
+  }
+
+  private int search(long time, boolean includeEqual) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      long middleTime = times[slotOf(middle)];
+      if (middleTime < time || (includeEqual && middleTime == time)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private int checkedSlotOf(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " is outside of a history with " + size + " fixes.");
+    }
+    return slotOf(index);
+  }
+
+  private int slotOf(int index) {
+    int slot = head + index;
+    return slot < capacity ? slot : slot - capacity;
+  }
+}
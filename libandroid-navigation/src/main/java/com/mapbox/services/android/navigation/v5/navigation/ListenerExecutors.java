@@ -0,0 +1,69 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import com.mapbox.services.android.navigation.v5.utils.BackgroundThreadFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Provides the executors behind {@link ListenerOptions.ListenerExecutor}, shared by all listener
+ * registries of a {@link NavigationEventDispatcher}. They are only created once a listener asks for
+ * them.
+ */
+class ListenerExecutors {
+
+  private static final String BACKGROUND_THREAD_NAME = "NavigationListeners";
+
+  private Executor mainExecutor;
+  private ExecutorService backgroundExecutor;
+
+  /**
+   * @param executor type from {@link ListenerOptions}
+   * @return executor running the callbacks, null for {@link ListenerOptions#EXECUTOR_DIRECT}
+   */
+  synchronized Executor obtain(@ListenerOptions.ListenerExecutor int executor) {
+    switch (executor) {
+      case ListenerOptions.EXECUTOR_MAIN:
+        if (mainExecutor == null) {
+          mainExecutor = buildMainExecutor();
+        }
+        return mainExecutor;
+      case ListenerOptions.EXECUTOR_BACKGROUND:
+        if (backgroundExecutor == null) {
+          backgroundExecutor = buildBackgroundExecutor();
+        }
+        return backgroundExecutor;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Lets the background thread finish once navigation is destroyed. The listeners have been
+   * removed by then, so the callbacks still queued return right away.
+   */
+  synchronized void shutdown() {
+    if (backgroundExecutor != null) {
+      backgroundExecutor.shutdown();
+      backgroundExecutor = null;
+    }
+  }
+
+  private static Executor buildMainExecutor() {
+    final Handler handler = new Handler(Looper.getMainLooper());
+    return new Executor() {
+      @Override
+      public void execute(@NonNull Runnable runnable) {
+        handler.post(runnable);
+      }
+    };
+  }
+
+  private static ExecutorService buildBackgroundExecutor() {
+    return BackgroundThreadFactory.newSingleThreadExecutor(BACKGROUND_THREAD_NAME);
+  }
+}
@@ -0,0 +1,63 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Snapshot of the time a listener added to {@link MapboxNavigation} spent in its callbacks, to
+ * find the listeners slowing down navigation updates.
+ *
+ * @since 0.10.0
+ */
+@AutoValue
+public abstract class ListenerMetrics {
+
+  /**
+   * @return class name of the listener
+   * @since 0.10.0
+   */
+  public abstract String listenerName();
+
+  /**
+   * @return number of callbacks which returned
+   * @since 0.10.0
+   */
+  public abstract long callbackCount();
+
+  /**
+   * @return number of events dropped because of {@link ListenerOptions#DROP_STALE}
+   * @since 0.10.0
+   */
+  public abstract long droppedCount();
+
+  /**
+   * @return number of progress updates skipped because of the filters of {@link ListenerOptions}
+   * @since 0.10.0
+   */
+  public abstract long filteredCount();
+
+  /**
+   * @return total time spent in the callbacks, in nanoseconds
+   * @since 0.10.0
+   */
+  public abstract long totalCallbackNanos();
+
+  /**
+   * @return time spent in the slowest callback, in nanoseconds
+   * @since 0.10.0
+   */
+  public abstract long maxCallbackNanos();
+
+  /**
+   * @return average time spent in a callback, in nanoseconds
+   * @since 0.10.0
+   */
+  public long averageCallbackNanos() {
+    return callbackCount() == 0 ? 0 : totalCallbackNanos() / callbackCount();
+  }
+
+  static ListenerMetrics create(String listenerName, long callbackCount, long droppedCount, long filteredCount,
+                                long totalCallbackNanos, long maxCallbackNanos) {
+    return new AutoValue_ListenerMetrics(listenerName, callbackCount, droppedCount, filteredCount,
+      totalCallbackNanos, maxCallbackNanos);
+  }
+}
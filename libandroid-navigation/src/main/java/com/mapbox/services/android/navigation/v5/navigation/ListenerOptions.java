@@ -0,0 +1,118 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.IntDef;
+
+import com.google.auto.value.AutoValue;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Declares how a listener added to {@link MapboxNavigation} is called back. By default listeners
+ * are called directly on the main thread, one after the other, for every event.
+ * <p>
+ * A listener doing slow work can ask to be called on its own {@link #EXECUTOR_MAIN} message or on
+ * the shared {@link #EXECUTOR_BACKGROUND} thread, so it doesn't hold up the other listeners. With
+ * {@link #DROP_STALE}, events which are still waiting for the listener when a newer one arrives are
+ * dropped, so a slow listener only ever catches up to the latest event.
+ * <p>
+ * A {@link com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener} can
+ * also ask for fewer updates, with a minimum interval, a minimum distance traveled or only when
+ * the step changes. Skipped updates never reach the executor of the listener. The first update and
+ * the updates for a new step, leg or route are always delivered.
+ *
+ * @since 0.10.0
+ */
+@AutoValue
+public abstract class ListenerOptions {
+
+  @Retention(RetentionPolicy.SOURCE)
+  @IntDef( {EXECUTOR_DIRECT, EXECUTOR_MAIN, EXECUTOR_BACKGROUND})
+  public @interface ListenerExecutor {
+  }
+
+  @Retention(RetentionPolicy.SOURCE)
+  @IntDef( {DROP_NONE, DROP_STALE})
+  public @interface DropPolicy {
+  }
+
+  /**
+   * Called on the thread dispatching the event, which is the main thread, before the next listener.
+   */
+  public static final int EXECUTOR_DIRECT = 0;
+  /**
+   * Called from a separate message posted to the main thread.
+   */
+  public static final int EXECUTOR_MAIN = 1;
+  /**
+   * Called on a low priority background thread shared by all background listeners.
+   */
+  public static final int EXECUTOR_BACKGROUND = 2;
+
+  /**
+   * Every event is delivered.
+   */
+  public static final int DROP_NONE = 0;
+  /**
+   * Only the latest event waiting for the listener is delivered. Has no effect with
+   * {@link #EXECUTOR_DIRECT}, where events never wait.
+   */
+  public static final int DROP_STALE = 1;
+
+  @ListenerExecutor
+  public abstract int executor();
+
+  @DropPolicy
+  public abstract int dropPolicy();
+
+  /**
+   * Progress updates are only delivered once this much time passed since the last delivered one,
+   * or the minimum distance was traveled. Only used by progress change listeners, 0 to disable.
+   *
+   * @return minimum time between progress updates in milliseconds
+   * @since 0.10.0
+   */
+  public abstract long minimumIntervalMillis();
+
+  /**
+   * Progress updates are only delivered once this far was traveled since the last delivered one,
+   * or the minimum interval passed. Only used by progress change listeners, 0 to disable.
+   *
+   * @return minimum distance between progress updates in meters
+   * @since 0.10.0
+   */
+  public abstract double minimumDistanceMeters();
+
+  /**
+   * @return true if progress updates are only delivered when the step, leg or route changes
+   * @since 0.10.0
+   */
+  public abstract boolean onlyOnStepChange();
+
+  public abstract Builder toBuilder();
+
+  public static Builder builder() {
+    return new AutoValue_ListenerOptions.Builder()
+      .executor(EXECUTOR_DIRECT)
+      .dropPolicy(DROP_NONE)
+      .minimumIntervalMillis(0)
+      .minimumDistanceMeters(0)
+      .onlyOnStepChange(false);
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    public abstract Builder executor(@ListenerExecutor int executor);
+
+    public abstract Builder dropPolicy(@DropPolicy int dropPolicy);
+
+    public abstract Builder minimumIntervalMillis(long minimumIntervalMillis);
+
+    public abstract Builder minimumDistanceMeters(double minimumDistanceMeters);
+
+    public abstract Builder onlyOnStepChange(boolean onlyOnStepChange);
+
+    public abstract ListenerOptions build();
+  }
+}
@@ -0,0 +1,221 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Listeners of one type, kept in a copy-on-write array. Adding and removing listeners copies the
+ * array, while dispatching walks the array it read at the start, so listeners can be added or
+ * removed from inside a callback. A listener removed during a dispatch isn't called anymore, even
+ * if a callback for it was already queued.
+ * <p>
+ * Each listener is called back as declared by its {@link ListenerOptions}, and the time spent in
+ * its callbacks is recorded for {@link ListenerMetrics}. An optional {@link Filter} decides on the
+ * dispatching thread which events reach the listener at all, reading them from the typed delivery.
+ *
+ * @param <T> type of listener
+ * @param <D> type of delivery calling back the listeners
+ */
+class ListenerRegistry<T, D extends ListenerRegistry.Delivery<T>> {
+
+  private static final Registration[] EMPTY = new Registration[0];
+
+  private final ListenerExecutors executors;
+  private volatile Registration<T, D>[] registrations = empty();
+
+  ListenerRegistry(ListenerExecutors executors) {
+    this.executors = executors;
+  }
+
+  /**
+   * @param listener to add
+   * @param options  declaring how the listener is called back
+   * @return false if the listener has already been added
+   */
+  synchronized boolean add(@NonNull T listener, @NonNull ListenerOptions options) {
+    return add(listener, options, null);
+  }
+
+  /**
+   * @param listener to add
+   * @param options  declaring how the listener is called back
+   * @param filter   skipping the events the listener doesn't need, null to deliver all of them
+   * @return false if the listener has already been added
+   */
+  synchronized boolean add(@NonNull T listener, @NonNull ListenerOptions options, @Nullable Filter<D> filter) {
+    Registration<T, D>[] current = registrations;
+    if (indexOf(current, listener) >= 0) {
+      return false;
+    }
+    Registration<T, D>[] updated = copyOf(current, current.length + 1);
+    updated[current.length] = new Registration<>(listener, options, executors.obtain(options.executor()), filter);
+    registrations = updated;
+    return true;
+  }
+
+  /**
+   * @param listener to remove
+   * @return false if the listener hasn't been added
+   */
+  synchronized boolean remove(@NonNull T listener) {
+    Registration<T, D>[] current = registrations;
+    int index = indexOf(current, listener);
+    if (index < 0) {
+      return false;
+    }
+    current[index].isRemoved = true;
+    Registration<T, D>[] updated = copyOf(current, current.length - 1);
+    System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+    registrations = updated;
+    return true;
+  }
+
+  synchronized void clear() {
+    for (Registration<T, D> registration : registrations) {
+      registration.isRemoved = true;
+    }
+    registrations = empty();
+  }
+
+  boolean isEmpty() {
+    return registrations.length == 0;
+  }
+
+  /**
+   * Hands the delivery to every listener, directly or through the executor of the listener.
+   *
+   * @param delivery calling back a single listener
+   */
+  void dispatch(@NonNull D delivery) {
+    for (Registration<T, D> registration : registrations) {
+      registration.dispatch(delivery);
+    }
+  }
+
+  void collectMetrics(@NonNull List<ListenerMetrics> metrics) {
+    for (Registration<T, D> registration : registrations) {
+      metrics.add(registration.buildMetrics());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T, D extends Delivery<T>> Registration<T, D>[] empty() {
+    return (Registration<T, D>[]) EMPTY;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T, D extends Delivery<T>> Registration<T, D>[] copyOf(Registration<T, D>[] registrations,
+                                                                       int length) {
+    Registration<T, D>[] copy = new Registration[length];
+    System.arraycopy(registrations, 0, copy, 0, Math.min(length, registrations.length));
+    return copy;
+  }
+
+  private static <T, D extends Delivery<T>> int indexOf(Registration<T, D>[] registrations, @Nullable T listener) {
+    for (int i = 0; i < registrations.length; i++) {
+      if (registrations[i].listener.equals(listener)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  interface Delivery<T> {
+    void deliverTo(T listener);
+  }
+
+  /**
+   * Decides whether an event is delivered to a single listener. Called on the dispatching thread,
+   * one instance per listener, so it can keep the state of the last delivered event.
+   *
+   * @param <D> type of delivery, exposing the event data the filter decides on
+   */
+  interface Filter<D> {
+    boolean accept(D delivery);
+  }
+
+  private static class Registration<T, D extends Delivery<T>> implements Runnable {
+
+    private final T listener;
+    private final ListenerOptions options;
+    @Nullable
+    private final Executor executor;
+    @Nullable
+    private final Filter<D> filter;
+    private final AtomicReference<D> pendingDelivery = new AtomicReference<>();
+    private final AtomicLong callbackCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong filteredCount = new AtomicLong();
+    private final AtomicLong totalCallbackNanos = new AtomicLong();
+    private final AtomicLong maxCallbackNanos = new AtomicLong();
+    private volatile boolean isRemoved;
+
+    Registration(T listener, ListenerOptions options, @Nullable Executor executor, @Nullable Filter<D> filter) {
+      this.listener = listener;
+      this.options = options;
+      this.executor = executor;
+      this.filter = filter;
+    }
+
+    void dispatch(final D delivery) {
+      if (filter != null && !filter.accept(delivery)) {
+        filteredCount.incrementAndGet();
+      } else if (executor == null) {
+        deliver(delivery);
+      } else if (options.dropPolicy() == ListenerOptions.DROP_STALE) {
+        // Only one run is queued at a time, it delivers whichever event is the latest by then
+        if (pendingDelivery.getAndSet(delivery) == null) {
+          executor.execute(this);
+        } else {
+          droppedCount.incrementAndGet();
+        }
+      } else {
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            deliver(delivery);
+          }
+        });
+      }
+    }
+
+    @Override
+    public void run() {
+      D delivery = pendingDelivery.getAndSet(null);
+      if (delivery != null) {
+        deliver(delivery);
+      }
+    }
+
+    private void deliver(D delivery) {
+      if (isRemoved) {
+        return;
+      }
+      long start = System.nanoTime();
+      try {
+        delivery.deliverTo(listener);
+      } finally {
+        recordCallback(System.nanoTime() - start);
+      }
+    }
+
+    private void recordCallback(long callbackNanos) {
+      callbackCount.incrementAndGet();
+      totalCallbackNanos.addAndGet(callbackNanos);
+      long max = maxCallbackNanos.get();
+      while (callbackNanos > max && !maxCallbackNanos.compareAndSet(max, callbackNanos)) {
+        max = maxCallbackNanos.get();
+      }
+    }
+
+    ListenerMetrics buildMetrics() {
+      return ListenerMetrics.create(listener.getClass().getName(), callbackCount.get(), droppedCount.get(),
+        filteredCount.get(), totalCallbackNanos.get(), maxCallbackNanos.get());
+    }
+  }
+}
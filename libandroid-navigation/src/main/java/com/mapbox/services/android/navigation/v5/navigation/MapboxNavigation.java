@@ -22,7 +22,12 @@ import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteDetector;
+import com.mapbox.services.android.navigation.v5.route.FasterRouteDiffListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.route.RerouteCandidatePrefetcher;
+import com.mapbox.services.android.navigation.v5.route.RerouteListener;
+import com.mapbox.services.android.navigation.v5.route.RoadGraph;
+import com.mapbox.services.android.navigation.v5.route.RouteRejoinPlanner;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.snap.Snap;
 import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
@@ -59,6 +64,9 @@ public class MapboxNavigation implements ServiceConnection {
   private final String accessToken;
   private OffRoute offRouteEngine;
   private FasterRoute fasterRouteEngine;
+  private RerouteCandidatePrefetcher reroutePrefetcher;
+  private RouteRejoinPlanner rejoinPlanner;
+  private RoadGraph offlineRoadGraph;
   private Snap snapEngine;
   private Context context;
   private boolean isBound;
@@ -144,6 +152,7 @@ public class MapboxNavigation implements ServiceConnection {
     initializeDefaultLocationEngine();
     initializeDefaultCameraEngine();
     initializeTelemetry();
+    NavigationHttpClient.getInstance(context);
 
     // Create and add default milestones if enabled.
     milestones = new ArrayList<>();
@@ -160,6 +169,12 @@ public class MapboxNavigation implements ServiceConnection {
     if (options().enableFasterRouteDetection()) {
       fasterRouteEngine = new FasterRouteDetector();
     }
+    if (options.enableReroutePrefetching()) {
+      reroutePrefetcher = new RerouteCandidatePrefetcher();
+    }
+    if (options.enableRejoinRecovery()) {
+      rejoinPlanner = new RouteRejoinPlanner();
+    }
   }
 
   private void initializeTelemetry() {
@@ -224,6 +239,8 @@ public class MapboxNavigation implements ServiceConnection {
     removeProgressChangeListener(null);
     removeMilestoneEventListener(null);
     removeOffRouteListener(null);
+    navigationEventDispatcher.onDestroy();
+    navigationTelemetry.onDestroy();
   }
 
   // Public APIs
@@ -386,6 +403,12 @@ public class MapboxNavigation implements ServiceConnection {
     ValidationUtils.validDirectionsRoute(directionsRoute, options.defaultMilestonesEnabled());
     this.directionsRoute = directionsRoute;
     Timber.d("MapboxNavigation startNavigation called.");
+    if (fasterRouteEngine != null) {
+      fasterRouteEngine.onNewRoute(directionsRoute);
+    }
+    if (reroutePrefetcher != null) {
+      reroutePrefetcher.onNewRoute();
+    }
     if (!isBound) {
       // Begin telemetry session
       navigationTelemetry.startSession(directionsRoute);
@@ -453,6 +476,22 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.addMilestoneEventListener(milestoneEventListener);
   }
 
+  /**
+   * Adds a milestone event listener which is called back as declared by the given options, for
+   * instance on a background thread so its work doesn't delay the other listeners.
+   *
+   * @param milestoneEventListener an implementation of {@code MilestoneEventListener} which hasn't
+   *                               already been added
+   * @param options                declaring the executor and drop policy of the listener
+   * @see #addMilestoneEventListener(MilestoneEventListener)
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addMilestoneEventListener(@NonNull MilestoneEventListener milestoneEventListener,
+                                        @NonNull ListenerOptions options) {
+    navigationEventDispatcher.addMilestoneEventListener(milestoneEventListener, options);
+  }
+
   /**
    * This removes a specific milestone event listener by passing in the instance of it or you can
    * pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
@@ -489,6 +528,30 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.addProgressChangeListener(progressChangeListener);
   }
 
+  /**
+   * Adds a progress change listener which is called back as declared by the given options. A
+   * listener doing slow work, such as updating a widget or uploading the progress, can ask for
+   * {@link ListenerOptions#EXECUTOR_BACKGROUND} and {@link ListenerOptions#DROP_STALE} so it never
+   * delays the other listeners and only catches up to the latest progress.
+   * <p>
+   * Listeners which don't need every update can set a minimum interval, a minimum distance or ask
+   * for step changes only. The skipped updates are filtered out before reaching the listener, so
+   * they cost no callback or UI invalidation. The first update and the updates for a new step are
+   * always delivered.
+   * </p>
+   *
+   * @param progressChangeListener an implementation of {@code ProgressChangeListener} which hasn't
+   *                               already been added
+   * @param options                declaring the executor and drop policy of the listener
+   * @see #addProgressChangeListener(ProgressChangeListener)
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addProgressChangeListener(@NonNull ProgressChangeListener progressChangeListener,
+                                        @NonNull ListenerOptions options) {
+    navigationEventDispatcher.addProgressChangeListener(progressChangeListener, options);
+  }
+
   /**
    * This removes a specific progress change listener by passing in the instance of it or you can
    * pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
@@ -527,6 +590,20 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.addOffRouteListener(offRouteListener);
   }
 
+  /**
+   * Adds an off route listener which is called back as declared by the given options.
+   *
+   * @param offRouteListener an implementation of {@code OffRouteListener} which hasn't already been
+   *                         added
+   * @param options          declaring the executor and drop policy of the listener
+   * @see #addOffRouteListener(OffRouteListener)
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addOffRouteListener(@NonNull OffRouteListener offRouteListener, @NonNull ListenerOptions options) {
+    navigationEventDispatcher.addOffRouteListener(offRouteListener, options);
+  }
+
   /**
    * This removes a specific off route listener by passing in the instance of it or you can pass in
    * null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
@@ -619,6 +696,145 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.removeFasterRouteListener(fasterRouteListener);
   }
 
+  /**
+   * This adds a new listener which receives the {@link com.mapbox.services.android.navigation.v5.route.RouteDiff}
+   * of each faster route, describing where it splits from the current route and how much time and
+   * distance it saves. It is invoked right after the {@link FasterRouteListener}s for the same route.
+   * <p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param fasterRouteDiffListener an implementation of {@code FasterRouteDiffListener}
+   * @see FasterRouteDiffListener
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addFasterRouteDiffListener(@NonNull FasterRouteDiffListener fasterRouteDiffListener) {
+    navigationEventDispatcher.addFasterRouteDiffListener(fasterRouteDiffListener);
+  }
+
+  /**
+   * This removes a specific faster route diff listener by passing in the instance of it or you can
+   * pass in null to remove all the listeners.
+   * <p>
+   * If the listener you are trying to remove does not exist in the list, a warning will be printed
+   * in the log.
+   * </p>
+   *
+   * @param fasterRouteDiffListener an implementation of {@code FasterRouteDiffListener} which currently
+   *                                exist in the fasterRouteDiffListeners list
+   * @see FasterRouteDiffListener
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void removeFasterRouteDiffListener(@Nullable FasterRouteDiffListener fasterRouteDiffListener) {
+    navigationEventDispatcher.removeFasterRouteDiffListener(fasterRouteDiffListener);
+  }
+
+  /**
+   * This adds a new reroute listener which is invoked when navigation moves onto a new route by
+   * itself after the user went off-route, for instance with a route prefetched by the
+   * {@link RerouteCandidatePrefetcher}. The {@link OffRouteListener}s aren't invoked in this case.
+   * <p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param rerouteListener an implementation of {@code RerouteListener}
+   * @see RerouteListener
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addRerouteListener(@NonNull RerouteListener rerouteListener) {
+    navigationEventDispatcher.addRerouteListener(rerouteListener);
+  }
+
+  /**
+   * This removes a specific reroute listener by passing in the instance of it or you can pass in
+   * null to remove all the listeners. When {@link #onDestroy()} is called, all listeners get removed
+   * automatically, removing the requirement for developers to manually handle this.
+   * <p>
+   * If the listener you are trying to remove does not exist in the list, a warning will be printed
+   * in the log.
+   * </p>
+   *
+   * @param rerouteListener an implementation of {@code RerouteListener} which currently exist in the
+   *                        rerouteListeners list
+   * @see RerouteListener
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void removeRerouteListener(@Nullable RerouteListener rerouteListener) {
+    navigationEventDispatcher.removeRerouteListener(rerouteListener);
+  }
+
+  /**
+   * This adds a new navigation update listener which receives everything computed for a location
+   * update at once: the location, the {@link com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress},
+   * the triggered milestones and whether the user is off route. It is invoked once per update,
+   * after the progress change, milestone and off route listeners of the same update.
+   * <p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param navigationUpdateListener an implementation of {@code NavigationUpdateListener} which
+   *                                 hasn't already been added
+   * @see NavigationUpdateListener
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addNavigationUpdateListener(@NonNull NavigationUpdateListener navigationUpdateListener) {
+    addNavigationUpdateListener(navigationUpdateListener, ListenerOptions.builder().build());
+  }
+
+  /**
+   * Adds a navigation update listener which is called back as declared by the given options.
+   *
+   * @param navigationUpdateListener an implementation of {@code NavigationUpdateListener} which
+   *                                 hasn't already been added
+   * @param options                  declaring the executor and drop policy of the listener
+   * @see #addNavigationUpdateListener(NavigationUpdateListener)
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void addNavigationUpdateListener(@NonNull NavigationUpdateListener navigationUpdateListener,
+                                          @NonNull ListenerOptions options) {
+    navigationEventDispatcher.addNavigationUpdateListener(navigationUpdateListener, options);
+  }
+
+  /**
+   * This removes a specific navigation update listener by passing in the instance of it or you can
+   * pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   * <p>
+   * If the listener you are trying to remove does not exist in the list, a warning will be printed
+   * in the log.
+   * </p>
+   *
+   * @param navigationUpdateListener an implementation of {@code NavigationUpdateListener} which
+   *                                 currently exist in the navigationUpdateListener list
+   * @see NavigationUpdateListener
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void removeNavigationUpdateListener(@Nullable NavigationUpdateListener navigationUpdateListener) {
+    navigationEventDispatcher.removeNavigationUpdateListener(navigationUpdateListener);
+  }
+
+  /**
+   * Returns how long each listener currently added spent in its callbacks, to find the listeners
+   * which slow down navigation updates.
+   *
+   * @return a snapshot of the metrics of every listener
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public List<ListenerMetrics> getListenerMetrics() {
+    return navigationEventDispatcher.listenerMetrics();
+  }
+
   // Custom engines
 
   /**
@@ -719,6 +935,93 @@ public class MapboxNavigation implements ServiceConnection {
     return fasterRouteEngine;
   }
 
+  /**
+   * Replaces the prefetcher used to request recovery routes for the upcoming decision points. By
+   * default, one is only created if {@link MapboxNavigationOptions#enableReroutePrefetching()} is
+   * set to true.
+   *
+   * @param reroutePrefetcher used to resolve off-route events with a prefetched route
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void setReroutePrefetcher(@Nullable RerouteCandidatePrefetcher reroutePrefetcher) {
+    this.reroutePrefetcher = reroutePrefetcher;
+  }
+
+  /**
+   * This will return the prefetcher currently used to resolve off-route events with a prefetched
+   * route, if any.
+   *
+   * @return the reroute prefetcher, or null if reroute prefetching is disabled
+   * @see RerouteCandidatePrefetcher
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @Nullable
+  public RerouteCandidatePrefetcher getReroutePrefetcher() {
+    return reroutePrefetcher;
+  }
+
+  /**
+   * Replaces the planner used to build a local path back onto the route when the user goes
+   * off-route. By default, one is only created if {@link MapboxNavigationOptions#enableRejoinRecovery()}
+   * is set to true.
+   * <p>
+   * The planned path is navigated until the route requested by the off-route listeners, or computed
+   * on the offline road graph, replaces it.
+   *
+   * @param rejoinPlanner used to keep navigating while a new route is requested
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void setRejoinPlanner(@Nullable RouteRejoinPlanner rejoinPlanner) {
+    this.rejoinPlanner = rejoinPlanner;
+  }
+
+  /**
+   * This will return the planner currently used to build a local path back onto the route when
+   * the user goes off-route, if any.
+   *
+   * @return the rejoin planner, or null if rejoin recovery is disabled
+   * @see RouteRejoinPlanner
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @Nullable
+  public RouteRejoinPlanner getRejoinPlanner() {
+    return rejoinPlanner;
+  }
+
+  /**
+   * Sets a road graph used to compute a new route on the device when the user goes off-route. The
+   * route replaces the path planned by the {@link RouteRejoinPlanner} in the meantime. The graph is
+   * usually an extract covering a corridor around the route, for areas without connectivity. It's
+   * only used while the device has no network connection.
+   * <p>
+   * The graph isn't closed by navigation, close it once it's no longer in use.
+   *
+   * @param roadGraph to route on, or null to disable offline rerouting
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void setOfflineRoadGraph(@Nullable RoadGraph roadGraph) {
+    this.offlineRoadGraph = roadGraph;
+  }
+
+  /**
+   * This will return the road graph currently used to compute routes on the device when the user
+   * goes off-route without a network connection, if any.
+   *
+   * @return the offline road graph, or null if offline rerouting is disabled
+   * @see RoadGraph
+   * @since 0.10.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @Nullable
+  public RoadGraph getOfflineRoadGraph() {
+    return offlineRoadGraph;
+  }
+
   /**
    * Creates a new {@link FeedbackEvent} with a given type, description, and source.
    * <p>
@@ -9,8 +9,8 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
 import android.os.Build;
+import android.os.SystemClock;
 import android.support.v4.app.NotificationCompat;
-import android.text.SpannableStringBuilder;
 import android.widget.RemoteViews;
 
 import com.mapbox.api.directions.v5.models.LegStep;
@@ -24,6 +24,8 @@ import com.mapbox.services.android.navigation.v5.utils.time.TimeUtils;
 import java.text.DecimalFormat;
 import java.util.Locale;
 
+import timber.log.Timber;
+
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.NAVIGATION_NOTIFICATION_CHANNEL;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.NAVIGATION_NOTIFICATION_ID;
 
@@ -40,11 +42,8 @@ class MapboxNavigationNotification implements NavigationNotification {
   private RemoteViews notificationRemoteViews;
   private MapboxNavigation mapboxNavigation;
 
-  private SpannableStringBuilder currentDistanceText;
+  private NotificationSnapshot snapshot;
   private DecimalFormat decimalFormat;
-  private String currentArrivalTime;
-  private String instructionText;
-  private int currentManeuverId;
   private int distanceUnitType;
 
   private BroadcastReceiver endNavigationBtnReceiver = new BroadcastReceiver() {
@@ -57,6 +56,7 @@ class MapboxNavigationNotification implements NavigationNotification {
   MapboxNavigationNotification(Context context, MapboxNavigation mapboxNavigation) {
     this.mapboxNavigation = mapboxNavigation;
     this.distanceUnitType = mapboxNavigation.options().unitType();
+    this.snapshot = new NotificationSnapshot(mapboxNavigation.options().notificationUpdateIntervalMillis());
     initialize(context);
   }
 
@@ -76,6 +76,7 @@ class MapboxNavigationNotification implements NavigationNotification {
   }
 
   void unregisterReceiver(Context context) {
+    Timber.d("Navigation notification skipped %d posts.", getSkippedUpdateCount());
     if (context != null) {
       context.unregisterReceiver(endNavigationBtnReceiver);
     }
@@ -129,32 +130,29 @@ class MapboxNavigationNotification implements NavigationNotification {
   }
 
   /**
-   * With each location update and new routeProgress, the notification is checked and updated if any
-   * information has changed.
+   * With each location update and new routeProgress, the notification is checked and only posted
+   * again if any of the information it shows has changed.
    *
    * @param routeProgress the latest RouteProgress object
    */
   private void updateNotificationViews(RouteProgress routeProgress) {
-    // Instruction
-    updateInstructionText(routeProgress.currentLegProgress().currentStep());
-    // Distance
-    updateDistanceText(routeProgress);
-    // Arrival Time
-    updateArrivalTime(routeProgress);
+    LegStep currentStep = routeProgress.currentLegProgress().currentStep();
+    String instruction = hasInstructions(currentStep)
+      ? currentStep.bannerInstructions().get(0).primary().text() : null;
+    CharSequence distanceText = DistanceUtils.formattedDistance(
+      routeProgress.currentLegProgress().currentStepProgress().distanceRemaining(),
+      decimalFormat, true, distanceUnitType);
+    String arrivalTime = TimeUtils.formatArrivalTime(routeProgress.durationRemaining());
     // Get upcoming step for maneuver image - current step if null
     LegStep step = routeProgress.currentLegProgress().upComingStep() != null
       ? routeProgress.currentLegProgress().upComingStep()
-      : routeProgress.currentLegProgress().currentStep();
-    // Maneuver Image
-    updateManeuverImage(step);
+      : currentStep;
+    int maneuverResource = ManeuverUtils.getManeuverResource(step);
 
-    notificationManager.notify(NAVIGATION_NOTIFICATION_ID, notificationBuilder.build());
-  }
-
-  private void updateInstructionText(LegStep step) {
-    if (hasInstructions(step) && (instructionText == null || newInstructionText(step))) {
-      instructionText = step.bannerInstructions().get(0).primary().text();
-      notificationRemoteViews.setTextViewText(R.id.notificationInstructionText, instructionText);
+    int changedFields = snapshot.update(instruction, distanceText.toString(), arrivalTime, maneuverResource);
+    updateRemoteViews(changedFields, instruction, distanceText, arrivalTime, maneuverResource);
+    if (snapshot.shouldPost(changedFields, SystemClock.elapsedRealtime())) {
+      notificationManager.notify(NAVIGATION_NOTIFICATION_ID, notificationBuilder.build());
     }
   }
 
@@ -162,49 +160,28 @@ class MapboxNavigationNotification implements NavigationNotification {
     return step.bannerInstructions() != null && !step.bannerInstructions().isEmpty();
   }
 
-  private boolean newInstructionText(LegStep step) {
-    return !instructionText.equals(step.bannerInstructions().get(0).primary().text());
-  }
-
-  private void updateDistanceText(RouteProgress routeProgress) {
-    if (currentDistanceText == null || newDistanceText(routeProgress)) {
-      currentDistanceText = DistanceUtils.distanceFormatter(
-        routeProgress.currentLegProgress().currentStepProgress().distanceRemaining(),
-        decimalFormat, true, distanceUnitType);
-      notificationRemoteViews.setTextViewText(R.id.notificationDistanceText, currentDistanceText);
+  private void updateRemoteViews(int changedFields, String instruction, CharSequence distanceText,
+                                 String arrivalTime, int maneuverResource) {
+    if ((changedFields & NotificationSnapshot.FIELD_INSTRUCTION) != 0) {
+      notificationRemoteViews.setTextViewText(R.id.notificationInstructionText, instruction);
     }
-  }
-
-  private boolean newDistanceText(RouteProgress routeProgress) {
-    return currentDistanceText != null
-      && !currentDistanceText.toString().equals(DistanceUtils.distanceFormatter(
-      routeProgress.currentLegProgress().currentStepProgress().distanceRemaining(),
-      decimalFormat, true, distanceUnitType).toString());
-  }
-
-  private void updateArrivalTime(RouteProgress routeProgress) {
-    if (currentArrivalTime == null || newArrivalTime(routeProgress)) {
-      currentArrivalTime = TimeUtils.formatArrivalTime(routeProgress.durationRemaining());
+    if ((changedFields & NotificationSnapshot.FIELD_DISTANCE) != 0) {
+      notificationRemoteViews.setTextViewText(R.id.notificationDistanceText, distanceText);
+    }
+    if ((changedFields & NotificationSnapshot.FIELD_ARRIVAL_TIME) != 0) {
       notificationRemoteViews.setTextViewText(R.id.notificationArrivalText,
-        String.format(Locale.getDefault(), "%s ETA", currentArrivalTime));
+        String.format(Locale.getDefault(), "%s ETA", arrivalTime));
     }
-  }
-
-  private boolean newArrivalTime(RouteProgress routeProgress) {
-    return currentArrivalTime != null && !currentArrivalTime.equals(TimeUtils
-      .formatArrivalTime(routeProgress.durationRemaining()));
-  }
-
-  private void updateManeuverImage(LegStep step) {
-    if (newManeuverId(step)) {
-      int maneuverResource = ManeuverUtils.getManeuverResource(step);
-      currentManeuverId = maneuverResource;
+    if ((changedFields & NotificationSnapshot.FIELD_MANEUVER) != 0) {
       notificationRemoteViews.setImageViewResource(R.id.maneuverImage, maneuverResource);
     }
   }
 
-  private boolean newManeuverId(LegStep step) {
-    return currentManeuverId != ManeuverUtils.getManeuverResource(step);
+  /**
+   * @return number of progress updates for which the notification wasn't posted again
+   */
+  long getSkippedUpdateCount() {
+    return snapshot.skippedPostCount();
   }
 
   private PendingIntent createPendingCloseIntent(Context context) {
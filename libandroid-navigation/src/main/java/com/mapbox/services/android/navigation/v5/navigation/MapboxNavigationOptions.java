@@ -33,6 +33,10 @@ public abstract class MapboxNavigationOptions {
 
   public abstract boolean enableFasterRouteDetection();
 
+  public abstract boolean enableReroutePrefetching();
+
+  public abstract boolean enableRejoinRecovery();
+
   public abstract boolean manuallyEndNavigationUponCompletion();
 
   public abstract boolean enableNotification();
@@ -47,6 +51,8 @@ public abstract class MapboxNavigationOptions {
 
   public abstract int unitType();
 
+  public abstract long notificationUpdateIntervalMillis();
+
   @Nullable
   public abstract NavigationNotification navigationNotification();
 
@@ -77,6 +83,10 @@ public abstract class MapboxNavigationOptions {
 
     public abstract Builder enableFasterRouteDetection(boolean enableFasterRouteDetection);
 
+    public abstract Builder enableReroutePrefetching(boolean enableReroutePrefetching);
+
+    public abstract Builder enableRejoinRecovery(boolean enableRejoinRecovery);
+
     public abstract Builder manuallyEndNavigationUponCompletion(boolean manuallyEndNavigation);
 
     public abstract Builder enableNotification(boolean enableNotification);
@@ -91,6 +101,8 @@ public abstract class MapboxNavigationOptions {
 
     public abstract Builder unitType(@NavigationUnitType.UnitType int unitType);
 
+    public abstract Builder notificationUpdateIntervalMillis(long notificationUpdateIntervalMillis);
+
     public abstract Builder navigationNotification(NavigationNotification notification);
 
     public abstract MapboxNavigationOptions build();
@@ -107,6 +119,8 @@ public abstract class MapboxNavigationOptions {
       .secondsBeforeReroute(NavigationConstants.SECONDS_BEFORE_REROUTE)
       .enableOffRouteDetection(true)
       .enableFasterRouteDetection(false)
+      .enableReroutePrefetching(false)
+      .enableRejoinRecovery(false)
       .snapToRoute(true)
       .manuallyEndNavigationUponCompletion(false)
       .defaultMilestonesEnabled(true)
@@ -115,6 +129,7 @@ public abstract class MapboxNavigationOptions {
       .enableNotification(true)
       .isFromNavigationUi(false)
       .isDebugLoggingEnabled(false)
+      .notificationUpdateIntervalMillis(NavigationConstants.NOTIFICATION_UPDATE_INTERVAL_MILLIS)
       .unitType(NavigationUnitType.TYPE_IMPERIAL);
   }
 }
@@ -84,6 +84,14 @@ public final class NavigationConstants {
    */
   static final int SECONDS_BEFORE_REROUTE = 3;
 
+  /**
+   * Minimum time between two posts of the navigation notification for distance and arrival time
+   * changes. A new instruction or maneuver is posted right away.
+   *
+   * @since 0.10.0
+   */
+  static final long NOTIFICATION_UPDATE_INTERVAL_MILLIS = 1000;
+
   /**
    * Accepted deviation excluding horizontal accuracy before the user is considered to be off route.
    *
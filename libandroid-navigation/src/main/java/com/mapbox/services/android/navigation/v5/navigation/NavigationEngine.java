@@ -5,13 +5,14 @@ import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.Message;
 import android.os.Process;
+import android.os.SystemClock;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.geojson.Point;
 import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 
 import java.util.List;
@@ -65,6 +66,8 @@ class NavigationEngine extends HandlerThread implements Handler.Callback {
   }
 
   private void handleRequest(final NewLocationModel newLocationModel) {
+    long startedElapsedMillis = SystemClock.elapsedRealtime();
+    long startedNanos = System.nanoTime();
     final RouteProgress routeProgress = generateNewRouteProgress(
       newLocationModel.mapboxNavigation(), newLocationModel.location(),
       newLocationModel.recentDistancesFromManeuverInMeters());
@@ -88,19 +91,19 @@ class NavigationEngine extends HandlerThread implements Handler.Callback {
 
     previousRouteProgress = routeProgress;
 
+    // Everything computed for this location is handed to the main thread in a single message
+    final NavigationUpdate navigationUpdate = NavigationUpdate.create(location, routeProgress, milestones,
+      userOffRoute, checkFasterRoute, startedElapsedMillis, System.nanoTime() - startedNanos);
     responseHandler.post(new Runnable() {
       @Override
       public void run() {
-        callback.onNewRouteProgress(location, routeProgress);
-        callback.onMilestoneTrigger(milestones, routeProgress);
-        callback.onUserOffRoute(location, userOffRoute);
-        callback.onCheckFasterRoute(location, routeProgress, checkFasterRoute);
+        callback.onNavigationUpdate(navigationUpdate);
       }
     });
   }
 
   private RouteProgress generateNewRouteProgress(MapboxNavigation mapboxNavigation, Location location,
-                                                 RingBuffer recentDistances) {
+                                                 IntRingBuffer recentDistances) {
     DirectionsRoute directionsRoute = mapboxNavigation.getRoute();
     MapboxNavigationOptions options = mapboxNavigation.options();
 
@@ -158,22 +161,18 @@ class NavigationEngine extends HandlerThread implements Handler.Callback {
       .directionsRoute(directionsRoute)
       .stepIndex(indices.stepIndex())
       .legIndex(indices.legIndex())
+      .previousRouteProgress(previousRouteProgress)
       .build();
   }
 
   /**
-   * Callbacks for posting back to the Navigation Service once the thread finishes calculations.
-   * No matter what, with each new message added to the queue, these callbacks get invoked once
-   * finished and within Navigation Service it is determined if the public corresponding listeners
-   * need invoking or not; the Navigation event dispatcher class handles those callbacks.
+   * Callback for posting back to the Navigation Service once the thread finishes calculations.
+   * No matter what, with each new message added to the queue, this callback gets invoked once
+   * finished with everything computed for the location and within Navigation Service it is
+   * determined if the public corresponding listeners need invoking or not; the Navigation event
+   * dispatcher class handles those callbacks.
    */
   interface Callback {
-    void onNewRouteProgress(Location location, RouteProgress routeProgress);
-
-    void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress);
-
-    void onUserOffRoute(Location location, boolean userOffRoute);
-
-    void onCheckFasterRoute(Location location, RouteProgress routeProgress, boolean checkFasterRoute);
+    void onNavigationUpdate(NavigationUpdate navigationUpdate);
   }
 }
@@ -1,15 +1,20 @@
 package com.mapbox.services.android.navigation.v5.navigation;
 
 import android.location.Location;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListener;
+import com.mapbox.services.android.navigation.v5.navigation.ListenerRegistry.Delivery;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.NavigationMetricListeners;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
+import com.mapbox.services.android.navigation.v5.route.FasterRouteDiffListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.route.RerouteListener;
+import com.mapbox.services.android.navigation.v5.route.RouteDiff;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
@@ -19,120 +24,197 @@ import java.util.List;
 
 import timber.log.Timber;
 
+/**
+ * Keeps the listeners added to {@link MapboxNavigation} and calls them back for each navigation
+ * event. Listeners are kept in {@link ListenerRegistry}s, which call them back as declared by their
+ * {@link ListenerOptions} and record the time they take.
+ */
 class NavigationEventDispatcher {
 
-  private List<NavigationEventListener> navigationEventListeners;
-  private List<MilestoneEventListener> milestoneEventListeners;
-  private List<ProgressChangeListener> progressChangeListeners;
-  private List<OffRouteListener> offRouteListeners;
-  private List<FasterRouteListener> fasterRouteListeners;
+  private static final ListenerOptions DEFAULT_OPTIONS = ListenerOptions.builder().build();
+
+  private final ListenerExecutors listenerExecutors;
+  private final ListenerRegistry<NavigationEventListener, Delivery<NavigationEventListener>> navigationEventListeners;
+  private final ListenerRegistry<MilestoneEventListener, Delivery<MilestoneEventListener>> milestoneEventListeners;
+  private final ListenerRegistry<ProgressChangeListener, ProgressDelivery> progressChangeListeners;
+  private final ListenerRegistry<OffRouteListener, Delivery<OffRouteListener>> offRouteListeners;
+  private final ListenerRegistry<FasterRouteListener, Delivery<FasterRouteListener>> fasterRouteListeners;
+  private final ListenerRegistry<FasterRouteDiffListener, Delivery<FasterRouteDiffListener>> fasterRouteDiffListeners;
+  private final ListenerRegistry<RerouteListener, Delivery<RerouteListener>> rerouteListeners;
+  private final ListenerRegistry<NavigationUpdateListener, Delivery<NavigationUpdateListener>>
+    navigationUpdateListeners;
   private NavigationMetricListeners.EventListeners metricEventListeners;
   private NavigationMetricListeners.ArrivalListener metricArrivalListener;
 
   NavigationEventDispatcher() {
-    navigationEventListeners = new ArrayList<>();
-    milestoneEventListeners = new ArrayList<>();
-    progressChangeListeners = new ArrayList<>();
-    offRouteListeners = new ArrayList<>();
-    fasterRouteListeners = new ArrayList<>();
+    this(new ListenerExecutors());
+  }
+
+  NavigationEventDispatcher(ListenerExecutors listenerExecutors) {
+    this.listenerExecutors = listenerExecutors;
+    navigationEventListeners = new ListenerRegistry<>(listenerExecutors);
+    milestoneEventListeners = new ListenerRegistry<>(listenerExecutors);
+    progressChangeListeners = new ListenerRegistry<>(listenerExecutors);
+    offRouteListeners = new ListenerRegistry<>(listenerExecutors);
+    fasterRouteListeners = new ListenerRegistry<>(listenerExecutors);
+    fasterRouteDiffListeners = new ListenerRegistry<>(listenerExecutors);
+    rerouteListeners = new ListenerRegistry<>(listenerExecutors);
+    navigationUpdateListeners = new ListenerRegistry<>(listenerExecutors);
   }
 
   void addMilestoneEventListener(@NonNull MilestoneEventListener milestoneEventListener) {
-    if (milestoneEventListeners.contains(milestoneEventListener)) {
+    addMilestoneEventListener(milestoneEventListener, DEFAULT_OPTIONS);
+  }
+
+  void addMilestoneEventListener(@NonNull MilestoneEventListener milestoneEventListener,
+                                 @NonNull ListenerOptions options) {
+    if (!milestoneEventListeners.add(milestoneEventListener, options)) {
       Timber.w("The specified MilestoneEventListener has already been added to the stack.");
-      return;
     }
-    milestoneEventListeners.add(milestoneEventListener);
   }
 
   void removeMilestoneEventListener(@Nullable MilestoneEventListener milestoneEventListener) {
     if (milestoneEventListener == null) {
       milestoneEventListeners.clear();
-    } else if (!milestoneEventListeners.contains(milestoneEventListener)) {
+    } else if (!milestoneEventListeners.remove(milestoneEventListener)) {
       Timber.w("The specified MilestoneEventListener isn't found in stack, therefore, cannot be removed.");
-    } else {
-      milestoneEventListeners.remove(milestoneEventListener);
     }
   }
 
   void addProgressChangeListener(@NonNull ProgressChangeListener progressChangeListener) {
-    if (progressChangeListeners.contains(progressChangeListener)) {
+    addProgressChangeListener(progressChangeListener, DEFAULT_OPTIONS);
+  }
+
+  void addProgressChangeListener(@NonNull ProgressChangeListener progressChangeListener,
+                                 @NonNull ListenerOptions options) {
+    ProgressChangeFilter filter = ProgressChangeFilter.from(options);
+    if (!progressChangeListeners.add(progressChangeListener, options, filter)) {
       Timber.w("The specified ProgressChangeListener has already been added to the stack.");
-      return;
     }
-    progressChangeListeners.add(progressChangeListener);
   }
 
   void removeProgressChangeListener(@Nullable ProgressChangeListener progressChangeListener) {
     if (progressChangeListener == null) {
       progressChangeListeners.clear();
-    } else if (!progressChangeListeners.contains(progressChangeListener)) {
+    } else if (!progressChangeListeners.remove(progressChangeListener)) {
       Timber.w("The specified ProgressChangeListener isn't found in stack, therefore, cannot be removed.");
-    } else {
-      progressChangeListeners.remove(progressChangeListener);
     }
   }
 
   void addOffRouteListener(@NonNull OffRouteListener offRouteListener) {
-    if (offRouteListeners.contains(offRouteListener)) {
+    addOffRouteListener(offRouteListener, DEFAULT_OPTIONS);
+  }
+
+  void addOffRouteListener(@NonNull OffRouteListener offRouteListener,
+                           @NonNull ListenerOptions options) {
+    if (!offRouteListeners.add(offRouteListener, options)) {
       Timber.w("The specified OffRouteListener has already been added to the stack.");
-      return;
     }
-    offRouteListeners.add(offRouteListener);
   }
 
   void removeOffRouteListener(@Nullable OffRouteListener offRouteListener) {
     if (offRouteListener == null) {
       offRouteListeners.clear();
-    } else if (!offRouteListeners.contains(offRouteListener)) {
+    } else if (!offRouteListeners.remove(offRouteListener)) {
       Timber.w("The specified OffRouteListener isn't found in stack, therefore, cannot be removed.");
-    } else {
-      offRouteListeners.remove(offRouteListener);
     }
   }
 
   void addNavigationEventListener(@NonNull NavigationEventListener navigationEventListener) {
-    if (navigationEventListeners.contains(navigationEventListener)) {
+    addNavigationEventListener(navigationEventListener, DEFAULT_OPTIONS);
+  }
+
+  void addNavigationEventListener(@NonNull NavigationEventListener navigationEventListener,
+                                  @NonNull ListenerOptions options) {
+    if (!navigationEventListeners.add(navigationEventListener, options)) {
       Timber.w("The specified NavigationEventListener has already been added to the stack.");
-      return;
     }
-    this.navigationEventListeners.add(navigationEventListener);
   }
 
   void removeNavigationEventListener(@Nullable NavigationEventListener navigationEventListener) {
     if (navigationEventListener == null) {
       navigationEventListeners.clear();
-    } else if (!navigationEventListeners.contains(navigationEventListener)) {
+    } else if (!navigationEventListeners.remove(navigationEventListener)) {
       Timber.w("The specified NavigationEventListener isn't found in stack, therefore, cannot be removed.");
-    } else {
-      navigationEventListeners.remove(navigationEventListener);
     }
   }
 
   void addFasterRouteListener(@NonNull FasterRouteListener fasterRouteListener) {
-    if (fasterRouteListeners.contains(fasterRouteListener)) {
+    addFasterRouteListener(fasterRouteListener, DEFAULT_OPTIONS);
+  }
+
+  void addFasterRouteListener(@NonNull FasterRouteListener fasterRouteListener,
+                              @NonNull ListenerOptions options) {
+    if (!fasterRouteListeners.add(fasterRouteListener, options)) {
       Timber.w("The specified FasterRouteListener has already been added to the stack.");
-      return;
     }
-    fasterRouteListeners.add(fasterRouteListener);
   }
 
   void removeFasterRouteListener(@Nullable FasterRouteListener fasterRouteListener) {
     if (fasterRouteListener == null) {
       fasterRouteListeners.clear();
-    } else if (!fasterRouteListeners.contains(fasterRouteListener)) {
+    } else if (!fasterRouteListeners.remove(fasterRouteListener)) {
       Timber.w("The specified FasterRouteListener isn't found in stack, therefore, cannot be removed.");
-    } else {
-      fasterRouteListeners.remove(fasterRouteListener);
     }
   }
 
-  void onMilestoneEvent(RouteProgress routeProgress, String instruction, Milestone milestone) {
-    for (MilestoneEventListener milestoneEventListener : milestoneEventListeners) {
-      milestoneEventListener.onMilestoneEvent(routeProgress, instruction, milestone);
+  void addFasterRouteDiffListener(@NonNull FasterRouteDiffListener fasterRouteDiffListener) {
+    addFasterRouteDiffListener(fasterRouteDiffListener, DEFAULT_OPTIONS);
+  }
+
+  void addFasterRouteDiffListener(@NonNull FasterRouteDiffListener fasterRouteDiffListener,
+                                  @NonNull ListenerOptions options) {
+    if (!fasterRouteDiffListeners.add(fasterRouteDiffListener, options)) {
+      Timber.w("The specified FasterRouteDiffListener has already been added to the stack.");
     }
   }
 
+  void removeFasterRouteDiffListener(@Nullable FasterRouteDiffListener fasterRouteDiffListener) {
+    if (fasterRouteDiffListener == null) {
+      fasterRouteDiffListeners.clear();
+    } else if (!fasterRouteDiffListeners.remove(fasterRouteDiffListener)) {
+      Timber.w("The specified FasterRouteDiffListener isn't found in stack, therefore, cannot be removed.");
+    }
+  }
+
+  void addRerouteListener(@NonNull RerouteListener rerouteListener) {
+    if (!rerouteListeners.add(rerouteListener, DEFAULT_OPTIONS)) {
+      Timber.w("The specified RerouteListener has already been added to the stack.");
+    }
+  }
+
+  void removeRerouteListener(@Nullable RerouteListener rerouteListener) {
+    if (rerouteListener == null) {
+      rerouteListeners.clear();
+    } else if (!rerouteListeners.remove(rerouteListener)) {
+      Timber.w("The specified RerouteListener isn't found in stack, therefore, cannot be removed.");
+    }
+  }
+
+  void addNavigationUpdateListener(@NonNull NavigationUpdateListener navigationUpdateListener,
+                                   @NonNull ListenerOptions options) {
+    if (!navigationUpdateListeners.add(navigationUpdateListener, options)) {
+      Timber.w("The specified NavigationUpdateListener has already been added to the stack.");
+    }
+  }
+
+  void removeNavigationUpdateListener(@Nullable NavigationUpdateListener navigationUpdateListener) {
+    if (navigationUpdateListener == null) {
+      navigationUpdateListeners.clear();
+    } else if (!navigationUpdateListeners.remove(navigationUpdateListener)) {
+      Timber.w("The specified NavigationUpdateListener isn't found in stack, therefore, cannot be removed.");
+    }
+  }
+
+  void onMilestoneEvent(final RouteProgress routeProgress, final String instruction, final Milestone milestone) {
+    milestoneEventListeners.dispatch(new Delivery<MilestoneEventListener>() {
+      @Override
+      public void deliverTo(MilestoneEventListener listener) {
+        listener.onMilestoneEvent(routeProgress, instruction, milestone);
+      }
+    });
+  }
+
   void onProgressChange(Location location, RouteProgress routeProgress) {
     if (metricEventListeners != null) {
       // Update RouteProgress
@@ -153,31 +235,101 @@ class NavigationEventDispatcher {
       }
     }
 
-    for (ProgressChangeListener progressChangeListener : progressChangeListeners) {
-      progressChangeListener.onProgressChange(location, routeProgress);
-    }
+    progressChangeListeners.dispatch(new ProgressDelivery(location, routeProgress, SystemClock.elapsedRealtime()));
   }
 
-  void onUserOffRoute(Location location) {
-    for (OffRouteListener offRouteListener : offRouteListeners) {
-      offRouteListener.userOffRoute(location);
-    }
+  void onUserOffRoute(final Location location) {
+    offRouteListeners.dispatch(new Delivery<OffRouteListener>() {
+      @Override
+      public void deliverTo(OffRouteListener listener) {
+        listener.userOffRoute(location);
+      }
+    });
     // Send off route event to metric listener
     if (metricEventListeners != null) {
       metricEventListeners.onOffRouteEvent(location);
     }
   }
 
-  void onNavigationEvent(boolean isRunning) {
-    for (NavigationEventListener navigationEventListener : navigationEventListeners) {
-      navigationEventListener.onRunning(isRunning);
+  /**
+   * Called instead of {@link #onUserOffRoute(Location)} once navigation has started on a new route
+   * without requesting one, so the reroute listeners can show it. The metric listener is notified
+   * as for any off-route event so the reroute is still recorded.
+   */
+  void onUserRerouted(Location location, final DirectionsRoute directionsRoute) {
+    rerouteListeners.dispatch(new Delivery<RerouteListener>() {
+      @Override
+      public void deliverTo(RerouteListener listener) {
+        listener.userRerouted(directionsRoute);
+      }
+    });
+    if (metricEventListeners != null) {
+      metricEventListeners.onOffRouteEvent(location);
     }
   }
 
-  void onFasterRouteEvent(DirectionsRoute directionsRoute) {
-    for (FasterRouteListener fasterRouteListener : fasterRouteListeners) {
-      fasterRouteListener.fasterRouteFound(directionsRoute);
-    }
+  void onNavigationUpdate(final NavigationUpdate navigationUpdate) {
+    navigationUpdateListeners.dispatch(new Delivery<NavigationUpdateListener>() {
+      @Override
+      public void deliverTo(NavigationUpdateListener listener) {
+        listener.onNavigationUpdate(navigationUpdate);
+      }
+    });
+  }
+
+  void onNavigationEvent(final boolean isRunning) {
+    navigationEventListeners.dispatch(new Delivery<NavigationEventListener>() {
+      @Override
+      public void deliverTo(NavigationEventListener listener) {
+        listener.onRunning(isRunning);
+      }
+    });
+  }
+
+  void onFasterRouteEvent(final DirectionsRoute directionsRoute) {
+    fasterRouteListeners.dispatch(new Delivery<FasterRouteListener>() {
+      @Override
+      public void deliverTo(FasterRouteListener listener) {
+        listener.fasterRouteFound(directionsRoute);
+      }
+    });
+  }
+
+  void onFasterRouteDiff(final RouteDiff routeDiff) {
+    fasterRouteDiffListeners.dispatch(new Delivery<FasterRouteDiffListener>() {
+      @Override
+      public void deliverTo(FasterRouteDiffListener listener) {
+        listener.onFasterRouteDiff(routeDiff);
+      }
+    });
+  }
+
+  /**
+   * @return callback time metrics of every listener currently added
+   */
+  List<ListenerMetrics> listenerMetrics() {
+    List<ListenerMetrics> metrics = new ArrayList<>();
+    progressChangeListeners.collectMetrics(metrics);
+    milestoneEventListeners.collectMetrics(metrics);
+    offRouteListeners.collectMetrics(metrics);
+    navigationEventListeners.collectMetrics(metrics);
+    fasterRouteListeners.collectMetrics(metrics);
+    fasterRouteDiffListeners.collectMetrics(metrics);
+    rerouteListeners.collectMetrics(metrics);
+    navigationUpdateListeners.collectMetrics(metrics);
+    return metrics;
+  }
+
+  /**
+   * Removes the listeners which {@link MapboxNavigation#onDestroy()} doesn't remove itself and stops
+   * the thread of the listeners asking for {@link ListenerOptions#EXECUTOR_BACKGROUND}.
+   */
+  void onDestroy() {
+    fasterRouteListeners.clear();
+    fasterRouteDiffListeners.clear();
+    rerouteListeners.clear();
+    navigationUpdateListeners.clear();
+    listenerExecutors.shutdown();
   }
 
   void addMetricEventListeners(NavigationMetricListeners.EventListeners eventListeners) {
@@ -187,4 +339,34 @@ class NavigationEventDispatcher {
   void addMetricArrivalListener(NavigationMetricListeners.ArrivalListener arrivalListener) {
     this.metricArrivalListener = arrivalListener;
   }
+
+  /**
+   * Progress update handed to the progress change listeners, which exposes the progress to their
+   * {@link ProgressChangeFilter}s.
+   */
+  static class ProgressDelivery implements Delivery<ProgressChangeListener> {
+
+    private final Location location;
+    private final RouteProgress routeProgress;
+    private final long elapsedMillis;
+
+    ProgressDelivery(Location location, RouteProgress routeProgress, long elapsedMillis) {
+      this.location = location;
+      this.routeProgress = routeProgress;
+      this.elapsedMillis = elapsedMillis;
+    }
+
+    RouteProgress routeProgress() {
+      return routeProgress;
+    }
+
+    long elapsedMillis() {
+      return elapsedMillis;
+    }
+
+    @Override
+    public void deliverTo(ProgressChangeListener listener) {
+      listener.onProgressChange(location, routeProgress);
+    }
+  }
 }
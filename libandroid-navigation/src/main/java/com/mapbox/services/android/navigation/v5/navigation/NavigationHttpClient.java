@@ -0,0 +1,115 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Single HTTP client shared by the directions requests of {@link NavigationRoute} and the shield
+ * and voice downloads of the navigation UI, so they share one connection pool and one disk cache
+ * instead of each opening their own connections.
+ * <p>
+ * The client negotiates HTTP/2 where the server supports it, which lets concurrent requests to the
+ * same host share a single connection and TLS handshake. Responses are requested gzip compressed
+ * and cached on disk according to their cache headers. The time taken by each request can be
+ * observed with a {@link RequestTimingListener}.
+ * <p>
+ * The client gets created when a {@link MapboxNavigation} is initialized, or earlier by calling
+ * {@link #getInstance(Context)}. Other clients with different timeouts or interceptors which still
+ * share the connection pool and cache can be derived from {@link #okHttpClient()} with
+ * {@link OkHttpClient#newBuilder()}.
+ *
+ * @since 0.10.0
+ */
+public final class NavigationHttpClient {
+
+  private static final String CACHE_DIRECTORY = "mapbox_navigation_http";
+  private static final long CACHE_SIZE_IN_BYTES = 20 * 1024 * 1024;
+  private static final int MAX_IDLE_CONNECTIONS = 5;
+  private static final long KEEP_ALIVE_DURATION_IN_MINUTES = 5;
+
+  private static NavigationHttpClient instance;
+
+  private final List<RequestTimingListener> timingListeners = new CopyOnWriteArrayList<>();
+  private final OkHttpClient okHttpClient;
+
+  private NavigationHttpClient(@Nullable File cacheDirectory) {
+    OkHttpClient.Builder builder = new OkHttpClient.Builder()
+      .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_DURATION_IN_MINUTES,
+        TimeUnit.MINUTES))
+      .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+      .addInterceptor(new RequestTimingInterceptor(timingListeners));
+    if (cacheDirectory != null) {
+      builder.cache(new Cache(new File(cacheDirectory, CACHE_DIRECTORY), CACHE_SIZE_IN_BYTES));
+    }
+    okHttpClient = builder.build();
+  }
+
+  /**
+   * Returns the shared client, creating it with a disk cache in the application cache directory
+   * the first time this is called.
+   *
+   * @param context used to find the cache directory
+   * @return the shared client
+   * @since 0.10.0
+   */
+  public static synchronized NavigationHttpClient getInstance(@NonNull Context context) {
+    if (instance == null) {
+      instance = new NavigationHttpClient(context.getCacheDir());
+    }
+    return instance;
+  }
+
+  /**
+   * @return the shared client, or null if it hasn't been created yet
+   */
+  @Nullable
+  static synchronized NavigationHttpClient peekInstance() {
+    return instance;
+  }
+
+  /**
+   * The underlying client, which can be passed to other libraries or used to derive clients with
+   * a different configuration sharing the same connection pool and cache.
+   *
+   * @return the shared OkHttp client
+   * @since 0.10.0
+   */
+  @NonNull
+  public OkHttpClient okHttpClient() {
+    return okHttpClient;
+  }
+
+  /**
+   * Adds a listener notified with the timing of every request made through this client.
+   *
+   * @param timingListener to be added
+   * @since 0.10.0
+   */
+  public void addRequestTimingListener(@NonNull RequestTimingListener timingListener) {
+    if (!timingListeners.contains(timingListener)) {
+      timingListeners.add(timingListener);
+    }
+  }
+
+  /**
+   * Removes a previously added listener.
+   *
+   * @param timingListener to be removed
+   * @since 0.10.0
+   */
+  public void removeRequestTimingListener(@NonNull RequestTimingListener timingListener) {
+    timingListeners.remove(timingListener);
+  }
+}
@@ -15,6 +15,9 @@ import com.mapbox.services.android.telemetry.utils.TelemetryUtils;
 import java.util.Hashtable;
 import java.util.List;
 
+/**
+ * Builds the navigation telemetry events, which are pushed and flushed by {@link NavigationTelemetry}.
+ */
 final class NavigationMetricsWrapper {
 
   static String sdkIdentifier;
@@ -31,7 +34,8 @@ final class NavigationMetricsWrapper {
     // Empty private constructor for preventing initialization of this class.
   }
 
-  static void arriveEvent(SessionState sessionState, RouteProgress routeProgress, Location location) {
+  static Hashtable<String, Object> arriveEvent(SessionState sessionState, RouteProgress routeProgress,
+                                               Location location) {
     Hashtable<String, Object> arriveEvent = MapboxNavigationEvent.buildArriveEvent(
       sdkIdentifier, BuildConfig.MAPBOX_NAVIGATION_VERSION_NAME,
       sessionState.sessionIdentifier(), location.getLatitude(), location.getLongitude(),
@@ -55,11 +59,11 @@ final class NavigationMetricsWrapper {
     MapboxTelemetry.getInstance().addPercentTimeInPortrait(sessionState.percentInPortrait(), arriveEvent);
     MapboxTelemetry.getInstance().addAbsoluteDistanceToDestination(absoluteDistance, arriveEvent);
     MapboxTelemetry.getInstance().addLocationEngineName(sessionState.locationEngineName(), arriveEvent);
-    MapboxTelemetry.getInstance().pushEvent(arriveEvent);
-    MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
+    return arriveEvent;
   }
 
-  static void cancelEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location) {
+  static Hashtable<String, Object> cancelEvent(SessionState sessionState, MetricsRouteProgress metricProgress,
+                                               Location location) {
     Hashtable<String, Object> cancelEvent = MapboxNavigationEvent.buildCancelEvent(
       sdkIdentifier, BuildConfig.MAPBOX_NAVIGATION_VERSION_NAME,
       sessionState.sessionIdentifier(),
@@ -84,11 +88,11 @@ final class NavigationMetricsWrapper {
     MapboxTelemetry.getInstance().addPercentTimeInPortrait(sessionState.percentInPortrait(), cancelEvent);
     MapboxTelemetry.getInstance().addAbsoluteDistanceToDestination(absoluteDistance, cancelEvent);
     MapboxTelemetry.getInstance().addLocationEngineName(sessionState.locationEngineName(), cancelEvent);
-    MapboxTelemetry.getInstance().pushEvent(cancelEvent);
-    MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
+    return cancelEvent;
   }
 
-  static void departEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location) {
+  static Hashtable<String, Object> departEvent(SessionState sessionState, MetricsRouteProgress metricProgress,
+                                               Location location) {
     Hashtable<String, Object> departEvent = MapboxNavigationEvent.buildDepartEvent(
       sdkIdentifier, BuildConfig.MAPBOX_NAVIGATION_VERSION_NAME,
       sessionState.sessionIdentifier(), location.getLatitude(), location.getLongitude(),
@@ -109,12 +113,11 @@ final class NavigationMetricsWrapper {
     MapboxTelemetry.getInstance().addPercentTimeInPortrait(sessionState.percentInPortrait(), departEvent);
     MapboxTelemetry.getInstance().addAbsoluteDistanceToDestination(absoluteDistance, departEvent);
     MapboxTelemetry.getInstance().addLocationEngineName(sessionState.locationEngineName(), departEvent);
-    MapboxTelemetry.getInstance().pushEvent(departEvent);
-    MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
+    return departEvent;
   }
 
-  static void rerouteEvent(RerouteEvent rerouteEvent, MetricsRouteProgress metricProgress,
-                           Location location) {
+  static Hashtable<String, Object> rerouteEvent(RerouteEvent rerouteEvent, MetricsRouteProgress metricProgress,
+                                                Location location) {
 
     SessionState sessionState = rerouteEvent.getSessionState();
     updateRouteProgressSessionData(metricProgress);
@@ -152,13 +155,12 @@ final class NavigationMetricsWrapper {
     MapboxTelemetry.getInstance().addPercentTimeInPortrait(sessionState.percentInPortrait(), navRerouteEvent);
     MapboxTelemetry.getInstance().addAbsoluteDistanceToDestination(absoluteDistance, navRerouteEvent);
     MapboxTelemetry.getInstance().addLocationEngineName(sessionState.locationEngineName(), navRerouteEvent);
-    MapboxTelemetry.getInstance().pushEvent(navRerouteEvent);
-    MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
+    return navRerouteEvent;
   }
 
-  static void feedbackEvent(SessionState sessionState, MetricsRouteProgress metricProgress, Location location,
-                            String description, String feedbackType, String screenshot, String feedbackId,
-                            String vendorId) {
+  static Hashtable<String, Object> feedbackEvent(SessionState sessionState, MetricsRouteProgress metricProgress,
+                                                 Location location, String description, String feedbackType,
+                                                 String screenshot, String feedbackId, String vendorId) {
 
     updateRouteProgressSessionData(metricProgress);
 
@@ -192,8 +194,7 @@ final class NavigationMetricsWrapper {
     MapboxTelemetry.getInstance().addAbsoluteDistanceToDestination(absoluteDistance, feedbackEvent);
     feedbackEvent.put(MapboxNavigationEvent.KEY_CREATED, TelemetryUtils.generateCreateDate(location));
     MapboxTelemetry.getInstance().addLocationEngineName(sessionState.locationEngineName(), feedbackEvent);
-    MapboxTelemetry.getInstance().pushEvent(feedbackEvent);
-    MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
+    return feedbackEvent;
   }
 
   static void turnstileEvent() {
@@ -84,7 +84,7 @@ public final class NavigationRoute {
   }
 
   public void cancelCall() {
-    getCall().cancel();
+    mapboxDirections.cancelCall();
   }
 
   /**
@@ -102,6 +102,7 @@ public final class NavigationRoute {
   public static final class Builder {
 
     private final MapboxDirections.Builder directionsBuilder;
+    private okhttp3.Call.Factory callFactory;
 
     /**
      * Private constructor for initializing the raw MapboxDirections.Builder
@@ -422,6 +423,20 @@ public final class NavigationRoute {
       return this;
     }
 
+    /**
+     * Optionally provide the factory used to create the HTTP call of this request. By default,
+     * requests are made with the {@link NavigationHttpClient} once it has been created, sharing its
+     * connections and cache with the other requests of the SDK.
+     *
+     * @param callFactory used to create the HTTP call, such as an {@link okhttp3.OkHttpClient}
+     * @return this builder for chaining options together
+     * @since 0.10.0
+     */
+    public Builder callFactory(@Nullable okhttp3.Call.Factory callFactory) {
+      this.callFactory = callFactory;
+      return this;
+    }
+
     /**
      * Optionally create a {@link Builder} based on all variables
      * from given {@link RouteOptions}.
@@ -488,7 +503,21 @@ public final class NavigationRoute {
         .voiceInstructions(true)
         .bannerInstructions(true)
         .roundaboutExits(true);
-      return new NavigationRoute(directionsBuilder.build());
+      MapboxDirections mapboxDirections = directionsBuilder.build();
+      okhttp3.Call.Factory factory = obtainCallFactory();
+      if (factory != null) {
+        mapboxDirections.setCallFactory(factory);
+      }
+      return new NavigationRoute(mapboxDirections);
+    }
+
+    @Nullable
+    private okhttp3.Call.Factory obtainCallFactory() {
+      if (callFactory != null) {
+        return callFactory;
+      }
+      NavigationHttpClient httpClient = NavigationHttpClient.peekInstance();
+      return httpClient == null ? null : httpClient.okHttpClient();
     }
   }
 }
\ No newline at end of file
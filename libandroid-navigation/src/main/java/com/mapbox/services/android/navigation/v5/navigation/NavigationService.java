@@ -2,8 +2,11 @@ package com.mapbox.services.android.navigation.v5.navigation;
 
 import android.app.Notification;
 import android.app.Service;
+import android.content.Context;
 import android.content.Intent;
 import android.location.Location;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
 import android.os.Binder;
 import android.os.Build;
 import android.os.Handler;
@@ -15,9 +18,15 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.navigation.notification.NavigationNotification;
+import com.mapbox.services.android.navigation.v5.route.FasterRouteEvaluator;
+import com.mapbox.services.android.navigation.v5.route.OfflineRouteEngine;
+import com.mapbox.services.android.navigation.v5.route.RerouteCandidatePrefetcher;
+import com.mapbox.services.android.navigation.v5.route.RoadGraph;
+import com.mapbox.services.android.navigation.v5.route.RouteDiff;
 import com.mapbox.services.android.navigation.v5.route.RouteEngine;
+import com.mapbox.services.android.navigation.v5.route.RouteRejoinPlanner;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
 import com.mapbox.services.android.telemetry.location.LocationEngine;
 import com.mapbox.services.android.telemetry.location.LocationEngineListener;
 
@@ -45,14 +54,20 @@ public class NavigationService extends Service implements LocationEngineListener
   // Message id used when a new location update occurs and we send to the thread.
   private static final int MSG_LOCATION_UPDATED = 1001;
 
-  private RingBuffer<Integer> recentDistancesFromManeuverInMeters;
+  private IntRingBuffer recentDistancesFromManeuverInMeters;
   private final IBinder localBinder = new LocalBinder();
 
   private NavigationNotification navigationNotification;
   private MapboxNavigation mapboxNavigation;
   private RouteEngine routeEngine;
+  private FasterRouteEvaluator fasterRouteEvaluator;
+  private OfflineRouteEngine offlineRouteEngine;
+  private RoadGraph offlineRoadGraph;
+  private ConnectivityManager connectivityManager;
   private LocationEngine locationEngine;
   private NavigationEngine thread;
+  private RouteProgress routeProgress;
+  private DirectionsRoute interimRejoinRoute;
 
   @Nullable
   @Override
@@ -65,7 +80,8 @@ public class NavigationService extends Service implements LocationEngineListener
     thread = new NavigationEngine(new Handler(), this);
     thread.start();
     thread.prepareHandler();
-    recentDistancesFromManeuverInMeters = new RingBuffer<>(3);
+    recentDistancesFromManeuverInMeters = new IntRingBuffer(3);
+    connectivityManager = (ConnectivityManager) getSystemService(Context.CONNECTIVITY_SERVICE);
   }
 
   /**
@@ -103,16 +119,38 @@ public class NavigationService extends Service implements LocationEngineListener
     }
   }
 
+  /**
+   * Everything the {@link NavigationEngine} computed for a location update arrives here in a single
+   * main thread message. The individual listeners are notified in the same order as before, then
+   * the {@link NavigationUpdateListener}s receive the whole update.
+   * <p>
+   * Once a prefetched route has replaced the current route, the rest of the update belongs to the
+   * previous route, so it's dropped and the next update is computed on the new route.
+   */
+  @Override
+  public void onNavigationUpdate(NavigationUpdate navigationUpdate) {
+    Location location = navigationUpdate.location();
+    RouteProgress routeProgress = navigationUpdate.routeProgress();
+    onNewRouteProgress(location, routeProgress);
+    onMilestoneTrigger(navigationUpdate.milestones(), routeProgress);
+    if (onUserOffRoute(location, navigationUpdate.isOffRoute())) {
+      return;
+    }
+    onCheckFasterRoute(location, routeProgress, navigationUpdate.shouldCheckFasterRoute());
+    mapboxNavigation.getEventDispatcher().onNavigationUpdate(navigationUpdate);
+  }
+
   /**
    * Corresponds to ProgressChangeListener object, updating the notification and passing information
    * to the navigation event dispatcher.
    */
-  @Override
-  public void onNewRouteProgress(Location location, RouteProgress routeProgress) {
+  private void onNewRouteProgress(Location location, RouteProgress routeProgress) {
+    this.routeProgress = routeProgress;
     if (mapboxNavigation.options().enableNotification()) {
       navigationNotification.updateNotification(routeProgress);
     }
     mapboxNavigation.getEventDispatcher().onProgressChange(location, routeProgress);
+    prefetchRerouteCandidates(routeProgress);
   }
 
   /**
@@ -120,8 +158,7 @@ public class NavigationService extends Service implements LocationEngineListener
    * navigation engine thread has finished. Depending on whether or not a milestone gets triggered
    * or not, the navigation event dispatcher will be called to notify the developer.
    */
-  @Override
-  public void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress) {
+  private void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress) {
     for (Milestone milestone : triggeredMilestones) {
       String instruction = buildInstructionString(routeProgress, milestone);
       mapboxNavigation.getEventDispatcher().onMilestoneEvent(routeProgress, instruction, milestone);
@@ -131,17 +168,36 @@ public class NavigationService extends Service implements LocationEngineListener
   /**
    * With each valid and successful rawLocation update, this callback gets invoked and depending on
    * whether or not the user is off route, the event dispatcher gets called.
+   * <p>
+   * If a prefetched route begins on the branch the user has taken, navigation continues on that
+   * route immediately and the reroute listeners are notified instead of the off-route listeners, so
+   * no new route is requested. Otherwise the off-route listeners are notified and, if the device is
+   * offline and an offline road graph has been set, a new route is computed on the device as well.
+   * <p>
+   * If rejoin recovery is enabled, navigation continues on a locally planned path back to the route
+   * in the meantime. It's only an interim route, as its connector doesn't follow the roads, so it's
+   * replaced by the route fetched by the off-route listeners or computed offline once available.
+   *
+   * @return true if a prefetched route has replaced the current route, false otherwise
    */
-  @Override
-  public void onUserOffRoute(Location location, boolean userOffRoute) {
+  private boolean onUserOffRoute(Location location, boolean userOffRoute) {
     if (userOffRoute) {
       recentDistancesFromManeuverInMeters.clear();
+      cancelFasterRouteCheck();
+      DirectionsRoute rerouteRoute = findRerouteCandidate(location);
+      if (rerouteRoute != null) {
+        mapboxNavigation.startNavigation(rerouteRoute);
+        mapboxNavigation.getEventDispatcher().onUserRerouted(location, rerouteRoute);
+        return true;
+      }
       // Send off route event with current location
       mapboxNavigation.getEventDispatcher().onUserOffRoute(location);
+      fetchOfflineRoute(location);
+      startInterimRejoinRoute(location);
     }
+    return false;
   }
 
-
   /**
    * Callback from the {@link NavigationEngine} - if fired with checkFasterRoute set
    * to true, a new {@link DirectionsRoute} should be fetched with {@link RouteEngine}.
@@ -150,8 +206,7 @@ public class NavigationService extends Service implements LocationEngineListener
    * @param routeProgress for various {@link com.mapbox.api.directions.v5.models.LegStep} data
    * @param checkFasterRoute true if should check for faster route, false otherwise
    */
-  @Override
-  public void onCheckFasterRoute(Location location, RouteProgress routeProgress, boolean checkFasterRoute) {
+  private void onCheckFasterRoute(Location location, RouteProgress routeProgress, boolean checkFasterRoute) {
     if (checkFasterRoute) {
       Point origin = Point.fromLngLat(location.getLongitude(), location.getLatitude());
       routeEngine.fetchRoute(origin, routeProgress);
@@ -161,15 +216,21 @@ public class NavigationService extends Service implements LocationEngineListener
   /**
    * Callback from the {@link RouteEngine} - if fired, a new and valid
    * {@link DirectionsRoute} has been successfully retrieved.
+   * <p>
+   * The new route is evaluated in the background by the {@link FasterRouteEvaluator} and the faster
+   * route listeners are only notified if navigation is still on the route it was requested for.
    *
    * @param response with the new route
    * @param routeProgress holding necessary leg / step information
    */
   @Override
   public void onResponseReceived(Response<DirectionsResponse> response, RouteProgress routeProgress) {
-    if (mapboxNavigation.getFasterRouteEngine().isFasterRoute(response.body(), routeProgress)) {
-      mapboxNavigation.getEventDispatcher().onFasterRouteEvent(response.body().routes().get(0));
+    DirectionsResponse directionsResponse = response.body();
+    if (directionsResponse == null || directionsResponse.routes().isEmpty() || fasterRouteEvaluator == null) {
+      return;
     }
+    fasterRouteEvaluator.evaluate(directionsResponse, routeProgress, mapboxNavigation.getFasterRouteEngine(),
+      fasterRouteCallback);
   }
 
   /**
@@ -190,6 +251,8 @@ public class NavigationService extends Service implements LocationEngineListener
    */
   void endNavigation() {
     locationEngine.removeLocationEngineListener(this);
+    shutdownFasterRouteCheck();
+    shutdownOfflineRouteEngine();
     unregisterMapboxNotificationReceiver();
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
       thread.quitSafely();
@@ -250,7 +313,12 @@ public class NavigationService extends Service implements LocationEngineListener
    */
   private void initRouteEngine(MapboxNavigation mapboxNavigation) {
     if (mapboxNavigation.options().enableFasterRouteDetection()) {
-      routeEngine = new RouteEngine(this);
+      if (routeEngine == null) {
+        routeEngine = new RouteEngine(this);
+      }
+      if (fasterRouteEvaluator == null) {
+        fasterRouteEvaluator = new FasterRouteEvaluator();
+      }
     }
   }
 
@@ -293,6 +361,132 @@ public class NavigationService extends Service implements LocationEngineListener
     }
   }
 
+  /**
+   * Drops the faster route request and evaluations in flight, the candidates they would produce
+   * start on the route the user just left.
+   */
+  private void cancelFasterRouteCheck() {
+    if (routeEngine != null) {
+      routeEngine.cancelRequest();
+    }
+    if (fasterRouteEvaluator != null) {
+      fasterRouteEvaluator.cancel();
+    }
+  }
+
+  private void shutdownFasterRouteCheck() {
+    if (routeEngine != null) {
+      routeEngine.cancelRequest();
+      routeEngine = null;
+    }
+    if (fasterRouteEvaluator != null) {
+      fasterRouteEvaluator.shutdown();
+      fasterRouteEvaluator = null;
+    }
+  }
+
+  private final FasterRouteEvaluator.Callback fasterRouteCallback = new FasterRouteEvaluator.Callback() {
+    @Override
+    public void onFasterRouteEvaluated(RouteDiff routeDiff, RouteProgress routeProgress) {
+      if (mapboxNavigation.getRoute() != routeProgress.directionsRoute()) {
+        return;
+      }
+      mapboxNavigation.getEventDispatcher().onFasterRouteEvent(routeDiff.route());
+      mapboxNavigation.getEventDispatcher().onFasterRouteDiff(routeDiff);
+    }
+  };
+
+  private void prefetchRerouteCandidates(RouteProgress routeProgress) {
+    RerouteCandidatePrefetcher reroutePrefetcher = mapboxNavigation.getReroutePrefetcher();
+    if (reroutePrefetcher != null) {
+      reroutePrefetcher.onRouteProgress(routeProgress);
+    }
+  }
+
+  @Nullable
+  private DirectionsRoute findRerouteCandidate(Location location) {
+    RerouteCandidatePrefetcher reroutePrefetcher = mapboxNavigation.getReroutePrefetcher();
+    if (reroutePrefetcher == null) {
+      return null;
+    }
+    return reroutePrefetcher.findCandidate(location);
+  }
+
+  /**
+   * No other path is planned while navigating an interim route, the user only left its straight
+   * connector, which is no reason to plan another one before the new route arrives.
+   */
+  private void startInterimRejoinRoute(Location location) {
+    RouteRejoinPlanner rejoinPlanner = mapboxNavigation.getRejoinPlanner();
+    if (rejoinPlanner == null || routeProgress == null
+      || routeProgress.directionsRoute() == interimRejoinRoute) {
+      return;
+    }
+    DirectionsRoute rejoinRoute = rejoinPlanner.planRejoinRoute(location, routeProgress);
+    if (rejoinRoute != null) {
+      interimRejoinRoute = rejoinRoute;
+      mapboxNavigation.startNavigation(rejoinRoute);
+    }
+  }
+
+  /**
+   * Computes a new route on the offline road graph, if one has been set and the device is offline.
+   * The route is only started if navigation is still on the route the user went off of, or on the
+   * interim route back to it, once the computation finishes, so that a route fetched by the
+   * off-route listeners in the meantime isn't replaced.
+   */
+  private void fetchOfflineRoute(Location location) {
+    if (isConnected()) {
+      return;
+    }
+    OfflineRouteEngine engine = obtainOfflineRouteEngine();
+    if (engine == null || routeProgress == null) {
+      return;
+    }
+    Point origin = Point.fromLngLat(location.getLongitude(), location.getLatitude());
+    engine.fetchRoute(origin, routeProgress);
+  }
+
+  private boolean isConnected() {
+    if (connectivityManager == null) {
+      return true;
+    }
+    NetworkInfo activeNetwork = connectivityManager.getActiveNetworkInfo();
+    return activeNetwork != null && activeNetwork.isConnectedOrConnecting();
+  }
+
+  @Nullable
+  private OfflineRouteEngine obtainOfflineRouteEngine() {
+    RoadGraph roadGraph = mapboxNavigation.getOfflineRoadGraph();
+    if (roadGraph != offlineRoadGraph) {
+      shutdownOfflineRouteEngine();
+      offlineRoadGraph = roadGraph;
+      if (roadGraph != null) {
+        offlineRouteEngine = new OfflineRouteEngine(roadGraph, offlineRouteCallback);
+      }
+    }
+    return offlineRouteEngine;
+  }
+
+  private void shutdownOfflineRouteEngine() {
+    if (offlineRouteEngine != null) {
+      offlineRouteEngine.shutdown();
+      offlineRouteEngine = null;
+    }
+    offlineRoadGraph = null;
+  }
+
+  private final RouteEngine.Callback offlineRouteCallback = new RouteEngine.Callback() {
+    @Override
+    public void onResponseReceived(Response<DirectionsResponse> response, RouteProgress routeProgress) {
+      DirectionsRoute currentRoute = mapboxNavigation.getRoute();
+      boolean isCurrentRoute = currentRoute == routeProgress.directionsRoute() || currentRoute == interimRejoinRoute;
+      if (isCurrentRoute && response.body() != null && !response.body().routes().isEmpty()) {
+        mapboxNavigation.startNavigation(response.body().routes().get(0));
+      }
+    }
+  };
+
   /**
    * Unregisters the receiver used to end navigation for the Mapbox custom notification.
    */
@@ -4,6 +4,8 @@ import android.app.Application;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.location.Location;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
 import android.support.annotation.NonNull;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
@@ -13,6 +15,7 @@ import com.mapbox.geojson.Point;
 import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.BuildConfig;
 import com.mapbox.services.android.navigation.v5.exception.NavigationException;
+import com.mapbox.services.android.navigation.v5.location.LocationHistory;
 import com.mapbox.services.android.navigation.v5.location.MetricsLocation;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.FeedbackEvent;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.NavigationMetricListeners;
@@ -21,7 +24,6 @@ import com.mapbox.services.android.navigation.v5.navigation.metrics.SessionState
 import com.mapbox.services.android.navigation.v5.navigation.metrics.TelemetryEvent;
 import com.mapbox.services.android.navigation.v5.routeprogress.MetricsRouteProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 import com.mapbox.services.android.navigation.v5.utils.time.TimeUtils;
 import com.mapbox.services.android.telemetry.MapboxEvent;
@@ -31,14 +33,21 @@ import com.mapbox.services.android.telemetry.location.LocationEngine;
 import com.mapbox.services.android.telemetry.location.LocationEngineListener;
 import com.mapbox.services.android.telemetry.utils.TelemetryUtils;
 
+import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
+import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Records the navigation session and sends its telemetry events. Callbacks may arrive on the main
+ * thread, they only queue their work on a {@link TelemetryWorker}; the session state and event
+ * queues are only accessed from the worker thread. Events are written to a {@link TelemetrySpool}
+ * until they are flushed.
+ */
 class NavigationTelemetry implements LocationEngineListener, NavigationMetricListeners.EventListeners,
   NavigationMetricListeners.ArrivalListener {
 
@@ -49,18 +58,24 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   private static final String MAPBOX_NAVIGATION_UI_SDK_IDENTIFIER = "mapbox-navigation-ui-android";
   private static final String MOCK_PROVIDER = "com.mapbox.services.android.navigation.v5.location.MockLocationEngine";
   private static final int TWENTY_SECOND_INTERVAL = 20;
+  private static final String SPOOL_DIRECTORY = "mapbox_navigation_telemetry";
+  private static final int LOCATION_HISTORY_CAPACITY = 40;
 
   private List<RerouteEvent> queuedRerouteEvents = new ArrayList<>();
   private List<FeedbackEvent> queuedFeedbackEvents = new ArrayList<>();
 
+  private final TelemetryWorker worker;
+  private TelemetrySpool spool;
+  private volatile ConnectivityManager connectivityManager;
+  private RouteProgress routeProgress;
   private MetricsRouteProgress metricProgress;
   private MetricsLocation metricLocation;
 
   private NavigationEventDispatcher eventDispatcher;
-  private NavigationLifecycleMonitor lifecycleMonitor;
+  private volatile NavigationLifecycleMonitor lifecycleMonitor;
   private LocationEngine navigationLocationEngine;
   private SessionState navigationSessionState;
-  private RingBuffer<Location> locationBuffer;
+  private LocationHistory locationHistory;
   private Date lastRerouteDate;
 
   private String vendorId;
@@ -68,9 +83,15 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   private boolean isConfigurationChange;
 
   private NavigationTelemetry() {
-    locationBuffer = new RingBuffer<>(40);
+    locationHistory = new LocationHistory(LOCATION_HISTORY_CAPACITY);
     metricLocation = new MetricsLocation(null);
     metricProgress = new MetricsRouteProgress(null);
+    worker = new TelemetryWorker(new TelemetryWorker.Flusher() {
+      @Override
+      public void flush() {
+        flushEvents();
+      }
+    });
   }
 
   /**
@@ -92,76 +113,80 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   }
 
   @Override
-  public void onLocationChanged(Location location) {
-    updateCurrentLocation(location);
+  public void onLocationChanged(final Location location) {
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        updateCurrentLocation(location);
+      }
+    });
   }
 
   @Override
-  public void onRouteProgressUpdate(RouteProgress routeProgress) {
-    this.metricProgress = new MetricsRouteProgress(routeProgress);
-
-    if (navigationSessionState.startTimestamp() == null) {
-      // Set departure timestamp
-      navigationSessionState = navigationSessionState.toBuilder()
-        .startTimestamp(new Date())
-        .build();
-      updateLifecyclePercentages();
-      // Send departure event for the start of this session
-      NavigationMetricsWrapper.departEvent(navigationSessionState, metricProgress, metricLocation.getLocation());
-    }
+  public void onRouteProgressUpdate(final RouteProgress routeProgress) {
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        updateRouteProgress(routeProgress);
+      }
+    });
   }
 
   @Override
   public void onOffRouteEvent(Location offRouteLocation) {
-    if (!isOffRoute) {
-      updateDistanceCompleted();
-      queueRerouteEvent();
-      isOffRoute = true;
-    }
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (!isOffRoute) {
+          updateDistanceCompleted();
+          queueRerouteEvent();
+          isOffRoute = true;
+        }
+      }
+    });
   }
 
   @Override
-  public void onArrival(Location location, RouteProgress routeProgress) {
-    // Update arrival time stamp
-    navigationSessionState = navigationSessionState.toBuilder().arrivalTimestamp(new Date()).build();
-    updateLifecyclePercentages();
-    // Send arrival event
-    NavigationMetricsWrapper.arriveEvent(navigationSessionState, routeProgress, metricLocation.getLocation());
-
+  public void onArrival(final Location location, final RouteProgress routeProgress) {
     // Reset the departure listener if there is another leg in the route
     if (!RouteUtils.isLastLeg(routeProgress)) {
       resetArrivalListener();
     }
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        // Update arrival time stamp
+        navigationSessionState = navigationSessionState.toBuilder().arrivalTimestamp(new Date()).build();
+        updateLifecyclePercentages();
+        // Send arrival event
+        pushEvent(NavigationMetricsWrapper.arriveEvent(navigationSessionState, routeProgress,
+          metricLocation.getLocation()));
+        worker.requestFlush();
+      }
+    });
   }
 
   void initialize(@NonNull Context context, @NonNull String accessToken,
                   MapboxNavigation navigation, LocationEngine locationEngine) {
 
     if (!isInitialized) {
+      validateAccessToken(accessToken);
+
       // Initial session state
-      navigationSessionState = SessionState.builder().build();
+      worker.execute(new Runnable() {
+        @Override
+        public void run() {
+          navigationSessionState = SessionState.builder().build();
+        }
+      });
 
       // Setup the location engine
       updateLocationEngine(locationEngine);
 
-      validateAccessToken(accessToken);
-
       MapboxNavigationOptions options = navigation.options();
-      // Set sdkIdentifier based on if from UI or not
-      String sdkIdentifier = updateSdkIdentifier(options);
-      // Enable extra logging in debug mode
-      MapboxTelemetry.getInstance().setDebugLoggingEnabled(options.isDebugLoggingEnabled());
-
-      updateUserAgent(context, accessToken, sdkIdentifier);
-
-      // Get the current vendorId
-      vendorId = obtainVendorId(context);
+      initializeTelemetry(context.getApplicationContext(), accessToken, options);
 
-      NavigationMetricsWrapper.sdkIdentifier = sdkIdentifier;
-      NavigationMetricsWrapper.turnstileEvent();
-      // TODO This should be removed when we figure out a solution in NavigationTelemetry
-      // Force pushing a TYPE_MAP_LOAD event to ensure that the Nav turnstile event is sent
-      MapboxTelemetry.getInstance().pushEvent(MapboxEvent.buildMapLoadEvent());
+      initializeSpool(context);
 
       isInitialized = true;
     }
@@ -169,6 +194,35 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     initEventDispatcherListeners(navigation);
   }
 
+  /**
+   * {@link MapboxTelemetry} is only used from the worker thread, starting with its initialization
+   * here, so it is set up before any event of the session is pushed.
+   */
+  private void initializeTelemetry(final Context applicationContext, final String accessToken,
+                                   MapboxNavigationOptions options) {
+    // Set sdkIdentifier based on if from UI or not
+    final String sdkIdentifier = updateSdkIdentifier(options);
+    final boolean isDebugLoggingEnabled = options.isDebugLoggingEnabled();
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        // Enable extra logging in debug mode
+        MapboxTelemetry.getInstance().setDebugLoggingEnabled(isDebugLoggingEnabled);
+
+        updateUserAgent(applicationContext, accessToken, sdkIdentifier);
+
+        // Get the current vendorId
+        vendorId = obtainVendorId(applicationContext);
+
+        NavigationMetricsWrapper.sdkIdentifier = sdkIdentifier;
+        NavigationMetricsWrapper.turnstileEvent();
+        // TODO This should be removed when we figure out a solution in NavigationTelemetry
+        // Force pushing a TYPE_MAP_LOAD event to ensure that the Nav turnstile event is sent
+        MapboxTelemetry.getInstance().pushEvent(MapboxEvent.buildMapLoadEvent());
+      }
+    });
+  }
+
   /**
    * Added once created in the {@link NavigationService}, this class
    * provides data regarding the {@link android.app.Activity} lifecycle.
@@ -187,7 +241,16 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    *
    * @param directionsRoute first route passed to navigation
    */
-  void startSession(DirectionsRoute directionsRoute) {
+  void startSession(final DirectionsRoute directionsRoute) {
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        updateSessionStart(directionsRoute);
+      }
+    });
+  }
+
+  private void updateSessionStart(DirectionsRoute directionsRoute) {
     if (!isConfigurationChange) {
       navigationSessionState = navigationSessionState.toBuilder()
         .sessionIdentifier(TelemetryUtils.buildUUID())
@@ -207,17 +270,47 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    * Flushes any remaining events from the reroute / feedback queue and fires
    * a cancel event indicating a terminated session.
    */
-  void endSession(boolean isConfigurationChange) {
-    this.isConfigurationChange = isConfigurationChange;
+  void endSession(final boolean isConfigurationChange) {
+    final NavigationLifecycleMonitor sessionLifecycleMonitor = lifecycleMonitor;
     if (!isConfigurationChange) {
-      if (navigationSessionState.startTimestamp() != null) {
-        flushEventQueues();
-        updateLifecyclePercentages();
-        NavigationMetricsWrapper.cancelEvent(navigationSessionState, metricProgress, metricLocation.getLocation());
-      }
       lifecycleMonitor = null;
       isInitialized = false;
     }
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        updateSessionEnd(isConfigurationChange, sessionLifecycleMonitor);
+      }
+    });
+    if (!isConfigurationChange) {
+      worker.execute(new Runnable() {
+        @Override
+        public void run() {
+          closeSpool();
+        }
+      });
+      // The worker thread stops once the end of the session is flushed
+      worker.shutdown();
+    }
+  }
+
+  /**
+   * Called once {@link MapboxNavigation} is destroyed, lets the worker thread stop after the
+   * queued events are flushed. A later session starts it again.
+   */
+  void onDestroy() {
+    worker.shutdown();
+  }
+
+  private void updateSessionEnd(boolean isConfigurationChange, NavigationLifecycleMonitor sessionLifecycleMonitor) {
+    this.isConfigurationChange = isConfigurationChange;
+    if (!isConfigurationChange && navigationSessionState.startTimestamp() != null) {
+      flushEventQueues();
+      updateLifecyclePercentages(sessionLifecycleMonitor);
+      pushEvent(NavigationMetricsWrapper.cancelEvent(navigationSessionState, obtainMetricProgress(),
+        metricLocation.getLocation()));
+      worker.requestFlush();
+    }
   }
 
   /**
@@ -229,7 +322,16 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    *
    * @param directionsRoute new route passed to {@link MapboxNavigation}
    */
-  void updateSessionRoute(DirectionsRoute directionsRoute) {
+  void updateSessionRoute(final DirectionsRoute directionsRoute) {
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        updateSessionState(directionsRoute);
+      }
+    });
+  }
+
+  private void updateSessionState(DirectionsRoute directionsRoute) {
     SessionState.Builder navigationBuilder = navigationSessionState.toBuilder();
     navigationBuilder.currentDirectionRoute(directionsRoute);
 
@@ -268,8 +370,13 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     if (locationEngine != null) {
       navigationLocationEngine = locationEngine;
       navigationLocationEngine.addLocationEngineListener(this);
-      String locationEngineName = locationEngine.getClass().getName();
-      navigationSessionState.toBuilder().locationEngineName(locationEngineName);
+      final String locationEngineName = locationEngine.getClass().getName();
+      worker.execute(new Runnable() {
+        @Override
+        public void run() {
+          navigationSessionState = navigationSessionState.toBuilder().locationEngineName(locationEngineName).build();
+        }
+      });
     }
   }
 
@@ -282,10 +389,17 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    * @param feedbackSource from either reroute or UI
    * @return String feedbackId to identify the event created if needed
    */
-  String recordFeedbackEvent(@FeedbackEvent.FeedbackType String feedbackType, String description,
-                             @FeedbackEvent.FeedbackSource String feedbackSource) {
-    FeedbackEvent feedbackEvent = queueFeedbackEvent(feedbackType, description, feedbackSource);
-    return feedbackEvent.getEventId();
+  String recordFeedbackEvent(@FeedbackEvent.FeedbackType final String feedbackType, final String description,
+                             @FeedbackEvent.FeedbackSource final String feedbackSource) {
+    // The identifier is created up front so it can be returned before the event is queued
+    final String feedbackId = TelemetryUtils.buildUUID();
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        queueFeedbackEvent(feedbackType, description, feedbackSource, feedbackId);
+      }
+    });
+    return feedbackId;
   }
 
   /**
@@ -298,15 +412,20 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    * @param description  an optional description to provide more detail about the feedback
    * @param screenshot   an optional encoded screenshot to provide more detail about the feedback
    */
-  void updateFeedbackEvent(String feedbackId, @FeedbackEvent.FeedbackType String feedbackType,
-                           String description, String screenshot) {
-    // Find the event and update
-    FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
-    if (feedbackEvent != null) {
-      feedbackEvent.setFeedbackType(feedbackType);
-      feedbackEvent.setDescription(description);
-      feedbackEvent.setScreenshot(screenshot);
-    }
+  void updateFeedbackEvent(final String feedbackId, @FeedbackEvent.FeedbackType final String feedbackType,
+                           final String description, final String screenshot) {
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        // Find the event and update
+        FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
+        if (feedbackEvent != null) {
+          feedbackEvent.setFeedbackType(feedbackType);
+          feedbackEvent.setDescription(description);
+          feedbackEvent.setScreenshot(screenshot);
+        }
+      }
+    });
   }
 
   /**
@@ -316,10 +435,112 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
    *
    * @param feedbackId generated from {@link MapboxNavigation#recordFeedback(String, String, String)}
    */
-  void cancelFeedback(String feedbackId) {
-    // Find the event and remove it from the queue
-    FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
-    queuedFeedbackEvents.remove(feedbackEvent);
+  void cancelFeedback(final String feedbackId) {
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        // Find the event and remove it from the queue
+        FeedbackEvent feedbackEvent = (FeedbackEvent) findQueuedTelemetryEvent(feedbackId);
+        queuedFeedbackEvents.remove(feedbackEvent);
+      }
+    });
+  }
+
+  private void updateRouteProgress(RouteProgress routeProgress) {
+    // The metrics are only built from the latest progress once an event needs them
+    this.routeProgress = routeProgress;
+    this.metricProgress = null;
+
+    if (navigationSessionState.startTimestamp() == null) {
+      // Set departure timestamp
+      navigationSessionState = navigationSessionState.toBuilder()
+        .startTimestamp(new Date())
+        .build();
+      updateLifecyclePercentages();
+      // Send departure event for the start of this session
+      pushEvent(NavigationMetricsWrapper.departEvent(navigationSessionState, obtainMetricProgress(),
+        metricLocation.getLocation()));
+    }
+  }
+
+  private MetricsRouteProgress obtainMetricProgress() {
+    if (metricProgress == null) {
+      metricProgress = new MetricsRouteProgress(routeProgress);
+    }
+    return metricProgress;
+  }
+
+  /**
+   * Events of previous sessions which couldn't be sent, because the process was killed or the
+   * device was offline, are replayed from the spool when a session starts. The spool is closed
+   * again when the session ends.
+   */
+  private void initializeSpool(Context context) {
+    connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+    final File filesDirectory = context.getFilesDir();
+    if (filesDirectory == null) {
+      return;
+    }
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (spool == null) {
+          spool = new TelemetrySpool(new File(filesDirectory, SPOOL_DIRECTORY));
+          spool.recover();
+          flushEvents();
+        }
+      }
+    });
+  }
+
+  /**
+   * Writes the event to the spool, where it stays until the next flush while online. Without a
+   * spool, the event is pushed to telemetry right away.
+   */
+  private void pushEvent(Hashtable<String, Object> event) {
+    if (spool == null || !spool.append(event)) {
+      MapboxTelemetry.getInstance().pushEvent(event);
+    }
+    worker.onEventPushed();
+  }
+
+  private void flushEvents() {
+    if (spool != null) {
+      if (!isConnected()) {
+        // Keep the events on disk instead of piling them up in memory
+        return;
+      }
+      for (Hashtable<String, Object> event : spool.readAll()) {
+        MapboxTelemetry.getInstance().pushEvent(event);
+      }
+      spool.markSent();
+    }
+    MapboxTelemetry.getInstance().flushEventsQueueImmediately(false);
+  }
+
+  /**
+   * Flushes the events of the session which ended, the next session opens the spool again and
+   * replays the events which may not have been uploaded yet, including the ones of this flush.
+   */
+  private void closeSpool() {
+    if (spool != null) {
+      flushEvents();
+      spool.close();
+      spool = null;
+    }
+  }
+
+  private boolean isConnected() {
+    if (connectivityManager == null) {
+      return true;
+    }
+    try {
+      NetworkInfo activeNetwork = connectivityManager.getActiveNetworkInfo();
+      return activeNetwork != null && activeNetwork.isConnectedOrConnecting();
+    } catch (SecurityException exception) {
+      // Without the network state permission, leave it to telemetry to handle being offline
+      return true;
+    }
   }
 
   private void resetArrivalListener() {
@@ -372,7 +593,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
 
   private void updateCurrentLocation(Location rawLocation) {
     metricLocation = new MetricsLocation(rawLocation);
-    locationBuffer.addLast(rawLocation);
+    locationHistory.add(rawLocation);
 
     // Check queued reroute events
     checkRerouteQueue();
@@ -406,43 +627,9 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     return TimeUtils.dateDiff(sessionState.eventDate(), new Date(), TimeUnit.SECONDS) > TWENTY_SECOND_INTERVAL;
   }
 
-  @NonNull
-  private List<Location> createLocationListBeforeEvent(Date eventDate) {
-    Location[] locations = locationBuffer.toArray(new Location[locationBuffer.size()]);
-    // Create current list of dates
-    List<Location> currentLocationList = Arrays.asList(locations);
-    // Setup list for dates before the event
-    List<Location> locationsBeforeEvent = new ArrayList<>();
-    // Add any events before the event date
-    for (Location location : currentLocationList) {
-      Date locationDate = new Date(location.getTime());
-      if (locationDate.before(eventDate)) {
-        locationsBeforeEvent.add(location);
-      }
-    }
-    return locationsBeforeEvent;
-  }
-
-  @NonNull
-  private List<Location> createLocationListAfterEvent(Date eventDate) {
-    Location[] locations = locationBuffer.toArray(new Location[locationBuffer.size()]);
-    // Create current list of dates
-    List<Location> currentLocationList = Arrays.asList(locations);
-    // Setup list for dates after the event
-    List<Location> locationsAfterEvent = new ArrayList<>();
-    // Add any events after the event date
-    for (Location location : currentLocationList) {
-      Date locationDate = new Date(location.getTime());
-      if (locationDate.after(eventDate)) {
-        locationsAfterEvent.add(location);
-      }
-    }
-    return locationsAfterEvent;
-  }
-
   private void updateDistanceCompleted() {
     double currentDistanceCompleted = navigationSessionState.eventRouteDistanceCompleted()
-      + metricProgress.getDistanceTraveled();
+      + obtainMetricProgress().getDistanceTraveled();
     navigationSessionState = navigationSessionState.toBuilder()
       .eventRouteDistanceCompleted(currentDistanceCompleted)
       .build();
@@ -454,7 +641,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     Date eventDate = new Date();
     SessionState rerouteEventSessionState = navigationSessionState.toBuilder()
       .eventDate(eventDate)
-      .eventRouteProgress(metricProgress)
+      .eventRouteProgress(obtainMetricProgress())
       .eventLocation(metricLocation.getLocation())
       .secondsSinceLastReroute(getSecondsSinceLastReroute(eventDate))
       .mockLocation(metricLocation.getLocation().getProvider().equals(MOCK_PROVIDER))
@@ -464,28 +651,26 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     queuedRerouteEvents.add(rerouteEvent);
   }
 
-  @NonNull
-  private FeedbackEvent queueFeedbackEvent(@FeedbackEvent.FeedbackType String feedbackType,
-                                           String description, @FeedbackEvent.FeedbackSource String feedbackSource) {
+  private void queueFeedbackEvent(@FeedbackEvent.FeedbackType String feedbackType, String description,
+                                  @FeedbackEvent.FeedbackSource String feedbackSource, String feedbackId) {
     updateLifecyclePercentages();
     // Distance completed = previous distance completed + current RouteProgress distance traveled
     double distanceCompleted = navigationSessionState.eventRouteDistanceCompleted()
-      + metricProgress.getDistanceTraveled();
+      + obtainMetricProgress().getDistanceTraveled();
 
     // Create a new session state given the current navigation session
     SessionState feedbackEventSessionState = navigationSessionState.toBuilder()
       .eventDate(new Date())
-      .eventRouteProgress(metricProgress)
+      .eventRouteProgress(obtainMetricProgress())
       .eventRouteDistanceCompleted(distanceCompleted)
       .eventLocation(metricLocation.getLocation())
       .mockLocation(metricLocation.getLocation().getProvider().equals(MOCK_PROVIDER))
       .build();
 
-    FeedbackEvent feedbackEvent = new FeedbackEvent(feedbackEventSessionState, feedbackSource);
+    FeedbackEvent feedbackEvent = new FeedbackEvent(feedbackEventSessionState, feedbackSource, feedbackId);
     feedbackEvent.setDescription(description);
     feedbackEvent.setFeedbackType(feedbackType);
     queuedFeedbackEvents.add(feedbackEvent);
-    return feedbackEvent;
   }
 
   private void sendRerouteEvent(RerouteEvent rerouteEvent) {
@@ -495,8 +680,9 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
       return;
     }
     // Create arrays with locations from before / after the reroute occurred
-    List<Location> beforeLocations = createLocationListBeforeEvent(rerouteEvent.getSessionState().eventDate());
-    List<Location> afterLocations = createLocationListAfterEvent(rerouteEvent.getSessionState().eventDate());
+    long eventTime = rerouteEvent.getSessionState().eventDate().getTime();
+    List<Location> beforeLocations = locationHistory.locationsBefore(eventTime);
+    List<Location> afterLocations = locationHistory.locationsAfter(eventTime);
     // Update session state with locations after feedback
     SessionState rerouteSessionState = rerouteEvent.getSessionState().toBuilder()
       .beforeEventLocations(beforeLocations)
@@ -505,8 +691,8 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     // Set the updated session state
     rerouteEvent.setRerouteSessionState(rerouteSessionState);
 
-    NavigationMetricsWrapper.rerouteEvent(rerouteEvent, metricProgress,
-      rerouteEvent.getSessionState().eventLocation());
+    pushEvent(NavigationMetricsWrapper.rerouteEvent(rerouteEvent, obtainMetricProgress(),
+      rerouteEvent.getSessionState().eventLocation()));
   }
 
   private void sendFeedbackEvent(FeedbackEvent feedbackEvent) {
@@ -514,17 +700,18 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
       return;
     }
     // Create arrays with locations from before / after the reroute occurred
-    List<Location> beforeLocations = createLocationListBeforeEvent(feedbackEvent.getSessionState().eventDate());
-    List<Location> afterLocations = createLocationListAfterEvent(feedbackEvent.getSessionState().eventDate());
+    long eventTime = feedbackEvent.getSessionState().eventDate().getTime();
+    List<Location> beforeLocations = locationHistory.locationsBefore(eventTime);
+    List<Location> afterLocations = locationHistory.locationsAfter(eventTime);
     // Update session state with locations after feedback
     SessionState feedbackSessionState = feedbackEvent.getSessionState().toBuilder()
       .beforeEventLocations(beforeLocations)
       .afterEventLocations(afterLocations)
       .build();
 
-    NavigationMetricsWrapper.feedbackEvent(feedbackSessionState, metricProgress,
+    pushEvent(NavigationMetricsWrapper.feedbackEvent(feedbackSessionState, obtainMetricProgress(),
       feedbackEvent.getSessionState().eventLocation(), feedbackEvent.getDescription(),
-      feedbackEvent.getFeedbackType(), feedbackEvent.getScreenshot(), feedbackEvent.getEventId(), vendorId);
+      feedbackEvent.getFeedbackType(), feedbackEvent.getScreenshot(), feedbackEvent.getEventId(), vendorId));
   }
 
   private TelemetryEvent findQueuedTelemetryEvent(String eventId) {
@@ -542,10 +729,14 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   }
 
   private void updateLifecyclePercentages() {
-    if (lifecycleMonitor != null) {
+    updateLifecyclePercentages(lifecycleMonitor);
+  }
+
+  private void updateLifecyclePercentages(NavigationLifecycleMonitor monitor) {
+    if (monitor != null) {
       navigationSessionState = navigationSessionState.toBuilder()
-        .percentInForeground(lifecycleMonitor.obtainForegroundPercentage())
-        .percentInPortrait(lifecycleMonitor.obtainPortraitPercentage())
+        .percentInForeground(monitor.obtainForegroundPercentage())
+        .percentInPortrait(monitor.obtainPortraitPercentage())
         .build();
     }
   }
@@ -0,0 +1,71 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the navigation engine computed for a single location update, delivered at once to
+ * {@link NavigationUpdateListener}s so they see a consistent snapshot of the progress, the
+ * milestones and the off route and faster route checks of the same fix.
+ *
+ * @since 0.10.0
+ */
+@AutoValue
+public abstract class NavigationUpdate {
+
+  /**
+   * @return the location of the update, snapped to the route if snapping is enabled and the user
+   * isn't off route
+   * @since 0.10.0
+   */
+  public abstract Location location();
+
+  /**
+   * @return the progress along the route at the location
+   * @since 0.10.0
+   */
+  public abstract RouteProgress routeProgress();
+
+  /**
+   * @return the milestones triggered by the update, in the order they were added
+   * @since 0.10.0
+   */
+  public abstract List<Milestone> milestones();
+
+  /**
+   * @return true if the user was found to be off route
+   * @since 0.10.0
+   */
+  public abstract boolean isOffRoute();
+
+  /**
+   * @return true if a faster route is checked for as a result of the update
+   * @since 0.10.0
+   */
+  public abstract boolean shouldCheckFasterRoute();
+
+  /**
+   * @return {@link android.os.SystemClock#elapsedRealtime()} at which the engine started the update
+   * @since 0.10.0
+   */
+  public abstract long startedElapsedMillis();
+
+  /**
+   * @return time the engine spent computing the update on its thread, in nanoseconds
+   * @since 0.10.0
+   */
+  public abstract long computationNanos();
+
+  static NavigationUpdate create(Location location, RouteProgress routeProgress, List<Milestone> milestones,
+                                 boolean isOffRoute, boolean shouldCheckFasterRoute,
+                                 long startedElapsedMillis, long computationNanos) {
+    return new AutoValue_NavigationUpdate(location, routeProgress, Collections.unmodifiableList(milestones),
+      isOffRoute, shouldCheckFasterRoute, startedElapsedMillis, computationNanos);
+  }
+}
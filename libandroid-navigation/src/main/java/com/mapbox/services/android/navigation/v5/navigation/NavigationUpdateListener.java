@@ -0,0 +1,19 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Listener that can be added to receive everything computed for a location update in a single
+ * callback, instead of combining the progress change, milestone and off route listeners.
+ *
+ * @since 0.10.0
+ */
+public interface NavigationUpdateListener {
+
+  /**
+   * Will be fired once per location update on the main thread, after the progress change,
+   * milestone and off route listeners of the same update.
+   *
+   * @param navigationUpdate holding the progress, milestones and checks of the update
+   * @since 0.10.0
+   */
+  void onNavigationUpdate(NavigationUpdate navigationUpdate);
+}
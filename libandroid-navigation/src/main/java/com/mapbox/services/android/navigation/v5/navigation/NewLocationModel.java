@@ -3,13 +3,13 @@ package com.mapbox.services.android.navigation.v5.navigation;
 import android.location.Location;
 
 import com.google.auto.value.AutoValue;
-import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
 
 @AutoValue
 abstract class NewLocationModel {
 
   static NewLocationModel create(Location location, MapboxNavigation mapboxNavigation,
-                                 RingBuffer recentDistancesFromManeuverInMeters) {
+                                 IntRingBuffer recentDistancesFromManeuverInMeters) {
     return new AutoValue_NewLocationModel(location, mapboxNavigation,
       recentDistancesFromManeuverInMeters);
   }
@@ -18,5 +18,5 @@ abstract class NewLocationModel {
 
   abstract MapboxNavigation mapboxNavigation();
 
-  abstract RingBuffer recentDistancesFromManeuverInMeters();
+  abstract IntRingBuffer recentDistancesFromManeuverInMeters();
 }
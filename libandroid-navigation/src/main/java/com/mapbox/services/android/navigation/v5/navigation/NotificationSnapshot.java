@@ -0,0 +1,93 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Keeps the values last rendered into the navigation notification and decides whether a progress
+ * update needs to re-post it, since every post is an IPC to the system.
+ * <p>
+ * A new instruction or maneuver is posted right away. A new distance or arrival time is posted once
+ * the minimum interval has passed since the last post, and is kept pending until then. Distances are
+ * compared in their display format, so an update which doesn't change the text isn't posted.
+ */
+class NotificationSnapshot {
+
+  static final int FIELD_INSTRUCTION = 1;
+  static final int FIELD_DISTANCE = 1 << 1;
+  static final int FIELD_ARRIVAL_TIME = 1 << 2;
+  static final int FIELD_MANEUVER = 1 << 3;
+
+  private static final int IMMEDIATE_FIELDS = FIELD_INSTRUCTION | FIELD_MANEUVER;
+
+  private final long minimumIntervalMillis;
+
+  private String instructionText;
+  private String distanceText;
+  private String arrivalTime;
+  private int maneuverId;
+
+  private boolean hasPosted;
+  private int pendingFields;
+  private long lastPostElapsedMillis;
+  private long skippedPostCount;
+
+  NotificationSnapshot(long minimumIntervalMillis) {
+    this.minimumIntervalMillis = minimumIntervalMillis;
+  }
+
+  /**
+   * Stores the values of an update and returns the ones which differ from the last update.
+   *
+   * @param instructionText of the current step, null to keep the last instruction
+   * @param distanceText    formatted distance remaining on the current step
+   * @param arrivalTime     formatted arrival time
+   * @param maneuverId      resource of the maneuver image
+   * @return the changed fields, 0 if none of them changed
+   */
+  int update(@Nullable String instructionText, String distanceText, String arrivalTime, int maneuverId) {
+    int changedFields = 0;
+    if (instructionText != null && !instructionText.equals(this.instructionText)) {
+      this.instructionText = instructionText;
+      changedFields |= FIELD_INSTRUCTION;
+    }
+    if (!distanceText.equals(this.distanceText)) {
+      this.distanceText = distanceText;
+      changedFields |= FIELD_DISTANCE;
+    }
+    if (!arrivalTime.equals(this.arrivalTime)) {
+      this.arrivalTime = arrivalTime;
+      changedFields |= FIELD_ARRIVAL_TIME;
+    }
+    if (maneuverId != this.maneuverId) {
+      this.maneuverId = maneuverId;
+      changedFields |= FIELD_MANEUVER;
+    }
+    return changedFields;
+  }
+
+  /**
+   * @param changedFields returned by {@link #update(String, String, String, int)}
+   * @param elapsedMillis monotonic time of the update
+   * @return true if the notification should be posted now, false if the post is skipped
+   */
+  boolean shouldPost(int changedFields, long elapsedMillis) {
+    pendingFields |= changedFields;
+    if (pendingFields == 0) {
+      skippedPostCount++;
+      return false;
+    }
+    boolean isImmediate = (pendingFields & IMMEDIATE_FIELDS) != 0;
+    if (hasPosted && !isImmediate && elapsedMillis - lastPostElapsedMillis < minimumIntervalMillis) {
+      skippedPostCount++;
+      return false;
+    }
+    hasPosted = true;
+    pendingFields = 0;
+    lastPostElapsedMillis = elapsedMillis;
+    return true;
+  }
+
+  long skippedPostCount() {
+    return skippedPostCount;
+  }
+}
@@ -0,0 +1,87 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * Skips the progress updates a {@link ProgressChangeListener} doesn't need according to the minimum
+ * interval, minimum distance and step change options of its {@link ListenerOptions}.
+ * <p>
+ * The first update and the updates for a new step, leg or route are always delivered. Otherwise an
+ * update is delivered once either of the configured minimums has been reached since the last
+ * delivered update. One instance per listener, only used on the dispatching thread.
+ */
+class ProgressChangeFilter implements ListenerRegistry.Filter<NavigationEventDispatcher.ProgressDelivery> {
+
+  private final long minimumIntervalMillis;
+  private final double minimumDistanceMeters;
+  private final boolean onlyOnStepChange;
+
+  private boolean hasDelivered;
+  private DirectionsRoute lastRoute;
+  private int lastLegIndex;
+  private int lastStepIndex;
+  private long lastElapsedMillis;
+  private double lastDistanceTraveled;
+
+  ProgressChangeFilter(long minimumIntervalMillis, double minimumDistanceMeters, boolean onlyOnStepChange) {
+    this.minimumIntervalMillis = minimumIntervalMillis;
+    this.minimumDistanceMeters = minimumDistanceMeters;
+    this.onlyOnStepChange = onlyOnStepChange;
+  }
+
+  /**
+   * @param options of the listener
+   * @return a filter, or null if the options deliver every update
+   */
+  @Nullable
+  static ProgressChangeFilter from(ListenerOptions options) {
+    if (options.minimumIntervalMillis() <= 0 && options.minimumDistanceMeters() <= 0
+      && !options.onlyOnStepChange()) {
+      return null;
+    }
+    return new ProgressChangeFilter(options.minimumIntervalMillis(), options.minimumDistanceMeters(),
+      options.onlyOnStepChange());
+  }
+
+  @Override
+  public boolean accept(NavigationEventDispatcher.ProgressDelivery delivery) {
+    return accept(delivery.routeProgress(), delivery.elapsedMillis());
+  }
+
+  /**
+   * @param routeProgress of the update
+   * @param elapsedMillis monotonic time of the update
+   * @return true if the update should be delivered, it then becomes the last delivered update
+   */
+  boolean accept(RouteProgress routeProgress, long elapsedMillis) {
+    int stepIndex = routeProgress.currentLegProgress().stepIndex();
+    boolean isNewStep = !hasDelivered || routeProgress.directionsRoute() != lastRoute
+      || routeProgress.legIndex() != lastLegIndex || stepIndex != lastStepIndex;
+    if (!isNewStep && !hasReachedMinimum(routeProgress, elapsedMillis)) {
+      return false;
+    }
+    hasDelivered = true;
+    lastRoute = routeProgress.directionsRoute();
+    lastLegIndex = routeProgress.legIndex();
+    lastStepIndex = stepIndex;
+    lastElapsedMillis = elapsedMillis;
+    lastDistanceTraveled = routeProgress.distanceTraveled();
+    return true;
+  }
+
+  private boolean hasReachedMinimum(RouteProgress routeProgress, long elapsedMillis) {
+    if (onlyOnStepChange) {
+      return false;
+    }
+    boolean hasIntervalMinimum = minimumIntervalMillis > 0;
+    boolean hasDistanceMinimum = minimumDistanceMeters > 0;
+    boolean isIntervalReached = hasIntervalMinimum && elapsedMillis - lastElapsedMillis >= minimumIntervalMillis;
+    boolean isDistanceReached = hasDistanceMinimum
+      && Math.abs(routeProgress.distanceTraveled() - lastDistanceTraveled) >= minimumDistanceMeters;
+    return (!hasIntervalMinimum && !hasDistanceMinimum) || isIntervalReached || isDistanceReached;
+  }
+}
@@ -0,0 +1,38 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.io.IOException;
+import java.util.List;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor measuring every call made through the {@link NavigationHttpClient},
+ * including those answered by the cache.
+ */
+class RequestTimingInterceptor implements Interceptor {
+
+  private final List<RequestTimingListener> listeners;
+
+  RequestTimingInterceptor(List<RequestTimingListener> listeners) {
+    this.listeners = listeners;
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    long startTime = System.nanoTime();
+    Response response = chain.proceed(request);
+    if (listeners.isEmpty()) {
+      return response;
+    }
+    long durationMillis = (System.nanoTime() - startTime) / 1000000;
+    boolean fromCache = response.networkResponse() == null;
+    String url = request.url().newBuilder().query(null).build().toString();
+    for (RequestTimingListener listener : listeners) {
+      listener.onRequestCompleted(url, response.code(), durationMillis, fromCache, response.protocol().toString());
+    }
+    return response;
+  }
+}
@@ -0,0 +1,21 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Notified after each request made through the {@link NavigationHttpClient} has received its
+ * response headers.
+ *
+ * @since 0.10.0
+ */
+public interface RequestTimingListener {
+
+  /**
+   * Called on the thread which executed the request.
+   *
+   * @param url             of the request, without its query so access tokens aren't exposed
+   * @param responseCode    HTTP status code of the response
+   * @param durationMillis  time between sending the request and receiving the response headers
+   * @param fromCache       true if the response was served from the disk cache without a request
+   * @param protocol        negotiated protocol, such as http/1.1 or h2
+   */
+  void onRequestCompleted(String url, int responseCode, long durationMillis, boolean fromCache, String protocol);
+}
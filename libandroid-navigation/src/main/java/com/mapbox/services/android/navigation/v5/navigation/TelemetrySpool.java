@@ -0,0 +1,397 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import timber.log.Timber;
+
+/**
+ * Append-only log of telemetry events which haven't been flushed yet, kept in the files directory
+ * of the app so that they survive the process being killed or the device being offline.
+ * <p>
+ * Each record is the length of the encoded event, its CRC32 checksum and the event encoded as JSON
+ * with the type of every value, so events are replayed exactly as they were pushed. Events with a
+ * value of any other type aren't spooled. A record cut short by a crash fails the checksum and ends
+ * the replay of its file. Every session appends to a new file, files are rotated once they reach
+ * the maximum size and the oldest file is dropped when there are more than the maximum number of
+ * files.
+ * <p>
+ * Telemetry doesn't confirm that the events handed to it were sent, so flushed files are only
+ * marked as sent. They are deleted by the next flush of the session. The files marked by the last
+ * flush of a session are kept once it's closed, as the process may be killed before telemetry
+ * uploaded them, and {@link #recover()} replays them in the next session. Events are therefore
+ * sent at least once, the last ones of a session may be sent twice.
+ * <p>
+ * Not thread safe, only used from the {@link TelemetryWorker} thread.
+ */
+class TelemetrySpool {
+
+  static final long DEFAULT_MAX_FILE_BYTES = 256 * 1024;
+  static final int DEFAULT_MAX_FILES = 4;
+  private static final String FILE_PREFIX = "spool-";
+  private static final String FILE_SUFFIX = ".log";
+  private static final String SENT_FILE_SUFFIX = ".sent";
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final String KEY = "k";
+  private static final String TYPE = "t";
+  private static final String VALUE = "v";
+  private static final String TYPE_STRING = "s";
+  private static final String TYPE_INTEGER = "i";
+  private static final String TYPE_LONG = "l";
+  private static final String TYPE_DOUBLE = "d";
+  private static final String TYPE_FLOAT = "f";
+  private static final String TYPE_BOOLEAN = "b";
+  private static final String TYPE_LOCATIONS = "locations";
+
+  private final File directory;
+  private final long maxFileBytes;
+  private final int maxFiles;
+  private final CRC32 checksum = new CRC32();
+  private DataOutputStream output;
+  private long outputBytes;
+  private int nextSequence = -1;
+
+  TelemetrySpool(@NonNull File directory) {
+    this(directory, DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_FILES);
+  }
+
+  TelemetrySpool(@NonNull File directory, long maxFileBytes, int maxFiles) {
+    this.directory = directory;
+    this.maxFileBytes = maxFileBytes;
+    this.maxFiles = maxFiles;
+  }
+
+  /**
+   * Appends the event to the current file and flushes it to the file system.
+   *
+   * @param event to append
+   * @return true if the event was written, false if the caller should push it directly
+   */
+  boolean append(Hashtable<String, Object> event) {
+    JsonArray encodedEvent = encode(event);
+    if (encodedEvent == null) {
+      return false;
+    }
+    byte[] record = encodedEvent.toString().getBytes(UTF_8);
+    try {
+      if (output == null || outputBytes + record.length > maxFileBytes) {
+        rotate();
+      }
+      checksum.reset();
+      checksum.update(record, 0, record.length);
+      output.writeInt(record.length);
+      output.writeLong(checksum.getValue());
+      output.write(record);
+      output.flush();
+      outputBytes += record.length + 12;
+      return true;
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to spool telemetry event.");
+      closeOutput();
+      return false;
+    }
+  }
+
+  /**
+   * Reads the events of all files which weren't marked as sent, oldest first. Files written by
+   * previous sessions are included.
+   *
+   * @return the events which could be read, records after a damaged record are skipped
+   */
+  List<Hashtable<String, Object>> readAll() {
+    List<Hashtable<String, Object>> events = new ArrayList<>();
+    for (File file : listFiles(FILE_SUFFIX)) {
+      readFile(file, events);
+    }
+    return events;
+  }
+
+  /**
+   * To be called once the events returned by {@link #readAll()} have been handed to telemetry.
+   * Deletes the files marked as sent by the previous call, as telemetry had a whole flush interval
+   * to send them, and marks the current files as sent.
+   */
+  void markSent() {
+    closeOutput();
+    deleteSentFiles();
+    for (File file : listFiles(FILE_SUFFIX)) {
+      File sentFile = new File(directory, FILE_PREFIX + sequenceOf(file, FILE_SUFFIX) + SENT_FILE_SUFFIX);
+      if (!file.renameTo(sentFile)) {
+        Timber.w("Unable to mark telemetry spool file %s as sent.", file.getName());
+      }
+    }
+  }
+
+  /**
+   * Files still marked as sent when the spool is opened were left by a previous session, which
+   * can't tell whether telemetry uploaded them before the process ended, so they are read again
+   * with the next flush.
+   */
+  void recover() {
+    for (File file : listFiles(SENT_FILE_SUFFIX)) {
+      File pendingFile = new File(directory, FILE_PREFIX + sequenceOf(file, SENT_FILE_SUFFIX) + FILE_SUFFIX);
+      if (!file.renameTo(pendingFile)) {
+        Timber.w("Unable to recover telemetry spool file %s.", file.getName());
+      }
+    }
+  }
+
+  /**
+   * Closes the current file once the session ended. All files are kept for the next session, the
+   * ones marked as sent may not have been uploaded yet.
+   */
+  void close() {
+    closeOutput();
+  }
+
+  private void deleteSentFiles() {
+    for (File file : listFiles(SENT_FILE_SUFFIX)) {
+      if (!file.delete()) {
+        Timber.w("Unable to delete telemetry spool file %s.", file.getName());
+      }
+    }
+  }
+
+  private void rotate() throws IOException {
+    closeOutput();
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IOException("Unable to create telemetry spool directory.");
+    }
+    List<File> files = listFiles(FILE_SUFFIX);
+    if (nextSequence < 0) {
+      nextSequence = nextSequence(files, listFiles(SENT_FILE_SUFFIX));
+    }
+    // Make room for the new file by dropping the oldest events
+    for (int i = 0; i <= files.size() - maxFiles; i++) {
+      if (!files.get(i).delete()) {
+        Timber.w("Unable to delete telemetry spool file %s.", files.get(i).getName());
+      }
+    }
+    File file = new File(directory, FILE_PREFIX + nextSequence++ + FILE_SUFFIX);
+    output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+    outputBytes = file.length();
+  }
+
+  private void closeOutput() {
+    if (output != null) {
+      try {
+        output.close();
+      } catch (IOException exception) {
+        Timber.e(exception, "Unable to close telemetry spool file.");
+      }
+      output = null;
+    }
+  }
+
+  private void readFile(File file, List<Hashtable<String, Object>> events) {
+    DataInputStream input = null;
+    try {
+      input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+      while (true) {
+        int length = input.readInt();
+        long expectedChecksum = input.readLong();
+        if (length <= 0 || length > file.length()) {
+          Timber.w("Damaged telemetry spool record in %s.", file.getName());
+          return;
+        }
+        byte[] record = new byte[length];
+        input.readFully(record);
+        checksum.reset();
+        checksum.update(record, 0, length);
+        if (checksum.getValue() != expectedChecksum) {
+          Timber.w("Damaged telemetry spool record in %s.", file.getName());
+          return;
+        }
+        events.add(decode(new JsonParser().parse(new String(record, UTF_8)).getAsJsonArray()));
+      }
+    } catch (EOFException exception) {
+      // End of file, possibly in the middle of a record which was being written during a crash
+    } catch (IOException | RuntimeException exception) {
+      Timber.e(exception, "Unable to read telemetry spool file %s.", file.getName());
+    } finally {
+      if (input != null) {
+        try {
+          input.close();
+        } catch (IOException exception) {
+          Timber.e(exception, "Unable to close telemetry spool file.");
+        }
+      }
+    }
+  }
+
+  private List<File> listFiles(final String suffix) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return new ArrayList<>();
+    }
+    List<File> spoolFiles = new ArrayList<>();
+    for (File file : files) {
+      if (sequenceOf(file, suffix) >= 0) {
+        spoolFiles.add(file);
+      }
+    }
+    File[] sortedFiles = spoolFiles.toArray(new File[spoolFiles.size()]);
+    Arrays.sort(sortedFiles, new Comparator<File>() {
+      @Override
+      public int compare(File first, File second) {
+        int firstSequence = sequenceOf(first, suffix);
+        int secondSequence = sequenceOf(second, suffix);
+        return firstSequence < secondSequence ? -1 : (firstSequence == secondSequence ? 0 : 1);
+      }
+    });
+    return Arrays.asList(sortedFiles);
+  }
+
+  /**
+   * Files marked as sent keep their sequence, so new files are numbered after them as well.
+   */
+  private static int nextSequence(List<File> files, List<File> sentFiles) {
+    int nextSequence = 0;
+    if (!files.isEmpty()) {
+      nextSequence = sequenceOf(files.get(files.size() - 1), FILE_SUFFIX) + 1;
+    }
+    if (!sentFiles.isEmpty()) {
+      nextSequence = Math.max(nextSequence, sequenceOf(sentFiles.get(sentFiles.size() - 1), SENT_FILE_SUFFIX) + 1);
+    }
+    return nextSequence;
+  }
+
+  private static int sequenceOf(File file, String suffix) {
+    String name = file.getName();
+    if (!name.startsWith(FILE_PREFIX) || !name.endsWith(suffix)) {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - suffix.length()));
+    } catch (NumberFormatException exception) {
+      return -1;
+    }
+  }
+
+  /**
+   * @return the encoded event, or null if one of its values has a type which can't be replayed
+   */
+  @Nullable
+  private static JsonArray encode(Hashtable<String, Object> event) {
+    JsonArray entries = new JsonArray();
+    for (Map.Entry<String, Object> entry : event.entrySet()) {
+      JsonObject encodedEntry = new JsonObject();
+      encodedEntry.addProperty(KEY, entry.getKey());
+      Object value = entry.getValue();
+      if (value instanceof Integer) {
+        encodedEntry.addProperty(TYPE, TYPE_INTEGER);
+        encodedEntry.addProperty(VALUE, (Integer) value);
+      } else if (value instanceof Long) {
+        encodedEntry.addProperty(TYPE, TYPE_LONG);
+        encodedEntry.addProperty(VALUE, (Long) value);
+      } else if (value instanceof Double) {
+        encodedEntry.addProperty(TYPE, TYPE_DOUBLE);
+        encodedEntry.addProperty(VALUE, (Double) value);
+      } else if (value instanceof Float) {
+        encodedEntry.addProperty(TYPE, TYPE_FLOAT);
+        encodedEntry.addProperty(VALUE, (Float) value);
+      } else if (value instanceof Boolean) {
+        encodedEntry.addProperty(TYPE, TYPE_BOOLEAN);
+        encodedEntry.addProperty(VALUE, (Boolean) value);
+      } else if (value instanceof Location[]) {
+        encodedEntry.addProperty(TYPE, TYPE_LOCATIONS);
+        encodedEntry.add(VALUE, encodeLocations((Location[]) value));
+      } else if (value instanceof String) {
+        encodedEntry.addProperty(TYPE, TYPE_STRING);
+        encodedEntry.addProperty(VALUE, (String) value);
+      } else {
+        Timber.w("Telemetry event value %s of type %s can't be spooled.", entry.getKey(),
+          value.getClass().getName());
+        return null;
+      }
+      entries.add(encodedEntry);
+    }
+    return entries;
+  }
+
+  private static Hashtable<String, Object> decode(JsonArray entries) {
+    Hashtable<String, Object> event = new Hashtable<>();
+    for (JsonElement element : entries) {
+      JsonObject entry = element.getAsJsonObject();
+      String type = entry.get(TYPE).getAsString();
+      JsonElement value = entry.get(VALUE);
+      Object decodedValue;
+      if (TYPE_INTEGER.equals(type)) {
+        decodedValue = value.getAsInt();
+      } else if (TYPE_LONG.equals(type)) {
+        decodedValue = value.getAsLong();
+      } else if (TYPE_DOUBLE.equals(type)) {
+        decodedValue = value.getAsDouble();
+      } else if (TYPE_FLOAT.equals(type)) {
+        decodedValue = value.getAsFloat();
+      } else if (TYPE_BOOLEAN.equals(type)) {
+        decodedValue = value.getAsBoolean();
+      } else if (TYPE_LOCATIONS.equals(type)) {
+        decodedValue = decodeLocations(value.getAsJsonArray());
+      } else {
+        decodedValue = value.getAsString();
+      }
+      event.put(entry.get(KEY).getAsString(), decodedValue);
+    }
+    return event;
+  }
+
+  private static JsonArray encodeLocations(Location[] locations) {
+    JsonArray encodedLocations = new JsonArray();
+    for (Location location : locations) {
+      JsonArray encodedLocation = new JsonArray();
+      encodedLocation.add(location.getProvider());
+      encodedLocation.add(location.getTime());
+      encodedLocation.add(location.getLatitude());
+      encodedLocation.add(location.getLongitude());
+      encodedLocation.add(location.getAltitude());
+      encodedLocation.add(location.getSpeed());
+      encodedLocation.add(location.getBearing());
+      encodedLocation.add(location.getAccuracy());
+      encodedLocations.add(encodedLocation);
+    }
+    return encodedLocations;
+  }
+
+  private static Location[] decodeLocations(JsonArray encodedLocations) {
+    Location[] locations = new Location[encodedLocations.size()];
+    for (int i = 0; i < locations.length; i++) {
+      JsonArray encodedLocation = encodedLocations.get(i).getAsJsonArray();
+      JsonElement provider = encodedLocation.get(0);
+      Location location = new Location(provider.isJsonNull() ? null : provider.getAsString());
+      location.setTime(encodedLocation.get(1).getAsLong());
+      location.setLatitude(encodedLocation.get(2).getAsDouble());
+      location.setLongitude(encodedLocation.get(3).getAsDouble());
+      location.setAltitude(encodedLocation.get(4).getAsDouble());
+      location.setSpeed(encodedLocation.get(5).getAsFloat());
+      location.setBearing(encodedLocation.get(6).getAsFloat());
+      location.setAccuracy(encodedLocation.get(7).getAsFloat());
+      locations[i] = location;
+    }
+    return locations;
+  }
+}
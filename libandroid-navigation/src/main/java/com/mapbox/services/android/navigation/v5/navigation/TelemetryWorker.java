@@ -0,0 +1,208 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.services.android.navigation.v5.utils.BackgroundThreadFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import timber.log.Timber;
+
+/**
+ * Runs the work of {@link NavigationTelemetry} on a single low priority thread, so the callbacks
+ * arriving on the main thread only pay for adding a task to a lock-free queue.
+ * <p>
+ * Tasks are drained in batches bounded by {@link #MAX_TASKS_PER_BATCH} and
+ * {@link #MAX_BATCH_DURATION_NANOS}. Telemetry events pushed while running the tasks are only
+ * flushed once {@link #MAX_PENDING_EVENTS} have accumulated, the oldest of them waited for
+ * {@link #FLUSH_INTERVAL_MILLIS}, or a flush was requested.
+ * <p>
+ * Once {@link #shutdown()} is called, the thread finishes the queued tasks, flushes the pending
+ * events and stops. A task queued afterwards starts a new thread.
+ */
+class TelemetryWorker implements Runnable {
+
+  static final int MAX_TASKS_PER_BATCH = 32;
+  static final long MAX_BATCH_DURATION_NANOS = TimeUnit.MILLISECONDS.toNanos(8);
+  static final int MAX_PENDING_EVENTS = 10;
+  static final long FLUSH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  private static final String THREAD_NAME = "NavigationTelemetry";
+
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean waiting = new AtomicBoolean();
+  private final AtomicLong enqueuedTaskCount = new AtomicLong();
+  private final AtomicLong taskDurationNanos = new AtomicLong();
+  private final Flusher flusher;
+  private volatile Thread thread;
+  private boolean shutdownRequested;
+
+  private int pendingEventCount;
+  private long firstPendingEventMillis;
+  private boolean flushRequested;
+
+  TelemetryWorker(Flusher flusher) {
+    this.flusher = flusher;
+  }
+
+  /**
+   * Queues the task to run on the worker thread. Never blocks, the thread is only woken up if it
+   * is waiting for work.
+   *
+   * @param task to run
+   */
+  void execute(Runnable task) {
+    tasks.offer(task);
+    enqueuedTaskCount.incrementAndGet();
+    Thread workerThread = obtainThread();
+    if (waiting.compareAndSet(true, false)) {
+      LockSupport.unpark(workerThread);
+    }
+  }
+
+  /**
+   * To be called from tasks on the worker thread after pushing a telemetry event.
+   */
+  void onEventPushed() {
+    if (pendingEventCount == 0) {
+      firstPendingEventMillis = System.currentTimeMillis();
+    }
+    pendingEventCount++;
+  }
+
+  /**
+   * To be called from tasks on the worker thread for events which shouldn't wait, such as the end
+   * of a session.
+   */
+  void requestFlush() {
+    flushRequested = true;
+  }
+
+  /**
+   * Lets the thread stop once the tasks queued so far have run and the pending events have been
+   * flushed. Never blocks.
+   */
+  void shutdown() {
+    Thread workerThread;
+    synchronized (this) {
+      workerThread = thread;
+      if (workerThread == null) {
+        return;
+      }
+      shutdownRequested = true;
+    }
+    LockSupport.unpark(workerThread);
+  }
+
+  long enqueuedTaskCount() {
+    return enqueuedTaskCount.get();
+  }
+
+  /**
+   * @return nanoseconds the worker thread spent running tasks, without the flushes
+   */
+  long taskDurationNanos() {
+    return taskDurationNanos.get();
+  }
+
+  @Override
+  public void run() {
+    while (true) {
+      runBatch();
+      flushIfDue();
+      if (tasks.isEmpty()) {
+        if (isShutdownRequested()) {
+          requestFlush();
+          flushIfDue();
+          if (stopIfIdle()) {
+            return;
+          }
+        } else {
+          waitForTasks();
+        }
+      }
+    }
+  }
+
+  private synchronized Thread obtainThread() {
+    if (thread == null) {
+      thread = new BackgroundThreadFactory(THREAD_NAME).newThread(this);
+      thread.start();
+    }
+    return thread;
+  }
+
+  private synchronized boolean isShutdownRequested() {
+    return shutdownRequested;
+  }
+
+  /**
+   * Tasks queued after this check start a new thread, since the current one is cleared.
+   */
+  private synchronized boolean stopIfIdle() {
+    if (!tasks.isEmpty()) {
+      return false;
+    }
+    thread = null;
+    shutdownRequested = false;
+    return true;
+  }
+
+  private void runBatch() {
+    long batchStart = System.nanoTime();
+    int batchSize = 0;
+    Runnable task;
+    while (batchSize < MAX_TASKS_PER_BATCH && (task = tasks.poll()) != null) {
+      long taskStart = System.nanoTime();
+      try {
+        task.run();
+      } catch (RuntimeException exception) {
+        Timber.e(exception, "Telemetry task failed.");
+      }
+      long taskEnd = System.nanoTime();
+      taskDurationNanos.addAndGet(taskEnd - taskStart);
+      batchSize++;
+      if (taskEnd - batchStart > MAX_BATCH_DURATION_NANOS) {
+        break;
+      }
+    }
+  }
+
+  private void flushIfDue() {
+    if (pendingEventCount == 0) {
+      flushRequested = false;
+      return;
+    }
+    boolean isBatchFull = pendingEventCount >= MAX_PENDING_EVENTS;
+    boolean isIntervalElapsed = System.currentTimeMillis() - firstPendingEventMillis >= FLUSH_INTERVAL_MILLIS;
+    if (flushRequested || isBatchFull || isIntervalElapsed) {
+      try {
+        flusher.flush();
+      } catch (RuntimeException exception) {
+        Timber.e(exception, "Flushing telemetry events failed.");
+      }
+      pendingEventCount = 0;
+      flushRequested = false;
+    }
+  }
+
+  private void waitForTasks() {
+    waiting.set(true);
+    // Tasks queued before the flag was set wouldn't wake this thread up
+    if (tasks.isEmpty()) {
+      if (pendingEventCount > 0) {
+        long flushDelayMillis = firstPendingEventMillis + FLUSH_INTERVAL_MILLIS - System.currentTimeMillis();
+        LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushDelayMillis)));
+      } else {
+        LockSupport.park(this);
+      }
+    }
+    waiting.set(false);
+  }
+
+  interface Flusher {
+    void flush();
+  }
+}
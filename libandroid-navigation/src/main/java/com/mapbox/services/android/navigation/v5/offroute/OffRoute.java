@@ -4,11 +4,43 @@ import android.location.Location;
 
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
 import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
 
+import java.util.Iterator;
+
 public abstract class OffRoute {
 
   public abstract boolean isUserOffRoute(Location location, RouteProgress routeProgress,
                                          MapboxNavigationOptions options,
                                          RingBuffer<Integer> recentDistancesFromManeuverInMeters);
+
+  /**
+   * Called by navigation with each location update. Copies the distances into a {@link RingBuffer},
+   * newest first as {@link RingBuffer#push(Object)} keeps them, for
+   * {@link #isUserOffRoute(Location, RouteProgress, MapboxNavigationOptions, RingBuffer)} and writes
+   * the updated distances back. Override it to check the distances without boxing them.
+   *
+   * @param location                           of the user
+   * @param routeProgress                      along the route
+   * @param options                            of navigation
+   * @param recentDistancesFromManeuverInMeters recent distances, oldest first
+   * @return true if the user is off-route, else false
+   * @since 0.10.0
+   */
+  public boolean isUserOffRoute(Location location, RouteProgress routeProgress,
+                                MapboxNavigationOptions options,
+                                IntRingBuffer recentDistancesFromManeuverInMeters) {
+    RingBuffer<Integer> distances = new RingBuffer<>(recentDistancesFromManeuverInMeters.capacity());
+    for (int i = 0; i < recentDistancesFromManeuverInMeters.size(); i++) {
+      distances.push(recentDistancesFromManeuverInMeters.get(i));
+    }
+    boolean isUserOffRoute = isUserOffRoute(location, routeProgress, options, distances);
+    recentDistancesFromManeuverInMeters.clear();
+    Iterator<Integer> oldestFirst = distances.descendingIterator();
+    while (oldestFirst.hasNext()) {
+      recentDistancesFromManeuverInMeters.push(oldestFirst.next());
+    }
+    return isUserOffRoute;
+  }
 }
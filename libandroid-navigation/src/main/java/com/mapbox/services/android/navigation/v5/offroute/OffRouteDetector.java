@@ -6,11 +6,14 @@ import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
 import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
 import com.mapbox.services.android.navigation.v5.utils.ToleranceUtils;
 import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfMeasurement;
 
+import java.util.Iterator;
+
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.MINIMUM_BACKUP_DISTANCE_FOR_OFF_ROUTE;
 import static com.mapbox.services.android.navigation.v5.utils.MeasurementUtils.userTrueDistanceFromStep;
 
@@ -19,7 +22,9 @@ public class OffRouteDetector extends OffRoute {
   private Point lastReroutePoint;
 
   /**
-   * Detects if the user is off route or not.
+   * Copies the distances into an {@link IntRingBuffer} for
+   * {@link #isUserOffRoute(Location, RouteProgress, MapboxNavigationOptions, IntRingBuffer)} and
+   * writes the updated distances back, newest first as {@link RingBuffer#push(Object)} keeps them.
    *
    * @return true if the users off-route, else false.
    * @since 0.2.0
@@ -28,6 +33,30 @@ public class OffRouteDetector extends OffRoute {
   public boolean isUserOffRoute(Location location, RouteProgress routeProgress,
                                 MapboxNavigationOptions options,
                                 RingBuffer<Integer> recentDistancesFromManeuverInMeters) {
+    // One more slot than needed, so the old buffer decides what to drop when the values come back
+    IntRingBuffer distances = new IntRingBuffer(recentDistancesFromManeuverInMeters.size() + 1);
+    Iterator<Integer> oldestFirst = recentDistancesFromManeuverInMeters.descendingIterator();
+    while (oldestFirst.hasNext()) {
+      distances.push(oldestFirst.next());
+    }
+    boolean isUserOffRoute = isUserOffRoute(location, routeProgress, options, distances);
+    recentDistancesFromManeuverInMeters.clear();
+    for (int i = 0; i < distances.size(); i++) {
+      recentDistancesFromManeuverInMeters.push(distances.get(i));
+    }
+    return isUserOffRoute;
+  }
+
+  /**
+   * Detects if the user is off route or not.
+   *
+   * @return true if the users off-route, else false.
+   * @since 0.10.0
+   */
+  @Override
+  public boolean isUserOffRoute(Location location, RouteProgress routeProgress,
+                                MapboxNavigationOptions options,
+                                IntRingBuffer recentDistancesFromManeuverInMeters) {
 
     if (!validOffRoute(location, options)) {
       return false;
@@ -110,7 +139,7 @@ public class OffRouteDetector extends OffRoute {
   }
 
   private static boolean movingAwayFromManeuver(RouteProgress routeProgress,
-                                                RingBuffer<Integer> recentDistancesFromManeuverInMeters,
+                                                IntRingBuffer recentDistancesFromManeuverInMeters,
                                                 Point futurePosition) {
 
     if (routeProgress.currentLegProgress().upComingStep() == null) {
@@ -122,16 +151,16 @@ public class OffRouteDetector extends OffRoute {
       futurePosition, TurfConstants.UNIT_METERS
     );
 
-    if (!recentDistancesFromManeuverInMeters.isEmpty()
-      && recentDistancesFromManeuverInMeters.peekLast()
-      - recentDistancesFromManeuverInMeters.peekFirst() < MINIMUM_BACKUP_DISTANCE_FOR_OFF_ROUTE
-      && recentDistancesFromManeuverInMeters.size() >= 3) {
+    // Distances are only pushed while growing, so a full buffer always returns here and is never
+    // pushed to. Whether the oldest or the new value would be dropped doesn't change the decision.
+    if (recentDistancesFromManeuverInMeters.size() >= 3
+      && -recentDistancesFromManeuverInMeters.trend() < MINIMUM_BACKUP_DISTANCE_FOR_OFF_ROUTE) {
       // User's moving away from maneuver position, thus offRoute.
       return true;
     }
     if (recentDistancesFromManeuverInMeters.isEmpty()) {
       recentDistancesFromManeuverInMeters.push((int) userDistanceToManeuver);
-    } else if (userDistanceToManeuver > recentDistancesFromManeuverInMeters.peek()) {
+    } else if (userDistanceToManeuver > recentDistancesFromManeuverInMeters.peekLast()) {
       recentDistancesFromManeuverInMeters.push((int) userDistanceToManeuver);
     } else {
       // If we get a descending distance, reset the counter
@@ -3,6 +3,7 @@ package com.mapbox.services.android.navigation.v5.route;
 import android.location.Location;
 
 import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 
 /**
@@ -49,4 +50,31 @@ public abstract class FasterRoute {
    * @return true if the new route is considered faster, false if not
    */
   public abstract boolean isFasterRoute(DirectionsResponse response, RouteProgress routeProgress);
+
+  /**
+   * Same as {@link #isFasterRoute(DirectionsResponse, RouteProgress)}, with the first route of the
+   * response already compared to the current route. This is the method called while navigating,
+   * override it to use the {@link RouteDiff} rather than computing it again. By default, the
+   * {@link RouteDiff} is ignored.
+   *
+   * @param response      provided by {@link RouteEngine}
+   * @param routeProgress current route progress
+   * @param routeDiff     of the first route of the response against the current route
+   * @return true if the new route is considered faster, false if not
+   * @since 0.10.0
+   */
+  public boolean isFasterRoute(DirectionsResponse response, RouteProgress routeProgress, RouteDiff routeDiff) {
+    return isFasterRoute(response, routeProgress);
+  }
+
+  /**
+   * Called when navigation starts and each time a new route is set afterwards, before the first
+   * {@link #shouldCheckFasterRoute(Location, RouteProgress)} of that route. Override it to reset
+   * state kept for the previous route. By default, nothing is done.
+   *
+   * @param directionsRoute the new route being navigated
+   * @since 0.10.0
+   */
+  public void onNewRoute(DirectionsRoute directionsRoute) {
+  }
 }
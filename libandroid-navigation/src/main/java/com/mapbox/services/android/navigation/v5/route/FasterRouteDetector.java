@@ -8,23 +8,61 @@ import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
-import com.mapbox.services.android.navigation.v5.utils.time.TimeUtils;
 
-import java.util.Date;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.NAVIGATION_CHECK_FASTER_ROUTE_INTERVAL;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.NAVIGATION_MEDIUM_ALERT_DURATION;
 
+/**
+ * Default {@link FasterRoute} used by
+ * {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation}.
+ * <p>
+ * Checks are spaced by the faster route check interval defined in
+ * {@link com.mapbox.services.android.navigation.v5.navigation.NavigationConstants}, plus or minus a
+ * random jitter so that devices which started navigating together don't request routes at the
+ * same moment. Each route is limited to a budget of requests, which is only spent on checks for
+ * which a new route can be requested. The budget is renewed when navigation starts and each time a
+ * new route is set.
+ * <p>
+ * A new route is considered faster if it saves at least 10% of the remaining duration and, when
+ * it splits from the current route, the split is far enough ahead to be announced in time.
+ *
+ * @since 0.9.0
+ */
 public class FasterRouteDetector extends FasterRoute {
 
   private static final int VALID_ROUTE_DURATION_REMAINING = 600;
+  private static final int DEFAULT_REQUEST_BUDGET = 30;
+  private static final double CHECK_INTERVAL_JITTER = 0.1;
+  private static final double MINIMUM_TIME_SAVED_FRACTION = 0.1;
 
+  private final Random random = new Random();
+  private final int requestBudget;
   private Location lastCheckedLocation;
+  private long checkIntervalMillis;
+  private int remainingRequests;
+
+  public FasterRouteDetector() {
+    this(DEFAULT_REQUEST_BUDGET);
+  }
+
+  /**
+   * Creates a detector which requests at most the given number of new routes for each route.
+   *
+   * @param requestBudget maximum number of faster route checks for each route navigated
+   * @since 0.10.0
+   */
+  public FasterRouteDetector(int requestBudget) {
+    this.requestBudget = requestBudget;
+    this.remainingRequests = requestBudget;
+    this.checkIntervalMillis = nextCheckIntervalMillis();
+  }
 
   @Override
   public boolean shouldCheckFasterRoute(Location location, RouteProgress routeProgress) {
-    if (location == null || routeProgress == null) {
+    if (location == null || routeProgress == null || remainingRequests <= 0) {
       return false;
     }
     // On first pass through detector, last checked location will be null
@@ -32,18 +70,34 @@ public class FasterRouteDetector extends FasterRoute {
       lastCheckedLocation = location;
     }
     // Check if the faster route time interval has been exceeded
-    if (secondsSinceLastCheck(location) >= NAVIGATION_CHECK_FASTER_ROUTE_INTERVAL) {
+    if (location.getTime() - lastCheckedLocation.getTime() >= checkIntervalMillis) {
       lastCheckedLocation = location;
+      checkIntervalMillis = nextCheckIntervalMillis();
       // Check for both valid route and step durations remaining
-      if (validRouteDurationRemaining(routeProgress) && validStepDurationRemaining(routeProgress)) {
+      if (validRouteDurationRemaining(routeProgress) && validStepDurationRemaining(routeProgress)
+        && canRequestRoute(routeProgress)) {
+        remainingRequests--;
         return true;
       }
     }
     return false;
   }
 
+  @Override
+  public void onNewRoute(DirectionsRoute directionsRoute) {
+    remainingRequests = requestBudget;
+  }
+
   @Override
   public boolean isFasterRoute(DirectionsResponse response, RouteProgress routeProgress) {
+    if (!validRouteResponse(response)) {
+      return false;
+    }
+    return isFasterRoute(response, routeProgress, RouteDiffer.diff(response.routes().get(0), routeProgress));
+  }
+
+  @Override
+  public boolean isFasterRoute(DirectionsResponse response, RouteProgress routeProgress, RouteDiff routeDiff) {
     if (validRouteResponse(response)) {
 
       double currentDurationRemaining = routeProgress.durationRemaining();
@@ -63,13 +117,37 @@ public class FasterRouteDetector extends FasterRoute {
         }
       }
       // New route must be at least 10% faster
-      if (newRoute.duration() <= (0.9 * currentDurationRemaining)) {
-        return true;
+      if (routeDiff.timeSaved() < MINIMUM_TIME_SAVED_FRACTION * currentDurationRemaining) {
+        return false;
       }
+      return validDivergence(routeDiff);
     }
     return false;
   }
 
+  /**
+   * A split from the current route is only valid if it is far enough ahead for the user to be
+   * told about it, otherwise the new route would start with a missed turn.
+   *
+   * @param routeDiff of the new route against the current route
+   * @return true if valid, false if not
+   */
+  private boolean validDivergence(RouteDiff routeDiff) {
+    return routeDiff.divergencePoint() == null
+      || routeDiff.timeToDivergence() > NAVIGATION_MEDIUM_ALERT_DURATION;
+  }
+
+  /**
+   * The {@link RouteEngine} only sends a request if the remaining waypoints of the route are known.
+   *
+   * @param routeProgress current route progress
+   * @return true if a new route can be requested, false if not
+   */
+  private boolean canRequestRoute(RouteProgress routeProgress) {
+    return routeProgress.directionsRoute().routeOptions() != null
+      && RouteEngine.remainingCoordinates(routeProgress) != null;
+  }
+
   private boolean hasLegs(DirectionsRoute newRoute) {
     return newRoute.legs() != null && !newRoute.legs().isEmpty();
   }
@@ -127,7 +205,8 @@ public class FasterRouteDetector extends FasterRoute {
     return currentStepDurationRemaining > NAVIGATION_MEDIUM_ALERT_DURATION;
   }
 
-  private long secondsSinceLastCheck(Location location) {
-    return TimeUtils.dateDiff(new Date(lastCheckedLocation.getTime()), new Date(location.getTime()), TimeUnit.SECONDS);
+  private long nextCheckIntervalMillis() {
+    double jitter = (random.nextDouble() * 2 - 1) * CHECK_INTERVAL_JITTER;
+    return (long) (TimeUnit.SECONDS.toMillis(NAVIGATION_CHECK_FASTER_ROUTE_INTERVAL) * (1 + jitter));
   }
 }
@@ -0,0 +1,19 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+/**
+ * Listener that can be added to monitor faster routes retrieved based on the logic set in
+ * {@link FasterRoute}, along with where they split from the current route and how much they save.
+ *
+ * @since 0.10.0
+ */
+public interface FasterRouteDiffListener {
+
+  /**
+   * Will be fired right after the {@link FasterRouteListener}s have been notified of the same
+   * faster route.
+   *
+   * @param routeDiff of the faster route against the current route
+   * @since 0.10.0
+   */
+  void onFasterRouteDiff(RouteDiff routeDiff);
+}
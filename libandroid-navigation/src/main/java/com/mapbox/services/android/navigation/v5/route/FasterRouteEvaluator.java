@@ -0,0 +1,93 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.BackgroundThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Internal usage only, diffs the first route of a response against the current one and runs
+ * {@link FasterRoute#isFasterRoute(DirectionsResponse, RouteProgress, RouteDiff)} with that diff on
+ * a low priority background thread, so that decoding and comparing route geometries never delays
+ * location updates or the UI. Each route is only diffed once.
+ * <p>
+ * Results are delivered on the main thread. Calling {@link #cancel()} discards the results of all
+ * evaluations which haven't been delivered yet.
+ *
+ * @since 0.10.0
+ */
+public class FasterRouteEvaluator {
+
+  private final Handler resultHandler;
+  private final ExecutorService executor;
+  private final AtomicInteger generation = new AtomicInteger();
+
+  public FasterRouteEvaluator() {
+    this.resultHandler = new Handler(Looper.getMainLooper());
+    this.executor = BackgroundThreadFactory.newSingleThreadExecutor("FasterRouteEvaluator");
+  }
+
+  /**
+   * Evaluates the first route of the response against the given progress.
+   *
+   * @param response      holding the candidate route
+   * @param routeProgress the candidate was requested for
+   * @param fasterRoute   deciding whether the candidate is faster
+   * @param callback      notified on the main thread if the candidate is faster
+   * @since 0.10.0
+   */
+  public void evaluate(@NonNull final DirectionsResponse response, @NonNull final RouteProgress routeProgress,
+                       @NonNull final FasterRoute fasterRoute, @NonNull final Callback callback) {
+    final int evaluationGeneration = generation.get();
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (response.routes().isEmpty()) {
+          return;
+        }
+        final RouteDiff routeDiff = RouteDiffer.diff(response.routes().get(0), routeProgress);
+        if (!fasterRoute.isFasterRoute(response, routeProgress, routeDiff)) {
+          return;
+        }
+        resultHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            if (evaluationGeneration == generation.get()) {
+              callback.onFasterRouteEvaluated(routeDiff, routeProgress);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Discards pending evaluations, for instance once the user went off route and the candidates no
+   * longer apply.
+   *
+   * @since 0.10.0
+   */
+  public void cancel() {
+    generation.incrementAndGet();
+  }
+
+  /**
+   * Cancels pending evaluations and stops the background thread.
+   *
+   * @since 0.10.0
+   */
+  public void shutdown() {
+    cancel();
+    executor.shutdownNow();
+  }
+
+  public interface Callback {
+    void onFasterRouteEvaluated(RouteDiff routeDiff, RouteProgress routeProgress);
+  }
+}
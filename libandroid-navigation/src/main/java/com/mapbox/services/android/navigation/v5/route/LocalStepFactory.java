@@ -0,0 +1,105 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.BannerComponents;
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.api.directions.v5.models.StepManeuver;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.telemetry.utils.MathUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_LEFT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_RIGHT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_SHARP_LEFT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_SHARP_RIGHT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_SLIGHT_LEFT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_SLIGHT_RIGHT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_STRAIGHT;
+
+/**
+ * Builds the maneuver, intersection and instruction objects of {@link com.mapbox.api.directions.v5.models.LegStep}s
+ * which are synthesized on the device rather than returned by the Directions API.
+ * <p>
+ * Instruction lists are returned as new mutable lists since the milestones remove entries from
+ * them once they have been triggered.
+ */
+final class LocalStepFactory {
+
+  static final String DRIVING_MODE = "driving";
+  private static final String BANNER_COMPONENT_TEXT = "text";
+
+  private LocalStepFactory() {
+    // Utils class therefore, shouldn't be initialized.
+  }
+
+  static StepManeuver buildManeuver(Point location, @Nullable Double bearingBefore, double bearingAfter,
+                                    String type, @Nullable String modifier, String instruction) {
+    return StepManeuver.builder()
+      .rawLocation(new double[] {location.longitude(), location.latitude()})
+      .bearingBefore(bearingBefore)
+      .bearingAfter(bearingAfter)
+      .type(type)
+      .modifier(modifier)
+      .instruction(instruction)
+      .build();
+  }
+
+  static List<StepIntersection> buildIntersections(Point location, double bearing) {
+    List<StepIntersection> intersections = new ArrayList<>();
+    intersections.add(StepIntersection.builder()
+      .rawLocation(new double[] {location.longitude(), location.latitude()})
+      .bearings(Collections.singletonList((int) Math.round(MathUtils.wrap(bearing, 0, 360))))
+      .entry(Collections.singletonList(true))
+      .out(0)
+      .build());
+    return intersections;
+  }
+
+  static List<BannerInstructions> buildBannerInstructions(double distanceAlongGeometry, String text,
+                                                          String type, @Nullable String modifier) {
+    BannerComponents component = BannerComponents.builder()
+      .text(text)
+      .type(BANNER_COMPONENT_TEXT)
+      .build();
+    BannerText primary = BannerText.builder()
+      .text(text)
+      .type(type)
+      .modifier(modifier)
+      .components(Collections.singletonList(component))
+      .build();
+    List<BannerInstructions> instructions = new ArrayList<>();
+    instructions.add(BannerInstructions.builder()
+      .distanceAlongGeometry(distanceAlongGeometry)
+      .primary(primary)
+      .build());
+    return instructions;
+  }
+
+  /**
+   * Classifies the turn between two bearings into one of the maneuver modifiers. Positive angles
+   * are clockwise, so they map to right turns.
+   *
+   * @param bearingBefore bearing travelled before the maneuver
+   * @param bearingAfter  bearing travelled after the maneuver
+   * @return one of the maneuver modifiers defined in
+   * {@link com.mapbox.services.android.navigation.v5.navigation.NavigationConstants}
+   */
+  static String obtainModifier(double bearingBefore, double bearingAfter) {
+    double angle = MathUtils.wrap(bearingAfter - bearingBefore, -180, 180);
+    double absoluteAngle = Math.abs(angle);
+    if (absoluteAngle < 15) {
+      return STEP_MANEUVER_MODIFIER_STRAIGHT;
+    } else if (absoluteAngle < 45) {
+      return angle > 0 ? STEP_MANEUVER_MODIFIER_SLIGHT_RIGHT : STEP_MANEUVER_MODIFIER_SLIGHT_LEFT;
+    } else if (absoluteAngle < 135) {
+      return angle > 0 ? STEP_MANEUVER_MODIFIER_RIGHT : STEP_MANEUVER_MODIFIER_LEFT;
+    }
+    return angle > 0 ? STEP_MANEUVER_MODIFIER_SHARP_RIGHT : STEP_MANEUVER_MODIFIER_SHARP_LEFT;
+  }
+}
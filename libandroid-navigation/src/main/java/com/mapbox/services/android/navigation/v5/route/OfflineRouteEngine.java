@@ -0,0 +1,92 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Response;
+import timber.log.Timber;
+
+/**
+ * A {@link RouteEngine} which computes new routes on a local {@link RoadGraph} rather than
+ * requesting them from the Directions API, for use where no network connection is available.
+ * <p>
+ * Routes are computed on a single background thread and delivered to the {@link RouteEngine.Callback}
+ * on the main thread, the same as responses of the Directions API. Requests made while a route is
+ * still being computed are queued.
+ *
+ * @since 0.10.0
+ */
+public class OfflineRouteEngine extends RouteEngine {
+
+  private static final String OK_CODE = "Ok";
+
+  private final RoadGraphRouter router;
+  private final Callback engineCallback;
+  private final Handler responseHandler;
+  private final ExecutorService executor;
+
+  public OfflineRouteEngine(@NonNull RoadGraph graph, @NonNull Callback engineCallback) {
+    super(engineCallback);
+    this.router = new RoadGraphRouter(graph);
+    this.engineCallback = engineCallback;
+    this.responseHandler = new Handler(Looper.getMainLooper());
+    this.executor = Executors.newSingleThreadExecutor();
+  }
+
+  @Override
+  public void fetchRoute(final Point origin, final RouteProgress routeProgress) {
+    if (routeProgress == null) {
+      return;
+    }
+    final List<Point> coordinates = remainingCoordinates(routeProgress);
+    if (coordinates == null) {
+      return;
+    }
+    coordinates.add(0, origin);
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        DirectionsRoute route = router.route(coordinates, routeProgress.directionsRoute());
+        if (route == null) {
+          Timber.d("No offline route found on the road graph.");
+          return;
+        }
+        deliverRoute(route, routeProgress);
+      }
+    });
+  }
+
+  /**
+   * Stops computing routes, queued requests are dropped. The {@link RoadGraph} isn't closed.
+   *
+   * @since 0.10.0
+   */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void deliverRoute(DirectionsRoute route, final RouteProgress routeProgress) {
+    DirectionsResponse directionsResponse = DirectionsResponse.builder()
+      .code(OK_CODE)
+      .routes(Collections.singletonList(route))
+      .build();
+    final Response<DirectionsResponse> response = Response.success(directionsResponse);
+    responseHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        engineCallback.onResponseReceived(response, routeProgress);
+      }
+    });
+  }
+}
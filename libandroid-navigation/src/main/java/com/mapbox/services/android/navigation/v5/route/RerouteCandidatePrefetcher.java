@@ -0,0 +1,322 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.telemetry.utils.MathUtils;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import timber.log.Timber;
+
+/**
+ * Requests recovery routes in the background for the branches of the upcoming decision points,
+ * so that an off-route event at one of these intersections can be resolved without waiting on a
+ * new directions request.
+ * <p>
+ * When the user reaches a new step, every intersection of the upcoming
+ * {@link com.mapbox.api.directions.v5.models.LegStep} is inspected. For each branch the route does
+ * not take, a route is requested from a point slightly down that branch to the remaining waypoints.
+ * At most {@link #MAX_CONCURRENT_REQUESTS} requests are in flight at once and no more than the
+ * configured request budget is spent on each route. The budget is renewed when a new route begins.
+ * <p>
+ * This class is not thread safe and should only be used from the main thread, which is also where
+ * the directions responses are delivered.
+ *
+ * @since 0.10.0
+ */
+public class RerouteCandidatePrefetcher {
+
+  static final int MAX_CONCURRENT_REQUESTS = 2;
+  static final int DEFAULT_REQUEST_BUDGET = 30;
+  private static final int MAX_CACHED_CANDIDATES = 12;
+  private static final int MAX_DECISION_POINTS = 3;
+  private static final double BRANCH_OFFSET_IN_METERS = 25;
+  private static final double MATCHING_RADIUS_IN_METERS = 40;
+  private static final double MATCHING_BEARING_TOLERANCE = 45;
+
+  private final Map<String, RerouteCandidate> candidates;
+  private final Queue<RerouteCandidate> pendingCandidates;
+  private final int requestBudget;
+  private final CandidateRequester requester;
+  private RouteProgress routeProgress;
+  private String currentRouteGeometry;
+  private int currentLegIndex = -1;
+  private int currentStepIndex = -1;
+  private int requestsInFlight;
+  private int requestsSent;
+  private int routeGeneration;
+
+  public RerouteCandidatePrefetcher() {
+    this(DEFAULT_REQUEST_BUDGET);
+  }
+
+  /**
+   * Creates a new prefetcher which sends no more than the given number of requests for each route.
+   *
+   * @param requestBudget maximum number of candidate requests sent for each route
+   * @since 0.10.0
+   */
+  public RerouteCandidatePrefetcher(int requestBudget) {
+    this(requestBudget, new CandidateRequester() {
+      @Override
+      public boolean requestRoute(Point origin, double bearing, RouteProgress routeProgress,
+                                  Callback<DirectionsResponse> callback) {
+        NavigationRoute.Builder builder = RouteEngine.buildRouteRequest(origin, bearing, routeProgress);
+        if (builder == null) {
+          return false;
+        }
+        builder.build().getRoute(callback);
+        return true;
+      }
+    });
+  }
+
+  RerouteCandidatePrefetcher(int requestBudget, CandidateRequester requester) {
+    this.requestBudget = requestBudget;
+    this.requester = requester;
+    candidates = new LinkedHashMap<String, RerouteCandidate>(MAX_CACHED_CANDIDATES, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, RerouteCandidate> eldest) {
+        return size() > MAX_CACHED_CANDIDATES;
+      }
+    };
+    pendingCandidates = new ArrayDeque<>();
+  }
+
+  /**
+   * Should be called with each new {@link RouteProgress}. Candidate requests are only queued when
+   * the user advances to a new step or a new route begins.
+   *
+   * @param routeProgress most recent progress along the route
+   * @since 0.10.0
+   */
+  public void onRouteProgress(@NonNull RouteProgress routeProgress) {
+    this.routeProgress = routeProgress;
+    if (isNewRoute(routeProgress)) {
+      clearCandidates();
+      requestsSent = 0;
+    } else if (!isNewStep(routeProgress)) {
+      return;
+    }
+    currentLegIndex = routeProgress.legIndex();
+    currentStepIndex = routeProgress.currentLegProgress().stepIndex();
+    queueCandidates(routeProgress.currentLegProgress().upComingStep());
+    sendPendingRequests();
+  }
+
+  /**
+   * Looks for a prefetched route which begins on the branch the given location is travelling
+   * along.
+   *
+   * @param location off-route location of the user
+   * @return the matching route, or null if no candidate matches
+   * @since 0.10.0
+   */
+  @Nullable
+  public DirectionsRoute findCandidate(@NonNull Location location) {
+    Point userPoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
+    RerouteCandidate closestCandidate = null;
+    double closestDistance = MATCHING_RADIUS_IN_METERS;
+    for (RerouteCandidate candidate : candidates.values()) {
+      if (candidate.route == null || !matchesBearing(location, candidate.bearing)) {
+        continue;
+      }
+      double distance = TurfMeasurement.distance(userPoint, candidate.origin, TurfConstants.UNIT_METERS);
+      if (distance <= closestDistance) {
+        closestDistance = distance;
+        closestCandidate = candidate;
+      }
+    }
+    return closestCandidate == null ? null : closestCandidate.route;
+  }
+
+  /**
+   * Should be called when navigation starts and each time a new route is set. The next
+   * {@link RouteProgress} begins a new route, with a renewed request budget, even if the route is
+   * the same as before.
+   *
+   * @since 0.10.0
+   */
+  public void onNewRoute() {
+    currentRouteGeometry = null;
+  }
+
+  /**
+   * Drops all prefetched and pending candidates. Responses for requests already in flight are
+   * ignored once they arrive.
+   *
+   * @since 0.10.0
+   */
+  public void clearCandidates() {
+    routeGeneration++;
+    candidates.clear();
+    pendingCandidates.clear();
+    currentLegIndex = -1;
+    currentStepIndex = -1;
+  }
+
+  int requestsSent() {
+    return requestsSent;
+  }
+
+  int pendingRequests() {
+    return pendingCandidates.size();
+  }
+
+  private boolean isNewRoute(RouteProgress routeProgress) {
+    String geometry = routeProgress.directionsRoute().geometry();
+    if (geometry == null || geometry.equals(currentRouteGeometry)) {
+      return false;
+    }
+    currentRouteGeometry = geometry;
+    return true;
+  }
+
+  private boolean isNewStep(RouteProgress routeProgress) {
+    return routeProgress.legIndex() != currentLegIndex
+      || routeProgress.currentLegProgress().stepIndex() != currentStepIndex;
+  }
+
+  private void queueCandidates(@Nullable LegStep upcomingStep) {
+    if (upcomingStep == null || upcomingStep.intersections() == null) {
+      return;
+    }
+    List<StepIntersection> intersections = upcomingStep.intersections();
+    int decisionPoints = Math.min(intersections.size(), MAX_DECISION_POINTS);
+    for (int i = 0; i < decisionPoints; i++) {
+      queueBranches(intersections.get(i));
+    }
+  }
+
+  private void queueBranches(StepIntersection intersection) {
+    List<Integer> bearings = intersection.bearings();
+    List<Boolean> entries = intersection.entry();
+    if (bearings == null || entries == null) {
+      return;
+    }
+    for (int i = 0; i < bearings.size() && i < entries.size(); i++) {
+      boolean isRouteBranch = intersection.out() != null && intersection.out() == i;
+      boolean isApproach = intersection.in() != null && intersection.in() == i;
+      if (!entries.get(i) || isRouteBranch || isApproach) {
+        continue;
+      }
+      String key = buildCandidateKey(intersection.location(), bearings.get(i));
+      if (candidates.containsKey(key)) {
+        continue;
+      }
+      Point origin = TurfMeasurement.destination(intersection.location(), BRANCH_OFFSET_IN_METERS,
+        bearings.get(i), TurfConstants.UNIT_METERS);
+      RerouteCandidate candidate = new RerouteCandidate(key, origin, bearings.get(i), routeGeneration);
+      candidates.put(key, candidate);
+      pendingCandidates.add(candidate);
+    }
+  }
+
+  private void sendPendingRequests() {
+    while (requestsInFlight < MAX_CONCURRENT_REQUESTS && requestsSent < requestBudget
+      && !pendingCandidates.isEmpty() && routeProgress != null) {
+      RerouteCandidate candidate = pendingCandidates.poll();
+      requestsInFlight++;
+      requestsSent++;
+      if (!requester.requestRoute(candidate.origin, candidate.bearing, routeProgress,
+        new CandidateCallback(candidate))) {
+        // No request could be built, the budget isn't spent
+        requestsInFlight--;
+        requestsSent--;
+        candidates.remove(candidate.key);
+      }
+    }
+    if (requestsSent >= requestBudget && !pendingCandidates.isEmpty()) {
+      Timber.d("Reroute candidate request budget exhausted, dropping %d candidates.", pendingCandidates.size());
+      pendingCandidates.clear();
+    }
+  }
+
+  private void onCandidateResponse(RerouteCandidate candidate, @Nullable DirectionsResponse response) {
+    requestsInFlight--;
+    boolean isCurrent = candidate.generation == routeGeneration;
+    if (isCurrent && response != null && !response.routes().isEmpty()) {
+      candidate.route = response.routes().get(0);
+    } else if (isCurrent) {
+      candidates.remove(candidate.key);
+    }
+    sendPendingRequests();
+  }
+
+  private static boolean matchesBearing(Location location, int candidateBearing) {
+    if (!location.hasBearing()) {
+      return true;
+    }
+    double userBearing = MathUtils.wrap(location.getBearing(), 0, 360);
+    return MathUtils.differenceBetweenAngles(userBearing, candidateBearing) <= MATCHING_BEARING_TOLERANCE;
+  }
+
+  private static String buildCandidateKey(Point location, int bearing) {
+    return location.longitude() + "," + location.latitude() + "@" + bearing;
+  }
+
+  /**
+   * Sends the route request of a candidate.
+   */
+  interface CandidateRequester {
+
+    /**
+     * @return true if the request has been sent, false if no request could be built
+     */
+    boolean requestRoute(Point origin, double bearing, RouteProgress routeProgress,
+                         Callback<DirectionsResponse> callback);
+  }
+
+  private static class RerouteCandidate {
+
+    private final String key;
+    private final Point origin;
+    private final int bearing;
+    private final int generation;
+    private DirectionsRoute route;
+
+    RerouteCandidate(String key, Point origin, int bearing, int generation) {
+      this.key = key;
+      this.origin = origin;
+      this.bearing = bearing;
+      this.generation = generation;
+    }
+  }
+
+  private class CandidateCallback implements Callback<DirectionsResponse> {
+
+    private final RerouteCandidate candidate;
+
+    CandidateCallback(RerouteCandidate candidate) {
+      this.candidate = candidate;
+    }
+
+    @Override
+    public void onResponse(@NonNull Call<DirectionsResponse> call, @NonNull Response<DirectionsResponse> response) {
+      onCandidateResponse(candidate, response.isSuccessful() ? response.body() : null);
+    }
+
+    @Override
+    public void onFailure(@NonNull Call<DirectionsResponse> call, @NonNull Throwable throwable) {
+      onCandidateResponse(candidate, null);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+
+/**
+ * Listener that can be added to know when navigation has moved onto a new route by itself after
+ * the user went off-route, with a route prefetched by the {@link RerouteCandidatePrefetcher}. The
+ * off-route listeners aren't notified in this case, as no new route has to be requested.
+ *
+ * @since 0.10.0
+ */
+public interface RerouteListener {
+
+  /**
+   * Will be fired once navigation has started on the new route.
+   *
+   * @param directionsRoute the route navigation continues on
+   * @since 0.10.0
+   */
+  void userRerouted(DirectionsRoute directionsRoute);
+}
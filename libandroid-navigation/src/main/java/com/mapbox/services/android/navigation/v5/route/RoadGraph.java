@@ -0,0 +1,221 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.Point;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Read-only road network used by {@link RoadGraphRouter}, memory mapped from a file written by
+ * {@link RoadGraphWriter}. Only the street names are copied onto the heap, node and edge records
+ * are read directly from the mapped file so that large corridor extracts don't need to be parsed
+ * before routing.
+ * <p>
+ * Edges are stored twice in compressed sparse row layout: grouped by their source node for the
+ * forward search and grouped by their target node for the backward search. The file layout, with
+ * all values being big-endian 32 bit integers unless noted, is:
+ * <ul>
+ * <li>header: magic, version, node count, edge count, name count</li>
+ * <li>nodes: latitude and longitude in micro degrees</li>
+ * <li>forward offsets: node count + 1 indices into the forward edges</li>
+ * <li>forward edges: target node, length in decimeters, speed in km/h, name index</li>
+ * <li>backward offsets: node count + 1 indices into the backward edges</li>
+ * <li>backward edges: source node, length in decimeters, speed in km/h, name index</li>
+ * <li>names: byte length followed by the UTF-8 encoded name</li>
+ * </ul>
+ *
+ * @since 0.10.0
+ */
+public class RoadGraph implements Closeable {
+
+  static final int MAGIC = 0x4D425247;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 5 * 4;
+  static final int NODE_BYTES = 2 * 4;
+  static final int OFFSET_BYTES = 4;
+  static final int EDGE_BYTES = 4 * 4;
+  static final Charset NAME_CHARSET = Charset.forName("UTF-8");
+  private static final double MICRO_DEGREES = 1e6;
+  private static final double DECIMETERS_PER_METER = 10;
+  private static final double KPH_PER_METERS_PER_SECOND = 3.6;
+
+  private final RandomAccessFile file;
+  private final ByteBuffer buffer;
+  private final int nodeCount;
+  private final int edgeCount;
+  private final int forwardOffsetsPosition;
+  private final int forwardEdgesPosition;
+  private final int backwardOffsetsPosition;
+  private final int backwardEdgesPosition;
+  private final String[] names;
+  private final double maximumSpeed;
+
+  private RoadGraph(RandomAccessFile file, ByteBuffer buffer) throws IOException {
+    this.file = file;
+    this.buffer = buffer;
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IOException("Unsupported road graph file.");
+    }
+    nodeCount = buffer.getInt(8);
+    edgeCount = buffer.getInt(12);
+    forwardOffsetsPosition = HEADER_BYTES + nodeCount * NODE_BYTES;
+    forwardEdgesPosition = forwardOffsetsPosition + (nodeCount + 1) * OFFSET_BYTES;
+    backwardOffsetsPosition = forwardEdgesPosition + edgeCount * EDGE_BYTES;
+    backwardEdgesPosition = backwardOffsetsPosition + (nodeCount + 1) * OFFSET_BYTES;
+    names = readNames(buffer, backwardEdgesPosition + edgeCount * EDGE_BYTES, buffer.getInt(16));
+    maximumSpeed = findMaximumSpeed();
+  }
+
+  /**
+   * Maps the given road graph file into memory. The file stays open until {@link #close()} is
+   * called.
+   *
+   * @param graphFile written by {@link RoadGraphWriter}
+   * @return the opened graph
+   * @throws IOException if the file can't be read or isn't a road graph
+   * @since 0.10.0
+   */
+  public static RoadGraph open(@NonNull File graphFile) throws IOException {
+    RandomAccessFile file = new RandomAccessFile(graphFile, "r");
+    try {
+      FileChannel channel = file.getChannel();
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new RoadGraph(file, buffer);
+    } catch (IOException | RuntimeException exception) {
+      file.close();
+      throw exception instanceof IOException ? (IOException) exception
+        : new IOException("Unable to read road graph file.", exception);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    file.close();
+  }
+
+  public int nodeCount() {
+    return nodeCount;
+  }
+
+  public int edgeCount() {
+    return edgeCount;
+  }
+
+  /**
+   * Finds the node closest to the given point with a linear scan over the node records, which is
+   * cheap compared to the route search on corridor sized extracts.
+   *
+   * @param point to snap onto the graph
+   * @return index of the closest node, or -1 if the graph is empty
+   * @since 0.10.0
+   */
+  public int nearestNode(@NonNull Point point) {
+    int latitude = (int) Math.round(point.latitude() * MICRO_DEGREES);
+    int longitude = (int) Math.round(point.longitude() * MICRO_DEGREES);
+    double longitudeScale = Math.cos(Math.toRadians(point.latitude()));
+    int nearestNode = -1;
+    double nearestDistance = Double.MAX_VALUE;
+    for (int node = 0; node < nodeCount; node++) {
+      int position = HEADER_BYTES + node * NODE_BYTES;
+      double deltaLatitude = buffer.getInt(position) - latitude;
+      double deltaLongitude = (buffer.getInt(position + 4) - longitude) * longitudeScale;
+      double distance = deltaLatitude * deltaLatitude + deltaLongitude * deltaLongitude;
+      if (distance < nearestDistance) {
+        nearestDistance = distance;
+        nearestNode = node;
+      }
+    }
+    return nearestNode;
+  }
+
+  Point point(int node) {
+    return Point.fromLngLat(longitude(node), latitude(node));
+  }
+
+  double latitude(int node) {
+    return buffer.getInt(HEADER_BYTES + node * NODE_BYTES) / MICRO_DEGREES;
+  }
+
+  double longitude(int node) {
+    return buffer.getInt(HEADER_BYTES + node * NODE_BYTES + 4) / MICRO_DEGREES;
+  }
+
+  /**
+   * @return fastest speed of any edge in meters per second, used to keep the search heuristic
+   * admissible
+   */
+  double maximumSpeed() {
+    return maximumSpeed;
+  }
+
+  int firstEdge(int node, boolean forward) {
+    return buffer.getInt(offsetsPosition(forward) + node * OFFSET_BYTES);
+  }
+
+  int lastEdge(int node, boolean forward) {
+    return buffer.getInt(offsetsPosition(forward) + (node + 1) * OFFSET_BYTES);
+  }
+
+  /**
+   * @return the target node of a forward edge or the source node of a backward edge
+   */
+  int adjacentNode(int edge, boolean forward) {
+    return buffer.getInt(edgePosition(edge, forward));
+  }
+
+  double length(int edge, boolean forward) {
+    return buffer.getInt(edgePosition(edge, forward) + 4) / DECIMETERS_PER_METER;
+  }
+
+  double duration(int edge, boolean forward) {
+    int position = edgePosition(edge, forward);
+    double length = buffer.getInt(position + 4) / DECIMETERS_PER_METER;
+    return length / (buffer.getInt(position + 8) / KPH_PER_METERS_PER_SECOND);
+  }
+
+  String name(int edge, boolean forward) {
+    int nameIndex = buffer.getInt(edgePosition(edge, forward) + 12);
+    return nameIndex < 0 || nameIndex >= names.length ? "" : names[nameIndex];
+  }
+
+  private int offsetsPosition(boolean forward) {
+    return forward ? forwardOffsetsPosition : backwardOffsetsPosition;
+  }
+
+  private int edgePosition(int edge, boolean forward) {
+    return (forward ? forwardEdgesPosition : backwardEdgesPosition) + edge * EDGE_BYTES;
+  }
+
+  private double findMaximumSpeed() throws IOException {
+    int maximumSpeedKph = 0;
+    for (int edge = 0; edge < edgeCount; edge++) {
+      int speedKph = buffer.getInt(edgePosition(edge, true) + 8);
+      if (speedKph <= 0) {
+        throw new IOException("Road graph contains an edge without speed.");
+      }
+      maximumSpeedKph = Math.max(maximumSpeedKph, speedKph);
+    }
+    return maximumSpeedKph / KPH_PER_METERS_PER_SECOND;
+  }
+
+  private static String[] readNames(ByteBuffer buffer, int position, int nameCount) {
+    String[] names = new String[nameCount];
+    for (int i = 0; i < nameCount; i++) {
+      int length = buffer.getInt(position);
+      byte[] bytes = new byte[length];
+      for (int j = 0; j < length; j++) {
+        bytes[j] = buffer.get(position + 4 + j);
+      }
+      names[i] = new String(bytes, NAME_CHARSET);
+      position += 4 + length;
+    }
+    return names;
+  }
+}
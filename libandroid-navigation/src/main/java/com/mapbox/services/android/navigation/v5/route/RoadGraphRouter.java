@@ -0,0 +1,491 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.api.directions.v5.models.VoiceInstructions;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_STRAIGHT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_ARRIVE;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_DEPART;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_NEW_NAME;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_TURN;
+
+/**
+ * Computes routes on a {@link RoadGraph} without a network connection, minimizing travel time with
+ * a bidirectional A* search.
+ * <p>
+ * Both searches use the average of the forward and backward straight-line potentials, which keeps
+ * the reduced edge costs of both directions consistent so the search can stop as soon as the sum of
+ * the smallest keys of both queues exceeds the best path found. The per-node search state is kept
+ * in arrays which are reused between queries, invalidated by a query counter instead of being
+ * cleared.
+ * <p>
+ * The resulting {@link DirectionsRoute} has a step for every change of street name, with
+ * synthesized maneuvers, so it can be navigated like a route returned by the Directions API. No
+ * instruction text is synthesized, since it couldn't follow the language of the route: maneuvers
+ * only carry the street name, banner instructions show the upcoming street name and there are no
+ * voice instructions. This class isn't thread safe, queries should be run from a single thread.
+ *
+ * @since 0.10.0
+ */
+public class RoadGraphRouter {
+
+  private static final double EARTH_RADIUS_IN_METERS = 6373000d;
+
+  private final RoadGraph graph;
+  private final double[] forwardDurations;
+  private final double[] backwardDurations;
+  private final int[] forwardParentEdges;
+  private final int[] backwardParentEdges;
+  private final int[] forwardParents;
+  private final int[] backwardParents;
+  private final int[] forwardStamps;
+  private final int[] backwardStamps;
+  private final int[] forwardSettled;
+  private final int[] backwardSettled;
+  private final double[] potentials;
+  private final int[] potentialStamps;
+  private final NodeHeap forwardHeap = new NodeHeap();
+  private final NodeHeap backwardHeap = new NodeHeap();
+  private int query;
+  private int settledNodes;
+
+  public RoadGraphRouter(@NonNull RoadGraph graph) {
+    this.graph = graph;
+    int nodeCount = graph.nodeCount();
+    forwardDurations = new double[nodeCount];
+    backwardDurations = new double[nodeCount];
+    forwardParentEdges = new int[nodeCount];
+    backwardParentEdges = new int[nodeCount];
+    forwardParents = new int[nodeCount];
+    backwardParents = new int[nodeCount];
+    forwardStamps = new int[nodeCount];
+    backwardStamps = new int[nodeCount];
+    forwardSettled = new int[nodeCount];
+    backwardSettled = new int[nodeCount];
+    potentials = new double[nodeCount];
+    potentialStamps = new int[nodeCount];
+  }
+
+  /**
+   * Routes through the given coordinates in order, creating a leg between each consecutive pair.
+   * Each coordinate is snapped onto the closest node of the graph.
+   *
+   * @param coordinates origin, waypoints and destination, at least two
+   * @param template    optional route whose options are copied onto the result, with the given
+   *                    coordinates
+   * @return the route, or null if a leg can't be routed on the graph
+   * @since 0.10.0
+   */
+  @Nullable
+  public DirectionsRoute route(@NonNull List<Point> coordinates, @Nullable DirectionsRoute template) {
+    if (coordinates.size() < 2) {
+      return null;
+    }
+    List<RouteLeg> legs = new ArrayList<>();
+    List<Point> routeCoordinates = new ArrayList<>();
+    double distance = 0;
+    double duration = 0;
+    for (int i = 0; i < coordinates.size() - 1; i++) {
+      RoutePath path = findPath(graph.nearestNode(coordinates.get(i)), graph.nearestNode(coordinates.get(i + 1)));
+      if (path == null) {
+        return null;
+      }
+      RouteLeg leg = buildLeg(path, coordinates.get(i), coordinates.get(i + 1), routeCoordinates);
+      legs.add(leg);
+      distance += leg.distance();
+      duration += leg.duration();
+    }
+    DirectionsRoute.Builder builder = DirectionsRoute.builder();
+    if (template != null) {
+      builder = template.toBuilder();
+      if (template.routeOptions() != null) {
+        builder.routeOptions(template.routeOptions().toBuilder()
+          .coordinates(new ArrayList<>(coordinates))
+          .build());
+      }
+    }
+    return builder
+      .geometry(PolylineUtils.encode(routeCoordinates, PRECISION_6))
+      .distance(distance)
+      .duration(duration)
+      .weight(duration)
+      .legs(legs)
+      .build();
+  }
+
+  /**
+   * @return number of nodes settled by both searches of the last query
+   */
+  int settledNodes() {
+    return settledNodes;
+  }
+
+  @Nullable
+  RoutePath findPath(int origin, int destination) {
+    if (origin < 0 || destination < 0) {
+      return null;
+    }
+    startQuery(origin, destination);
+    double bestDuration = origin == destination ? 0 : Double.MAX_VALUE;
+    int meetingNode = origin == destination ? origin : -1;
+    while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()
+      && forwardHeap.peekKey() + backwardHeap.peekKey() < bestDuration) {
+      boolean forward = forwardHeap.size() <= backwardHeap.size();
+      int node = forward ? forwardHeap.pop() : backwardHeap.pop();
+      int[] settled = forward ? forwardSettled : backwardSettled;
+      if (settled[node] == query) {
+        continue;
+      }
+      settled[node] = query;
+      settledNodes++;
+      int candidate = relaxEdges(node, forward, origin, destination, bestDuration);
+      if (candidate >= 0) {
+        bestDuration = forwardDurations[candidate] + backwardDurations[candidate];
+        meetingNode = candidate;
+      }
+    }
+    return meetingNode < 0 ? null : buildPath(meetingNode, origin, destination);
+  }
+
+  private void startQuery(int origin, int destination) {
+    query++;
+    settledNodes = 0;
+    forwardHeap.clear();
+    backwardHeap.clear();
+    forwardStamps[origin] = query;
+    forwardDurations[origin] = 0;
+    forwardParents[origin] = -1;
+    forwardHeap.push(origin, potential(origin, origin, destination));
+    backwardStamps[destination] = query;
+    backwardDurations[destination] = 0;
+    backwardParents[destination] = -1;
+    backwardHeap.push(destination, -potential(destination, origin, destination));
+  }
+
+  /**
+   * Relaxes the edges of a settled node and returns the node through which a path shorter than
+   * the given duration was found, or -1.
+   */
+  private int relaxEdges(int node, boolean forward, int origin, int destination, double bestDuration) {
+    double[] durations = forward ? forwardDurations : backwardDurations;
+    int[] parentEdges = forward ? forwardParentEdges : backwardParentEdges;
+    int[] parents = forward ? forwardParents : backwardParents;
+    int[] stamps = forward ? forwardStamps : backwardStamps;
+    double[] oppositeDurations = forward ? backwardDurations : forwardDurations;
+    int[] oppositeStamps = forward ? backwardStamps : forwardStamps;
+    NodeHeap heap = forward ? forwardHeap : backwardHeap;
+
+    int meetingNode = -1;
+    int lastEdge = graph.lastEdge(node, forward);
+    for (int edge = graph.firstEdge(node, forward); edge < lastEdge; edge++) {
+      int adjacentNode = graph.adjacentNode(edge, forward);
+      double duration = durations[node] + graph.duration(edge, forward);
+      if (stamps[adjacentNode] == query && duration >= durations[adjacentNode]) {
+        continue;
+      }
+      stamps[adjacentNode] = query;
+      durations[adjacentNode] = duration;
+      parentEdges[adjacentNode] = edge;
+      parents[adjacentNode] = node;
+      double potential = potential(adjacentNode, origin, destination);
+      heap.push(adjacentNode, duration + (forward ? potential : -potential));
+      if (oppositeStamps[adjacentNode] == query && duration + oppositeDurations[adjacentNode] < bestDuration) {
+        bestDuration = duration + oppositeDurations[adjacentNode];
+        meetingNode = adjacentNode;
+      }
+    }
+    return meetingNode;
+  }
+
+  /**
+   * Average of the forward and backward potentials, half the difference between the lower bounds
+   * of the travel time to the destination and from the origin.
+   */
+  private double potential(int node, int origin, int destination) {
+    if (potentialStamps[node] != query) {
+      double toDestination = distance(node, destination) / graph.maximumSpeed();
+      double fromOrigin = distance(origin, node) / graph.maximumSpeed();
+      potentials[node] = (toDestination - fromOrigin) / 2;
+      potentialStamps[node] = query;
+    }
+    return potentials[node];
+  }
+
+  private double distance(int from, int to) {
+    double fromLatitude = Math.toRadians(graph.latitude(from));
+    double toLatitude = Math.toRadians(graph.latitude(to));
+    double deltaLatitude = toLatitude - fromLatitude;
+    double deltaLongitude = Math.toRadians(graph.longitude(to) - graph.longitude(from));
+    double value = Math.pow(Math.sin(deltaLatitude / 2), 2)
+      + Math.pow(Math.sin(deltaLongitude / 2), 2) * Math.cos(fromLatitude) * Math.cos(toLatitude);
+    return 2 * EARTH_RADIUS_IN_METERS * Math.atan2(Math.sqrt(value), Math.sqrt(1 - value));
+  }
+
+  private RoutePath buildPath(int meetingNode, int origin, int destination) {
+    List<Integer> forwardNodes = new ArrayList<>();
+    for (int node = meetingNode; node != origin; node = forwardParents[node]) {
+      forwardNodes.add(node);
+    }
+    RoutePath path = new RoutePath(origin);
+    for (int i = forwardNodes.size() - 1; i >= 0; i--) {
+      int node = forwardNodes.get(i);
+      path.addSegment(graph, node, forwardParentEdges[node], true);
+    }
+    for (int node = meetingNode; node != destination; node = backwardParents[node]) {
+      path.addSegment(graph, backwardParents[node], backwardParentEdges[node], false);
+    }
+    return path;
+  }
+
+  private RouteLeg buildLeg(RoutePath path, Point origin, Point destination, List<Point> routeCoordinates) {
+    List<LegStep> steps = new ArrayList<>();
+    int stepStart = 0;
+    for (int segment = 1; segment <= path.segmentCount(); segment++) {
+      boolean isLastSegment = segment == path.segmentCount();
+      if (isLastSegment || !path.names.get(segment).equals(path.names.get(stepStart))) {
+        steps.add(buildStep(path, stepStart, segment, steps.isEmpty() ? origin : null,
+          isLastSegment ? destination : null));
+        stepStart = segment;
+      }
+    }
+    if (steps.isEmpty()) {
+      steps.add(buildStep(path, 0, 0, origin, destination));
+    }
+    steps.add(buildArriveStep(destination));
+    addUpcomingInstructions(steps);
+
+    double distance = 0;
+    double duration = 0;
+    for (LegStep step : steps) {
+      distance += step.distance();
+      duration += step.duration();
+      routeCoordinates.addAll(PolylineUtils.decode(step.geometry(), PRECISION_6));
+    }
+    return RouteLeg.builder()
+      .distance(distance)
+      .duration(duration)
+      .summary(path.names.isEmpty() ? "" : path.names.get(0))
+      .steps(steps)
+      .build();
+  }
+
+  /**
+   * Builds the step covering the segments from the start index up to, but excluding, the end
+   * index. The first step begins at the origin and the last step ends at the destination, both
+   * connected to the closest node with a straight line. Instructions are added once the following
+   * step is known.
+   */
+  private LegStep buildStep(RoutePath path, int startSegment, int endSegment, @Nullable Point origin,
+                            @Nullable Point destination) {
+    boolean isDepart = origin != null;
+    List<Point> coordinates = new ArrayList<>();
+    if (isDepart) {
+      coordinates.add(origin);
+    }
+    double distance = 0;
+    double duration = 0;
+    for (int segment = startSegment; segment < endSegment; segment++) {
+      coordinates.add(graph.point(path.nodes.get(segment)));
+      distance += path.lengths.get(segment);
+      duration += path.durations.get(segment);
+    }
+    coordinates.add(graph.point(path.nodes.get(endSegment)));
+    if (destination != null) {
+      coordinates.add(destination);
+    }
+    distance += connectorLength(coordinates, isDepart, destination != null);
+
+    Point maneuverPoint = coordinates.get(0);
+    double bearingAfter = TurfMeasurement.bearing(maneuverPoint, coordinates.get(1));
+    String name = path.segmentCount() == 0 ? "" : path.names.get(Math.min(startSegment, path.segmentCount() - 1));
+    String type;
+    String modifier = null;
+    Double bearingBefore = null;
+    if (isDepart) {
+      type = STEP_MANEUVER_TYPE_DEPART;
+    } else {
+      bearingBefore = TurfMeasurement.bearing(graph.point(path.nodes.get(startSegment - 1)), maneuverPoint);
+      modifier = LocalStepFactory.obtainModifier(bearingBefore, bearingAfter);
+      type = STEP_MANEUVER_MODIFIER_STRAIGHT.equals(modifier) ? STEP_MANEUVER_TYPE_NEW_NAME : STEP_MANEUVER_TYPE_TURN;
+    }
+    return LegStep.builder()
+      .geometry(PolylineUtils.encode(coordinates, PRECISION_6))
+      .name(name)
+      .mode(LocalStepFactory.DRIVING_MODE)
+      .distance(distance)
+      .duration(duration)
+      .weight(duration)
+      .maneuver(LocalStepFactory.buildManeuver(maneuverPoint, bearingBefore, bearingAfter, type, modifier, name))
+      .intersections(LocalStepFactory.buildIntersections(maneuverPoint, bearingAfter))
+      .build();
+  }
+
+  private static double connectorLength(List<Point> coordinates, boolean hasOrigin, boolean hasDestination) {
+    double length = 0;
+    if (hasOrigin) {
+      length += TurfMeasurement.distance(coordinates.get(0), coordinates.get(1), TurfConstants.UNIT_METERS);
+    }
+    if (hasDestination) {
+      int last = coordinates.size() - 1;
+      length += TurfMeasurement.distance(coordinates.get(last - 1), coordinates.get(last), TurfConstants.UNIT_METERS);
+    }
+    return length;
+  }
+
+  private static LegStep buildArriveStep(Point destination) {
+    return LegStep.builder()
+      .geometry(PolylineUtils.encode(Arrays.asList(destination, destination), PRECISION_6))
+      .name("")
+      .mode(LocalStepFactory.DRIVING_MODE)
+      .distance(0)
+      .duration(0)
+      .weight(0)
+      .maneuver(LocalStepFactory.buildManeuver(destination, null, 0, STEP_MANEUVER_TYPE_ARRIVE, null, ""))
+      .intersections(LocalStepFactory.buildIntersections(destination, 0))
+      .voiceInstructions(new ArrayList<VoiceInstructions>())
+      .bannerInstructions(new ArrayList<BannerInstructions>())
+      .build();
+  }
+
+  /**
+   * Each step shows the maneuver of the step following it and its street name, from the beginning
+   * of the step. Steps followed by a maneuver without a street name get no banner.
+   */
+  private static void addUpcomingInstructions(List<LegStep> steps) {
+    for (int i = 0; i < steps.size() - 1; i++) {
+      LegStep step = steps.get(i);
+      LegStep upcomingStep = steps.get(i + 1);
+      String streetName = upcomingStep.name();
+      List<BannerInstructions> bannerInstructions = new ArrayList<>();
+      if (streetName != null && !streetName.isEmpty()) {
+        bannerInstructions = LocalStepFactory.buildBannerInstructions(step.distance(), streetName,
+          upcomingStep.maneuver().type(), upcomingStep.maneuver().modifier());
+      }
+      steps.set(i, step.toBuilder()
+        .voiceInstructions(new ArrayList<VoiceInstructions>())
+        .bannerInstructions(bannerInstructions)
+        .build());
+    }
+  }
+
+  /**
+   * Nodes along a path with the length, duration and street name of the segments between them.
+   */
+  static class RoutePath {
+
+    final List<Integer> nodes = new ArrayList<>();
+    final List<Double> lengths = new ArrayList<>();
+    final List<Double> durations = new ArrayList<>();
+    final List<String> names = new ArrayList<>();
+
+    RoutePath(int origin) {
+      nodes.add(origin);
+    }
+
+    int segmentCount() {
+      return lengths.size();
+    }
+
+    double duration() {
+      double duration = 0;
+      for (double segmentDuration : durations) {
+        duration += segmentDuration;
+      }
+      return duration;
+    }
+
+    private void addSegment(RoadGraph graph, int node, int edge, boolean forward) {
+      nodes.add(node);
+      lengths.add(graph.length(edge, forward));
+      durations.add(graph.duration(edge, forward));
+      names.add(graph.name(edge, forward));
+    }
+  }
+
+  /**
+   * Binary min-heap of nodes keyed by their search key. Nodes are pushed again when their key
+   * decreases, outdated entries are skipped once the node has been settled.
+   */
+  private static class NodeHeap {
+
+    private int[] nodes = new int[64];
+    private double[] keys = new double[64];
+    private int size;
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    int size() {
+      return size;
+    }
+
+    void clear() {
+      size = 0;
+    }
+
+    double peekKey() {
+      return keys[0];
+    }
+
+    void push(int node, double key) {
+      if (size == nodes.length) {
+        nodes = Arrays.copyOf(nodes, size * 2);
+        keys = Arrays.copyOf(keys, size * 2);
+      }
+      int index = size++;
+      while (index > 0) {
+        int parent = (index - 1) >>> 1;
+        if (keys[parent] <= key) {
+          break;
+        }
+        nodes[index] = nodes[parent];
+        keys[index] = keys[parent];
+        index = parent;
+      }
+      nodes[index] = node;
+      keys[index] = key;
+    }
+
+    int pop() {
+      int top = nodes[0];
+      size--;
+      int lastNode = nodes[size];
+      double lastKey = keys[size];
+      int index = 0;
+      while (true) {
+        int child = 2 * index + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && keys[child + 1] < keys[child]) {
+          child++;
+        }
+        if (keys[child] >= lastKey) {
+          break;
+        }
+        nodes[index] = nodes[child];
+        keys[index] = keys[child];
+        index = child;
+      }
+      nodes[index] = lastNode;
+      keys[index] = lastKey;
+      return top;
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a road graph file which can be opened with {@link RoadGraph#open(File)}. Usually used to
+ * convert an extract of the road network around a route ahead of time, but small enough to build
+ * graphs on the device as well.
+ *
+ * @since 0.10.0
+ */
+public class RoadGraphWriter {
+
+  private static final double MICRO_DEGREES = 1e6;
+  private static final double DECIMETERS_PER_METER = 10;
+
+  private final List<Point> nodes = new ArrayList<>();
+  private final List<int[]> edges = new ArrayList<>();
+  private final List<String> names = new ArrayList<>();
+  private final Map<String, Integer> nameIndices = new HashMap<>();
+
+  /**
+   * Adds a node to the graph.
+   *
+   * @param point position of the node
+   * @return index of the node, used when adding edges
+   * @since 0.10.0
+   */
+  public int addNode(@NonNull Point point) {
+    nodes.add(point);
+    return nodes.size() - 1;
+  }
+
+  /**
+   * Adds a one-way edge between two previously added nodes. The length of the edge is the
+   * distance between the nodes.
+   *
+   * @param source   node the edge starts at
+   * @param target   node the edge ends at
+   * @param speedKph travel speed along the edge
+   * @param name     street name of the edge
+   * @since 0.10.0
+   */
+  public void addEdge(int source, int target, int speedKph, @Nullable String name) {
+    if (speedKph <= 0) {
+      throw new IllegalArgumentException("Edges require a positive speed.");
+    }
+    double length = TurfMeasurement.distance(nodes.get(source), nodes.get(target), TurfConstants.UNIT_METERS);
+    // Rounded up so the straight-line search heuristic never overestimates the remaining cost
+    int lengthDecimeters = (int) Math.ceil(length * DECIMETERS_PER_METER);
+    edges.add(new int[] {source, target, lengthDecimeters, speedKph, obtainNameIndex(name)});
+  }
+
+  /**
+   * Adds an edge in both directions between two previously added nodes.
+   *
+   * @param first    node at one end of the road
+   * @param second   node at the other end of the road
+   * @param speedKph travel speed along the road
+   * @param name     street name of the road
+   * @since 0.10.0
+   */
+  public void addRoad(int first, int second, int speedKph, @Nullable String name) {
+    addEdge(first, second, speedKph, name);
+    addEdge(second, first, speedKph, name);
+  }
+
+  /**
+   * Writes the nodes and edges added so far to the given file, replacing its contents.
+   *
+   * @param file to write the graph to
+   * @throws IOException if the file can't be written
+   * @since 0.10.0
+   */
+  public void write(@NonNull File file) throws IOException {
+    DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    try {
+      output.writeInt(RoadGraph.MAGIC);
+      output.writeInt(RoadGraph.VERSION);
+      output.writeInt(nodes.size());
+      output.writeInt(edges.size());
+      output.writeInt(names.size());
+      for (Point node : nodes) {
+        output.writeInt((int) Math.round(node.latitude() * MICRO_DEGREES));
+        output.writeInt((int) Math.round(node.longitude() * MICRO_DEGREES));
+      }
+      writeEdges(output, 0, 1);
+      writeEdges(output, 1, 0);
+      for (String name : names) {
+        byte[] bytes = name.getBytes(RoadGraph.NAME_CHARSET);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+      }
+    } finally {
+      output.close();
+    }
+  }
+
+  /**
+   * Writes the offsets and records of all edges grouped by the node at the given field, with a
+   * counting sort so that edges of the same node keep their insertion order.
+   */
+  private void writeEdges(DataOutputStream output, int groupField, int adjacentField) throws IOException {
+    int[] offsets = new int[nodes.size() + 1];
+    for (int[] edge : edges) {
+      offsets[edge[groupField] + 1]++;
+    }
+    for (int node = 0; node < nodes.size(); node++) {
+      offsets[node + 1] += offsets[node];
+    }
+    int[][] sortedEdges = new int[edges.size()][];
+    int[] nextPositions = offsets.clone();
+    for (int[] edge : edges) {
+      sortedEdges[nextPositions[edge[groupField]]++] = edge;
+    }
+    for (int offset : offsets) {
+      output.writeInt(offset);
+    }
+    for (int[] edge : sortedEdges) {
+      output.writeInt(edge[adjacentField]);
+      output.writeInt(edge[2]);
+      output.writeInt(edge[3]);
+      output.writeInt(edge[4]);
+    }
+  }
+
+  private int obtainNameIndex(@Nullable String name) {
+    String streetName = name == null ? "" : name;
+    Integer index = nameIndices.get(streetName);
+    if (index == null) {
+      index = names.size();
+      names.add(streetName);
+      nameIndices.put(streetName, index);
+    }
+    return index;
+  }
+}
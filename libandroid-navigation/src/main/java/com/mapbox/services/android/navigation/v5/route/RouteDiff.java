@@ -0,0 +1,70 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.Nullable;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+
+/**
+ * Describes how a candidate {@link DirectionsRoute} differs from the remainder of the route being
+ * navigated: where the two routes split and how much time and distance the candidate saves.
+ *
+ * @since 0.10.0
+ */
+@AutoValue
+public abstract class RouteDiff {
+
+  static RouteDiff create(DirectionsRoute route, @Nullable Point divergencePoint, double distanceToDivergence,
+                          double timeToDivergence, double timeSaved, double distanceDelta) {
+    return new AutoValue_RouteDiff(route, divergencePoint, distanceToDivergence, timeToDivergence, timeSaved,
+      distanceDelta);
+  }
+
+  /**
+   * @return the candidate route
+   * @since 0.10.0
+   */
+  public abstract DirectionsRoute route();
+
+  /**
+   * The last point the candidate shares with the current route, where the user would have to
+   * leave the current route to follow the candidate.
+   *
+   * @return the split point, or null if the candidate follows the current route to the destination
+   * or either route is missing its geometry
+   * @since 0.10.0
+   */
+  @Nullable
+  public abstract Point divergencePoint();
+
+  /**
+   * @return meters along the candidate from its origin to the divergence point, or the length of
+   * the candidate if the routes don't split
+   * @since 0.10.0
+   */
+  public abstract double distanceToDivergence();
+
+  /**
+   * Estimated from the duration annotations of the candidate when they were requested, otherwise
+   * from its average speed.
+   *
+   * @return seconds from the origin of the candidate to the divergence point
+   * @since 0.10.0
+   */
+  public abstract double timeToDivergence();
+
+  /**
+   * @return seconds the candidate is faster than the remainder of the current route, negative if it
+   * is slower
+   * @since 0.10.0
+   */
+  public abstract double timeSaved();
+
+  /**
+   * @return meters the candidate is longer than the remainder of the current route, negative if it
+   * is shorter
+   * @since 0.10.0
+   */
+  public abstract double distanceDelta();
+}
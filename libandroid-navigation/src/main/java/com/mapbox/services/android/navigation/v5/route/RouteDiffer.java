@@ -0,0 +1,151 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+
+/**
+ * Compares a candidate route against the remainder of the route being navigated.
+ * <p>
+ * Both geometries are walked once in parallel: every coordinate of the candidate is matched to a
+ * segment of the current route at or shortly after the previously matched segment. The first
+ * coordinate which can't be matched within {@link #MATCHING_TOLERANCE_IN_METERS} marks the split.
+ * Distances use an equirectangular approximation, which is accurate enough at segment scale.
+ */
+final class RouteDiffer {
+
+  private static final double MATCHING_TOLERANCE_IN_METERS = 15;
+  private static final double METERS_PER_DEGREE = 111320d;
+
+  private RouteDiffer() {
+    // Utils class therefore, shouldn't be initialized.
+  }
+
+  /**
+   * Diffs the candidate against the remainder of the current route. If either route is missing its
+   * geometry, the diff only holds the time and distance deltas and no divergence point.
+   */
+  static RouteDiff diff(DirectionsRoute candidate, RouteProgress routeProgress) {
+    double candidateDistance = candidate.distance() == null ? 0 : candidate.distance();
+    double candidateDuration = candidate.duration() == null ? 0 : candidate.duration();
+    double timeSaved = routeProgress.durationRemaining() - candidateDuration;
+    double distanceDelta = candidateDistance - routeProgress.distanceRemaining();
+
+    String currentGeometry = routeProgress.directionsRoute().geometry();
+    if (candidate.geometry() == null || currentGeometry == null) {
+      return RouteDiff.create(candidate, null, candidateDistance, candidateDuration, timeSaved, distanceDelta);
+    }
+    List<Point> current = PolylineUtils.decode(currentGeometry, PRECISION_6);
+    List<Point> candidateCoordinates = PolylineUtils.decode(candidate.geometry(), PRECISION_6);
+    if (current.size() < 2 || candidateCoordinates.isEmpty()) {
+      return RouteDiff.create(candidate, null, candidateDistance, candidateDuration, timeSaved, distanceDelta);
+    }
+
+    int cursor = nearestSegment(current, candidateCoordinates.get(0));
+    int divergenceIndex = -1;
+    double distanceToDivergence = 0;
+    for (int i = 1; i < candidateCoordinates.size(); i++) {
+      Point previous = candidateCoordinates.get(i - 1);
+      Point point = candidateCoordinates.get(i);
+      double segmentLength = distance(previous, point);
+      int segment = matchSegment(current, cursor, point, segmentLength + 2 * MATCHING_TOLERANCE_IN_METERS);
+      if (segment < 0) {
+        divergenceIndex = i - 1;
+        break;
+      }
+      cursor = segment;
+      distanceToDivergence += segmentLength;
+    }
+
+    Point divergencePoint = divergenceIndex < 0 ? null : candidateCoordinates.get(divergenceIndex);
+    double timeToDivergence = divergenceIndex < 0 ? candidateDuration
+      : timeToCoordinate(candidate, divergenceIndex, distanceToDivergence);
+    return RouteDiff.create(candidate, divergencePoint, distanceToDivergence, timeToDivergence, timeSaved,
+      distanceDelta);
+  }
+
+  /**
+   * Sums the duration annotations of the first leg up to the given coordinate. Falls back to the
+   * average speed of the route when annotations weren't requested or the coordinate lies beyond
+   * the first leg.
+   */
+  private static double timeToCoordinate(DirectionsRoute candidate, int coordinateIndex, double distance) {
+    List<RouteLeg> legs = candidate.legs();
+    LegAnnotation annotation = legs == null || legs.isEmpty() ? null : legs.get(0).annotation();
+    List<Double> durations = annotation == null ? null : annotation.duration();
+    if (durations != null && coordinateIndex <= durations.size()) {
+      double time = 0;
+      for (int i = 0; i < coordinateIndex; i++) {
+        time += durations.get(i);
+      }
+      return time;
+    }
+    double candidateDistance = candidate.distance() == null ? 0 : candidate.distance();
+    double candidateDuration = candidate.duration() == null ? 0 : candidate.duration();
+    return candidateDistance > 0 ? candidateDuration * distance / candidateDistance : 0;
+  }
+
+  private static int nearestSegment(List<Point> coordinates, Point point) {
+    int nearestSegment = 0;
+    double nearestDistance = Double.MAX_VALUE;
+    for (int i = 0; i < coordinates.size() - 1; i++) {
+      double distance = distanceToSegment(point, coordinates.get(i), coordinates.get(i + 1));
+      if (distance < nearestDistance) {
+        nearestDistance = distance;
+        nearestSegment = i;
+      }
+    }
+    return nearestSegment;
+  }
+
+  /**
+   * Looks for a segment within the matching tolerance of the point, starting at the given segment
+   * and giving up once the segments are further along than the candidate could have advanced.
+   */
+  private static int matchSegment(List<Point> coordinates, int fromSegment, Point point, double maximumAdvance) {
+    double advanced = 0;
+    for (int i = fromSegment; i < coordinates.size() - 1; i++) {
+      Point start = coordinates.get(i);
+      Point end = coordinates.get(i + 1);
+      if (distanceToSegment(point, start, end) <= MATCHING_TOLERANCE_IN_METERS) {
+        return i;
+      }
+      // The point may lie anywhere on the segment matched last, so only count the segments after it
+      if (i > fromSegment) {
+        advanced += distance(start, end);
+      }
+      if (advanced > maximumAdvance) {
+        break;
+      }
+    }
+    return -1;
+  }
+
+  private static double distanceToSegment(Point point, Point start, Point end) {
+    double longitudeScale = Math.cos(Math.toRadians(point.latitude())) * METERS_PER_DEGREE;
+    double segmentX = (end.longitude() - start.longitude()) * longitudeScale;
+    double segmentY = (end.latitude() - start.latitude()) * METERS_PER_DEGREE;
+    double pointX = (point.longitude() - start.longitude()) * longitudeScale;
+    double pointY = (point.latitude() - start.latitude()) * METERS_PER_DEGREE;
+    double lengthSquared = segmentX * segmentX + segmentY * segmentY;
+    double fraction = lengthSquared == 0 ? 0 : (pointX * segmentX + pointY * segmentY) / lengthSquared;
+    fraction = Math.max(0, Math.min(1, fraction));
+    double offsetX = pointX - fraction * segmentX;
+    double offsetY = pointY - fraction * segmentY;
+    return Math.sqrt(offsetX * offsetX + offsetY * offsetY);
+  }
+
+  private static double distance(Point start, Point end) {
+    double longitudeScale = Math.cos(Math.toRadians(start.latitude())) * METERS_PER_DEGREE;
+    double deltaX = (end.longitude() - start.longitude()) * longitudeScale;
+    double deltaY = (end.latitude() - start.latitude()) * METERS_PER_DEGREE;
+    return Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+  }
+}
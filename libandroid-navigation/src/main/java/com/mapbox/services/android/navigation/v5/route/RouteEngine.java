@@ -1,6 +1,7 @@
 package com.mapbox.services.android.navigation.v5.route;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.DirectionsResponse;
 import com.mapbox.api.directions.v5.models.RouteOptions;
@@ -21,8 +22,11 @@ import retrofit2.Response;
  */
 public class RouteEngine implements Callback<DirectionsResponse> {
 
+  private static final double ORIGIN_BEARING_TOLERANCE = 90d;
+
   private Callback engineCallback;
   private RouteProgress routeProgress;
+  private NavigationRoute pendingRequest;
 
   public RouteEngine(Callback engineCallback) {
     this.engineCallback = engineCallback;
@@ -34,34 +38,83 @@ public class RouteEngine implements Callback<DirectionsResponse> {
     }
     this.routeProgress = routeProgress;
 
-    // Calculate remaining waypoints
-    List<Point> coordinates = new ArrayList<>(routeProgress.directionsRoute().routeOptions().coordinates());
+    NavigationRoute.Builder builder = buildRouteRequest(origin, null, routeProgress);
+    if (builder != null) {
+      // A newer request supersedes the one still in flight
+      cancelRequest();
+      pendingRequest = builder.build();
+      pendingRequest.getRoute(this);
+    }
+  }
 
-    if (coordinates.size() < routeProgress.remainingWaypoints()) {
-      return;
+  /**
+   * Cancels the request made by {@link #fetchRoute(Point, RouteProgress)} if it hasn't completed
+   * yet, the callback won't be notified of its response.
+   *
+   * @since 0.10.0
+   */
+  public void cancelRequest() {
+    if (pendingRequest != null) {
+      pendingRequest.cancelCall();
+      pendingRequest = null;
+    }
+  }
+
+  /**
+   * Builds a new route request from the given origin to the remaining waypoints and destination
+   * of the route currently being navigated.
+   *
+   * @param origin        new starting point of the route
+   * @param bearing       optional angle of travel at the origin
+   * @param routeProgress holding the route options and remaining waypoints
+   * @return a builder ready to be built, or null if the waypoints could not be determined
+   */
+  @Nullable
+  static NavigationRoute.Builder buildRouteRequest(Point origin, @Nullable Double bearing,
+                                                   RouteProgress routeProgress) {
+    List<Point> coordinates = remainingCoordinates(routeProgress);
+    if (coordinates == null) {
+      return null;
     }
-    // Remove any waypoints that have been passed
-    coordinates.subList(0, routeProgress.remainingWaypoints()).clear();
     // Get the destination waypoint (last in the list)
     Point destination = coordinates.remove(coordinates.size() - 1);
 
     // Build new route request with the given origin and current route options
     RouteOptions currentOptions = routeProgress.directionsRoute().routeOptions();
     NavigationRoute.Builder builder = NavigationRoute.builder()
-      .origin(origin)
+      .origin(origin, bearing, bearing == null ? null : ORIGIN_BEARING_TOLERANCE)
       .routeOptions(currentOptions);
 
     // Add waypoints with the remaining coordinate values
     addWaypoints(coordinates, builder);
 
     builder.destination(destination);
-    builder.build().getRoute(this);
+    return builder;
+  }
+
+  /**
+   * Determines the waypoints which haven't been reached yet, ending with the destination.
+   *
+   * @param routeProgress holding the route options and remaining waypoints
+   * @return a new mutable list of the remaining coordinates, or null if they could not be determined
+   */
+  @Nullable
+  static List<Point> remainingCoordinates(RouteProgress routeProgress) {
+    // Calculate remaining waypoints
+    List<Point> coordinates = new ArrayList<>(routeProgress.directionsRoute().routeOptions().coordinates());
+
+    if (coordinates.size() <= routeProgress.remainingWaypoints()) {
+      return null;
+    }
+    // Remove any waypoints that have been passed
+    coordinates.subList(0, routeProgress.remainingWaypoints()).clear();
+    return coordinates;
   }
 
   @Override
   public void onResponse(@NonNull Call<DirectionsResponse> call, @NonNull Response<DirectionsResponse> response) {
     // Check for successful response
-    if (!response.isSuccessful()) {
+    if (call.isCanceled() || !response.isSuccessful()) {
       return;
     }
     engineCallback.onResponseReceived(response, routeProgress);
@@ -76,7 +129,7 @@ public class RouteEngine implements Callback<DirectionsResponse> {
     void onResponseReceived(Response<DirectionsResponse> response, RouteProgress routeProgress);
   }
 
-  private void addWaypoints(List<Point> remainingCoordinates, NavigationRoute.Builder builder) {
+  private static void addWaypoints(List<Point> remainingCoordinates, NavigationRoute.Builder builder) {
     if (!remainingCoordinates.isEmpty()) {
       for (Point coordinate : remainingCoordinates) {
         builder.addWaypoint(coordinate);
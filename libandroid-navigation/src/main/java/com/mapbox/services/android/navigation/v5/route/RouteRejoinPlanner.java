@@ -0,0 +1,251 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.api.directions.v5.models.RouteOptions;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.api.directions.v5.models.StepManeuver;
+import com.mapbox.api.directions.v5.models.VoiceInstructions;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_DEPART;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_TURN;
+
+/**
+ * Plans a path back onto the current route without a network request, for use while the user is
+ * briefly off-route (parking lots, service roads) or has no connectivity. It's navigated as an
+ * interim route until a new route has been fetched or computed offline, as its connector doesn't
+ * follow the roads.
+ * <p>
+ * The closest point of the route ahead of the user is found with a {@link RouteSpatialIndex} and a
+ * straight connector step to that point is prepended to the remainder of the route. No instruction
+ * text is synthesized, since it couldn't follow the language of the route: the connector step has
+ * no banner and voice instructions and the maneuvers only carry the street name. The joining step
+ * keeps the instructions of the route which are positioned after the join point.
+ *
+ * @since 0.10.0
+ */
+public class RouteRejoinPlanner {
+
+  static final double MAXIMUM_REJOIN_DISTANCE_IN_METERS = 500;
+  private static final double MINIMUM_REJOIN_SPEED = 8.33;
+
+  private RouteSpatialIndex spatialIndex;
+
+  /**
+   * Builds a route which leads from the given location back onto the route of the provided
+   * progress, continuing with its remaining steps and legs.
+   *
+   * @param location      off-route location of the user
+   * @param routeProgress progress along the route which should be rejoined
+   * @return the rejoin route, or null if the route is further away than
+   * {@link #MAXIMUM_REJOIN_DISTANCE_IN_METERS}
+   * @since 0.10.0
+   */
+  @Nullable
+  public DirectionsRoute planRejoinRoute(@NonNull Location location, @NonNull RouteProgress routeProgress) {
+    DirectionsRoute route = routeProgress.directionsRoute();
+    RouteSpatialIndex index = obtainSpatialIndex(route);
+    Point userPoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
+    RouteSpatialIndex.Match match = index.nearestDownstream(userPoint, MAXIMUM_REJOIN_DISTANCE_IN_METERS,
+      routeProgress.legIndex(), routeProgress.currentLegProgress().stepIndex(),
+      routeProgress.currentLegProgress().currentStepProgress().distanceTraveled());
+    if (match == null) {
+      return null;
+    }
+    return buildRejoinRoute(location, userPoint, route, match);
+  }
+
+  private RouteSpatialIndex obtainSpatialIndex(DirectionsRoute route) {
+    if (spatialIndex == null || !spatialIndex.isIndexOf(route)) {
+      spatialIndex = new RouteSpatialIndex(route);
+    }
+    return spatialIndex;
+  }
+
+  private DirectionsRoute buildRejoinRoute(Location location, Point userPoint, DirectionsRoute route,
+                                           RouteSpatialIndex.Match match) {
+    RouteLeg currentLeg = route.legs().get(match.legIndex);
+    LegStep joinStep = currentLeg.steps().get(match.stepIndex);
+    List<Point> joinStepCoordinates = PolylineUtils.decode(joinStep.geometry(), PRECISION_6);
+    List<Point> remainingCoordinates = new ArrayList<>();
+    remainingCoordinates.add(match.point);
+    remainingCoordinates.addAll(joinStepCoordinates.subList(
+      Math.min(match.coordinateIndex + 1, joinStepCoordinates.size()), joinStepCoordinates.size()));
+    if (remainingCoordinates.size() < 2) {
+      remainingCoordinates.add(match.point);
+    }
+
+    double connectorBearing = TurfMeasurement.bearing(userPoint, match.point);
+    double routeBearing = TurfMeasurement.bearing(remainingCoordinates.get(0), remainingCoordinates.get(1));
+    String modifier = LocalStepFactory.obtainModifier(connectorBearing, routeBearing);
+
+    LegStep slicedStep = buildJoinStep(joinStep, remainingCoordinates, connectorBearing, routeBearing, modifier);
+    LegStep connectorStep = buildConnectorStep(location, userPoint, match.point, connectorBearing,
+      slicedStep.name());
+
+    List<LegStep> steps = new ArrayList<>();
+    steps.add(connectorStep);
+    steps.add(slicedStep);
+    steps.addAll(currentLeg.steps().subList(match.stepIndex + 1, currentLeg.steps().size()));
+
+    List<RouteLeg> legs = new ArrayList<>();
+    legs.add(buildLeg(currentLeg, steps));
+    legs.addAll(route.legs().subList(match.legIndex + 1, route.legs().size()));
+
+    double distance = 0;
+    double duration = 0;
+    List<Point> routeCoordinates = new ArrayList<>();
+    for (RouteLeg leg : legs) {
+      distance += leg.distance();
+      duration += leg.duration();
+      for (LegStep step : leg.steps()) {
+        routeCoordinates.addAll(PolylineUtils.decode(step.geometry(), PRECISION_6));
+      }
+    }
+    return route.toBuilder()
+      .geometry(PolylineUtils.encode(routeCoordinates, PRECISION_6))
+      .distance(distance)
+      .duration(duration)
+      .legs(legs)
+      .routeOptions(buildRouteOptions(route.routeOptions(), userPoint, match.legIndex))
+      .build();
+  }
+
+  /**
+   * The rejoin route starts at the user and drops the legs before the joined one, so the origin
+   * and the waypoints of the dropped legs are removed from the coordinates as well. This keeps the
+   * coordinates in line with the legs when the remaining waypoints are requested again.
+   */
+  @Nullable
+  private static RouteOptions buildRouteOptions(@Nullable RouteOptions routeOptions, Point userPoint,
+                                                int joinedLegIndex) {
+    if (routeOptions == null || routeOptions.coordinates() == null
+      || routeOptions.coordinates().size() <= joinedLegIndex + 1) {
+      return routeOptions;
+    }
+    List<Point> coordinates = new ArrayList<>();
+    coordinates.add(userPoint);
+    coordinates.addAll(routeOptions.coordinates().subList(joinedLegIndex + 1, routeOptions.coordinates().size()));
+    return routeOptions.toBuilder()
+      .coordinates(coordinates)
+      .build();
+  }
+
+  private static RouteLeg buildLeg(RouteLeg currentLeg, List<LegStep> steps) {
+    double distance = 0;
+    double duration = 0;
+    for (LegStep step : steps) {
+      distance += step.distance();
+      duration += step.duration();
+    }
+    return RouteLeg.builder()
+      .distance(distance)
+      .duration(duration)
+      .summary(currentLeg.summary())
+      .steps(steps)
+      .build();
+  }
+
+  private static LegStep buildConnectorStep(Location location, Point userPoint, Point joinPoint,
+                                            double connectorBearing, String streetName) {
+    List<Point> coordinates = new ArrayList<>();
+    coordinates.add(userPoint);
+    coordinates.add(joinPoint);
+    double distance = TurfMeasurement.distance(userPoint, joinPoint, TurfConstants.UNIT_METERS);
+    double speed = Math.max(location.getSpeed(), MINIMUM_REJOIN_SPEED);
+    return LegStep.builder()
+      .geometry(PolylineUtils.encode(coordinates, PRECISION_6))
+      .name("")
+      .mode(LocalStepFactory.DRIVING_MODE)
+      .distance(distance)
+      .duration(distance / speed)
+      .weight(distance / speed)
+      .maneuver(LocalStepFactory.buildManeuver(userPoint, (double) location.getBearing(), connectorBearing,
+        STEP_MANEUVER_TYPE_DEPART, null, obtainStreetName(streetName)))
+      .intersections(LocalStepFactory.buildIntersections(userPoint, connectorBearing))
+      .voiceInstructions(new ArrayList<VoiceInstructions>())
+      .bannerInstructions(new ArrayList<BannerInstructions>())
+      .build();
+  }
+
+  private static LegStep buildJoinStep(LegStep joinStep, List<Point> remainingCoordinates,
+                                       double connectorBearing, double routeBearing, String modifier) {
+    double distance = TurfMeasurement.lineDistance(LineString.fromLngLats(remainingCoordinates),
+      TurfConstants.UNIT_METERS);
+    double fractionRemaining = joinStep.distance() > 0 ? Math.min(1, distance / joinStep.distance()) : 0;
+
+    Point joinPoint = remainingCoordinates.get(0);
+    StepManeuver maneuver = LocalStepFactory.buildManeuver(joinPoint, connectorBearing, routeBearing,
+      STEP_MANEUVER_TYPE_TURN, modifier, obtainStreetName(joinStep.name()));
+
+    List<StepIntersection> intersections = LocalStepFactory.buildIntersections(joinPoint, routeBearing);
+    if (joinStep.intersections() != null) {
+      for (StepIntersection intersection : joinStep.intersections()) {
+        if (remainingCoordinates.contains(intersection.location())) {
+          intersections.add(intersection);
+        }
+      }
+    }
+    return LegStep.builder()
+      .geometry(PolylineUtils.encode(remainingCoordinates, PRECISION_6))
+      .name(joinStep.name())
+      .mode(joinStep.mode())
+      .distance(distance)
+      .duration(joinStep.duration() * fractionRemaining)
+      .weight(joinStep.weight() * fractionRemaining)
+      .maneuver(maneuver)
+      .intersections(intersections)
+      .voiceInstructions(filterVoiceInstructions(joinStep.voiceInstructions(), distance))
+      .bannerInstructions(filterBannerInstructions(joinStep.bannerInstructions(), distance))
+      .build();
+  }
+
+  private static String obtainStreetName(@Nullable String streetName) {
+    return streetName == null ? "" : streetName;
+  }
+
+  /**
+   * Voice and banner instruction lists are consumed by the milestones, so new mutable lists are
+   * always returned. Instructions positioned before the join point are dropped.
+   */
+  private static List<VoiceInstructions> filterVoiceInstructions(@Nullable List<VoiceInstructions> instructions,
+                                                                 double distance) {
+    List<VoiceInstructions> filteredInstructions = new ArrayList<>();
+    if (instructions != null) {
+      for (VoiceInstructions instruction : instructions) {
+        if (instruction.distanceAlongGeometry() != null && instruction.distanceAlongGeometry() <= distance) {
+          filteredInstructions.add(instruction);
+        }
+      }
+    }
+    return filteredInstructions;
+  }
+
+  private static List<BannerInstructions> filterBannerInstructions(@Nullable List<BannerInstructions> instructions,
+                                                                   double distance) {
+    List<BannerInstructions> filteredInstructions = new ArrayList<>();
+    if (instructions != null) {
+      for (BannerInstructions instruction : instructions) {
+        if (instruction.distanceAlongGeometry() <= distance) {
+          filteredInstructions.add(instruction);
+        }
+      }
+    }
+    return filteredInstructions;
+  }
+}
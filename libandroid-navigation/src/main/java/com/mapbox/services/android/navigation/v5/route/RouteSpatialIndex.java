@@ -0,0 +1,213 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+
+/**
+ * Uniform grid over the step geometries of a {@link DirectionsRoute}, used to find the closest
+ * point of the route to a location without walking every segment.
+ * <p>
+ * Distances are computed with an equirectangular approximation, which is accurate enough for the
+ * few hundred meters this index is queried over.
+ */
+class RouteSpatialIndex {
+
+  private static final double CELL_SIZE_IN_DEGREES = 0.005;
+  private static final double METERS_PER_DEGREE = 111320d;
+
+  private final Map<Long, List<Integer>> cells = new HashMap<>();
+  private final List<Segment> segments = new ArrayList<>();
+  private final String geometry;
+
+  RouteSpatialIndex(DirectionsRoute directionsRoute) {
+    geometry = directionsRoute.geometry();
+    List<RouteLeg> legs = directionsRoute.legs();
+    for (int legIndex = 0; legIndex < legs.size(); legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+        indexStep(legIndex, stepIndex, steps.get(stepIndex));
+      }
+    }
+  }
+
+  boolean isIndexOf(DirectionsRoute directionsRoute) {
+    return geometry != null && geometry.equals(directionsRoute.geometry());
+  }
+
+  /**
+   * Finds the closest point of the given leg which lies at or after the provided step and distance
+   * along that step.
+   *
+   * @param point              to search from
+   * @param radiusInMeters     maximum distance between the point and the route
+   * @param legIndex           leg to search in
+   * @param stepIndex          first step which may be matched
+   * @param distanceAlongStep  meters along the first step before which matches are ignored
+   * @return the closest match, or null if no segment lies within the radius
+   */
+  @Nullable
+  Match nearestDownstream(Point point, double radiusInMeters, int legIndex, int stepIndex,
+                          double distanceAlongStep) {
+    double latitudeRadius = radiusInMeters / METERS_PER_DEGREE;
+    double longitudeRadius = latitudeRadius / Math.max(Math.cos(Math.toRadians(point.latitude())), 0.01);
+    int minColumn = column(point.longitude() - longitudeRadius);
+    int maxColumn = column(point.longitude() + longitudeRadius);
+    int minRow = row(point.latitude() - latitudeRadius);
+    int maxRow = row(point.latitude() + latitudeRadius);
+
+    Match closestMatch = null;
+    double closestDistance = radiusInMeters;
+    for (int column = minColumn; column <= maxColumn; column++) {
+      for (int row = minRow; row <= maxRow; row++) {
+        List<Integer> cellSegments = cells.get(cellKey(column, row));
+        if (cellSegments == null) {
+          continue;
+        }
+        for (int segmentIndex : cellSegments) {
+          Segment segment = segments.get(segmentIndex);
+          if (!isDownstream(segment, legIndex, stepIndex)) {
+            continue;
+          }
+          Match match = project(point, segment);
+          boolean isBehindUser = segment.stepIndex == stepIndex && match.distanceAlongStep < distanceAlongStep;
+          if (!isBehindUser && match.distance <= closestDistance) {
+            closestDistance = match.distance;
+            closestMatch = match;
+          }
+        }
+      }
+    }
+    return closestMatch;
+  }
+
+  private void indexStep(int legIndex, int stepIndex, LegStep step) {
+    if (step.geometry() == null) {
+      return;
+    }
+    List<Point> coordinates = PolylineUtils.decode(step.geometry(), PRECISION_6);
+    double distanceAlongStep = 0;
+    for (int i = 0; i < coordinates.size() - 1; i++) {
+      Point start = coordinates.get(i);
+      Point end = coordinates.get(i + 1);
+      Segment segment = new Segment(legIndex, stepIndex, i, start, end, distanceAlongStep);
+      int segmentIndex = segments.size();
+      segments.add(segment);
+      addToCells(segmentIndex, start, end);
+      distanceAlongStep += segment.length;
+    }
+  }
+
+  private void addToCells(int segmentIndex, Point start, Point end) {
+    int minColumn = column(Math.min(start.longitude(), end.longitude()));
+    int maxColumn = column(Math.max(start.longitude(), end.longitude()));
+    int minRow = row(Math.min(start.latitude(), end.latitude()));
+    int maxRow = row(Math.max(start.latitude(), end.latitude()));
+    for (int column = minColumn; column <= maxColumn; column++) {
+      for (int row = minRow; row <= maxRow; row++) {
+        long key = cellKey(column, row);
+        List<Integer> cellSegments = cells.get(key);
+        if (cellSegments == null) {
+          cellSegments = new ArrayList<>();
+          cells.put(key, cellSegments);
+        }
+        cellSegments.add(segmentIndex);
+      }
+    }
+  }
+
+  private static boolean isDownstream(Segment segment, int legIndex, int stepIndex) {
+    return segment.legIndex == legIndex && segment.stepIndex >= stepIndex;
+  }
+
+  private static Match project(Point point, Segment segment) {
+    double longitudeScale = Math.cos(Math.toRadians(point.latitude())) * METERS_PER_DEGREE;
+    double segmentX = (segment.end.longitude() - segment.start.longitude()) * longitudeScale;
+    double segmentY = (segment.end.latitude() - segment.start.latitude()) * METERS_PER_DEGREE;
+    double pointX = (point.longitude() - segment.start.longitude()) * longitudeScale;
+    double pointY = (point.latitude() - segment.start.latitude()) * METERS_PER_DEGREE;
+    double lengthSquared = segmentX * segmentX + segmentY * segmentY;
+    double fraction = lengthSquared == 0 ? 0 : (pointX * segmentX + pointY * segmentY) / lengthSquared;
+    fraction = Math.max(0, Math.min(1, fraction));
+
+    double offsetX = pointX - fraction * segmentX;
+    double offsetY = pointY - fraction * segmentY;
+    Point projectedPoint = Point.fromLngLat(
+      segment.start.longitude() + fraction * (segment.end.longitude() - segment.start.longitude()),
+      segment.start.latitude() + fraction * (segment.end.latitude() - segment.start.latitude()));
+    return new Match(segment.legIndex, segment.stepIndex, segment.coordinateIndex, projectedPoint,
+      Math.sqrt(offsetX * offsetX + offsetY * offsetY),
+      segment.distanceAlongStep + fraction * segment.length);
+  }
+
+  private static int column(double longitude) {
+    return (int) Math.floor(longitude / CELL_SIZE_IN_DEGREES);
+  }
+
+  private static int row(double latitude) {
+    return (int) Math.floor(latitude / CELL_SIZE_IN_DEGREES);
+  }
+
+  private static long cellKey(int column, int row) {
+    return ((long) column << 32) | (row & 0xffffffffL);
+  }
+
+  private static class Segment {
+
+    private final int legIndex;
+    private final int stepIndex;
+    private final int coordinateIndex;
+    private final Point start;
+    private final Point end;
+    private final double distanceAlongStep;
+    private final double length;
+
+    Segment(int legIndex, int stepIndex, int coordinateIndex, Point start, Point end,
+            double distanceAlongStep) {
+      this.legIndex = legIndex;
+      this.stepIndex = stepIndex;
+      this.coordinateIndex = coordinateIndex;
+      this.start = start;
+      this.end = end;
+      this.distanceAlongStep = distanceAlongStep;
+      double longitudeScale = Math.cos(Math.toRadians(start.latitude())) * METERS_PER_DEGREE;
+      double deltaX = (end.longitude() - start.longitude()) * longitudeScale;
+      double deltaY = (end.latitude() - start.latitude()) * METERS_PER_DEGREE;
+      length = Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+    }
+  }
+
+  /**
+   * Closest point of the route found by {@link #nearestDownstream(Point, double, int, int, double)}.
+   */
+  static class Match {
+
+    final int legIndex;
+    final int stepIndex;
+    final int coordinateIndex;
+    final Point point;
+    final double distance;
+    final double distanceAlongStep;
+
+    Match(int legIndex, int stepIndex, int coordinateIndex, Point point, double distance,
+          double distanceAlongStep) {
+      this.legIndex = legIndex;
+      this.stepIndex = stepIndex;
+      this.coordinateIndex = coordinateIndex;
+      this.point = point;
+      this.distance = distance;
+      this.distanceAlongStep = distanceAlongStep;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Prefix sums of the distance and duration annotations of a {@link RouteLeg}, so that the duration
+ * remaining from any point along the leg can be found with a binary search instead of assuming the
+ * user travels at the same speed along the whole leg.
+ * <p>
+ * The legs of a route are indexed once, when the first {@link RouteProgress} along the route is
+ * built, and the indices are passed along to the following progress objects of the same route.
+ */
+final class LegDurationIndex {
+
+  private final RouteLeg routeLeg;
+  private final double[] distancePrefix;
+  private final double[] durationPrefix;
+
+  private LegDurationIndex(RouteLeg routeLeg, double[] distancePrefix, double[] durationPrefix) {
+    this.routeLeg = routeLeg;
+    this.distancePrefix = distancePrefix;
+    this.durationPrefix = durationPrefix;
+  }
+
+  /**
+   * @param routeLegs to index
+   * @return the indices of the legs, in the same order
+   */
+  static LegDurationIndex[] build(List<RouteLeg> routeLegs) {
+    LegDurationIndex[] indices = new LegDurationIndex[routeLegs.size()];
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = build(routeLegs.get(i));
+    }
+    return indices;
+  }
+
+  /**
+   * @param routeLeg to index
+   * @return the index, which has no segments if the leg wasn't requested with duration annotations
+   */
+  static LegDurationIndex build(RouteLeg routeLeg) {
+    LegAnnotation annotation = routeLeg.annotation();
+    List<Double> durations = annotation == null ? null : annotation.duration();
+    if (durations == null || durations.isEmpty()) {
+      return new LegDurationIndex(routeLeg, new double[0], new double[0]);
+    }
+    List<Double> distances = annotation.distance();
+    List<Double> speeds = annotation.speed();
+    boolean hasDistances = distances != null && distances.size() == durations.size();
+    boolean hasSpeeds = speeds != null && speeds.size() == durations.size();
+    if (!hasDistances && !hasSpeeds) {
+      return new LegDurationIndex(routeLeg, new double[0], new double[0]);
+    }
+
+    int segmentCount = durations.size();
+    double[] distancePrefix = new double[segmentCount + 1];
+    double[] durationPrefix = new double[segmentCount + 1];
+    for (int i = 0; i < segmentCount; i++) {
+      double duration = durations.get(i);
+      double distance = hasDistances ? distances.get(i) : speeds.get(i) * duration;
+      distancePrefix[i + 1] = distancePrefix[i] + distance;
+      durationPrefix[i + 1] = durationPrefix[i] + duration;
+    }
+    return new LegDurationIndex(routeLeg, distancePrefix, durationPrefix);
+  }
+
+  boolean hasSegments() {
+    return distancePrefix.length > 1 && distancePrefix[distancePrefix.length - 1] > 0;
+  }
+
+  /**
+   * Finds the segment the user is on from the distance remaining along the leg and interpolates
+   * the duration remaining within that segment.
+   *
+   * @param legDistanceRemaining meters remaining along the leg
+   * @return seconds remaining along the leg
+   */
+  double durationRemaining(double legDistanceRemaining) {
+    int last = distancePrefix.length - 1;
+    double annotatedDistance = distancePrefix[last];
+    double legDistance = routeLeg.distance() == null ? annotatedDistance : routeLeg.distance();
+    double fractionRemaining = legDistance > 0 ? legDistanceRemaining / legDistance : 0;
+    // The leg distance and the sum of the annotations can differ slightly, so scale into the latter
+    double distanceTraveled = annotatedDistance * (1 - Math.max(0, Math.min(1, fractionRemaining)));
+
+    int position = Arrays.binarySearch(distancePrefix, distanceTraveled);
+    int segment = position >= 0 ? position : -position - 2;
+    segment = Math.max(0, Math.min(last - 1, segment));
+    double segmentDistance = distancePrefix[segment + 1] - distancePrefix[segment];
+    double segmentFraction = segmentDistance > 0 ? (distanceTraveled - distancePrefix[segment]) / segmentDistance : 0;
+    double durationTraveled = durationPrefix[segment]
+      + segmentFraction * (durationPrefix[segment + 1] - durationPrefix[segment]);
+    return Math.max(0, durationPrefix[last] - durationTraveled);
+  }
+}
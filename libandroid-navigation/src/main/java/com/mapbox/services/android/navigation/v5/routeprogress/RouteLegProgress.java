@@ -22,6 +22,8 @@ import com.mapbox.api.directions.v5.models.RouteLeg;
 @AutoValue
 public abstract class RouteLegProgress {
 
+  private LegDurationIndex durationIndex;
+
   /**
    * Not public since developer can access same information from {@link RouteProgress}.
    */
@@ -34,18 +36,21 @@ public abstract class RouteLegProgress {
    * @param stepIndex           the current step index the user is on
    * @param legDistanceRemaining the leg distance remaining which is calculated in navigation engine
    * @param stepDistanceRemaining the step distance remaining which is calculated in navigation engine
+   * @param durationIndex       of the duration annotations of the leg
    * @since 0.1.0
    */
   static RouteLegProgress create(RouteLeg routeLeg, int stepIndex, double legDistanceRemaining,
-                                 double stepDistanceRemaining) {
+                                 double stepDistanceRemaining, LegDurationIndex durationIndex) {
 
     LegStep nextStep
       = stepIndex == (routeLeg.steps().size() - 1) ? null : routeLeg.steps().get(stepIndex + 1);
 
     RouteStepProgress stepProgress = RouteStepProgress.create(
       routeLeg.steps().get(stepIndex), nextStep, stepDistanceRemaining);
-    return new AutoValue_RouteLegProgress(
+    RouteLegProgress legProgress = new AutoValue_RouteLegProgress(
       routeLeg, stepIndex, legDistanceRemaining, stepProgress);
+    legProgress.durationIndex = durationIndex;
+    return legProgress;
   }
 
   /**
@@ -80,12 +85,16 @@ public abstract class RouteLegProgress {
   public abstract double distanceRemaining();
 
   /**
-   * Provides the duration remaining in seconds till the user reaches the end of the current step.
+   * Provides the duration remaining in seconds till the user reaches the end of the current leg,
+   * from the duration annotations of the leg when they were requested.
    *
-   * @return long value representing the duration remaining till end of step, in unit seconds.
+   * @return long value representing the duration remaining till end of leg, in unit seconds.
    * @since 0.1.0
    */
   public double durationRemaining() {
+    if (durationIndex.hasSegments()) {
+      return durationIndex.durationRemaining(distanceRemaining());
+    }
     return (1 - fractionTraveled()) * routeLeg().duration();
   }
 
@@ -1,11 +1,14 @@
 package com.mapbox.services.android.navigation.v5.routeprogress;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 
+import java.util.List;
+
 /**
  * This class contains all progress information at any given time during a navigation session. This
  * progress includes information for the current route, leg and step the user is traversing along.
@@ -22,6 +25,8 @@ import com.mapbox.api.directions.v5.models.RouteLeg;
 @AutoValue
 public abstract class RouteProgress {
 
+  private LegDurationIndex[] legDurationIndices;
+
   /**
    * Get the route the navigation session is currently using. When a reroute occurs and a new
    * directions route gets obtained, with the next location update this directions route should
@@ -71,13 +76,28 @@ public abstract class RouteProgress {
 
   /**
    * Provides the duration remaining in seconds till the user reaches the end of the route.
+   * <p>
+   * If the route was requested with the duration annotation, the duration remaining along the
+   * current leg is the sum of the annotated durations ahead of the user, which accounts for slower
+   * and faster sections of the leg. Otherwise the user is assumed to travel at the average speed
+   * of the route.
+   * </p>
    *
    * @return {@code long} value representing the duration remaining till end of route, in unit
    * seconds
    * @since 0.1.0
    */
   public double durationRemaining() {
-    return (1 - fractionTraveled()) * directionsRoute().duration();
+    LegDurationIndex durationIndex = legDurationIndices[legIndex()];
+    if (!durationIndex.hasSegments()) {
+      return (1 - fractionTraveled()) * directionsRoute().duration();
+    }
+    double durationRemaining = durationIndex.durationRemaining(currentLegProgress().distanceRemaining());
+    List<RouteLeg> legs = directionsRoute().legs();
+    for (int i = legIndex() + 1; i < legs.size(); i++) {
+      durationRemaining += legs.get(i).duration();
+    }
+    return durationRemaining;
   }
 
   /**
@@ -126,12 +146,17 @@ public abstract class RouteProgress {
 
   public abstract RouteProgress.Builder toBuilder();
 
+  LegDurationIndex[] legDurationIndices() {
+    return legDurationIndices;
+  }
+
   @AutoValue.Builder
   public abstract static class Builder {
 
     private int stepIndex;
     private double legDistanceRemaining;
     private double stepDistanceRemaining;
+    private RouteProgress previousRouteProgress;
 
     abstract DirectionsRoute directionsRoute();
 
@@ -158,19 +183,40 @@ public abstract class RouteProgress {
       return this;
     }
 
+    /**
+     * Passes along the indexed duration annotations of a previous progress, so they aren't
+     * indexed again while the route stays the same. If the previous progress is along another
+     * route, the route is indexed as usual.
+     *
+     * @param previousRouteProgress most recent progress, may be null
+     * @return this builder for chaining options together
+     * @since 0.10.0
+     */
+    public Builder previousRouteProgress(@Nullable RouteProgress previousRouteProgress) {
+      this.previousRouteProgress = previousRouteProgress;
+      return this;
+    }
+
     abstract Builder currentLegProgress(RouteLegProgress routeLegProgress);
 
     abstract RouteProgress autoBuild(); // not public
 
     public RouteProgress build() {
+      LegDurationIndex[] legDurationIndices = previousRouteProgress != null
+        && previousRouteProgress.directionsRoute() == directionsRoute()
+        ? previousRouteProgress.legDurationIndices
+        : LegDurationIndex.build(directionsRoute().legs());
       RouteLegProgress legProgress = RouteLegProgress.create(
         directionsRoute().legs().get(legIndex()),
         stepIndex,
         legDistanceRemaining,
-        stepDistanceRemaining
+        stepDistanceRemaining,
+        legDurationIndices[legIndex()]
       );
       currentLegProgress(legProgress);
-      return autoBuild();
+      RouteProgress routeProgress = autoBuild();
+      routeProgress.legDurationIndices = legDurationIndices;
+      return routeProgress;
     }
   }
 
@@ -0,0 +1,61 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.os.Process;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the named daemon threads the SDK runs its work off the main thread on, with background
+ * priority so they don't compete with the UI or the location updates.
+ *
+ * @since 0.10.0
+ */
+public final class BackgroundThreadFactory implements ThreadFactory {
+
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 30;
+
+  private final String threadName;
+
+  /**
+   * @param threadName given to each thread
+   * @since 0.10.0
+   */
+  public BackgroundThreadFactory(@NonNull String threadName) {
+    this.threadName = threadName;
+  }
+
+  /**
+   * Creates an executor running the tasks one after another on a background thread. The thread
+   * stops once it has been idle for a while and is started again with the next task, so an
+   * executor which is never shut down, such as one shared by all instances of a class, doesn't
+   * hold on to a thread.
+   *
+   * @param threadName given to the thread
+   * @return the single thread executor
+   * @since 0.10.0
+   */
+  public static ExecutorService newSingleThreadExecutor(@NonNull String threadName) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<Runnable>(), new BackgroundThreadFactory(threadName));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  @Override
+  public Thread newThread(@NonNull final Runnable runnable) {
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        runnable.run();
+      }
+    }, threadName);
+    thread.setDaemon(true);
+    return thread;
+  }
+}
@@ -3,6 +3,7 @@ package com.mapbox.services.android.navigation.v5.utils;
 import android.graphics.Typeface;
 import android.location.Location;
 import android.text.SpannableStringBuilder;
+import android.text.SpannedString;
 import android.text.style.RelativeSizeSpan;
 import android.text.style.StyleSpan;
 
@@ -16,6 +17,8 @@ import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfConversion;
 import com.mapbox.turf.TurfMeasurement;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,83 +31,114 @@ public class DistanceUtils {
   private static final String FEET = " ft";
   private static final String KILOMETER = " km";
   private static final String METER = " m";
-
+  private static final int BUCKET_LARGE_UNIT = 0;
+  private static final int BUCKET_LARGE_UNIT_DECIMAL = 1;
+  private static final int BUCKET_SMALL_UNIT = 2;
+  private static final int MAX_FRACTION_DIGITS = 9;
+  private static final int MAX_QUICK_FRACTION_DIGITS = 6;
+  private static final double TIE_TOLERANCE = 1e-6;
+  private static final FormattedTextCache FORMATTED_DISTANCES = new FormattedTextCache(64);
+
+  /**
+   * Formats the distance like {@link #formattedDistance(double, DecimalFormat, boolean, int)}, into a
+   * new builder which can be modified by the caller.
+   */
   public static SpannableStringBuilder distanceFormatter(double distance,
                                                          DecimalFormat decimalFormat,
                                                          boolean spansEnabled,
                                                          int unitType) {
+    return new SpannableStringBuilder(formattedDistance(distance, decimalFormat, spansEnabled, unitType));
+  }
 
+  /**
+   * Formats the distance in the large unit with no decimals above 10, in the large unit with the
+   * decimal format above 401 of the small unit, and else in the small unit rounded down to 50.
+   * <p>
+   * The distance is quantized to the displayed value first, with the maximum fraction digits and the
+   * rounding mode of the decimal format, and the immutable text of each displayed value is cached, so
+   * formatting a distance which displays the same as a recent one doesn't allocate.
+   *
+   * @param distance      in meters
+   * @param decimalFormat used for the large unit below 10
+   * @param spansEnabled  true to style the value and the unit with spans
+   * @param unitType      imperial or metric
+   * @return immutable formatted distance, shared between callers
+   */
+  public static CharSequence formattedDistance(double distance, DecimalFormat decimalFormat,
+                                               boolean spansEnabled, int unitType) {
     boolean isImperialUnitType = unitType == NavigationUnitType.TYPE_IMPERIAL;
-
-    String largeUnitFormat = isImperialUnitType ? MILE : KILOMETER;
-    String smallUnitFormat = isImperialUnitType ? FEET : METER;
     String largeFinalUnit = isImperialUnitType ? TurfConstants.UNIT_MILES : TurfConstants.UNIT_KILOMETERS;
-    String smallFinalUnit = isImperialUnitType ? TurfConstants.UNIT_FEET : TurfConstants.UNIT_METERS;
-
-    SpannableStringBuilder formattedString;
-    if (longDistance(distance, largeFinalUnit)) {
-      formattedString = roundToNearestMile(distance, spansEnabled, largeFinalUnit, largeUnitFormat);
-    } else if (mediumDistance(distance, largeFinalUnit, smallFinalUnit)) {
-      formattedString = roundOneDecimalPlace(distance, decimalFormat, spansEnabled,
-        largeFinalUnit, largeUnitFormat);
+    double largeDistance = TurfConversion.convertDistance(distance, TurfConstants.UNIT_METERS, largeFinalUnit);
+
+    int bucketType;
+    int fractionDigits = 0;
+    long bucketValue;
+    if (largeDistance > LARGE_UNIT_THRESHOLD) {
+      bucketType = BUCKET_LARGE_UNIT;
+      bucketValue = Math.round(largeDistance);
     } else {
-      formattedString = roundByFiftyFeet(distance, spansEnabled, smallUnitFormat, smallFinalUnit);
+      String smallFinalUnit = isImperialUnitType ? TurfConstants.UNIT_FEET : TurfConstants.UNIT_METERS;
+      double smallDistance = TurfConversion.convertDistance(distance, TurfConstants.UNIT_METERS, smallFinalUnit);
+      if (largeDistance < LARGE_UNIT_THRESHOLD && smallDistance > SMALL_UNIT_THRESHOLD) {
+        bucketType = BUCKET_LARGE_UNIT_DECIMAL;
+        fractionDigits = Math.min(decimalFormat.getMaximumFractionDigits(), MAX_FRACTION_DIGITS);
+        bucketValue = quantize(largeDistance, fractionDigits, decimalFormat.getRoundingMode());
+      } else {
+        bucketType = BUCKET_SMALL_UNIT;
+        bucketValue = Math.max(50, ((int) Math.round(smallDistance)) / 50 * 50);
+      }
     }
-    return formattedString;
-  }
-
-  private static SpannableStringBuilder roundByFiftyFeet(double distance, boolean spansEnabled,
-                                                         String smallUnitFormat, String smallFinalUnit) {
-    distance = TurfConversion.convertDistance(distance, TurfConstants.UNIT_METERS, smallFinalUnit);
 
-    // Distance value
-    int roundedNumber = ((int) Math.round(distance)) / 50 * 50;
-    roundedNumber = roundedNumber < 50 ? 50 : roundedNumber;
-
-    if (spansEnabled) {
-      return generateSpannedText(String.valueOf(roundedNumber), smallUnitFormat);
-    } else {
-      return new SpannableStringBuilder(String.valueOf(roundedNumber) + smallUnitFormat);
+    long key = (bucketValue << 16) | (fractionDigits << 8) | (bucketType << 4) | (unitType << 1)
+      | (spansEnabled ? 1 : 0);
+    DecimalFormat format = bucketType == BUCKET_LARGE_UNIT_DECIMAL ? decimalFormat : null;
+    CharSequence cached = FORMATTED_DISTANCES.get(key, format);
+    if (cached != null) {
+      return cached;
     }
+    return FORMATTED_DISTANCES.put(key, format, renderDistance(bucketType, bucketValue, fractionDigits,
+      decimalFormat, spansEnabled, isImperialUnitType));
   }
 
-  private static SpannableStringBuilder roundOneDecimalPlace(double distance, DecimalFormat decimalFormat,
-                                                             boolean spansEnabled, String largeFinalUnit,
-                                                             String largeUnitFormat) {
-    distance = TurfConversion.convertDistance(distance, TurfConstants.UNIT_METERS, largeFinalUnit);
-
-    // Distance value
-    double roundedNumber = (distance / 100 * 100);
-    String roundedDecimal = decimalFormat.format(roundedNumber);
-
-    if (spansEnabled) {
-      return generateSpannedText(roundedDecimal, largeUnitFormat);
-    } else {
-      return new SpannableStringBuilder(roundedDecimal + largeUnitFormat);
+  /**
+   * Rounds the distance to the fraction digits like the decimal format does, returning the unscaled
+   * value. Half rounding modes only differ on ties, so the distance is scaled and rounded directly
+   * unless it is close to a tie, other modes and many digits go through {@link BigDecimal}.
+   */
+  private static long quantize(double distance, int fractionDigits, RoundingMode roundingMode) {
+    boolean isHalfRounding = roundingMode == RoundingMode.HALF_EVEN || roundingMode == RoundingMode.HALF_UP
+      || roundingMode == RoundingMode.HALF_DOWN;
+    if (isHalfRounding && fractionDigits <= MAX_QUICK_FRACTION_DIGITS) {
+      double scaledDistance = distance * Math.pow(10, fractionDigits);
+      double fraction = scaledDistance - Math.floor(scaledDistance);
+      if (Math.abs(fraction - 0.5) > TIE_TOLERANCE) {
+        return Math.round(scaledDistance);
+      }
     }
+    // Like the decimal format, ties are rounded on the exact value, other modes on the shortest decimal
+    BigDecimal exactDistance = isHalfRounding ? new BigDecimal(distance) : BigDecimal.valueOf(distance);
+    return exactDistance.setScale(fractionDigits, roundingMode).unscaledValue().longValue();
   }
 
-  private static SpannableStringBuilder roundToNearestMile(double distance, boolean spansEnabled,
-                                                           String largeFinalUnit, String largeUnitFormat) {
-    distance = TurfConversion.convertDistance(distance, TurfConstants.UNIT_METERS, largeFinalUnit);
-
-    // Distance value
-    int roundedNumber = (int) Math.round(distance);
-
-    if (spansEnabled) {
-      return generateSpannedText(String.valueOf(roundedNumber), largeUnitFormat);
+  private static CharSequence renderDistance(int bucketType, long bucketValue, int fractionDigits,
+                                             DecimalFormat decimalFormat, boolean spansEnabled,
+                                             boolean isImperialUnitType) {
+    String value;
+    String unit;
+    if (bucketType == BUCKET_LARGE_UNIT) {
+      value = String.valueOf(bucketValue);
+      unit = isImperialUnitType ? MILE : KILOMETER;
+    } else if (bucketType == BUCKET_LARGE_UNIT_DECIMAL) {
+      value = decimalFormat.format(BigDecimal.valueOf(bucketValue, fractionDigits));
+      unit = isImperialUnitType ? MILE : KILOMETER;
     } else {
-      return new SpannableStringBuilder(String.valueOf(roundedNumber) + largeUnitFormat);
+      value = String.valueOf(bucketValue);
+      unit = isImperialUnitType ? FEET : METER;
     }
-  }
-
-  private static boolean mediumDistance(double distance, String largeFinalUnit, String smallFinalUnit) {
-    return TurfConversion.convertDistance(distance, TurfConstants.UNIT_METERS, largeFinalUnit) < LARGE_UNIT_THRESHOLD
-      && TurfConversion.convertDistance(distance, TurfConstants.UNIT_METERS, smallFinalUnit) > SMALL_UNIT_THRESHOLD;
-  }
-
-  private static boolean longDistance(double distance, String largeFinalUnit) {
-    return TurfConversion.convertDistance(distance, TurfConstants.UNIT_METERS, largeFinalUnit) > LARGE_UNIT_THRESHOLD;
+    if (spansEnabled) {
+      return new SpannedString(generateSpannedText(value, unit));
+    }
+    return value + unit;
   }
 
   public static int calculateAbsoluteDistance(Location currentLocation, MetricsRouteProgress metricProgress) {
@@ -0,0 +1,73 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.support.annotation.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Direct mapped cache of immutable formatted text, keyed by the quantized value which was formatted.
+ * A lookup only compares the key, the format and the default {@link Locale} of the cached entry, so
+ * a hit doesn't allocate. A miss replaces the entry in its slot.
+ * <p>
+ * Entries are immutable, so the cache can be shared between threads without locking: a racing
+ * lookup either sees the old or the new entry of a slot.
+ */
+public class FormattedTextCache {
+
+  private final Entry[] entries;
+  private final int mask;
+
+  /**
+   * @param capacity number of slots, rounded up to a power of two
+   */
+  public FormattedTextCache(int capacity) {
+    int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+    entries = new Entry[size];
+    mask = size - 1;
+  }
+
+  /**
+   * @param key    of the quantized value
+   * @param format the text was formatted with, compared by reference, null if none
+   * @return the cached text, or null if it hasn't been cached for the key, format and locale
+   */
+  @Nullable
+  public CharSequence get(long key, @Nullable Object format) {
+    Entry entry = entries[slotOf(key)];
+    if (entry != null && entry.key == key && entry.format == format && entry.locale == Locale.getDefault()) {
+      return entry.text;
+    }
+    return null;
+  }
+
+  /**
+   * @param key    of the quantized value
+   * @param format the text was formatted with, null if none
+   * @param text   immutable text to cache
+   * @return the text
+   */
+  public CharSequence put(long key, @Nullable Object format, CharSequence text) {
+    entries[slotOf(key)] = new Entry(key, format, Locale.getDefault(), text);
+    return text;
+  }
+
+  private int slotOf(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash >>> 32) & mask;
+  }
+
+  private static class Entry {
+
+    private final long key;
+    private final Object format;
+    private final Locale locale;
+    private final CharSequence text;
+
+    Entry(long key, Object format, Locale locale, CharSequence text) {
+      this.key = key;
+      this.format = format;
+      this.locale = locale;
+      this.text = text;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import android.support.annotation.IntRange;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Fixed-capacity ring of {@code int} values which keeps the most recent values, dropping the oldest
+ * value once it is full. Unlike {@link RingBuffer}, values are stored in a primitive array so
+ * pushing them doesn't box. Note that a full {@link RingBuffer} drops the value being pushed
+ * instead, keeping the values it already holds.
+ * <p>
+ * Index {@code 0} is the oldest value and {@code size() - 1} the newest. Not thread safe.
+ *
+ * @since 0.10.0
+ */
+public class IntRingBuffer {
+
+  private final int[] values;
+  private int head;
+  private int size;
+
+  /**
+   * @param capacity maximum number of values kept
+   * @since 0.10.0
+   */
+  public IntRingBuffer(@IntRange(from = 1) int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity of a ring buffer must be at least 1.");
+    }
+    values = new int[capacity];
+  }
+
+  /**
+   * Adds the value as the newest one, dropping the oldest value if the buffer is full.
+   *
+   * @param value to add
+   * @since 0.10.0
+   */
+  public void push(int value) {
+    if (size < values.length) {
+      values[slotOf(size)] = value;
+      size++;
+    } else {
+      values[head] = value;
+      head = slotOf(1);
+    }
+  }
+
+  /**
+   * @return the oldest value
+   * @throws NoSuchElementException if the buffer is empty
+   * @since 0.10.0
+   */
+  public int peekFirst() {
+    return get(0);
+  }
+
+  /**
+   * @return the newest value
+   * @throws NoSuchElementException if the buffer is empty
+   * @since 0.10.0
+   */
+  public int peekLast() {
+    return get(size - 1);
+  }
+
+  /**
+   * @param index of the value, {@code 0} being the oldest
+   * @return the value at the index
+   * @since 0.10.0
+   */
+  public int get(int index) {
+    if (index < 0 || index >= size) {
+      throw new NoSuchElementException("Index " + index + " is outside of a buffer with " + size + " values.");
+    }
+    return values[slotOf(index)];
+  }
+
+  /**
+   * @return the smallest value
+   * @throws NoSuchElementException if the buffer is empty
+   * @since 0.10.0
+   */
+  public int min() {
+    int min = peekFirst();
+    for (int i = 1; i < size; i++) {
+      min = Math.min(min, values[slotOf(i)]);
+    }
+    return min;
+  }
+
+  /**
+   * @return the largest value
+   * @throws NoSuchElementException if the buffer is empty
+   * @since 0.10.0
+   */
+  public int max() {
+    int max = peekFirst();
+    for (int i = 1; i < size; i++) {
+      max = Math.max(max, values[slotOf(i)]);
+    }
+    return max;
+  }
+
+  /**
+   * @return the newest value minus the oldest value, {@code 0} if the buffer is empty
+   * @since 0.10.0
+   */
+  public int trend() {
+    return size == 0 ? 0 : peekLast() - peekFirst();
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int capacity() {
+    return values.length;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean isFull() {
+    return size == values.length;
+  }
+
+  /**
+   * Removes all values, the array is kept for the next values.
+   *
+   * @since 0.10.0
+   */
+  public void clear() {
+    head = 0;
+    size = 0;
+  }
+
+  private int slotOf(int index) {
+    int slot = head + index;
+    return slot < values.length ? slot : slot - values.length;
+  }
+}
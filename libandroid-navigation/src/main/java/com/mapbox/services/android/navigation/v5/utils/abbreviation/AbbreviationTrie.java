@@ -0,0 +1,96 @@
+package com.mapbox.services.android.navigation.v5.utils.abbreviation;
+
+import java.util.List;
+
+/**
+ * Trie over the lower case words of the abbreviations, built once. Abbreviating walks each word of
+ * the input through the trie, ignoring the case of ASCII letters, and replaces the words which end
+ * on a node holding an abbreviation, so all abbreviations are applied in a single pass.
+ * <p>
+ * Words are delimited like the regex {@code \b}: a word is a run of letters, digits and underscores.
+ */
+final class AbbreviationTrie {
+
+  private static final int ALPHABET_SIZE = 'z' - 'a' + 1;
+
+  private final Node root = new Node();
+
+  AbbreviationTrie(List<AbbreviationArray.Abbreviation> abbreviations) {
+    for (AbbreviationArray.Abbreviation abbreviation : abbreviations) {
+      insert(abbreviation.string, abbreviation.abbreviatedString);
+    }
+  }
+
+  /**
+   * @param input to abbreviate
+   * @return the input with every abbreviated word replaced, the same instance if none was replaced
+   */
+  String abbreviate(String input) {
+    StringBuilder builder = null;
+    int copiedUntil = 0;
+    int length = input.length();
+    int index = 0;
+    while (index < length) {
+      if (!isWordChar(input.charAt(index))) {
+        index++;
+        continue;
+      }
+      int wordStart = index;
+      Node node = root;
+      while (index < length && isWordChar(input.charAt(index))) {
+        node = node == null ? null : node.child(input.charAt(index));
+        index++;
+      }
+      if (node != null && node.abbreviation != null) {
+        if (builder == null) {
+          builder = new StringBuilder(length);
+        }
+        builder.append(input, copiedUntil, wordStart).append(node.abbreviation);
+        copiedUntil = index;
+      }
+    }
+    if (builder == null) {
+      return input;
+    }
+    return builder.append(input, copiedUntil, length).toString();
+  }
+
+  private void insert(String word, String abbreviation) {
+    Node node = root;
+    for (int i = 0; i < word.length(); i++) {
+      int slot = slotOf(word.charAt(i));
+      if (slot < 0) {
+        throw new IllegalArgumentException("Abbreviated words may only contain ASCII letters: " + word);
+      }
+      if (node.children[slot] == null) {
+        node.children[slot] = new Node();
+      }
+      node = node.children[slot];
+    }
+    node.abbreviation = abbreviation;
+  }
+
+  private static boolean isWordChar(char character) {
+    return Character.isLetterOrDigit(character) || character == '_';
+  }
+
+  private static int slotOf(char character) {
+    if (character >= 'a' && character <= 'z') {
+      return character - 'a';
+    } else if (character >= 'A' && character <= 'Z') {
+      return character - 'A';
+    }
+    return -1;
+  }
+
+  private static class Node {
+
+    private final Node[] children = new Node[ALPHABET_SIZE];
+    private String abbreviation;
+
+    Node child(char character) {
+      int slot = slotOf(character);
+      return slot < 0 ? null : children[slot];
+    }
+  }
+}
@@ -1,34 +1,44 @@
 package com.mapbox.services.android.navigation.v5.utils.abbreviation;
 
-import android.text.TextUtils;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 public class StringAbbreviator {
 
-  private static final String REGEX_IGNORE_CASE_START = "(?i)\\b";
-  private static final String REGEX_IGNORE_CASE_END = "\\b";
-  private static final String REGEX_COLON_SEMICOLON_COMMA = "[:;,]";
+  private static final Pattern COLON_SEMICOLON_COMMA = Pattern.compile("[:;,]");
+  private static final int MINIMUM_ABBREVIATION_LENGTH = 25;
+  private static final int MAX_CACHED_NAMES = 64;
 
-  public static String abbreviate(String inputStr) {
-    if (!TextUtils.isEmpty(inputStr)) {
-      if (inputStr.length() < 25) {
-        return inputStr;
+  private static final AbbreviationTrie ABBREVIATIONS = new AbbreviationTrie(new AbbreviationArray());
+  // Road names repeat with every instruction of a step, so the last results are kept
+  private static final Map<String, String> ABBREVIATED_NAMES =
+    new LinkedHashMap<String, String>(MAX_CACHED_NAMES, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+        return size() > MAX_CACHED_NAMES;
       }
+    };
 
-      AbbreviationArray abbreviations = new AbbreviationArray();
-      for (int i = 0; i < abbreviations.size(); i++) {
-        AbbreviationArray.Abbreviation abbv = abbreviations.get(i);
-        inputStr = inputStr.replaceAll(REGEX_IGNORE_CASE_START + abbv.string + REGEX_IGNORE_CASE_END,
-          abbv.abbreviatedString);
+  public static String abbreviate(String inputStr) {
+    if (inputStr == null || inputStr.length() < MINIMUM_ABBREVIATION_LENGTH) {
+      return inputStr;
+    }
+    synchronized (ABBREVIATED_NAMES) {
+      String abbreviated = ABBREVIATED_NAMES.get(inputStr);
+      if (abbreviated == null) {
+        abbreviated = ABBREVIATIONS.abbreviate(inputStr);
+        ABBREVIATED_NAMES.put(inputStr, abbreviated);
       }
+      return abbreviated;
     }
-    return inputStr;
   }
 
   public static String deliminator(String inputStr) {
-    return inputStr.replaceAll(REGEX_COLON_SEMICOLON_COMMA, "/");
+    return COLON_SEMICOLON_COMMA.matcher(inputStr).replaceAll("/");
   }
 
   public static String[] splitter(String inputStr) {
-    return inputStr.split(REGEX_COLON_SEMICOLON_COMMA);
+    return COLON_SEMICOLON_COMMA.split(inputStr);
   }
-}
\ No newline at end of file
+}
@@ -2,9 +2,11 @@ package com.mapbox.services.android.navigation.v5.utils.time;
 
 import android.graphics.Typeface;
 import android.text.SpannableStringBuilder;
+import android.text.SpannedString;
 import android.text.style.RelativeSizeSpan;
 import android.text.style.StyleSpan;
 
+import com.mapbox.services.android.navigation.v5.utils.FormattedTextCache;
 import com.mapbox.services.android.navigation.v5.utils.span.SpanItem;
 import com.mapbox.services.android.navigation.v5.utils.span.TextSpanItem;
 import com.mapbox.services.android.navigation.v5.utils.span.SpanUtils;
@@ -23,6 +25,7 @@ public class TimeUtils {
   private static final String DAYS = " days ";
   private static final String HOUR = " hr ";
   private static final String MINUTE = " min ";
+  private static final FormattedTextCache FORMATTED_DURATIONS = new FormattedTextCache(32);
 
   public static String formatArrivalTime(double routeDuration) {
     Calendar calendar = Calendar.getInstance();
@@ -32,7 +35,23 @@ public class TimeUtils {
       calendar, calendar, calendar);
   }
 
+  /**
+   * Formats the duration like {@link #formattedTimeRemaining(double)}, into a new builder which can be
+   * modified by the caller.
+   */
   public static SpannableStringBuilder formatTimeRemaining(double routeDuration) {
+    return new SpannableStringBuilder(formattedTimeRemaining(routeDuration));
+  }
+
+  /**
+   * Formats the duration in days, hours and minutes, rounded to the nearest minute and at least one
+   * minute. The immutable text of each displayed duration is cached, so formatting a duration which
+   * displays the same as a recent one doesn't allocate.
+   *
+   * @param routeDuration in seconds
+   * @return immutable formatted duration, shared between callers
+   */
+  public static CharSequence formattedTimeRemaining(double routeDuration) {
     long seconds = (long) routeDuration;
 
     if (seconds < 0) {
@@ -50,6 +69,15 @@ public class TimeUtils {
       minutes = minutes + 1;
     }
 
+    long key = (days << 32) | (hours << 16) | minutes;
+    CharSequence cached = FORMATTED_DURATIONS.get(key, null);
+    if (cached != null) {
+      return cached;
+    }
+    return FORMATTED_DURATIONS.put(key, null, new SpannedString(renderTimeRemaining(days, hours, minutes)));
+  }
+
+  private static SpannableStringBuilder renderTimeRemaining(long days, long hours, long minutes) {
     List<SpanItem> textSpanItems = new ArrayList<>();
     if (days != 0) {
       String dayFormat = days > 1 ? DAYS : DAY;
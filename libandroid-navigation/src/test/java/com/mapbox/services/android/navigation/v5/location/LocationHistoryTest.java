@@ -0,0 +1,108 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+
+public class LocationHistoryTest extends BaseTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_rejectsEmptyCapacity() throws Exception {
+    new LocationHistory(0);
+  }
+
+  @Test
+  public void add_keepsValuesOfFix() throws Exception {
+    LocationHistory history = new LocationHistory(3);
+
+    history.add("gps", 1000, 37.1, -122.2, 12.5, 8.5f, 90f, 4f);
+
+    assertEquals(1, history.size());
+    assertEquals("gps", history.providerAt(0));
+    assertEquals(1000, history.timeAt(0));
+    assertEquals(37.1, history.latitudeAt(0), DELTA);
+    assertEquals(-122.2, history.longitudeAt(0), DELTA);
+    assertEquals(12.5, history.altitudeAt(0), DELTA);
+    assertEquals(8.5f, history.speedAt(0), DELTA);
+    assertEquals(90f, history.bearingAt(0), DELTA);
+    assertEquals(4f, history.accuracyAt(0), DELTA);
+  }
+
+  @Test
+  public void add_dropsOldestFixOnceFull() throws Exception {
+    LocationHistory history = new LocationHistory(3);
+
+    for (int i = 1; i <= 5; i++) {
+      addFix(history, i * 1000);
+    }
+
+    assertEquals(3, history.size());
+    assertEquals(3000, history.timeAt(0));
+    assertEquals(4000, history.timeAt(1));
+    assertEquals(5000, history.timeAt(2));
+  }
+
+  @Test
+  public void add_clearsHistoryWhenTimeGoesBackwards() throws Exception {
+    LocationHistory history = new LocationHistory(3);
+    addFix(history, 5000);
+    addFix(history, 6000);
+
+    addFix(history, 1000);
+
+    assertEquals(1, history.size());
+    assertEquals(1000, history.timeAt(0));
+  }
+
+  @Test
+  public void indexAtOrAfter_findsFirstFixNotOlderThanTime() throws Exception {
+    LocationHistory history = buildWrappedHistory();
+
+    assertEquals(0, history.indexAtOrAfter(0));
+    assertEquals(1, history.indexAtOrAfter(4000));
+    assertEquals(2, history.indexAtOrAfter(4500));
+    assertEquals(4, history.indexAtOrAfter(9000));
+  }
+
+  @Test
+  public void indexAfter_findsFirstFixNewerThanTime() throws Exception {
+    LocationHistory history = buildWrappedHistory();
+
+    assertEquals(0, history.indexAfter(2000));
+    assertEquals(2, history.indexAfter(4000));
+    assertEquals(4, history.indexAfter(6000));
+  }
+
+  @Test
+  public void locationsBeforeAndAfter_excludeFixAtEventTime() throws Exception {
+    LocationHistory history = buildWrappedHistory();
+
+    assertEquals(1, history.locationsBefore(4000).size());
+    assertEquals(2, history.locationsAfter(4000).size());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void timeAt_rejectsIndexOutsideHistory() throws Exception {
+    LocationHistory history = new LocationHistory(3);
+    addFix(history, 1000);
+
+    history.timeAt(1);
+  }
+
+  /**
+   * Fixes at 3, 4, 5 and 6 seconds, with the oldest of them no longer in the first slot.
+   */
+  private LocationHistory buildWrappedHistory() {
+    LocationHistory history = new LocationHistory(4);
+    for (int i = 1; i <= 6; i++) {
+      addFix(history, i * 1000);
+    }
+    return history;
+  }
+
+  private void addFix(LocationHistory history, long time) {
+    history.add("gps", time, 37.0, -122.0, 0, 10f, 0f, 5f);
+  }
+}
@@ -8,22 +8,30 @@ import com.google.gson.GsonBuilder;
 import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
 import com.mapbox.api.directions.v5.models.DirectionsResponse;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteOptions;
+import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.v5.BaseTest;
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteDetector;
+import com.mapbox.services.android.navigation.v5.route.RouteDiff;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
 import com.mapbox.services.android.telemetry.location.LocationEngine;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class FasterRouteDetectorTest extends BaseTest {
 
@@ -114,6 +122,118 @@ public class FasterRouteDetectorTest extends BaseTest {
     assertFalse(checkFasterRoute);
   }
 
+  @Test
+  public void onDivergenceTooCloseToAnnounce_isFasterRouteIsFalse() throws Exception {
+    FasterRouteDetector fasterRouteDetector = new FasterRouteDetector();
+    RouteProgress currentProgress = obtainLongRouteProgress();
+    RouteDiff routeDiff = buildRouteDiff(currentProgress.durationRemaining(),
+      NavigationConstants.NAVIGATION_MEDIUM_ALERT_DURATION - 10);
+
+    boolean isFasterRoute = fasterRouteDetector.isFasterRoute(obtainADirectionsResponse(), currentProgress, routeDiff);
+
+    assertFalse(isFasterRoute);
+  }
+
+  @Test
+  public void onDivergenceFarEnoughAhead_isFasterRouteIsTrue() throws Exception {
+    FasterRouteDetector fasterRouteDetector = new FasterRouteDetector();
+    RouteProgress currentProgress = obtainLongRouteProgress();
+    RouteDiff routeDiff = buildRouteDiff(currentProgress.durationRemaining(),
+      NavigationConstants.NAVIGATION_MEDIUM_ALERT_DURATION + 10);
+
+    boolean isFasterRoute = fasterRouteDetector.isFasterRoute(obtainADirectionsResponse(), currentProgress, routeDiff);
+
+    assertTrue(isFasterRoute);
+  }
+
+  @Test
+  public void onTooLittleTimeSaved_isFasterRouteIsFalse() throws Exception {
+    FasterRouteDetector fasterRouteDetector = new FasterRouteDetector();
+    RouteProgress currentProgress = obtainLongRouteProgress();
+    RouteDiff routeDiff = buildRouteDiff(0.05 * currentProgress.durationRemaining(),
+      NavigationConstants.NAVIGATION_MEDIUM_ALERT_DURATION + 10);
+
+    boolean isFasterRoute = fasterRouteDetector.isFasterRoute(obtainADirectionsResponse(), currentProgress, routeDiff);
+
+    assertFalse(isFasterRoute);
+  }
+
+  @Test
+  public void onUnknownWaypoints_shouldCheckFasterRouteDoesNotSpendBudget() throws Exception {
+    FasterRouteDetector fasterRouteDetector = new FasterRouteDetector(1);
+    fasterRouteDetector.shouldCheckFasterRoute(buildLocation(0), buildCheckableRouteProgress(false));
+
+    boolean checkWithoutWaypoints = fasterRouteDetector.shouldCheckFasterRoute(buildLocation(10),
+      buildCheckableRouteProgress(false));
+    boolean checkWithWaypoints = fasterRouteDetector.shouldCheckFasterRoute(buildLocation(20),
+      buildCheckableRouteProgress(true));
+    boolean checkAfterBudget = fasterRouteDetector.shouldCheckFasterRoute(buildLocation(30),
+      buildCheckableRouteProgress(true));
+
+    assertFalse(checkWithoutWaypoints);
+    assertTrue(checkWithWaypoints);
+    assertFalse(checkAfterBudget);
+  }
+
+  @Test
+  public void onNewRoute_renewsRequestBudget() throws Exception {
+    FasterRouteDetector fasterRouteDetector = new FasterRouteDetector(1);
+    fasterRouteDetector.shouldCheckFasterRoute(buildLocation(0), buildCheckableRouteProgress(true));
+    fasterRouteDetector.shouldCheckFasterRoute(buildLocation(10), buildCheckableRouteProgress(true));
+    boolean checkAfterBudget = fasterRouteDetector.shouldCheckFasterRoute(buildLocation(20),
+      buildCheckableRouteProgress(true));
+
+    fasterRouteDetector.onNewRoute(mock(DirectionsRoute.class));
+    boolean checkOnNewRoute = fasterRouteDetector.shouldCheckFasterRoute(buildLocation(30),
+      buildCheckableRouteProgress(true));
+
+    assertFalse(checkAfterBudget);
+    assertTrue(checkOnNewRoute);
+  }
+
+  private RouteDiff buildRouteDiff(double timeSaved, double timeToDivergence) {
+    RouteDiff routeDiff = mock(RouteDiff.class);
+    when(routeDiff.timeSaved()).thenReturn(timeSaved);
+    when(routeDiff.divergencePoint()).thenReturn(Point.fromLngLat(-122.42, 37.78));
+    when(routeDiff.timeToDivergence()).thenReturn(timeToDivergence);
+    return routeDiff;
+  }
+
+  private Location buildLocation(int minutes) {
+    Location location = mock(Location.class);
+    when(location.getTime()).thenReturn(TimeUnit.MINUTES.toMillis(minutes));
+    return location;
+  }
+
+  private RouteProgress buildCheckableRouteProgress(boolean hasRouteOptions) {
+    DirectionsRoute route = mock(DirectionsRoute.class);
+    if (hasRouteOptions) {
+      RouteOptions routeOptions = mock(RouteOptions.class);
+      when(routeOptions.coordinates()).thenReturn(Arrays.asList(Point.fromLngLat(1, 1), Point.fromLngLat(2, 2)));
+      when(route.routeOptions()).thenReturn(routeOptions);
+    }
+    RouteStepProgress stepProgress = mock(RouteStepProgress.class);
+    when(stepProgress.durationRemaining()).thenReturn(1000d);
+    RouteLegProgress legProgress = mock(RouteLegProgress.class);
+    when(legProgress.currentStepProgress()).thenReturn(stepProgress);
+    RouteProgress routeProgress = mock(RouteProgress.class);
+    when(routeProgress.directionsRoute()).thenReturn(route);
+    when(routeProgress.currentLegProgress()).thenReturn(legProgress);
+    when(routeProgress.durationRemaining()).thenReturn(5000d);
+    when(routeProgress.remainingWaypoints()).thenReturn(1);
+    return routeProgress;
+  }
+
+  private RouteProgress obtainLongRouteProgress() throws Exception {
+    RouteProgress currentProgress = obtainDefaultRouteProgress();
+    DirectionsRoute longerRoute = currentProgress.directionsRoute().toBuilder()
+      .duration(10000000d)
+      .build();
+    return currentProgress.toBuilder()
+      .directionsRoute(longerRoute)
+      .build();
+  }
+
   private RouteProgress obtainDefaultRouteProgress() throws Exception {
     DirectionsRoute aRoute = obtainADirectionsRoute();
     RouteProgress defaultRouteProgress = RouteProgress.builder()
@@ -0,0 +1,157 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class ListenerRegistryTest extends BaseTest {
+
+  @Test
+  public void add_rejectsListenerAddedTwice() throws Exception {
+    ListenerRegistry<RecordingListener, RecordDelivery> registry = new ListenerRegistry<>(new QueuedExecutors());
+    RecordingListener listener = new RecordingListener();
+
+    assertTrue(registry.add(listener, ListenerOptions.builder().build()));
+    assertFalse(registry.add(listener, ListenerOptions.builder().build()));
+  }
+
+  @Test
+  public void dispatch_directListenerIsCalledRightAway() throws Exception {
+    ListenerRegistry<RecordingListener, RecordDelivery> registry = new ListenerRegistry<>(new QueuedExecutors());
+    RecordingListener listener = new RecordingListener();
+    registry.add(listener, ListenerOptions.builder().build());
+
+    registry.dispatch(new RecordDelivery(1));
+
+    assertEquals(1, listener.values.size());
+  }
+
+  @Test
+  public void dispatch_removingListenerFromCallbackSkipsIt() throws Exception {
+    final ListenerRegistry<RecordingListener, RecordDelivery> registry = new ListenerRegistry<>(new QueuedExecutors());
+    final RecordingListener second = new RecordingListener();
+    RecordingListener first = new RecordingListener() {
+      @Override
+      void onValue(int value) {
+        super.onValue(value);
+        registry.remove(second);
+      }
+    };
+    registry.add(first, ListenerOptions.builder().build());
+    registry.add(second, ListenerOptions.builder().build());
+
+    registry.dispatch(new RecordDelivery(1));
+
+    assertEquals(1, first.values.size());
+    assertTrue(second.values.isEmpty());
+  }
+
+  @Test
+  public void dispatch_dropStaleOnlyDeliversLatestEvent() throws Exception {
+    QueuedExecutors executors = new QueuedExecutors();
+    ListenerRegistry<RecordingListener, RecordDelivery> registry = new ListenerRegistry<>(executors);
+    RecordingListener listener = new RecordingListener();
+    registry.add(listener, ListenerOptions.builder()
+      .executor(ListenerOptions.EXECUTOR_BACKGROUND)
+      .dropPolicy(ListenerOptions.DROP_STALE)
+      .build());
+
+    registry.dispatch(new RecordDelivery(1));
+    registry.dispatch(new RecordDelivery(2));
+    registry.dispatch(new RecordDelivery(3));
+    executors.runQueued();
+
+    assertEquals(1, listener.values.size());
+    assertEquals(3, (int) listener.values.get(0));
+    List<ListenerMetrics> metrics = new ArrayList<>();
+    registry.collectMetrics(metrics);
+    assertEquals(1, metrics.get(0).callbackCount());
+    assertEquals(2, metrics.get(0).droppedCount());
+  }
+
+  @Test
+  public void dispatch_dropNoneDeliversEveryEvent() throws Exception {
+    QueuedExecutors executors = new QueuedExecutors();
+    ListenerRegistry<RecordingListener, RecordDelivery> registry = new ListenerRegistry<>(executors);
+    RecordingListener listener = new RecordingListener();
+    registry.add(listener, ListenerOptions.builder().executor(ListenerOptions.EXECUTOR_MAIN).build());
+
+    registry.dispatch(new RecordDelivery(1));
+    registry.dispatch(new RecordDelivery(2));
+    assertTrue(listener.values.isEmpty());
+    executors.runQueued();
+
+    assertEquals(2, listener.values.size());
+  }
+
+  @Test
+  public void dispatch_queuedCallbackSkippedOnceListenerIsRemoved() throws Exception {
+    QueuedExecutors executors = new QueuedExecutors();
+    ListenerRegistry<RecordingListener, RecordDelivery> registry = new ListenerRegistry<>(executors);
+    RecordingListener listener = new RecordingListener();
+    registry.add(listener, ListenerOptions.builder().executor(ListenerOptions.EXECUTOR_BACKGROUND).build());
+
+    registry.dispatch(new RecordDelivery(1));
+    registry.clear();
+    executors.runQueued();
+
+    assertTrue(listener.values.isEmpty());
+  }
+
+  private static class RecordingListener {
+
+    final List<Integer> values = new ArrayList<>();
+
+    void onValue(int value) {
+      values.add(value);
+    }
+  }
+
+  private static class RecordDelivery implements ListenerRegistry.Delivery<RecordingListener> {
+
+    private final int value;
+
+    RecordDelivery(int value) {
+      this.value = value;
+    }
+
+    @Override
+    public void deliverTo(RecordingListener listener) {
+      listener.onValue(value);
+    }
+  }
+
+  private static class QueuedExecutors extends ListenerExecutors {
+
+    private final List<Runnable> queue = new ArrayList<>();
+    private final Executor executor = new Executor() {
+      @Override
+      public void execute(@NonNull Runnable runnable) {
+        queue.add(runnable);
+      }
+    };
+
+    @Override
+    synchronized Executor obtain(int executorType) {
+      return executorType == ListenerOptions.EXECUTOR_DIRECT ? null : executor;
+    }
+
+    void runQueued() {
+      List<Runnable> runnables = new ArrayList<>(queue);
+      queue.clear();
+      for (Runnable runnable : runnables) {
+        runnable.run();
+      }
+    }
+  }
+}
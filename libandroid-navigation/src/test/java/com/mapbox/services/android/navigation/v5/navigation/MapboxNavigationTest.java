@@ -8,6 +8,8 @@ import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.milestone.StepMilestone;
 import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
+import com.mapbox.services.android.navigation.v5.route.FasterRoute;
+import com.mapbox.services.android.navigation.v5.route.RerouteCandidatePrefetcher;
 import com.mapbox.services.android.navigation.v5.snap.Snap;
 import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
 import com.mapbox.services.android.telemetry.location.LocationEngine;
@@ -175,6 +177,27 @@ public class MapboxNavigationTest extends BaseTest {
     verify(navigationEventListener, times(1)).onRunning(true);
   }
 
+  @Test
+  public void startNavigation_notifiesFasterRouteEngineOfNewRoute() throws Exception {
+    FasterRoute fasterRoute = mock(FasterRoute.class);
+    navigation.setFasterRouteEngine(fasterRoute);
+    DirectionsRoute route = mock(DirectionsRoute.class);
+
+    navigation.startNavigation(route);
+
+    verify(fasterRoute).onNewRoute(route);
+  }
+
+  @Test
+  public void startNavigation_renewsReroutePrefetcherForNewRoute() throws Exception {
+    RerouteCandidatePrefetcher reroutePrefetcher = mock(RerouteCandidatePrefetcher.class);
+    navigation.setReroutePrefetcher(reroutePrefetcher);
+
+    navigation.startNavigation(mock(DirectionsRoute.class));
+
+    verify(reroutePrefetcher).onNewRoute();
+  }
+
   @Test
   public void setSnapEngine_doesReplaceDefaultEngine() throws Exception {
     Snap snap = navigation.getSnapEngine();
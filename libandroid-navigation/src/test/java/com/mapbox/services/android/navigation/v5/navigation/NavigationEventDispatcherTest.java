@@ -29,6 +29,7 @@ import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.mock;
@@ -56,6 +57,8 @@ public class NavigationEventDispatcherTest extends BaseTest {
   @Mock
   FasterRouteListener fasterRouteListener;
   @Mock
+  NavigationUpdateListener navigationUpdateListener;
+  @Mock
   Location location;
   @Mock
   Milestone milestone;
@@ -220,6 +223,29 @@ public class NavigationEventDispatcherTest extends BaseTest {
     verify(offRouteListener, times(0)).userOffRoute(location);
   }
 
+  @Test
+  public void addNavigationUpdateListener_didAddListener() throws Exception {
+    NavigationUpdate navigationUpdate = NavigationUpdate.create(location, routeProgress,
+      Collections.singletonList(milestone), false, false, 0, 0);
+    navigationEventDispatcher.onNavigationUpdate(navigationUpdate);
+    verify(navigationUpdateListener, times(0)).onNavigationUpdate(navigationUpdate);
+
+    navigation.addNavigationUpdateListener(navigationUpdateListener);
+    navigation.addNavigationUpdateListener(navigationUpdateListener);
+    navigationEventDispatcher.onNavigationUpdate(navigationUpdate);
+    verify(navigationUpdateListener, times(1)).onNavigationUpdate(navigationUpdate);
+  }
+
+  @Test
+  public void removeNavigationUpdateListener_didRemoveListener() throws Exception {
+    NavigationUpdate navigationUpdate = NavigationUpdate.create(location, routeProgress,
+      Collections.<Milestone>emptyList(), true, false, 0, 0);
+    navigation.addNavigationUpdateListener(navigationUpdateListener);
+    navigation.removeNavigationUpdateListener(navigationUpdateListener);
+    navigationEventDispatcher.onNavigationUpdate(navigationUpdate);
+    verify(navigationUpdateListener, times(0)).onNavigationUpdate(navigationUpdate);
+  }
+
   @Test
   public void addNavigationEventListener_didAddListener() throws Exception {
     navigationEventDispatcher.onNavigationEvent(true);
@@ -0,0 +1,42 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import okhttp3.Protocol;
+
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class NavigationHttpClientTest extends BaseTest {
+
+  @Test
+  public void getInstance_returnsSharedClient() throws Exception {
+    NavigationHttpClient httpClient = NavigationHttpClient.getInstance(mock(Context.class));
+
+    assertSame(httpClient, NavigationHttpClient.getInstance(mock(Context.class)));
+    assertSame(httpClient, NavigationHttpClient.peekInstance());
+  }
+
+  @Test
+  public void okHttpClient_negotiatesHttp2() throws Exception {
+    NavigationHttpClient httpClient = NavigationHttpClient.getInstance(mock(Context.class));
+
+    assertTrue(httpClient.okHttpClient().protocols().contains(Protocol.HTTP_2));
+  }
+
+  @Test
+  public void derivedClient_sharesConnectionPool() throws Exception {
+    NavigationHttpClient httpClient = NavigationHttpClient.getInstance(mock(Context.class));
+
+    okhttp3.OkHttpClient derivedClient = httpClient.okHttpClient().newBuilder().build();
+
+    assertNotNull(derivedClient.connectionPool());
+    assertSame(httpClient.okHttpClient().connectionPool(), derivedClient.connectionPool());
+  }
+}
@@ -0,0 +1,59 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NotificationSnapshot.FIELD_ARRIVAL_TIME;
+import static com.mapbox.services.android.navigation.v5.navigation.NotificationSnapshot.FIELD_DISTANCE;
+import static com.mapbox.services.android.navigation.v5.navigation.NotificationSnapshot.FIELD_INSTRUCTION;
+import static com.mapbox.services.android.navigation.v5.navigation.NotificationSnapshot.FIELD_MANEUVER;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class NotificationSnapshotTest extends BaseTest {
+
+  @Test
+  public void update_returnsOnlyChangedFields() throws Exception {
+    NotificationSnapshot snapshot = new NotificationSnapshot(1000);
+
+    int firstFields = snapshot.update("Turn left", "500 ft", "10:00 am", 1);
+    int distanceFields = snapshot.update("Turn left", "400 ft", "10:00 am", 1);
+    int noFields = snapshot.update(null, "400 ft", "10:00 am", 1);
+
+    assertEquals(FIELD_INSTRUCTION | FIELD_DISTANCE | FIELD_ARRIVAL_TIME | FIELD_MANEUVER, firstFields);
+    assertEquals(FIELD_DISTANCE, distanceFields);
+    assertEquals(0, noFields);
+  }
+
+  @Test
+  public void shouldPost_skipsUnchangedUpdates() throws Exception {
+    NotificationSnapshot snapshot = new NotificationSnapshot(0);
+
+    assertTrue(snapshot.shouldPost(snapshot.update("Turn left", "500 ft", "10:00 am", 1), 0));
+    assertFalse(snapshot.shouldPost(snapshot.update("Turn left", "500 ft", "10:00 am", 1), 1000));
+    assertFalse(snapshot.shouldPost(snapshot.update("Turn left", "500 ft", "10:00 am", 1), 2000));
+    assertEquals(2, snapshot.skippedPostCount());
+  }
+
+  @Test
+  public void shouldPost_keepsDistanceChangePendingWithinInterval() throws Exception {
+    NotificationSnapshot snapshot = new NotificationSnapshot(3000);
+
+    assertTrue(snapshot.shouldPost(snapshot.update("Turn left", "500 ft", "10:00 am", 1), 0));
+    assertFalse(snapshot.shouldPost(snapshot.update("Turn left", "400 ft", "10:00 am", 1), 1000));
+    assertFalse(snapshot.shouldPost(snapshot.update("Turn left", "400 ft", "10:00 am", 1), 2000));
+    assertTrue(snapshot.shouldPost(snapshot.update("Turn left", "400 ft", "10:00 am", 1), 3000));
+    assertEquals(2, snapshot.skippedPostCount());
+  }
+
+  @Test
+  public void shouldPost_postsNewInstructionWithinInterval() throws Exception {
+    NotificationSnapshot snapshot = new NotificationSnapshot(3000);
+
+    assertTrue(snapshot.shouldPost(snapshot.update("Turn left", "20 ft", "10:00 am", 1), 0));
+    assertTrue(snapshot.shouldPost(snapshot.update("Turn right", "0.5 mi", "10:00 am", 2), 1000));
+    assertEquals(0, snapshot.skippedPostCount());
+  }
+}
@@ -0,0 +1,86 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class ProgressChangeFilterTest extends BaseTest {
+
+  private static final String PRECISION_6 = "directions_v5_precision_6.json";
+
+  private DirectionsRoute route;
+
+  @Before
+  public void setup() throws Exception {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    DirectionsResponse response = gson.fromJson(loadJsonFixture(PRECISION_6), DirectionsResponse.class);
+    route = response.routes().get(0);
+  }
+
+  @Test
+  public void from_returnsNullWithoutFilterOptions() throws Exception {
+    assertNull(ProgressChangeFilter.from(ListenerOptions.builder().build()));
+  }
+
+  @Test
+  public void accept_skipsUpdatesWithinMinimumInterval() throws Exception {
+    ProgressChangeFilter filter = new ProgressChangeFilter(5000, 0, false);
+
+    assertTrue(filter.accept(buildProgress(1, 1000), 0));
+    assertFalse(filter.accept(buildProgress(1, 1010), 1000));
+    assertFalse(filter.accept(buildProgress(1, 1020), 4999));
+    assertTrue(filter.accept(buildProgress(1, 1030), 5000));
+  }
+
+  @Test
+  public void accept_deliversOnceEitherMinimumIsReached() throws Exception {
+    ProgressChangeFilter filter = new ProgressChangeFilter(5000, 50, false);
+
+    assertTrue(filter.accept(buildProgress(1, 1000), 0));
+    assertFalse(filter.accept(buildProgress(1, 1040), 1000));
+    assertTrue(filter.accept(buildProgress(1, 1050), 2000));
+    assertFalse(filter.accept(buildProgress(1, 1060), 3000));
+    assertTrue(filter.accept(buildProgress(1, 1070), 7000));
+  }
+
+  @Test
+  public void accept_alwaysDeliversStepChange() throws Exception {
+    ProgressChangeFilter filter = new ProgressChangeFilter(60000, 1000, false);
+
+    assertTrue(filter.accept(buildProgress(1, 1000), 0));
+    assertFalse(filter.accept(buildProgress(1, 1010), 1000));
+    assertTrue(filter.accept(buildProgress(2, 1020), 2000));
+  }
+
+  @Test
+  public void accept_onlyOnStepChangeSkipsOtherUpdates() throws Exception {
+    ProgressChangeFilter filter = new ProgressChangeFilter(0, 0, true);
+
+    assertTrue(filter.accept(buildProgress(1, 1000), 0));
+    assertFalse(filter.accept(buildProgress(1, 5000), 60000));
+    assertTrue(filter.accept(buildProgress(2, 5010), 61000));
+  }
+
+  private RouteProgress buildProgress(int stepIndex, double distanceTraveled) {
+    return RouteProgress.builder()
+      .stepDistanceRemaining(100)
+      .legDistanceRemaining(route.distance() - distanceTraveled)
+      .distanceRemaining(route.distance() - distanceTraveled)
+      .directionsRoute(route)
+      .stepIndex(stepIndex)
+      .legIndex(0)
+      .build();
+  }
+}
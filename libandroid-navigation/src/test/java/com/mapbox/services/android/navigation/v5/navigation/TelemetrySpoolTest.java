@@ -0,0 +1,186 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Date;
+import java.util.Hashtable;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class TelemetrySpoolTest extends BaseTest {
+
+  private File directory;
+
+  @Before
+  public void setup() throws IOException {
+    directory = File.createTempFile("telemetry_spool", "");
+    directory.delete();
+  }
+
+  @After
+  public void tearDown() {
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  @Test
+  public void readAll_returnsEventsWithTheirValueTypes() throws Exception {
+    TelemetrySpool spool = new TelemetrySpool(directory);
+    spool.append(buildEvent(1));
+
+    List<Hashtable<String, Object>> events = spool.readAll();
+
+    assertEquals(1, events.size());
+    Hashtable<String, Object> event = events.get(0);
+    assertEquals("reroute", event.get("event"));
+    assertEquals(1, event.get("index"));
+    assertEquals(1234567890123L, event.get("created"));
+    assertEquals(12.5d, event.get("distance"));
+    assertEquals(2.5f, event.get("speed"));
+    assertEquals(true, event.get("simulation"));
+  }
+
+  @Test
+  public void readAll_includesEventsOfPreviousSessions() throws Exception {
+    TelemetrySpool previousSpool = new TelemetrySpool(directory);
+    previousSpool.append(buildEvent(1));
+    previousSpool.close();
+
+    TelemetrySpool spool = new TelemetrySpool(directory);
+    spool.append(buildEvent(2));
+
+    List<Hashtable<String, Object>> events = spool.readAll();
+    assertEquals(2, events.size());
+    assertEquals(1, events.get(0).get("index"));
+    assertEquals(2, events.get(1).get("index"));
+  }
+
+  @Test
+  public void readAll_skipsRecordCutShortByCrash() throws Exception {
+    TelemetrySpool spool = new TelemetrySpool(directory);
+    spool.append(buildEvent(1));
+    spool.append(buildEvent(2));
+    spool.close();
+    File file = directory.listFiles()[0];
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    randomAccessFile.setLength(file.length() - 5);
+    randomAccessFile.close();
+
+    List<Hashtable<String, Object>> events = new TelemetrySpool(directory).readAll();
+
+    assertEquals(1, events.size());
+    assertEquals(1, events.get(0).get("index"));
+  }
+
+  @Test
+  public void append_dropsOldestFileOnceCapIsReached() throws Exception {
+    TelemetrySpool spool = new TelemetrySpool(directory, 200, 2);
+
+    for (int i = 0; i < 10; i++) {
+      spool.append(buildEvent(i));
+    }
+
+    assertTrue(directory.listFiles().length <= 2);
+    List<Hashtable<String, Object>> events = spool.readAll();
+    assertTrue(events.size() < 10);
+    assertEquals(9, events.get(events.size() - 1).get("index"));
+  }
+
+  @Test
+  public void markSent_keepsEventsOnDiskUntilNextFlush() throws Exception {
+    TelemetrySpool spool = new TelemetrySpool(directory);
+    spool.append(buildEvent(1));
+
+    spool.markSent();
+
+    assertTrue(spool.readAll().isEmpty());
+    assertEquals(1, directory.listFiles().length);
+    spool.append(buildEvent(2));
+    spool.markSent();
+    assertEquals(1, directory.listFiles().length);
+  }
+
+  @Test
+  public void recover_replaysEventsSentBeforeProcessWasKilled() throws Exception {
+    TelemetrySpool previousSpool = new TelemetrySpool(directory);
+    previousSpool.append(buildEvent(1));
+    previousSpool.markSent();
+
+    TelemetrySpool spool = new TelemetrySpool(directory);
+    spool.recover();
+    spool.append(buildEvent(2));
+
+    List<Hashtable<String, Object>> events = spool.readAll();
+    assertEquals(2, events.size());
+    assertEquals(1, events.get(0).get("index"));
+    assertEquals(2, events.get(1).get("index"));
+  }
+
+  @Test
+  public void close_keepsSentEventsForNextSession() throws Exception {
+    TelemetrySpool spool = new TelemetrySpool(directory);
+    spool.append(buildEvent(1));
+    spool.markSent();
+    spool.append(buildEvent(2));
+
+    spool.close();
+
+    TelemetrySpool nextSpool = new TelemetrySpool(directory);
+    nextSpool.recover();
+    List<Hashtable<String, Object>> events = nextSpool.readAll();
+    assertEquals(2, events.size());
+    assertEquals(1, events.get(0).get("index"));
+    assertEquals(2, events.get(1).get("index"));
+  }
+
+  @Test
+  public void markSent_deletesEventsRecoveredFromPreviousSession() throws Exception {
+    TelemetrySpool previousSpool = new TelemetrySpool(directory);
+    previousSpool.append(buildEvent(1));
+    previousSpool.markSent();
+    previousSpool.close();
+    TelemetrySpool spool = new TelemetrySpool(directory);
+    spool.recover();
+    spool.markSent();
+
+    spool.markSent();
+
+    assertEquals(0, directory.listFiles().length);
+  }
+
+  @Test
+  public void append_rejectsEventWithValueOfUnknownType() throws Exception {
+    TelemetrySpool spool = new TelemetrySpool(directory);
+    Hashtable<String, Object> event = buildEvent(1);
+    event.put("date", new Date());
+
+    assertFalse(spool.append(event));
+    assertTrue(spool.readAll().isEmpty());
+  }
+
+  private Hashtable<String, Object> buildEvent(int index) {
+    Hashtable<String, Object> event = new Hashtable<>();
+    event.put("event", "reroute");
+    event.put("index", index);
+    event.put("created", 1234567890123L);
+    event.put("distance", 12.5d);
+    event.put("speed", 2.5f);
+    event.put("simulation", true);
+    return event;
+  }
+}
@@ -0,0 +1,186 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class TelemetryWorkerTest extends BaseTest {
+
+  @Test
+  public void execute_runsTasksInOrderOffCallingThread() throws Exception {
+    TelemetryWorker worker = new TelemetryWorker(new CountingFlusher());
+    final List<Integer> results = Collections.synchronizedList(new ArrayList<Integer>());
+    final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+    final CountDownLatch latch = new CountDownLatch(100);
+
+    for (int i = 0; i < 100; i++) {
+      final int value = i;
+      worker.execute(new Runnable() {
+        @Override
+        public void run() {
+          results.add(value);
+          threads.add(Thread.currentThread());
+          latch.countDown();
+        }
+      });
+    }
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals(100, worker.enqueuedTaskCount());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, (int) results.get(i));
+    }
+    assertFalse(threads.contains(Thread.currentThread()));
+  }
+
+  @Test
+  public void execute_flushesOnceBatchIsFull() throws Exception {
+    CountingFlusher flusher = new CountingFlusher();
+    final TelemetryWorker worker = new TelemetryWorker(flusher);
+
+    for (int i = 0; i < TelemetryWorker.MAX_PENDING_EVENTS; i++) {
+      worker.execute(new Runnable() {
+        @Override
+        public void run() {
+          worker.onEventPushed();
+        }
+      });
+    }
+
+    assertTrue(flusher.latch.await(5, TimeUnit.SECONDS));
+    assertEquals(1, flusher.flushCount.get());
+  }
+
+  @Test
+  public void requestFlush_flushesPendingEvents() throws Exception {
+    CountingFlusher flusher = new CountingFlusher();
+    final TelemetryWorker worker = new TelemetryWorker(flusher);
+
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        worker.onEventPushed();
+        worker.requestFlush();
+      }
+    });
+
+    assertTrue(flusher.latch.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void execute_keepsRunningAfterFailedTask() throws Exception {
+    TelemetryWorker worker = new TelemetryWorker(new CountingFlusher());
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        throw new IllegalStateException();
+      }
+    });
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        latch.countDown();
+      }
+    });
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void execute_measuresTimeSpentInTasks() throws Exception {
+    TelemetryWorker worker = new TelemetryWorker(new CountingFlusher());
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(5);
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        }
+        latch.countDown();
+      }
+    });
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Thread.sleep(50);
+    assertTrue(worker.taskDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+  }
+
+  @Test
+  public void shutdown_flushesPendingEventsAndStopsThread() throws Exception {
+    CountingFlusher flusher = new CountingFlusher();
+    final TelemetryWorker worker = new TelemetryWorker(flusher);
+    final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        threads.add(Thread.currentThread());
+        worker.onEventPushed();
+      }
+    });
+    worker.shutdown();
+
+    assertTrue(flusher.latch.await(5, TimeUnit.SECONDS));
+    Thread workerThread = threads.get(0);
+    workerThread.join(TimeUnit.SECONDS.toMillis(5));
+    assertFalse(workerThread.isAlive());
+  }
+
+  @Test
+  public void execute_startsNewThreadAfterShutdown() throws Exception {
+    TelemetryWorker worker = new TelemetryWorker(new CountingFlusher());
+    final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+    final CountDownLatch firstLatch = new CountDownLatch(1);
+    final CountDownLatch secondLatch = new CountDownLatch(1);
+
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        threads.add(Thread.currentThread());
+        firstLatch.countDown();
+      }
+    });
+    worker.shutdown();
+    assertTrue(firstLatch.await(5, TimeUnit.SECONDS));
+    threads.get(0).join(TimeUnit.SECONDS.toMillis(5));
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        threads.add(Thread.currentThread());
+        secondLatch.countDown();
+      }
+    });
+
+    assertTrue(secondLatch.await(5, TimeUnit.SECONDS));
+    assertFalse(threads.get(0).isAlive());
+    assertFalse(threads.get(0) == threads.get(1));
+  }
+
+  private static class CountingFlusher implements TelemetryWorker.Flusher {
+
+    private final AtomicInteger flushCount = new AtomicInteger();
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @Override
+    public void flush() {
+      flushCount.incrementAndGet();
+      latch.countDown();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.IntRingBuffer;
+import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class OffRouteTest extends BaseTest {
+
+  @Test
+  public void isUserOffRoute_ringBufferDelegatesWithDistancesOldestFirst() throws Exception {
+    PushingOffRoute offRoute = new PushingOffRoute(30);
+    RingBuffer<Integer> distances = new RingBuffer<>(3);
+    distances.push(10);
+    distances.push(20);
+
+    boolean isUserOffRoute = offRoute.isUserOffRoute(null, null, null, distances);
+
+    assertTrue(isUserOffRoute);
+    assertEquals(10, offRoute.oldestDistance);
+    assertEquals(3, distances.size());
+    assertEquals(30, (int) distances.peekFirst());
+    assertEquals(10, (int) distances.peekLast());
+  }
+
+  @Test
+  public void isUserOffRoute_fullRingBufferKeepsItsDistances() throws Exception {
+    PushingOffRoute offRoute = new PushingOffRoute(40);
+    RingBuffer<Integer> distances = new RingBuffer<>(3);
+    distances.push(10);
+    distances.push(20);
+    distances.push(30);
+
+    offRoute.isUserOffRoute(null, null, null, distances);
+
+    assertEquals(3, distances.size());
+    assertEquals(30, (int) distances.peekFirst());
+    assertEquals(10, (int) distances.peekLast());
+  }
+
+  @Test
+  public void isUserOffRoute_intRingBufferDelegatesToRingBufferOfCustomOffRoute() throws Exception {
+    RingBufferOffRoute offRoute = new RingBufferOffRoute(30);
+    IntRingBuffer distances = new IntRingBuffer(3);
+    distances.push(10);
+    distances.push(20);
+
+    boolean isUserOffRoute = offRoute.isUserOffRoute(null, null, null, distances);
+
+    assertTrue(isUserOffRoute);
+    assertEquals(20, offRoute.newestDistance);
+    assertEquals(3, distances.size());
+    assertEquals(10, distances.peekFirst());
+    assertEquals(30, distances.peekLast());
+  }
+
+  private static class PushingOffRoute extends OffRouteDetector {
+
+    private final int distance;
+    private int oldestDistance;
+
+    PushingOffRoute(int distance) {
+      this.distance = distance;
+    }
+
+    @Override
+    public boolean isUserOffRoute(Location location, RouteProgress routeProgress, MapboxNavigationOptions options,
+                                  IntRingBuffer recentDistancesFromManeuverInMeters) {
+      oldestDistance = recentDistancesFromManeuverInMeters.peekFirst();
+      recentDistancesFromManeuverInMeters.push(distance);
+      return true;
+    }
+  }
+
+  /**
+   * Custom off-route engine written against the {@link RingBuffer} signature only.
+   */
+  private static class RingBufferOffRoute extends OffRoute {
+
+    private final int distance;
+    private int newestDistance;
+
+    RingBufferOffRoute(int distance) {
+      this.distance = distance;
+    }
+
+    @Override
+    public boolean isUserOffRoute(Location location, RouteProgress routeProgress, MapboxNavigationOptions options,
+                                  RingBuffer<Integer> recentDistancesFromManeuverInMeters) {
+      newestDistance = recentDistancesFromManeuverInMeters.peekFirst();
+      recentDistancesFromManeuverInMeters.push(distance);
+      return true;
+    }
+  }
+}
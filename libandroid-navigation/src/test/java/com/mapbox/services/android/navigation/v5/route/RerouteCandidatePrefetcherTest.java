@@ -0,0 +1,208 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RerouteCandidatePrefetcherTest extends BaseTest {
+
+  private static final String PRECISION_6 = "directions_v5_precision_6.json";
+
+  @Test
+  public void sanity() throws Exception {
+    RerouteCandidatePrefetcher prefetcher = new RerouteCandidatePrefetcher();
+    assertNotNull(prefetcher);
+  }
+
+  @Test
+  public void findCandidate_returnsNullWithoutPrefetchedRoutes() throws Exception {
+    RerouteCandidatePrefetcher prefetcher = new RerouteCandidatePrefetcher();
+    Location location = mock(Location.class);
+    when(location.getLatitude()).thenReturn(38.9);
+    when(location.getLongitude()).thenReturn(-77.0);
+
+    assertNull(prefetcher.findCandidate(location));
+  }
+
+  @Test
+  public void onRouteProgress_exhaustedBudgetSendsNoRequests() throws Exception {
+    RerouteCandidatePrefetcher prefetcher = new RerouteCandidatePrefetcher(0);
+
+    prefetcher.onRouteProgress(buildRouteProgress(0));
+
+    assertEquals(0, prefetcher.requestsSent());
+    assertEquals(0, prefetcher.pendingRequests());
+  }
+
+  @Test
+  public void clearCandidates_dropsPendingRequests() throws Exception {
+    RerouteCandidatePrefetcher prefetcher = new RerouteCandidatePrefetcher(0);
+    prefetcher.onRouteProgress(buildRouteProgress(0));
+
+    prefetcher.clearCandidates();
+
+    assertEquals(0, prefetcher.pendingRequests());
+  }
+
+  @Test
+  public void onNewRoute_renewsRequestBudget() throws Exception {
+    RecordingRequester requester = new RecordingRequester();
+    RerouteCandidatePrefetcher prefetcher = new RerouteCandidatePrefetcher(2, requester);
+    prefetcher.onRouteProgress(buildRouteProgress(0));
+    requester.respond(0, obtainADirectionsResponse());
+    requester.respond(1, obtainADirectionsResponse());
+
+    prefetcher.onNewRoute();
+    prefetcher.onRouteProgress(buildRouteProgress(0));
+
+    assertEquals(2, prefetcher.requestsSent());
+    assertEquals(4, requester.callbacks.size());
+  }
+
+  @Test
+  public void onRouteProgress_sendsRequestsUpToConcurrencyLimit() throws Exception {
+    RecordingRequester requester = new RecordingRequester();
+    RerouteCandidatePrefetcher prefetcher = new RerouteCandidatePrefetcher(
+      RerouteCandidatePrefetcher.DEFAULT_REQUEST_BUDGET, requester);
+
+    prefetcher.onRouteProgress(buildRouteProgress(0));
+
+    assertEquals(RerouteCandidatePrefetcher.MAX_CONCURRENT_REQUESTS, prefetcher.requestsSent());
+    assertEquals(RerouteCandidatePrefetcher.MAX_CONCURRENT_REQUESTS, requester.callbacks.size());
+    assertEquals(1, prefetcher.pendingRequests());
+  }
+
+  @Test
+  public void onResponse_sendsNextPendingRequest() throws Exception {
+    RecordingRequester requester = new RecordingRequester();
+    RerouteCandidatePrefetcher prefetcher = new RerouteCandidatePrefetcher(
+      RerouteCandidatePrefetcher.DEFAULT_REQUEST_BUDGET, requester);
+    prefetcher.onRouteProgress(buildRouteProgress(0));
+
+    requester.respond(0, obtainADirectionsResponse());
+
+    assertEquals(3, prefetcher.requestsSent());
+    assertEquals(0, prefetcher.pendingRequests());
+  }
+
+  @Test
+  public void findCandidate_returnsRouteOfRespondedCandidate() throws Exception {
+    RecordingRequester requester = new RecordingRequester();
+    RerouteCandidatePrefetcher prefetcher = new RerouteCandidatePrefetcher(
+      RerouteCandidatePrefetcher.DEFAULT_REQUEST_BUDGET, requester);
+    prefetcher.onRouteProgress(buildRouteProgress(0));
+    DirectionsResponse response = obtainADirectionsResponse();
+
+    requester.respond(0, response);
+
+    Point origin = requester.origins.get(0);
+    Location location = mock(Location.class);
+    when(location.getLatitude()).thenReturn(origin.latitude());
+    when(location.getLongitude()).thenReturn(origin.longitude());
+    assertEquals(response.routes().get(0), prefetcher.findCandidate(location));
+  }
+
+  @Test
+  public void findCandidate_ignoresCandidateOnOtherBearing() throws Exception {
+    RecordingRequester requester = new RecordingRequester();
+    RerouteCandidatePrefetcher prefetcher = new RerouteCandidatePrefetcher(
+      RerouteCandidatePrefetcher.DEFAULT_REQUEST_BUDGET, requester);
+    prefetcher.onRouteProgress(buildRouteProgress(0));
+    requester.respond(0, obtainADirectionsResponse());
+
+    Point origin = requester.origins.get(0);
+    double oppositeBearing = requester.bearings.get(0) + 180;
+    Location location = mock(Location.class);
+    when(location.getLatitude()).thenReturn(origin.latitude());
+    when(location.getLongitude()).thenReturn(origin.longitude());
+    when(location.hasBearing()).thenReturn(true);
+    when(location.getBearing()).thenReturn((float) oppositeBearing);
+
+    assertNull(prefetcher.findCandidate(location));
+  }
+
+  @Test
+  public void findCandidate_ignoresLocationOutsideMatchingRadius() throws Exception {
+    RecordingRequester requester = new RecordingRequester();
+    RerouteCandidatePrefetcher prefetcher = new RerouteCandidatePrefetcher(
+      RerouteCandidatePrefetcher.DEFAULT_REQUEST_BUDGET, requester);
+    prefetcher.onRouteProgress(buildRouteProgress(0));
+    requester.respond(0, obtainADirectionsResponse());
+
+    Point farAway = TurfMeasurement.destination(requester.origins.get(0), 500, 0, TurfConstants.UNIT_METERS);
+    Location location = mock(Location.class);
+    when(location.getLatitude()).thenReturn(farAway.latitude());
+    when(location.getLongitude()).thenReturn(farAway.longitude());
+
+    assertNull(prefetcher.findCandidate(location));
+  }
+
+  private RouteProgress buildRouteProgress(int stepIndex) throws IOException {
+    DirectionsRoute route = obtainADirectionsRoute();
+    return RouteProgress.builder()
+      .stepDistanceRemaining(100)
+      .legDistanceRemaining(700)
+      .distanceRemaining(1000)
+      .directionsRoute(route)
+      .stepIndex(stepIndex)
+      .legIndex(0)
+      .build();
+  }
+
+  private DirectionsRoute obtainADirectionsRoute() throws IOException {
+    return obtainADirectionsResponse().routes().get(0);
+  }
+
+  private DirectionsResponse obtainADirectionsResponse() throws IOException {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    String body = loadJsonFixture(PRECISION_6);
+    return gson.fromJson(body, DirectionsResponse.class);
+  }
+
+  private static class RecordingRequester implements RerouteCandidatePrefetcher.CandidateRequester {
+
+    private final List<Point> origins = new ArrayList<>();
+    private final List<Double> bearings = new ArrayList<>();
+    private final List<Callback<DirectionsResponse>> callbacks = new ArrayList<>();
+
+    @Override
+    public boolean requestRoute(Point origin, double bearing, RouteProgress routeProgress,
+                                Callback<DirectionsResponse> callback) {
+      origins.add(origin);
+      bearings.add(bearing);
+      callbacks.add(callback);
+      return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    void respond(int request, DirectionsResponse response) {
+      callbacks.get(request).onResponse(mock(Call.class), Response.success(response));
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_ARRIVE;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_DEPART;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class RoadGraphRouterTest extends BaseTest {
+
+  private static final Point ORIGIN = Point.fromLngLat(0, 0);
+  private static final Point MIDDLE = Point.fromLngLat(0.01, 0);
+  private static final Point DESTINATION = Point.fromLngLat(0.02, 0);
+  private static final Point DETOUR = Point.fromLngLat(0.01, 0.005);
+  private static final Point ISOLATED = Point.fromLngLat(0.05, 0.05);
+
+  private File graphFile;
+  private RoadGraph graph;
+
+  @Before
+  public void setup() throws IOException {
+    RoadGraphWriter writer = new RoadGraphWriter();
+    int origin = writer.addNode(ORIGIN);
+    int middle = writer.addNode(MIDDLE);
+    int destination = writer.addNode(DESTINATION);
+    int detour = writer.addNode(DETOUR);
+    int isolated = writer.addNode(ISOLATED);
+    writer.addRoad(origin, middle, 20, "Main Street");
+    writer.addRoad(middle, destination, 20, "Main Street");
+    writer.addRoad(origin, detour, 100, "Fast Road");
+    writer.addRoad(detour, destination, 100, "Other Road");
+    writer.addEdge(isolated, origin, 50, "One Way");
+    graphFile = File.createTempFile("road_graph", ".bin");
+    writer.write(graphFile);
+    graph = RoadGraph.open(graphFile);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    graph.close();
+    graphFile.delete();
+  }
+
+  @Test
+  public void open_readsNodesAndEdges() throws Exception {
+    assertEquals(5, graph.nodeCount());
+    assertEquals(9, graph.edgeCount());
+    assertEquals(3, graph.nearestNode(Point.fromLngLat(0.011, 0.004)));
+  }
+
+  @Test(expected = IOException.class)
+  public void open_rejectsInvalidFile() throws Exception {
+    File invalidFile = File.createTempFile("invalid_graph", ".bin");
+    try {
+      RoadGraph.open(invalidFile);
+    } finally {
+      invalidFile.delete();
+    }
+  }
+
+  @Test
+  public void findPath_prefersFasterDetour() throws Exception {
+    RoadGraphRouter router = new RoadGraphRouter(graph);
+
+    RoadGraphRouter.RoutePath path = router.findPath(0, 2);
+
+    assertNotNull(path);
+    assertEquals(Arrays.asList(0, 3, 2), path.nodes);
+  }
+
+  @Test
+  public void findPath_returnsSameResultWhenRouterIsReused() throws Exception {
+    RoadGraphRouter router = new RoadGraphRouter(graph);
+    router.findPath(2, 0);
+
+    RoadGraphRouter.RoutePath path = router.findPath(0, 2);
+
+    assertNotNull(path);
+    assertEquals(Arrays.asList(0, 3, 2), path.nodes);
+  }
+
+  @Test
+  public void findPath_followsOneWayEdges() throws Exception {
+    RoadGraphRouter router = new RoadGraphRouter(graph);
+
+    assertNotNull(router.findPath(4, 2));
+    assertNull(router.findPath(2, 4));
+  }
+
+  @Test
+  public void route_buildsNavigableSteps() throws Exception {
+    RoadGraphRouter router = new RoadGraphRouter(graph);
+
+    DirectionsRoute route = router.route(Arrays.asList(ORIGIN, DESTINATION), null);
+
+    assertNotNull(route);
+    assertEquals(1, route.legs().size());
+    RouteLeg leg = route.legs().get(0);
+    assertEquals(3, leg.steps().size());
+    assertEquals(STEP_MANEUVER_TYPE_DEPART, leg.steps().get(0).maneuver().type());
+    assertEquals("Other Road", leg.steps().get(1).name());
+    assertEquals(STEP_MANEUVER_TYPE_ARRIVE, leg.steps().get(2).maneuver().type());
+    for (LegStep step : leg.steps()) {
+      assertFalse(step.intersections().isEmpty());
+    }
+    assertTrue(leg.steps().get(0).voiceInstructions().isEmpty());
+    assertEquals("Other Road", leg.steps().get(0).bannerInstructions().get(0).primary().text());
+    assertEquals("Other Road", leg.steps().get(1).maneuver().instruction());
+    assertTrue(leg.steps().get(1).bannerInstructions().isEmpty());
+    assertEquals(route.distance(), leg.distance(), 0.1);
+    assertTrue(route.distance() > 2000);
+  }
+
+  @Test
+  public void route_createsLegForEachWaypoint() throws Exception {
+    RoadGraphRouter router = new RoadGraphRouter(graph);
+
+    DirectionsRoute route = router.route(Arrays.asList(ORIGIN, MIDDLE, DESTINATION), null);
+
+    assertNotNull(route);
+    assertEquals(2, route.legs().size());
+  }
+}
@@ -0,0 +1,89 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class RouteDifferTest extends BaseTest {
+
+  private static final String PRECISION_6_FIXTURE = "directions_v5_precision_6.json";
+
+  private DirectionsRoute route;
+  private RouteProgress routeProgress;
+
+  @Before
+  public void setup() throws IOException {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    String body = loadJsonFixture(PRECISION_6_FIXTURE);
+    route = gson.fromJson(body, DirectionsResponse.class).routes().get(0);
+    routeProgress = RouteProgress.builder()
+      .stepDistanceRemaining(route.legs().get(0).steps().get(0).distance())
+      .legDistanceRemaining(route.legs().get(0).distance())
+      .distanceRemaining(route.distance())
+      .directionsRoute(route)
+      .stepIndex(0)
+      .legIndex(0)
+      .build();
+  }
+
+  @Test
+  public void diff_identicalRouteHasNoDivergence() throws Exception {
+    RouteDiff routeDiff = RouteDiffer.diff(route, routeProgress);
+
+    assertNull(routeDiff.divergencePoint());
+    assertEquals(routeProgress.durationRemaining() - route.duration(), routeDiff.timeSaved(), DELTA);
+    assertEquals(0, routeDiff.distanceDelta(), LARGE_DELTA);
+  }
+
+  @Test
+  public void diff_findsDivergencePoint() throws Exception {
+    List<Point> coordinates = PolylineUtils.decode(route.geometry(), PRECISION_6);
+    List<Point> candidateCoordinates = new ArrayList<>(coordinates.subList(0, 3));
+    candidateCoordinates.add(Point.fromLngLat(-122.6, coordinates.get(2).latitude()));
+    DirectionsRoute candidate = route.toBuilder()
+      .geometry(PolylineUtils.encode(candidateCoordinates, PRECISION_6))
+      .duration(route.duration() - 600)
+      .build();
+
+    RouteDiff routeDiff = RouteDiffer.diff(candidate, routeProgress);
+
+    assertNotNull(routeDiff.divergencePoint());
+    assertEquals(coordinates.get(2).latitude(), routeDiff.divergencePoint().latitude(), DELTA);
+    assertEquals(coordinates.get(2).longitude(), routeDiff.divergencePoint().longitude(), DELTA);
+    assertTrue(routeDiff.distanceToDivergence() > 0);
+    assertTrue(routeDiff.timeToDivergence() < candidate.duration());
+    assertEquals(600, routeDiff.timeSaved(), LARGE_DELTA);
+  }
+
+  @Test
+  public void diff_withoutGeometryOnlyComparesDurations() throws Exception {
+    DirectionsRoute candidate = route.toBuilder()
+      .geometry(null)
+      .build();
+
+    RouteDiff routeDiff = RouteDiffer.diff(candidate, routeProgress);
+
+    assertNull(routeDiff.divergencePoint());
+    assertEquals(routeProgress.durationRemaining() - route.duration(), routeDiff.timeSaved(), DELTA);
+  }
+}
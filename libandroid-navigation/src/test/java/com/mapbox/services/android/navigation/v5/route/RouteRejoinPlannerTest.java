@@ -0,0 +1,151 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteOptions;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_LEFT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_SLIGHT_RIGHT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_MODIFIER_STRAIGHT;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.STEP_MANEUVER_TYPE_DEPART;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RouteRejoinPlannerTest extends BaseTest {
+
+  private static final String PRECISION_6_FIXTURE = "directions_v5_precision_6.json";
+
+  private DirectionsRoute route;
+  private RouteProgress routeProgress;
+
+  @Before
+  public void setup() throws IOException {
+    Gson gson = new GsonBuilder()
+      .registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    String body = loadJsonFixture(PRECISION_6_FIXTURE);
+    route = gson.fromJson(body, DirectionsResponse.class).routes().get(0);
+    routeProgress = buildRouteProgress(route);
+  }
+
+  @Test
+  public void planRejoinRoute_startsWithConnectorToRoute() throws Exception {
+    RouteRejoinPlanner planner = new RouteRejoinPlanner();
+    Location location = buildLocationNextToStep(1, 60);
+
+    DirectionsRoute rejoinRoute = planner.planRejoinRoute(location, routeProgress);
+
+    assertNotNull(rejoinRoute);
+    LegStep connectorStep = rejoinRoute.legs().get(0).steps().get(0);
+    assertEquals(STEP_MANEUVER_TYPE_DEPART, connectorStep.maneuver().type());
+    assertEquals(60, connectorStep.distance(), 5);
+    assertTrue(rejoinRoute.distance() < route.distance());
+  }
+
+  @Test
+  public void planRejoinRoute_returnsNullWhenRouteIsTooFarAway() throws Exception {
+    RouteRejoinPlanner planner = new RouteRejoinPlanner();
+    Location location = buildLocationNextToStep(1, 5000);
+
+    assertNull(planner.planRejoinRoute(location, routeProgress));
+  }
+
+  @Test
+  public void planRejoinRoute_connectorHasNoSynthesizedInstructions() throws Exception {
+    RouteRejoinPlanner planner = new RouteRejoinPlanner();
+    Location location = buildLocationNextToStep(1, 60);
+
+    DirectionsRoute rejoinRoute = planner.planRejoinRoute(location, routeProgress);
+
+    LegStep connectorStep = rejoinRoute.legs().get(0).steps().get(0);
+    LegStep joinStep = rejoinRoute.legs().get(0).steps().get(1);
+    assertTrue(connectorStep.voiceInstructions().isEmpty());
+    assertTrue(connectorStep.bannerInstructions().isEmpty());
+    assertEquals(joinStep.name(), connectorStep.maneuver().instruction());
+    assertEquals(joinStep.name(), joinStep.maneuver().instruction());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void planRejoinRoute_replacesOriginOfRouteOptions() throws Exception {
+    Point origin = Point.fromLngLat(-122.4, 37.7);
+    Point destination = Point.fromLngLat(-122.5, 37.8);
+    RouteOptions.Builder optionsBuilder = mock(RouteOptions.Builder.class);
+    when(optionsBuilder.coordinates(anyListOf(Point.class))).thenReturn(optionsBuilder);
+    RouteOptions routeOptions = mock(RouteOptions.class);
+    when(routeOptions.coordinates()).thenReturn(Arrays.asList(origin, destination));
+    when(routeOptions.toBuilder()).thenReturn(optionsBuilder);
+    DirectionsRoute routeWithOptions = route.toBuilder().routeOptions(routeOptions).build();
+    RouteProgress progress = buildRouteProgress(routeWithOptions);
+    RouteRejoinPlanner planner = new RouteRejoinPlanner();
+    Location location = buildLocationNextToStep(1, 60);
+
+    planner.planRejoinRoute(location, progress);
+
+    ArgumentCaptor<List> coordinates = ArgumentCaptor.forClass(List.class);
+    verify(optionsBuilder).coordinates(coordinates.capture());
+    assertEquals(2, coordinates.getValue().size());
+    assertEquals(location.getLongitude(), ((Point) coordinates.getValue().get(0)).longitude(), 0.000001);
+    assertEquals(destination, coordinates.getValue().get(1));
+  }
+
+  @Test
+  public void obtainModifier_classifiesTurnAngles() throws Exception {
+    assertEquals(STEP_MANEUVER_MODIFIER_STRAIGHT, LocalStepFactory.obtainModifier(90, 95));
+    assertEquals(STEP_MANEUVER_MODIFIER_SLIGHT_RIGHT, LocalStepFactory.obtainModifier(350, 20));
+    assertEquals(STEP_MANEUVER_MODIFIER_LEFT, LocalStepFactory.obtainModifier(90, 0));
+  }
+
+  private static RouteProgress buildRouteProgress(DirectionsRoute route) {
+    LegStep firstStep = route.legs().get(0).steps().get(0);
+    return RouteProgress.builder()
+      .stepDistanceRemaining(firstStep.distance())
+      .legDistanceRemaining(route.legs().get(0).distance())
+      .distanceRemaining(route.distance())
+      .directionsRoute(route)
+      .stepIndex(0)
+      .legIndex(0)
+      .build();
+  }
+
+  private Location buildLocationNextToStep(int stepIndex, double offsetInMeters) {
+    List<Point> coordinates = PolylineUtils.decode(
+      route.legs().get(0).steps().get(stepIndex).geometry(), PRECISION_6);
+    Point start = coordinates.get(0);
+    Point end = coordinates.get(1);
+    Point middle = TurfMeasurement.midpoint(start, end);
+    double perpendicularBearing = TurfMeasurement.bearing(start, end) + 90;
+    Point offsetPoint = TurfMeasurement.destination(middle, offsetInMeters, perpendicularBearing,
+      TurfConstants.UNIT_METERS);
+    Location location = mock(Location.class);
+    when(location.getLongitude()).thenReturn(offsetPoint.longitude());
+    when(location.getLatitude()).thenReturn(offsetPoint.latitude());
+    return location;
+  }
+}
@@ -0,0 +1,104 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LegDurationIndexTest extends BaseTest {
+
+  @Test
+  public void durationRemaining_followsAnnotatedDurations() throws Exception {
+    LegDurationIndex index = LegDurationIndex.build(buildLeg(LegAnnotation.builder()
+      .distance(Arrays.asList(100d, 100d))
+      .duration(Arrays.asList(10d, 90d))
+      .build()));
+
+    assertTrue(index.hasSegments());
+    assertEquals(100, index.durationRemaining(200), DELTA);
+    assertEquals(95, index.durationRemaining(150), DELTA);
+    assertEquals(90, index.durationRemaining(100), DELTA);
+    assertEquals(45, index.durationRemaining(50), DELTA);
+    assertEquals(0, index.durationRemaining(0), DELTA);
+  }
+
+  @Test
+  public void durationRemaining_derivesDistancesFromSpeeds() throws Exception {
+    LegDurationIndex index = LegDurationIndex.build(buildLeg(LegAnnotation.builder()
+      .speed(Arrays.asList(10d, 100d / 90d))
+      .duration(Arrays.asList(10d, 90d))
+      .build()));
+
+    assertTrue(index.hasSegments());
+    assertEquals(90, index.durationRemaining(100), DELTA);
+  }
+
+  @Test
+  public void hasSegments_falseWithoutDurations() throws Exception {
+    LegDurationIndex index = LegDurationIndex.build(buildLeg(LegAnnotation.builder()
+      .distance(Arrays.asList(100d, 100d))
+      .build()));
+
+    assertFalse(index.hasSegments());
+  }
+
+  @Test
+  public void build_reusesIndicesOfPreviousProgressAlongSameRoute() throws Exception {
+    DirectionsRoute route = buildRoute(buildLeg(null));
+    RouteProgress previousProgress = buildRouteProgress(route, null);
+
+    RouteProgress routeProgress = buildRouteProgress(route, previousProgress);
+
+    assertSame(previousProgress.legDurationIndices(), routeProgress.legDurationIndices());
+  }
+
+  @Test
+  public void build_indexesNewRouteAgain() throws Exception {
+    RouteProgress previousProgress = buildRouteProgress(buildRoute(buildLeg(null)), null);
+
+    RouteProgress routeProgress = buildRouteProgress(buildRoute(buildLeg(null)), previousProgress);
+
+    assertNotSame(previousProgress.legDurationIndices(), routeProgress.legDurationIndices());
+  }
+
+  private RouteProgress buildRouteProgress(DirectionsRoute route, RouteProgress previousProgress) {
+    return RouteProgress.builder()
+      .stepDistanceRemaining(100)
+      .legDistanceRemaining(200)
+      .distanceRemaining(200)
+      .directionsRoute(route)
+      .stepIndex(0)
+      .legIndex(0)
+      .previousRouteProgress(previousProgress)
+      .build();
+  }
+
+  private DirectionsRoute buildRoute(RouteLeg leg) {
+    DirectionsRoute route = mock(DirectionsRoute.class);
+    when(route.legs()).thenReturn(Arrays.asList(leg));
+    return route;
+  }
+
+  private RouteLeg buildLeg(LegAnnotation annotation) {
+    return RouteLeg.builder()
+      .distance(200d)
+      .duration(100d)
+      .summary("")
+      .steps(Arrays.asList(mock(LegStep.class)))
+      .annotation(annotation)
+      .build();
+  }
+}
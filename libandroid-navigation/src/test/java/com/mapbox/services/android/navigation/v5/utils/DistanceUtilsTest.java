@@ -0,0 +1,81 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationUnitType;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfConversion;
+
+import org.junit.Test;
+
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+
+public class DistanceUtilsTest extends BaseTest {
+
+  private final DecimalFormat decimalFormat = new DecimalFormat(NavigationConstants.DECIMAL_FORMAT);
+
+  @Test
+  public void formattedDistance_roundsSmallUnitDownToFifty() throws Exception {
+    CharSequence feet = format(100, NavigationUnitType.TYPE_IMPERIAL);
+    CharSequence meters = format(5, NavigationUnitType.TYPE_METRIC);
+
+    assertEquals("300 ft", feet.toString());
+    assertEquals("50 m", meters.toString());
+  }
+
+  @Test
+  public void formattedDistance_formatsMediumDistanceWithDecimal() throws Exception {
+    CharSequence miles = format(1000, NavigationUnitType.TYPE_IMPERIAL);
+    CharSequence kilometers = format(1540, NavigationUnitType.TYPE_METRIC);
+
+    assertEquals("0.6 mi", miles.toString());
+    assertEquals("1.5 km", kilometers.toString());
+  }
+
+  @Test
+  public void formattedDistance_roundsLongDistance() throws Exception {
+    CharSequence miles = format(20000, NavigationUnitType.TYPE_IMPERIAL);
+
+    assertEquals("12 mi", miles.toString());
+  }
+
+  @Test
+  public void formattedDistance_returnsCachedTextForSameDisplayedValue() throws Exception {
+    CharSequence first = format(100, NavigationUnitType.TYPE_IMPERIAL);
+    CharSequence second = format(101, NavigationUnitType.TYPE_IMPERIAL);
+
+    assertSame(first, second);
+  }
+
+  @Test
+  public void formattedDistance_usesGivenDecimalFormat() throws Exception {
+    CharSequence defaultFormat = format(1000, NavigationUnitType.TYPE_IMPERIAL);
+    CharSequence otherFormat = DistanceUtils.formattedDistance(1000, new DecimalFormat("0.00"),
+      false, NavigationUnitType.TYPE_IMPERIAL);
+
+    assertEquals("0.6 mi", defaultFormat.toString());
+    assertEquals("0.62 mi", otherFormat.toString());
+  }
+
+  @Test
+  public void formattedDistance_roundsLikeGivenDecimalFormat() throws Exception {
+    double kilometers = TurfConversion.convertDistance(1250, TurfConstants.UNIT_METERS,
+      TurfConstants.UNIT_KILOMETERS);
+    DecimalFormat halfUpFormat = new DecimalFormat(NavigationConstants.DECIMAL_FORMAT);
+    halfUpFormat.setRoundingMode(RoundingMode.HALF_UP);
+
+    CharSequence halfEven = format(1250, NavigationUnitType.TYPE_METRIC);
+    CharSequence halfUp = DistanceUtils.formattedDistance(1250, halfUpFormat, false, NavigationUnitType.TYPE_METRIC);
+
+    assertEquals(decimalFormat.format(kilometers) + " km", halfEven.toString());
+    assertEquals(halfUpFormat.format(kilometers) + " km", halfUp.toString());
+  }
+
+  private CharSequence format(double distance, int unitType) {
+    return DistanceUtils.formattedDistance(distance, decimalFormat, false, unitType);
+  }
+}
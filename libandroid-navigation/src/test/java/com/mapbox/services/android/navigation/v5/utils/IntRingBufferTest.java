@@ -0,0 +1,70 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class IntRingBufferTest extends BaseTest {
+
+  @Test
+  public void push_dropsOldestValueOnceFull() {
+    IntRingBuffer buffer = new IntRingBuffer(3);
+
+    for (int i = 1; i <= 5; i++) {
+      buffer.push(i);
+    }
+
+    assertEquals(3, buffer.size());
+    assertTrue(buffer.isFull());
+    assertEquals(3, buffer.peekFirst());
+    assertEquals(4, buffer.get(1));
+    assertEquals(5, buffer.peekLast());
+  }
+
+  @Test
+  public void summary_coversValuesInBuffer() {
+    IntRingBuffer buffer = new IntRingBuffer(3);
+    buffer.push(100);
+    buffer.push(20);
+    buffer.push(70);
+    buffer.push(40);
+
+    assertEquals(20, buffer.min());
+    assertEquals(70, buffer.max());
+    assertEquals(20, buffer.trend());
+  }
+
+  @Test
+  public void trend_isZeroWhenEmpty() {
+    IntRingBuffer buffer = new IntRingBuffer(3);
+
+    assertEquals(0, buffer.trend());
+  }
+
+  @Test
+  public void clear_removesAllValues() {
+    IntRingBuffer buffer = new IntRingBuffer(2);
+    buffer.push(1);
+    buffer.push(2);
+    buffer.push(3);
+
+    buffer.clear();
+    buffer.push(4);
+
+    assertFalse(buffer.isFull());
+    assertEquals(1, buffer.size());
+    assertEquals(4, buffer.peekFirst());
+    assertEquals(4, buffer.peekLast());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void peekLast_throwsWhenEmpty() {
+    new IntRingBuffer(1).peekLast();
+  }
+}
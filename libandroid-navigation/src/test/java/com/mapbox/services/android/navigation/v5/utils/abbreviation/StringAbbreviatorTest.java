@@ -0,0 +1,55 @@
+package com.mapbox.services.android.navigation.v5.utils.abbreviation;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+
+public class StringAbbreviatorTest extends BaseTest {
+
+  @Test
+  public void abbreviate_keepsShortNames() throws Exception {
+    String name = "North Main Street";
+
+    assertSame(name, StringAbbreviator.abbreviate(name));
+    assertNull(StringAbbreviator.abbreviate(null));
+  }
+
+  @Test
+  public void abbreviate_replacesAllWordsInOnePass() throws Exception {
+    String abbreviated = StringAbbreviator.abbreviate("Martin Luther King Junior Memorial Highway");
+
+    assertEquals("Martin Luther King Jr Mem Hwy", abbreviated);
+  }
+
+  @Test
+  public void abbreviate_ignoresCase() throws Exception {
+    String abbreviated = StringAbbreviator.abbreviate("NORTHWEST DOWNTOWN CROSSING TURNPIKE");
+
+    assertEquals("NW Dtwn Xing Tpk", abbreviated);
+  }
+
+  @Test
+  public void abbreviate_onlyReplacesWholeWords() throws Exception {
+    String abbreviated = StringAbbreviator.abbreviate("Streetcar Northern road_works Street");
+
+    assertEquals("Streetcar Northern road_works St", abbreviated);
+  }
+
+  @Test
+  public void abbreviate_returnsCachedResultForSameName() throws Exception {
+    String first = StringAbbreviator.abbreviate("International Drive and Northeast Parkway");
+    String second = StringAbbreviator.abbreviate("International Drive and Northeast Parkway");
+
+    assertEquals("Int’l Dr and NE Pky", first);
+    assertSame(first, second);
+  }
+
+  @Test
+  public void deliminator_replacesSeparatorsWithSlash() throws Exception {
+    assertEquals("I-95/US 1/Main St", StringAbbreviator.deliminator("I-95;US 1,Main St"));
+  }
+}